@@ -1,6 +1,10 @@
 package com.sebastian_daschner.jaxrs_analyzer;
 
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisOptions;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.DependencySummarizer;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.ProjectAnalyzer;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.index.AnnotationIndexBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.sources.ClassSource;
 import com.sebastian_daschner.jaxrs_analyzer.backend.Backend;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.Project;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.Resources;
@@ -10,6 +14,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.ServiceLoader;
 import java.util.Set;
@@ -17,18 +22,22 @@ import java.util.stream.StreamSupport;
 
 /**
  * Generates REST documentation of JAX-RS projects automatically by bytecode analysis.
+ * The analyzer has to be closed afterwards to release the loaded classes and caches, e.g. when running inside of a long-lived build daemon.
  *
  * @author Sebastian Daschner
  */
-public class JAXRSAnalyzer {
+public class JAXRSAnalyzer implements AutoCloseable {
 
-    private final Set<Path> projectClassPaths = new HashSet<>();
+    private final Set<ClassSource> projectClassSources = new HashSet<>();
     private final Set<Path> projectSourcePaths = new HashSet<>();
     private final Set<Path> classPaths = new HashSet<>();
     private final String projectName;
     private final String projectVersion;
     private final Path outputLocation;
     private final Backend backend;
+    private final AnalysisOptions analysisOptions = new AnalysisOptions();
+    private ProjectAnalyzer projectAnalyzer;
+    private DependencySummarizer summarizer;
 
     /**
      * Constructs a JAX-RS Analyzer.
@@ -43,17 +52,23 @@ public class JAXRSAnalyzer {
      */
     public JAXRSAnalyzer(final Set<Path> projectClassPaths, final Set<Path> projectSourcePaths, final Set<Path> classPaths, final String projectName, final String projectVersion,
                          final Backend backend, final Path outputLocation) {
+        this(projectSourcePaths, classPaths, projectName, projectVersion, backend, outputLocation);
         Objects.requireNonNull(projectClassPaths);
+
+        if (projectClassPaths.isEmpty())
+            throw new IllegalArgumentException("At least one project path is mandatory");
+
+        projectClassPaths.stream().map(ClassSource::of).forEach(projectClassSources::add);
+    }
+
+    private JAXRSAnalyzer(final Set<Path> projectSourcePaths, final Set<Path> classPaths, final String projectName, final String projectVersion,
+                          final Backend backend, final Path outputLocation) {
         Objects.requireNonNull(projectSourcePaths);
         Objects.requireNonNull(classPaths);
         Objects.requireNonNull(projectName);
         Objects.requireNonNull(projectVersion);
         Objects.requireNonNull(backend);
 
-        if (projectClassPaths.isEmpty())
-            throw new IllegalArgumentException("At least one project path is mandatory");
-
-        this.projectClassPaths.addAll(projectClassPaths);
         this.projectSourcePaths.addAll(projectSourcePaths);
         this.classPaths.addAll(classPaths);
         this.projectName = projectName;
@@ -62,11 +77,46 @@ public class JAXRSAnalyzer {
         this.backend = backend;
     }
 
+    /**
+     * Constructs a JAX-RS Analyzer for project classes of arbitrary sources, e.g. classes which are held in memory.
+     *
+     * @param projectClassSources The sources of the projects classes to be analyzed (at least one is mandatory)
+     * @param projectSourcePaths  The paths of the projects sources to be analyzed (can either be directories or jar-files, optional)
+     * @param classPaths          The additional class paths (can either be directories or jar-files)
+     * @param projectName         The project name
+     * @param projectVersion      The project version
+     * @param backend             The backend to render the output
+     * @param outputLocation      The location of the output file (output will be printed to standard out if {@code null})
+     * @return The JAX-RS Analyzer
+     */
+    public static JAXRSAnalyzer ofClassSources(final Set<ClassSource> projectClassSources, final Set<Path> projectSourcePaths, final Set<Path> classPaths,
+                                               final String projectName, final String projectVersion, final Backend backend, final Path outputLocation) {
+        Objects.requireNonNull(projectClassSources);
+
+        if (projectClassSources.isEmpty())
+            throw new IllegalArgumentException("At least one project class source is mandatory");
+
+        final JAXRSAnalyzer analyzer = new JAXRSAnalyzer(projectSourcePaths, classPaths, projectName, projectVersion, backend, outputLocation);
+        analyzer.projectClassSources.addAll(projectClassSources);
+        return analyzer;
+    }
+
+    /**
+     * Configures the analysis, see the keys in {@link AnalysisOptions}. Unknown keys are ignored.
+     *
+     * @param config The configuration
+     */
+    public void configure(final Map<String, String> config) {
+        analysisOptions.configure(config);
+    }
+
     /**
      * Analyzes the JAX-RS project at the class path and produces the output as configured.
      */
     public void analyze() {
-        final Resources resources = new ProjectAnalyzer(classPaths).analyze(projectClassPaths, projectSourcePaths);
+        if (projectAnalyzer == null)
+            projectAnalyzer = new ProjectAnalyzer(classPaths, analysisOptions);
+        final Resources resources = projectAnalyzer.analyzeClassSources(projectClassSources, projectSourcePaths);
 
         if (resources.isEmpty()) {
             LogProvider.info("Empty JAX-RS analysis result, omitting output");
@@ -83,6 +133,68 @@ public class JAXRSAnalyzer {
         }
     }
 
+    /**
+     * Summarizes the project paths as dependency jars and writes the summaries to the given directory.
+     * Later analyses use the summaries instead of the bytecode of the jars, see {@link AnalysisOptions#SUMMARIES}.
+     *
+     * @param summariesDirectory The directory of the summaries
+     */
+    public void writeSummaries(final Path summariesDirectory) {
+        if (summarizer == null)
+            summarizer = new DependencySummarizer(classPaths, analysisOptions);
+
+        for (final ClassSource classSource : projectClassSources) {
+            final Path jar = classSource.getLocation();
+            if (jar == null || !jar.toFile().isFile() || !jar.toString().endsWith(".jar")) {
+                LogProvider.error("Only jar-files can be summarized, ignoring " + classSource);
+                continue;
+            }
+
+            try {
+                final Path file = summarizer.summarize(jar).write(summariesDirectory);
+                LogProvider.info("Wrote summary of " + jar + " to " + file);
+            } catch (IOException e) {
+                LogProvider.error("Could not summarize " + jar + ", reason: " + e.getMessage());
+                LogProvider.debug(e);
+            }
+        }
+    }
+
+    /**
+     * Builds the annotation indexes of the project paths and stores them in the directories or jar-files.
+     * Later analyses use the indexes instead of scanning and classifying the classes, as long as the classes haven't changed.
+     */
+    public void writeIndexes() {
+        for (final ClassSource classSource : projectClassSources) {
+            final Path projectPath = classSource.getLocation();
+            if (projectPath == null) {
+                LogProvider.error("Only directories and jar-files can be indexed, ignoring " + classSource);
+                continue;
+            }
+
+            try {
+                AnnotationIndexBuilder.buildAndStore(projectPath);
+                LogProvider.info("Wrote annotation index of " + projectPath);
+            } catch (IOException e) {
+                LogProvider.error("Could not index " + projectPath + ", reason: " + e.getMessage());
+                LogProvider.debug(e);
+            }
+        }
+    }
+
+    /**
+     * Releases the class loader of the analysis, including the opened jar-files and loaded classes, and the cached methods, types and summaries.
+     */
+    @Override
+    public void close() {
+        if (projectAnalyzer != null)
+            projectAnalyzer.close();
+        if (summarizer != null)
+            summarizer.close();
+        projectAnalyzer = null;
+        summarizer = null;
+    }
+
     private void outputToConsole(final byte[] output) {
         try {
             System.out.write(output);
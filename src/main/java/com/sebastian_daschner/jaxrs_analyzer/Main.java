@@ -15,6 +15,7 @@
  */
 package com.sebastian_daschner.jaxrs_analyzer;
 
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisOptions;
 import com.sebastian_daschner.jaxrs_analyzer.backend.Backend;
 import com.sebastian_daschner.jaxrs_analyzer.backend.swagger.SwaggerOptions;
 
@@ -43,6 +44,8 @@ public class Main {
     private static String version = DEFAULT_VERSION;
     private static String backendType = "swagger";
     private static Path outputFileLocation;
+    private static Path summariesOutputLocation;
+    private static boolean writeIndexes;
 
     /**
      * Inspects JAX-RS projects and outputs the gathered information.
@@ -70,6 +73,31 @@ public class Main {
      * <li>{@code --renderSwaggerTags} Enables rendering of Swagger tags (will not be rendered per default)</li>
      * <li>{@code --swaggerTagsPathOffset path offset} The number at which path position the Swagger tags should be extracted ({@code 0} per default)</li>
      * </ul>
+     * <p>
+     * Following available analysis options:
+     * <ul>
+     * <li>{@code --maxPossibleValues number} The maximum number of distinct values of a simulated element before it is widened to any value ({@code 64} per default)</li>
+     * <li>{@code --maxSimulatedInstructions number} The maximum number of simulated instructions per resource method ({@code 1000000} per default)</li>
+     * <li>{@code --maxCallDepth number} The maximum interprocedural depth per resource method ({@code 50} per default)</li>
+     * <li>{@code --methodTimeout seconds} The analysis timeout per resource method ({@code 60} per default)</li>
+     * <li>{@code --scopeIncludes packages} Comma-separated packages of which invoked methods are followed, e.g. {@code com.company.*}
+     * (the first two package nodes of the resource class per default)</li>
+     * <li>{@code --scopeExcludes packages} Comma-separated packages of which invoked methods are not followed</li>
+     * <li>{@code --scopeOpaque packages} Comma-separated packages of which invoked methods only contribute their return type</li>
+     * <li>{@code --scopeDepths limits} Comma-separated maximum call depths of packages, e.g. {@code com.company.lib.*=1}</li>
+     * <li>{@code --summaries directory} The directory of pre-built summaries of the dependency jars which are used instead of their bytecode</li>
+     * <li>{@code --javaDocDoclet} Extracts the JavaDoc with the javadoc tool of the JDK instead of the lightweight source parser</li>
+     * <li>{@code --javaDocCache directory} The directory where the extracted JavaDoc of the source files is cached</li>
+     * <li>{@code --javaDocWorkers number} The number of concurrent JavaDoc workers, the doclet documents the packages in as many batches</li>
+     * </ul>
+     * <p>
+     * Following tool modes are available:
+     * <ul>
+     * <li>{@code --writeSummaries directory} Summarizes the {@code projectPath} jar-files as dependencies and writes the summaries to the directory
+     * (no analysis output will be produced)</li>
+     * <li>{@code --writeIndex} Stores an annotation index in every {@code projectPath}, which is used by later analyses while the classes are unchanged
+     * (no analysis output will be produced)</li>
+     * </ul>
      *
      * @param args The arguments
      */
@@ -90,8 +118,16 @@ public class Main {
         final Backend backend = JAXRSAnalyzer.constructBackend(backendType);
         backend.configure(attributes);
 
-        final JAXRSAnalyzer jaxrsAnalyzer = new JAXRSAnalyzer(projectClassPaths, projectSourcePaths, classPaths, name, version, backend, outputFileLocation);
-        jaxrsAnalyzer.analyze();
+        try (final JAXRSAnalyzer jaxrsAnalyzer = new JAXRSAnalyzer(projectClassPaths, projectSourcePaths, classPaths, name, version, backend, outputFileLocation)) {
+            jaxrsAnalyzer.configure(attributes);
+
+            if (summariesOutputLocation != null)
+                jaxrsAnalyzer.writeSummaries(summariesOutputLocation);
+            else if (writeIndexes)
+                jaxrsAnalyzer.writeIndexes();
+            else
+                jaxrsAnalyzer.analyze();
+        }
     }
 
     private static void extractArgs(String[] args) {
@@ -135,6 +171,48 @@ public class Main {
                         case "--swaggerTagsPathOffset":
                             attributes.put(SwaggerOptions.SWAGGER_TAGS_PATH_OFFSET, args[++i]);
                             break;
+                        case "--maxPossibleValues":
+                            attributes.put(AnalysisOptions.MAX_POSSIBLE_VALUES, args[++i]);
+                            break;
+                        case "--maxSimulatedInstructions":
+                            attributes.put(AnalysisOptions.MAX_SIMULATED_INSTRUCTIONS, args[++i]);
+                            break;
+                        case "--maxCallDepth":
+                            attributes.put(AnalysisOptions.MAX_CALL_DEPTH, args[++i]);
+                            break;
+                        case "--methodTimeout":
+                            attributes.put(AnalysisOptions.METHOD_TIMEOUT, args[++i]);
+                            break;
+                        case "--scopeIncludes":
+                            attributes.put(AnalysisOptions.SCOPE_INCLUDES, args[++i]);
+                            break;
+                        case "--scopeExcludes":
+                            attributes.put(AnalysisOptions.SCOPE_EXCLUDES, args[++i]);
+                            break;
+                        case "--scopeOpaque":
+                            attributes.put(AnalysisOptions.SCOPE_OPAQUE, args[++i]);
+                            break;
+                        case "--scopeDepths":
+                            attributes.put(AnalysisOptions.SCOPE_DEPTHS, args[++i]);
+                            break;
+                        case "--summaries":
+                            attributes.put(AnalysisOptions.SUMMARIES, args[++i]);
+                            break;
+                        case "--javaDocDoclet":
+                            attributes.put(AnalysisOptions.JAVADOC_DOCLET, "true");
+                            break;
+                        case "--javaDocCache":
+                            attributes.put(AnalysisOptions.JAVADOC_CACHE, args[++i]);
+                            break;
+                        case "--javaDocWorkers":
+                            attributes.put(AnalysisOptions.JAVADOC_WORKERS, args[++i]);
+                            break;
+                        case "--writeSummaries":
+                            summariesOutputLocation = Paths.get(args[++i]);
+                            break;
+                        case "--writeIndex":
+                            writeIndexes = true;
+                            break;
                         case "-a":
                             addAttribute(args[++i]);
                             break;
@@ -208,6 +286,22 @@ public class Main {
         System.err.println(" --swaggerSchemes <scheme>[,schemes] The Swagger schemes: http (default), https, ws, wss");
         System.err.println(" --renderSwaggerTags Enables rendering of Swagger tags (default tag will be used per default)");
         System.err.println(" --swaggerTagsPathOffset <path offset> The number at which path position the Swagger tags will be extracted (0 will be used per default)");
+        System.err.println("\nFollowing available analysis options:\n");
+        System.err.println(" --maxPossibleValues <number> The maximum number of distinct values of a simulated element before it is widened to any value (64 will be used per default)");
+        System.err.println(" --maxSimulatedInstructions <number> The maximum number of simulated instructions per resource method (1000000 will be used per default)");
+        System.err.println(" --maxCallDepth <number> The maximum interprocedural depth per resource method (50 will be used per default)");
+        System.err.println(" --methodTimeout <seconds> The analysis timeout per resource method (60 will be used per default)");
+        System.err.println(" --scopeIncludes <packages> Comma-separated packages of which invoked methods are followed, e.g. com.company.* (the first two package nodes of the resource class will be used per default)");
+        System.err.println(" --scopeExcludes <packages> Comma-separated packages of which invoked methods are not followed");
+        System.err.println(" --scopeOpaque <packages> Comma-separated packages of which invoked methods only contribute their return type");
+        System.err.println(" --scopeDepths <limits> Comma-separated maximum call depths of packages, e.g. com.company.lib.*=1");
+        System.err.println(" --summaries <directory> The directory of pre-built summaries of the dependency jars which are used instead of their bytecode");
+        System.err.println(" --javaDocDoclet Extracts the JavaDoc with the javadoc tool of the JDK (tools.jar) instead of the lightweight source parser");
+        System.err.println(" --javaDocCache <directory> The directory where the extracted JavaDoc of the source files is cached");
+        System.err.println(" --javaDocWorkers <number> The number of concurrent JavaDoc workers, the doclet documents the packages in as many batches (default: number of processors)");
+        System.err.println("\nFollowing tool modes are available:\n");
+        System.err.println(" --writeSummaries <directory> Summarizes the projectPath jar-files as dependencies and writes the summaries to the directory (no analysis output will be produced)");
+        System.err.println(" --writeIndex Stores an annotation index in every project path, which is used by later analyses while the classes are unchanged (no analysis output will be produced)");
         System.err.println("\nExample: java -jar jaxrs-analyzer.jar -b swagger -n \"My Project\" -cp ~/libs/lib1.jar:~/libs/project/bin ~/project/target/classes");
         System.exit(1);
     }
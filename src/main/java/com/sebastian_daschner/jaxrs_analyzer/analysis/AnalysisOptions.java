@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.ScopePolicy;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.AnalysisBudget;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Widening;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Contains the options which tune the bytecode and JavaDoc analysis.
+ *
+ * @author Sebastian Daschner
+ */
+public class AnalysisOptions {
+
+    public static final String MAX_POSSIBLE_VALUES = "maxPossibleValues";
+    public static final String MAX_SIMULATED_INSTRUCTIONS = "maxSimulatedInstructions";
+    public static final String MAX_CALL_DEPTH = "maxCallDepth";
+    public static final String METHOD_TIMEOUT = "methodTimeout";
+    public static final String SCOPE_INCLUDES = "scopeIncludes";
+    public static final String SCOPE_EXCLUDES = "scopeExcludes";
+    public static final String SCOPE_OPAQUE = "scopeOpaque";
+    public static final String SCOPE_DEPTHS = "scopeDepths";
+    public static final String SUMMARIES = "summaries";
+    public static final String JAVADOC_DOCLET = "javaDocDoclet";
+    public static final String JAVADOC_CACHE = "javaDocCache";
+    public static final String JAVADOC_WORKERS = "javaDocWorkers";
+
+    /**
+     * The maximum number of distinct possible values of a simulated element before it is widened to any value of its type.
+     */
+    private int maxPossibleValues = Widening.DEFAULT_MAX_POSSIBLE_VALUES;
+
+    /**
+     * The budget of a single resource method: the maximum number of simulated instructions, the maximum interprocedural depth
+     * and the wall-clock timeout (in milliseconds).
+     */
+    private int maxSimulatedInstructions = AnalysisBudget.DEFAULT_MAX_INSTRUCTIONS;
+    private int maxCallDepth = AnalysisBudget.DEFAULT_MAX_DEPTH;
+    private long methodTimeoutMillis = AnalysisBudget.DEFAULT_TIMEOUT_MILLIS;
+
+    /**
+     * The policy which decides which invoked methods are followed.
+     */
+    private ScopePolicy scopePolicy = new ScopePolicy();
+
+    /**
+     * The directory of the pre-built dependency summaries or {@code null} if no summaries are used.
+     */
+    private Path summariesDirectory;
+
+    /**
+     * Whether the JavaDoc is extracted by the javadoc tool (which needs the {@code tools.jar}) instead of the lightweight source parser.
+     */
+    private boolean javaDocDoclet;
+
+    /**
+     * The directory of the cached JavaDoc comments of the source files or {@code null} if the comments are not cached.
+     */
+    private Path javaDocCacheDirectory;
+
+    /**
+     * The number of concurrent JavaDoc workers, i.e. the threads of the source parser or the concurrent per-package batches of the javadoc doclet.
+     */
+    private int javaDocWorkers = Runtime.getRuntime().availableProcessors();
+
+    public int getMaxPossibleValues() {
+        return maxPossibleValues;
+    }
+
+    public int getMaxSimulatedInstructions() {
+        return maxSimulatedInstructions;
+    }
+
+    public int getMaxCallDepth() {
+        return maxCallDepth;
+    }
+
+    public long getMethodTimeoutMillis() {
+        return methodTimeoutMillis;
+    }
+
+    public ScopePolicy getScopePolicy() {
+        return scopePolicy;
+    }
+
+    public Path getSummariesDirectory() {
+        return summariesDirectory;
+    }
+
+    public boolean isJavaDocDoclet() {
+        return javaDocDoclet;
+    }
+
+    public Path getJavaDocCacheDirectory() {
+        return javaDocCacheDirectory;
+    }
+
+    public int getJavaDocWorkers() {
+        return javaDocWorkers;
+    }
+
+    /**
+     * Creates a new budget for the analysis of a single resource method.
+     */
+    public AnalysisBudget createBudget() {
+        return createBudget(createWidening());
+    }
+
+    /**
+     * Creates a new budget for the analysis of a single resource method which widens the elements by the given widening.
+     *
+     * @param widening The widening of the analysis
+     */
+    public AnalysisBudget createBudget(final Widening widening) {
+        return new AnalysisBudget(maxSimulatedInstructions, maxCallDepth, methodTimeoutMillis, widening);
+    }
+
+    /**
+     * Creates a new widening of the possible values of elements for an analysis.
+     */
+    public Widening createWidening() {
+        return new Widening(maxPossibleValues);
+    }
+
+    public void configure(final Map<String, String> config) {
+        if (config.containsKey(MAX_POSSIBLE_VALUES)) {
+            maxPossibleValues = parsePositive(config.get(MAX_POSSIBLE_VALUES), MAX_POSSIBLE_VALUES);
+        }
+
+        if (config.containsKey(MAX_SIMULATED_INSTRUCTIONS)) {
+            maxSimulatedInstructions = parsePositive(config.get(MAX_SIMULATED_INSTRUCTIONS), MAX_SIMULATED_INSTRUCTIONS);
+        }
+
+        if (config.containsKey(MAX_CALL_DEPTH)) {
+            maxCallDepth = parsePositive(config.get(MAX_CALL_DEPTH), MAX_CALL_DEPTH);
+        }
+
+        if (config.containsKey(METHOD_TIMEOUT)) {
+            methodTimeoutMillis = TimeUnit.SECONDS.toMillis(parsePositive(config.get(METHOD_TIMEOUT), METHOD_TIMEOUT));
+        }
+
+        if (Stream.of(SCOPE_INCLUDES, SCOPE_EXCLUDES, SCOPE_OPAQUE, SCOPE_DEPTHS).anyMatch(config::containsKey)) {
+            scopePolicy = new ScopePolicy(parseList(config.get(SCOPE_INCLUDES)), parseList(config.get(SCOPE_EXCLUDES)),
+                    parseList(config.get(SCOPE_OPAQUE)), parseDepths(config.get(SCOPE_DEPTHS)));
+        }
+
+        if (config.containsKey(SUMMARIES)) {
+            summariesDirectory = Paths.get(config.get(SUMMARIES));
+        }
+
+        if (config.containsKey(JAVADOC_DOCLET)) {
+            javaDocDoclet = Boolean.parseBoolean(config.get(JAVADOC_DOCLET));
+        }
+
+        if (config.containsKey(JAVADOC_CACHE)) {
+            javaDocCacheDirectory = Paths.get(config.get(JAVADOC_CACHE));
+        }
+
+        if (config.containsKey(JAVADOC_WORKERS)) {
+            javaDocWorkers = parsePositive(config.get(JAVADOC_WORKERS), JAVADOC_WORKERS);
+        }
+    }
+
+    private static Set<String> parseList(final String value) {
+        if (value == null)
+            return Collections.emptySet();
+        return Stream.of(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Parses package depth limits, e.g. {@code com.company.lib.*=1,com.company.util=2}.
+     */
+    private static Map<String, Integer> parseDepths(final String value) {
+        final Map<String, Integer> depths = new HashMap<>();
+        for (final String entry : parseList(value)) {
+            final int separator = entry.lastIndexOf('=');
+            if (separator <= 0)
+                throw new IllegalArgumentException("Please provide depth limits like com.company.lib.*=1 for option --" + SCOPE_DEPTHS);
+            depths.put(entry.substring(0, separator).trim(), parsePositive(entry.substring(separator + 1), SCOPE_DEPTHS));
+        }
+        return depths;
+    }
+
+    private static int parsePositive(final String value, final String option) {
+        try {
+            final int number = Integer.parseInt(value.trim());
+            if (number > 0)
+                return number;
+        } catch (NumberFormatException e) {
+            // handled below
+        }
+        throw new IllegalArgumentException("Please provide a positive integer number for option --" + option);
+    }
+
+}
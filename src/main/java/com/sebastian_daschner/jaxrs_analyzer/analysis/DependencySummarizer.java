@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis;
+
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.BytecodeAnalyzer;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ProjectClassLoader;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.results.ResultInterpreter;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.summaries.ClassSummary;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.summaries.DependencySummaries;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.summaries.DependencySummary;
+import com.sebastian_daschner.jaxrs_analyzer.model.SymbolTable;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.MethodVisitor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Analyzes dependency jars once and pre-builds their summaries, which are used instead of the bytecode of the jars in later analyses.
+ * The summarizer owns the class loader, the method pool and the symbol table of its analyses. This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class DependencySummarizer implements AutoCloseable {
+
+    private final Lock lock = new ReentrantLock();
+    private final ProjectClassLoader classLoader = new ProjectClassLoader();
+    private final MethodPool methodPool = new MethodPool();
+    private final SymbolTable symbolTable = new SymbolTable();
+    private final ResultInterpreter resultInterpreter = new ResultInterpreter();
+    private final Set<Path> classPathJars = new LinkedHashSet<>();
+    private final Map<Path, String> jarHashes = new HashMap<>();
+    private final BytecodeAnalyzer bytecodeAnalyzer;
+    private final AnalysisOptions options;
+
+    /**
+     * Creates a dependency summarizer with given class path locations where to search for classes.
+     *
+     * @param classPaths The locations of additional class paths which are needed by the summarized jars (can be directories or jar-files)
+     * @param options    The analysis options
+     */
+    public DependencySummarizer(final Set<Path> classPaths, final AnalysisOptions options) {
+        Objects.requireNonNull(options);
+        this.options = options;
+        bytecodeAnalyzer = new BytecodeAnalyzer(options, methodPool, new DependencySummaries(), new JobRegistry(), symbolTable);
+        classPaths.forEach(this::addToClassPath);
+    }
+
+    /**
+     * Summarizes the methods and classes of the given jar. The summary depends on the jars of the class path, including the previously summarized jars.
+     *
+     * @param jar The location of the jar-file
+     * @return The summary of the jar
+     * @throws IOException If the jar could not be read
+     */
+    public DependencySummary summarize(final Path jar) throws IOException {
+        lock.lock();
+        try {
+            addToClassPath(jar);
+            final Set<String> classNames = readClassNames(jar);
+            final String hash = hash(jar);
+            final Set<String> dependencyHashes = new LinkedHashSet<>();
+            for (final Path dependency : classPathJars) {
+                if (!dependency.equals(jar.toAbsolutePath().normalize()))
+                    dependencyHashes.add(hash(dependency));
+            }
+            return classLoader.run(() -> summarize(jar, hash, dependencyHashes, classNames));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private DependencySummary summarize(final Path jar, final String hash, final Set<String> dependencyHashes, final Set<String> classNames) {
+        final List<MethodIdentifier> methods = new ArrayList<>();
+        classNames.forEach(c -> methods.addAll(readMethods(c)));
+
+        final Map<MethodIdentifier, Element> summarizedMethods = bytecodeAnalyzer.summarizeMethods(methods);
+        final Map<MethodIdentifier, Element> returnValues = new LinkedHashMap<>();
+        methods.stream().filter(summarizedMethods::containsKey).forEach(m -> returnValues.put(m, summarizedMethods.get(m)));
+
+        final Map<String, ClassSummary> classes = new LinkedHashMap<>();
+        classNames.forEach(c -> {
+            final String type = 'L' + c + ';';
+            final ClassSummary classSummary = summarizeClass(type);
+            if (classSummary != null)
+                classes.put(type, classSummary);
+        });
+
+        LogProvider.debug("Summarized " + returnValues.size() + " of " + methods.size() + " methods and " + classes.size() + " classes of " + jar);
+        return new DependencySummary(hash, options.getMaxPossibleValues(), dependencyHashes, classNames, returnValues, classes);
+    }
+
+    /**
+     * Returns the hash of the jar, every jar is only hashed once per summarizer.
+     */
+    private String hash(final Path jar) throws IOException {
+        String hash = jarHashes.get(jar);
+        if (hash == null) {
+            hash = DependencySummary.hash(jar);
+            jarHashes.put(jar, hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Releases the own class loader, including the opened jar-files and loaded classes, and the own cached methods and symbols.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            bytecodeAnalyzer.close();
+            methodPool.clear();
+            symbolTable.clear();
+            classLoader.close();
+        } catch (IOException e) {
+            LogProvider.error("Could not close the class loader, reason: " + e.getMessage());
+            LogProvider.debug(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ClassSummary summarizeClass(final String type) {
+        try {
+            return resultInterpreter.summarizeClass(type);
+        } catch (LinkageError e) {
+            // e.g. the class references dependencies which are not on the class path
+            LogProvider.debug("Could not summarize class " + type + ", reason: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Set<String> readClassNames(final Path jar) throws IOException {
+        final Set<String> classNames = new LinkedHashSet<>();
+        try (final JarFile jarFile = new JarFile(jar.toFile())) {
+            final Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                final String entryName = entries.nextElement().getName();
+                if (entryName.endsWith(".class") && !entryName.endsWith("module-info.class") && !entryName.endsWith("package-info.class"))
+                    classNames.add(entryName.substring(0, entryName.length() - ".class".length()));
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * Returns the methods of the given class which may be summarized, i.e. which have a body and return a value.
+     */
+    private static List<MethodIdentifier> readMethods(final String className) {
+        final List<MethodIdentifier> methods = new ArrayList<>();
+        try {
+            new ContextClassReader(className).accept(new ClassVisitor(ASM5) {
+                @Override
+                public MethodVisitor visitMethod(final int access, final String name, final String desc, final String signature, final String[] exceptions) {
+                    final boolean hasBody = (access & (ACC_ABSTRACT | ACC_NATIVE)) == 0;
+                    if (hasBody && (access & ACC_SYNTHETIC) == 0 && name.charAt(0) != '<')
+                        methods.add(MethodIdentifier.of(className, name, desc, (access & ACC_STATIC) != 0));
+                    return null;
+                }
+            }, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        } catch (IOException e) {
+            LogProvider.error("The class " + className + " could not be loaded!");
+            LogProvider.debug(e);
+        }
+        methods.removeIf(m -> Types.PRIMITIVE_VOID.equals(m.getReturnType()));
+        return methods;
+    }
+
+    private void addToClassPath(final Path location) {
+        if (!location.toFile().exists())
+            throw new IllegalArgumentException("The location '" + location + "' does not exist!");
+        try {
+            classLoader.addClassPath(location);
+            if (location.toFile().isFile() && location.toString().endsWith(".jar"))
+                classPathJars.add(location.toAbsolutePath().normalize());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("The location '" + location + "' could not be loaded to the class path!", e);
+        }
+    }
+
+}
@@ -7,18 +7,13 @@ import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
- * Thread-safe singleton of unhandled class analysis jobs.
+ * Thread-safe registry of the unhandled class analysis jobs of an analysis.
  *
  * @author Sebastian Daschner
  */
 public class JobRegistry {
 
-    private static final JobRegistry INSTANCE = new JobRegistry();
-    private Queue<Pair<String, ClassResult>> unhandledClasses = new ConcurrentLinkedQueue<>();
-
-    private JobRegistry() {
-        // only one instance allowed
-    }
+    private final Queue<Pair<String, ClassResult>> unhandledClasses = new ConcurrentLinkedQueue<>();
 
     /**
      * Adds the (sub-)resource class name to the analysis list with the associated class result.
@@ -37,8 +32,4 @@ public class JobRegistry {
         return unhandledClasses.poll();
     }
 
-    public static JobRegistry getInstance() {
-        return INSTANCE;
-    }
-
 }
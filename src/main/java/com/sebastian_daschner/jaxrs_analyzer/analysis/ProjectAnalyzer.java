@@ -18,41 +18,60 @@ package com.sebastian_daschner.jaxrs_analyzer.analysis;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.BytecodeAnalyzer;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.AnnotatedSuperMethodTable;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.JAXRSClassVisitor;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ProjectClassLoader;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.index.AnnotationIndex;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc.JavaDocAnalyzer;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc.JavaDocExtraction;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.results.ResultInterpreter;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.sources.ClassSource;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.summaries.DependencySummaries;
+import com.sebastian_daschner.jaxrs_analyzer.model.SymbolTable;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Widening;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.Resources;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
 import com.sebastian_daschner.jaxrs_analyzer.utils.Pair;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 
 import javax.ws.rs.ApplicationPath;
-import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils.isAnnotationPresent;
 
 /**
- * Analyzes the JAX-RS project. This class is thread-safe.
+ * Analyzes the JAX-RS project. Every analyzer owns the class loader and the caches of its analyses and passes them down to the analysis components;
+ * the class loader is the context class loader of the analysis threads while an analysis runs.
+ * The analyzer has to be closed afterwards to release the loaded classes and caches, other analyzers are not affected. This class is thread-safe.
  *
  * @author Sebastian Daschner
  */
-public class ProjectAnalyzer {
+public class ProjectAnalyzer implements AutoCloseable {
 
     // TODO test following scenario:
     // 2 Maven modules -> a, b; a needs b
@@ -60,13 +79,23 @@ public class ProjectAnalyzer {
     // a contains impl of iface without annotations
     // b should have result
 
+    private static final int STAGE_QUEUE_CAPACITY = 256;
+    // marks the end of a stage's output, compared by identity
+    private static final String END_OF_STAGE = new String("end of stage");
+    private static final AtomicBoolean TOOLS_ADDED = new AtomicBoolean();
+
     private final Lock lock = new ReentrantLock();
-    private final Set<String> classes = new HashSet<>();
-    private final Set<String> packages = new HashSet<>();
     private final Set<Path> classPool = new HashSet<>();
-    private final ResultInterpreter resultInterpreter = new ResultInterpreter();
-    private final BytecodeAnalyzer bytecodeAnalyzer = new BytecodeAnalyzer();
-    private final JavaDocAnalyzer javaDocAnalyzer = new JavaDocAnalyzer();
+    private final ProjectClassLoader classLoader = new ProjectClassLoader();
+    private final MethodPool methodPool = new MethodPool();
+    private final SymbolTable symbolTable = new SymbolTable();
+    private final DependencySummaries dependencySummaries = new DependencySummaries();
+    private final AnnotatedSuperMethodTable annotatedSuperMethods = new AnnotatedSuperMethodTable();
+    private final JobRegistry jobRegistry = new JobRegistry();
+    private final ResultInterpreter resultInterpreter = new ResultInterpreter(dependencySummaries);
+    private final BytecodeAnalyzer bytecodeAnalyzer;
+    private final JavaDocAnalyzer javaDocAnalyzer;
+    private final AnalysisOptions options;
 
     /**
      * Creates a project analyzer with given class path locations where to search for classes.
@@ -74,10 +103,33 @@ public class ProjectAnalyzer {
      * @param classPaths The locations of additional class paths (can be directories or jar-files)
      */
     public ProjectAnalyzer(final Set<Path> classPaths) {
+        this(classPaths, new AnalysisOptions());
+    }
+
+    /**
+     * Creates a project analyzer with given class path locations where to search for classes.
+     *
+     * @param classPaths The locations of additional class paths (can be directories or jar-files)
+     * @param options    The analysis options
+     */
+    public ProjectAnalyzer(final Set<Path> classPaths, final AnalysisOptions options) {
+        Objects.requireNonNull(options);
+        this.options = options;
+        bytecodeAnalyzer = new BytecodeAnalyzer(options, methodPool, dependencySummaries, jobRegistry, symbolTable);
+        javaDocAnalyzer = new JavaDocAnalyzer(options);
         classPaths.forEach(this::addToClassPool);
-        final Path lib = Paths.get(System.getProperty("java.home"), "..", "lib", "tools.jar");
-        addToClassPool(lib);
-        addToSystemClassLoader(lib);
+
+        // only the doclet needs the javadoc tool
+        if (options.isJavaDocDoclet()) {
+            final Path lib = Paths.get(System.getProperty("java.home"), "..", "lib", "tools.jar");
+            addToClassPool(lib);
+            // the system class loader can't be released, therefore it's only extended once
+            if (TOOLS_ADDED.compareAndSet(false, true))
+                addToSystemClassLoader(lib);
+        }
+
+        if (options.getSummariesDirectory() != null)
+            dependencySummaries.load(options.getSummariesDirectory(), classPaths, options.getMaxPossibleValues());
     }
 
     /**
@@ -88,29 +140,109 @@ public class ProjectAnalyzer {
      * @return The REST resource representations
      */
     public Resources analyze(final Set<Path> projectClassPaths, final Set<Path> projectSourcePaths) {
+        return analyzeClassSources(projectClassPaths.stream().map(ClassSource::of).collect(Collectors.toSet()), projectSourcePaths);
+    }
+
+    /**
+     * Analyzes all classes in the given project class sources, e.g. classes which are held in memory.
+     * <p>
+     * The classes are scanned and classified on own threads, connected by bounded queues; the analysis thread analyzes the bytecode of every classified resource
+     * while the remaining classes are still scanned and classified.
+     * The JavaDoc of every analyzed class is extracted asynchronously while the remaining classes are analyzed,
+     * the interpretation requires all class results and the JavaDoc and runs afterwards. The class results are therefore kept until the end of the analysis,
+     * only the instructions of their methods are released as soon as the bytecode of a class is analyzed.
+     *
+     * @param projectClassSources The project class sources
+     * @param projectSourcePaths  The project source file paths
+     * @return The REST resource representations
+     */
+    public Resources analyzeClassSources(final Set<ClassSource> projectClassSources, final Set<Path> projectSourcePaths) {
         lock.lock();
         try {
-            projectClassPaths.forEach(this::addProjectPath);
+            // all sources have to be available for class loading before the classification starts
+            projectClassSources.forEach(this::addProjectSource);
+            return classLoader.run(() -> analyzeInContext(projectClassSources, projectSourcePaths));
+        } finally {
+            lock.unlock();
+        }
+    }
 
-            // analyze relevant classes
-            final JobRegistry jobRegistry = JobRegistry.getInstance();
-            final Set<ClassResult> classResults = new LinkedHashSet<>();
+    /**
+     * Runs the analysis, the threads which are created by the analysis inherit the class loader of the analysis.
+     */
+    private Resources analyzeInContext(final Set<ClassSource> projectClassSources, final Set<Path> projectSourcePaths) {
+        // elements which are merged outside of the method budgets are widened by the analysis as well
+        final Widening widening = bytecodeAnalyzer.getWidening();
+        final long previousWideningEvents = widening.getWideningEvents();
+        final Widening previousWidening = Widening.activate(widening);
+        try {
+            return analyzeResources(projectClassSources, projectSourcePaths, previousWideningEvents);
+        } finally {
+            Widening.restore(previousWidening);
+        }
+    }
 
-            classes.stream().filter(this::isJAXRSRootResource).forEach(c -> jobRegistry.analyzeResourceClass(c, new ClassResult()));
+    private Resources analyzeResources(final Set<ClassSource> projectClassSources, final Set<Path> projectSourcePaths, final long previousWideningEvents) {
+        final BlockingQueue<String> scannedClasses = new ArrayBlockingQueue<>(STAGE_QUEUE_CAPACITY);
+        final BlockingQueue<String> rootResources = new ArrayBlockingQueue<>(STAGE_QUEUE_CAPACITY);
+        final Set<ClassResult> classResults = new LinkedHashSet<>();
 
-            Pair<String, ClassResult> classResultPair;
-            while ((classResultPair = jobRegistry.nextUnhandledClass()) != null) {
-                final ClassResult classResult = classResultPair.getRight();
+        final ExecutorService executor = Executors.newFixedThreadPool(2, r -> {
+            final Thread thread = new Thread(r, "jaxrs-analyzer-pipeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final Set<Path> projectClassPaths = projectClassSources.stream().map(ClassSource::getLocation).filter(Objects::nonNull).collect(Collectors.toSet());
+        try (final JavaDocExtraction javaDocExtraction = javaDocAnalyzer.startExtraction(projectClassPaths, projectSourcePaths, classPool)) {
+            final CompletableFuture<Void> scanning = CompletableFuture.runAsync(() -> runStage(scannedClasses,
+                    () -> projectClassSources.forEach(s -> scanProjectSource(s, scannedClasses, rootResources))), executor);
+            final CompletableFuture<Void> classification = CompletableFuture.runAsync(() -> runStage(rootResources,
+                    () -> classifyClasses(scannedClasses, rootResources)), executor);
+            try {
+                analyzeResourceClasses(rootResources, classResults, javaDocExtraction);
+            } finally {
+                // unblocks the stages if a stage has failed
+                executor.shutdownNow();
+            }
 
-                classResults.add(classResult);
-                analyzeClass(classResultPair.getLeft(), classResult);
+            // the classification failure is the cause if the scanning has been blocked
+            join(classification);
+            join(scanning);
 
-                bytecodeAnalyzer.analyzeBytecode(classResult);
-            }
+            final long wideningEvents = bytecodeAnalyzer.getWidening().getWideningEvents() - previousWideningEvents;
+            if (wideningEvents > 0)
+                LogProvider.debug("Widened " + wideningEvents + " possible value sets exceeding " + options.getMaxPossibleValues() + " values");
 
-            javaDocAnalyzer.analyze(classResults, packages, projectSourcePaths, classPool);
+            javaDocExtraction.combineResults(classResults);
+        }
 
-            return resultInterpreter.interpret(classResults);
+        return resultInterpreter.interpret(classResults);
+    }
+
+    /**
+     * Returns the symbol table of the analyses, which is cleared on close.
+     */
+    SymbolTable getSymbolTable() {
+        return symbolTable;
+    }
+
+    /**
+     * Releases the own class loader, including the opened jar-files and loaded classes, and the own cached methods, types, symbols and summaries.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            bytecodeAnalyzer.close();
+            methodPool.clear();
+            symbolTable.clear();
+            dependencySummaries.clear();
+            annotatedSuperMethods.clear();
+            classPool.clear();
+            classLoader.close();
+        } catch (IOException e) {
+            LogProvider.error("Could not close the class loader, reason: " + e.getMessage());
+            LogProvider.debug(e);
         } finally {
             lock.unlock();
         }
@@ -118,7 +250,7 @@ public class ProjectAnalyzer {
 
     private boolean isJAXRSRootResource(String className) {
         try {
-            final Class<?> clazz = ContextClassReader.getClassLoader().loadClass(className);
+            final Class<?> clazz = classLoader.loadClass(className);
             return isAnnotationPresent(clazz, javax.ws.rs.Path.class) || isAnnotationPresent(clazz, ApplicationPath.class);
         } catch (ClassNotFoundException e) {
             LogProvider.error("The class " + className + " could not be loaded!");
@@ -130,7 +262,7 @@ public class ProjectAnalyzer {
     private void analyzeClass(final String className, ClassResult classResult) {
         try {
             final ClassReader classReader = new ContextClassReader(className);
-            final ClassVisitor visitor = new JAXRSClassVisitor(classResult);
+            final ClassVisitor visitor = new JAXRSClassVisitor(classResult, annotatedSuperMethods, symbolTable);
 
             classReader.accept(visitor, ClassReader.EXPAND_FRAMES);
         } catch (IOException e) {
@@ -149,7 +281,7 @@ public class ProjectAnalyzer {
             throw new IllegalArgumentException("The location '" + location + "' does not exist!");
         classPool.add(location);
         try {
-            ContextClassReader.addClassPath(location.toUri().toURL());
+            classLoader.addClassPath(location);
         } catch (Exception e) {
             throw new IllegalArgumentException("The location '" + location + "' could not be loaded to the class path!", e);
         }
@@ -166,80 +298,143 @@ public class ProjectAnalyzer {
     }
 
     /**
-     * Adds the project paths and loads all classes.
-     *
-     * @param path The project path
+     * Runs the stage and signals the end of its output, also if the stage fails.
      */
-    private void addProjectPath(final Path path) {
-        addToClassPool(path);
+    private static void runStage(final BlockingQueue<String> output, final Runnable stage) {
+        try {
+            stage.run();
+        } finally {
+            put(output, END_OF_STAGE);
+        }
+    }
 
-        if (path.toFile().isFile() && path.toString().endsWith(".jar")) {
-            addJarClasses(path);
-        } else if (path.toFile().isDirectory()) {
-            addDirectoryClasses(path, Paths.get(""));
-        } else {
-            throw new IllegalArgumentException("The project path '" + path + "' must be a jar file or a directory");
+    /**
+     * Classifies the scanned classes and passes the root resources to the next stage.
+     */
+    private void classifyClasses(final BlockingQueue<String> scannedClasses, final BlockingQueue<String> rootResources) {
+        String className;
+        while ((className = take(scannedClasses)) != END_OF_STAGE) {
+            if (isJAXRSRootResource(className))
+                put(rootResources, className);
         }
     }
 
     /**
-     * Adds all classes in the given jar-file location to the set of known classes.
-     *
-     * @param location The location of the jar-file
+     * Analyzes the root resources as they are classified, together with the sub-resources which are found during the analysis.
+     * The JavaDoc extraction of every analyzed class starts right away.
      */
-    private void addJarClasses(final Path location) {
-        try (final JarFile jarFile = new JarFile(location.toFile())) {
-            final Enumeration<JarEntry> entries = jarFile.entries();
-            while (entries.hasMoreElements()) {
-                final JarEntry entry = entries.nextElement();
-                final String entryName = entry.getName();
-                if (entryName.endsWith(".class"))
-                    classes.add(toQualifiedClassName(entryName));
-                else if (entry.isDirectory())
-                    packages.add(entryName);
+    private void analyzeResourceClasses(final BlockingQueue<String> rootResources, final Set<ClassResult> classResults, final JavaDocExtraction javaDocExtraction) {
+        String rootResource;
+        while ((rootResource = take(rootResources)) != END_OF_STAGE) {
+            jobRegistry.analyzeResourceClass(rootResource, new ClassResult());
+
+            Pair<String, ClassResult> classResultPair;
+            while ((classResultPair = jobRegistry.nextUnhandledClass()) != null) {
+                final ClassResult classResult = classResultPair.getRight();
+
+                classResults.add(classResult);
+                analyzeClass(classResultPair.getLeft(), classResult);
+
+                bytecodeAnalyzer.analyzeBytecode(classResult);
+                classResult.getMethods().forEach(MethodResult::releaseInstructions);
+                javaDocExtraction.add(classResult);
             }
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Could not read jar-file '" + location + "', reason: " + e.getMessage());
+        }
+    }
+
+    private static void join(final CompletableFuture<Void> stage) {
+        try {
+            stage.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw e;
+        }
+    }
+
+    private static String take(final BlockingQueue<String> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The analysis has been interrupted", e);
+        }
+    }
+
+    private static void put(final BlockingQueue<String> queue, final String className) {
+        try {
+            queue.put(className);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The analysis has been interrupted", e);
         }
     }
 
     /**
-     * Adds all classes in the given directory location to the set of known classes.
+     * Adds the project class source to the class pool.
      *
-     * @param location The location of the current directory
-     * @param subPath  The sub-path which is relevant for the package names or {@code null} if currently in the root directory
+     * @param classSource The project class source
      */
-    private void addDirectoryClasses(final Path location, final Path subPath) {
-        for (final File file : location.toFile().listFiles()) {
-            if (file.isDirectory())
-                addDirectoryClasses(location.resolve(file.getName()), subPath.resolve(file.getName()));
-            else if (file.isFile() && file.getName().endsWith(".class")) {
-                packages.add(toQualifiedPackageName(subPath.toString()));
-                final String classFileName = subPath.resolve(file.getName()).toString();
-                classes.add(toQualifiedClassName(classFileName));
-            }
+    private void addProjectSource(final ClassSource classSource) {
+        try {
+            classLoader.addClassSource(classSource);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The class source '" + classSource + "' could not be loaded to the class path!", e);
         }
+
+        if (classSource.getLocation() != null)
+            classPool.add(classSource.getLocation());
     }
 
     /**
-     * Converts the given file name of a class-file to the fully-qualified class name.
+     * Scans the classes of the project class source. The classes are passed to the classification,
+     * the root resources of an up-to-date annotation index directly to the analysis.
      *
-     * @param fileName The file name (e.g. a/package/AClass.class)
-     * @return The fully-qualified class name (e.g. a.package.AClass)
+     * @param classSource    The project class source
+     * @param scannedClasses The classes to classify
+     * @param rootResources  The classified root resources
      */
-    private static String toQualifiedClassName(final String fileName) {
-        final String replacedSeparators = fileName.replace(File.separatorChar, '.');
-        return replacedSeparators.substring(0, replacedSeparators.length() - ".class".length());
+    private void scanProjectSource(final ClassSource classSource, final BlockingQueue<String> scannedClasses, final BlockingQueue<String> rootResources) {
+        final Path location = classSource.getLocation();
+        if (location != null && addIndexedClasses(location, rootResources))
+            return;
+
+        try {
+            classSource.getClassNames().stream().map(c -> c.replace('/', '.')).forEach(c -> put(scannedClasses, c));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read the class source '" + classSource + "', reason: " + e.getMessage());
+        }
     }
 
     /**
-     * Converts the given path name of a directory to the fully-qualified package name.
+     * Adds the root resources of the project path from its annotation index, if the index is present and up to date.
+     * The classes don't have to be loaded for classification then.
      *
-     * @param pathName The directory name (e.g. a/package/)
-     * @return The fully-qualified package name (e.g. a.package)
+     * @param path          The project path
+     * @param rootResources The classified root resources
+     * @return {@code true} if the index has been used
      */
-    private static String toQualifiedPackageName(final String pathName) {
-        return pathName.replace(File.separatorChar, '.');
+    private boolean addIndexedClasses(final Path path, final BlockingQueue<String> rootResources) {
+        try {
+            final AnnotationIndex index = AnnotationIndex.load(path);
+            if (index == null)
+                return false;
+
+            if (!index.isUpToDate(path)) {
+                LogProvider.info("The annotation index of " + path + " is outdated, scanning the classes");
+                return false;
+            }
+
+            Stream.of(Types.PATH, Types.APPLICATION_PATH).map(index::getAnnotatedClasses).flatMap(Set::stream)
+                    .map(c -> c.replace('/', '.')).forEach(c -> put(rootResources, c));
+            return true;
+        } catch (IOException e) {
+            LogProvider.error("Could not read the annotation index of " + path + ", reason: " + e.getMessage());
+            LogProvider.debug(e);
+            return false;
+        }
     }
 
 }
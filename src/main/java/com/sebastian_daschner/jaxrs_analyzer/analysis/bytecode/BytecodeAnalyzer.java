@@ -1,15 +1,69 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
 
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisOptions;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.JobRegistry;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.summaries.DependencySummaries;
+import com.sebastian_daschner.jaxrs_analyzer.model.SymbolTable;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Widening;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * @author Sebastian Daschner
  */
-public class BytecodeAnalyzer {
+public class BytecodeAnalyzer implements AutoCloseable {
+
+    private final ProjectCallGraph callGraph;
+    private final ResourceMethodContentAnalyzer methodContentAnalyzer;
+    private final SubResourceLocatorMethodContentAnalyzer subResourceLocatorAnalyzer;
+
+    public BytecodeAnalyzer() {
+        this(new AnalysisOptions());
+    }
 
-    private final ResourceMethodContentAnalyzer methodContentAnalyzer = new ResourceMethodContentAnalyzer();
-    private final SubResourceLocatorMethodContentAnalyzer subResourceLocatorAnalyzer = new SubResourceLocatorMethodContentAnalyzer();
+    public BytecodeAnalyzer(final AnalysisOptions options) {
+        this(options, new MethodPool(), new DependencySummaries());
+    }
+
+    /**
+     * @param options             The analysis options
+     * @param methodPool          The method pool of the analysis
+     * @param dependencySummaries The loaded summaries of the dependencies
+     */
+    public BytecodeAnalyzer(final AnalysisOptions options, final MethodPool methodPool, final DependencySummaries dependencySummaries) {
+        this(options, methodPool, dependencySummaries, new JobRegistry());
+    }
+
+    /**
+     * @param options             The analysis options
+     * @param methodPool          The method pool of the analysis
+     * @param dependencySummaries The loaded summaries of the dependencies
+     * @param jobRegistry         The registry of the analysis, which the found sub-resource classes are added to
+     */
+    public BytecodeAnalyzer(final AnalysisOptions options, final MethodPool methodPool, final DependencySummaries dependencySummaries, final JobRegistry jobRegistry) {
+        this(options, methodPool, dependencySummaries, jobRegistry, new SymbolTable());
+    }
+
+    /**
+     * @param options             The analysis options
+     * @param methodPool          The method pool of the analysis
+     * @param dependencySummaries The loaded summaries of the dependencies
+     * @param jobRegistry         The registry of the analysis, which the found sub-resource classes are added to
+     * @param symbolTable         The symbol table of the analysis which interns the descriptors of the read methods
+     */
+    public BytecodeAnalyzer(final AnalysisOptions options, final MethodPool methodPool, final DependencySummaries dependencySummaries, final JobRegistry jobRegistry,
+                            final SymbolTable symbolTable) {
+        // the call graph of project methods is shared by all resource methods
+        callGraph = new ProjectCallGraph(options, methodPool, dependencySummaries, symbolTable);
+        methodContentAnalyzer = new ResourceMethodContentAnalyzer(options, callGraph);
+        subResourceLocatorAnalyzer = new SubResourceLocatorMethodContentAnalyzer(options, callGraph, jobRegistry);
+    }
 
     /**
      * Analyzes the bytecode instructions of the method results and interprets JAX-RS relevant information.
@@ -18,6 +72,31 @@ public class BytecodeAnalyzer {
         classResult.getMethods().forEach(this::analyzeBytecode);
     }
 
+    /**
+     * Summarizes the return values of the given methods which don't depend on the arguments, e.g. to pre-build the summary of a dependency.
+     *
+     * @param methods The methods to summarize
+     * @return The return values of the summarized methods
+     */
+    public Map<MethodIdentifier, Element> summarizeMethods(final Collection<MethodIdentifier> methods) {
+        return callGraph.summarizeReturnValues(methods);
+    }
+
+    /**
+     * Returns the widening of the possible values of the analysis.
+     */
+    public Widening getWidening() {
+        return callGraph.getWidening();
+    }
+
+    /**
+     * Stops the background work and releases the call graph of the project methods.
+     */
+    @Override
+    public void close() {
+        callGraph.close();
+    }
+
     private void analyzeBytecode(final MethodResult methodResult) {
         if (methodResult.getHttpMethod() == null) {
             // sub-resource
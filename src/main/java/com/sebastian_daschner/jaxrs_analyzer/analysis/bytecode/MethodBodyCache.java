@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction.RelevantInstructionReducer;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.Method;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.ProjectMethod;
+import org.objectweb.asm.ClassReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Caches the reduction and simulation results of method bodies by their structural {@link MethodFingerprint}.
+ * Structurally identical methods, e.g. generated resources which only differ in their entity types, are therefore only analyzed once;
+ * the cached results are re-instantiated with the concrete types of the method.
+ * Classes which are sub- or super-types of other classes of the method are not abstracted, as the simulation
+ * depends on their hierarchy, e.g. when the least specific type of a variable is determined.
+ * The cached entries are bounded and released on {@link #clear()}.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+class MethodBodyCache {
+
+    /**
+     * The maximum number of cached entries per kind, further method bodies and objects are not cached.
+     */
+    private static final int MAX_ENTRIES = 1 << 14;
+
+    private final RelevantInstructionReducer instructionReducer = new RelevantInstructionReducer();
+    private final Map<String, int[]> reductions = new ConcurrentHashMap<>();
+    private final Map<String, Optional<Element>> simulations = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> superTypes = new ConcurrentHashMap<>();
+    private final Map<Object, Integer> objectIds = new IdentityHashMap<>();
+    private final AtomicInteger nextObjectId = new AtomicInteger();
+    private final MethodPool methodPool;
+
+    MethodBodyCache() {
+        this(new MethodPool());
+    }
+
+    /**
+     * @param methodPool The method pool of the analysis, which contains the invoked project methods
+     */
+    MethodBodyCache(final MethodPool methodPool) {
+        this.methodPool = methodPool;
+    }
+
+    /**
+     * Returns the relevant instructions of the given method.
+     * The reduction only depends on the structure of the instructions, thus all classes are abstracted.
+     *
+     * @param instructions The instructions to reduce
+     * @return The reduced instructions
+     */
+    List<Instruction> reduceInstructions(final List<Instruction> instructions) {
+        final String digest = MethodFingerprint.of(instructions, c -> true, i -> null, this::objectId).getDigest();
+
+        final int[] positions = reductions.get(digest);
+        if (positions != null) {
+            final List<Instruction> reduced = new ArrayList<>(positions.length);
+            for (final int position : positions)
+                reduced.add(instructions.get(position));
+            return reduced;
+        }
+
+        final List<Instruction> reduced = instructionReducer.reduceInstructions(instructions);
+        if (reductions.size() < MAX_ENTRIES)
+            reductions.put(digest, positionsOf(reduced, instructions));
+        return reduced;
+    }
+
+    private static int[] positionsOf(final List<Instruction> reduced, final List<Instruction> instructions) {
+        final Map<Instruction, Integer> positions = new IdentityHashMap<>();
+        for (int i = 0; i < instructions.size(); i++)
+            positions.put(instructions.get(i), i);
+
+        return reduced.stream().mapToInt(positions::get).toArray();
+    }
+
+    /**
+     * Returns the simulated return value of the given method, the project classes which don't take part in the type hierarchy of the method are abstracted.
+     *
+     * @param instructions The relevant instructions of the method
+     * @param projectClass Whether a class (in JVM notation) belongs to the project
+     * @param simulation   Simulates the method if the result is not cached
+     * @return The returned element or {@code null}
+     */
+    Element simulate(final List<Instruction> instructions, final Predicate<String> projectClass, final Supplier<Element> simulation) {
+        final Set<String> referencedClasses = MethodFingerprint.referencedClasses(instructions, this::projectMethodBody);
+        final Predicate<String> abstracted = c -> projectClass.test(c) && !isInHierarchy(c, referencedClasses);
+        final MethodFingerprint fingerprint = MethodFingerprint.of(instructions, abstracted, this::projectMethodBody, this::objectId);
+
+        final Optional<Element> cached = simulations.get(fingerprint.getDigest());
+        if (cached != null)
+            return cached.map(fingerprint::instantiateElement).orElse(null);
+
+        final Element element = simulation.get();
+        if (simulations.size() >= MAX_ENTRIES) {
+            return element;
+        } else if (element == null) {
+            simulations.put(fingerprint.getDigest(), Optional.empty());
+        } else {
+            final Element abstractElement = fingerprint.abstractElement(element);
+            // elements which can't be translated, e.g. method handles, are not cached
+            if (abstractElement != null)
+                simulations.put(fingerprint.getDigest(), Optional.of(abstractElement));
+        }
+        return element;
+    }
+
+    /**
+     * Releases the cached method bodies, simulation results and objects.
+     */
+    void clear() {
+        reductions.clear();
+        simulations.clear();
+        superTypes.clear();
+        synchronized (objectIds) {
+            objectIds.clear();
+        }
+    }
+
+    /**
+     * Checks if the class is a sub- or super-type of another referenced class.
+     */
+    private boolean isInHierarchy(final String className, final Set<String> referencedClasses) {
+        final Set<String> classSuperTypes = superTypes(className);
+        return referencedClasses.stream().anyMatch(c -> classSuperTypes.contains(c) || superTypes(c).contains(className));
+    }
+
+    /**
+     * Returns all super classes and interfaces of the given class, except {@link Object}. The class headers are read from the bytecode.
+     */
+    private Set<String> superTypes(final String className) {
+        final Set<String> types = superTypes.get(className);
+        if (types != null)
+            return types;
+
+        final Set<String> readTypes = new HashSet<>();
+        try {
+            final ClassReader classReader = new ContextClassReader(className);
+            final String superName = classReader.getSuperName();
+            if (superName != null && !Types.CLASS_OBJECT.equals(superName)) {
+                readTypes.add(superName);
+                readTypes.addAll(superTypes(superName));
+            }
+            for (final String interfaceName : classReader.getInterfaces()) {
+                readTypes.add(interfaceName);
+                readTypes.addAll(superTypes(interfaceName));
+            }
+        } catch (IOException e) {
+            // the hierarchy of unknown classes is not considered by the simulation either
+        }
+
+        if (superTypes.size() < MAX_ENTRIES)
+            superTypes.put(className, readTypes);
+        return readTypes;
+    }
+
+    /**
+     * Returns a unique id of the given non-literal value, values are compared by identity.
+     * The ids are never reused, thus the known objects can be released if the limit is exceeded.
+     */
+    private int objectId(final Object value) {
+        synchronized (objectIds) {
+            if (objectIds.size() >= MAX_ENTRIES)
+                objectIds.clear();
+            return objectIds.computeIfAbsent(value, v -> nextObjectId.getAndIncrement());
+        }
+    }
+
+    /**
+     * Returns the instructions of the method which is simulated for the given invocation or {@code null} if it's not a project method.
+     */
+    private List<Instruction> projectMethodBody(final MethodIdentifier identifier) {
+        final Method method = methodPool.get(identifier);
+        return method instanceof ProjectMethod ? ((ProjectMethod) method).getInstructions() : null;
+    }
+
+}
@@ -16,24 +16,18 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
 
-import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
-import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.reduction.RelevantInstructionReducer;
-import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
-import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ProjectMethodClassVisitor;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisOptions;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.AnalysisBudget;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodSimulator;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.InvokeInstruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
-import com.sebastian_daschner.jaxrs_analyzer.model.methods.ProjectMethod;
-import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
-import org.objectweb.asm.ClassReader;
-import org.objectweb.asm.ClassVisitor;
 
-import java.io.IOException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Analyzes the content of a method. Sub classes have to be thread-safe.
@@ -42,12 +36,30 @@ import java.util.stream.IntStream;
  */
 abstract class MethodContentAnalyzer {
 
+    private final AnalysisOptions options;
+    private final ProjectCallGraph callGraph;
+    private String resourceClassName;
+
+    MethodContentAnalyzer(final AnalysisOptions options, final ProjectCallGraph callGraph) {
+        this.options = options;
+        this.callGraph = callGraph;
+    }
+
     /**
-     * The number of package hierarchies which are taken to identify project resources.
+     * Creates and activates the budget for analyzing a single method. The budget has to be deactivated afterwards.
      */
-    private static final int PROJECT_PACKAGE_HIERARCHIES = 2;
-    private final RelevantInstructionReducer instructionReducer = new RelevantInstructionReducer();
-    private String projectPackagePrefix;
+    AnalysisBudget activateBudget() {
+        final AnalysisBudget budget = callGraph.createBudget();
+        budget.activate();
+        return budget;
+    }
+
+    /**
+     * Creates a simulator which invokes the methods of the analysis.
+     */
+    MethodSimulator createSimulator() {
+        return new MethodSimulator(callGraph.getMethodPool());
+    }
 
     /**
      * Interprets the relevant instructions for the given method.
@@ -56,105 +68,98 @@ abstract class MethodContentAnalyzer {
      * @return The reduced instructions
      */
     List<Instruction> interpretRelevantInstructions(final List<Instruction> instructions) {
-        return instructionReducer.reduceInstructions(instructions);
+        return callGraph.getBodyCache().reduceInstructions(instructions);
     }
 
     /**
-     * Builds the project package prefix for the class of given method.
-     * The current project which is analyzed is identified by the first two package nodes.
+     * Simulates the given relevant instructions, structurally identical methods are simulated only once.
+     * The classes of summarized dependencies are not abstracted as the summaries of their methods are not part of the fingerprint.
+     *
+     * @param instructions The relevant instructions
+     * @param simulator    The method simulator
+     * @return The returned element or {@code null}
      */
-    void buildPackagePrefix(final String className) {
-        // TODO test
-        final int lastPackageSeparator = className.lastIndexOf('/');
-        final String packageName = className.substring(0, lastPackageSeparator == -1 ? className.length() : lastPackageSeparator);
-        final String[] splitPackage = packageName.split("/");
-
-        if (splitPackage.length >= PROJECT_PACKAGE_HIERARCHIES) {
-            projectPackagePrefix = IntStream.range(0, PROJECT_PACKAGE_HIERARCHIES).mapToObj(i -> splitPackage[i]).collect(Collectors.joining("/"));
-        } else {
-            projectPackagePrefix = packageName;
-        }
+    Element simulate(final List<Instruction> instructions, final MethodSimulator simulator) {
+        return callGraph.getBodyCache().simulate(instructions,
+                c -> options.getScopePolicy().isInScope(c, resourceClassName) && !callGraph.getDependencySummaries().isSummarized(c),
+                () -> simulator.simulate(instructions));
     }
 
     /**
-     * Searches for own project method invoke instructions in the given list.
-     *
-     * @param instructions The instructions where to search
-     * @return The found project methods
+     * Sets the resource class of the analyzed method which defines the default project scope of the {@link ScopePolicy}.
      */
-    Set<ProjectMethod> findProjectMethods(final List<Instruction> instructions) {
-        final Set<ProjectMethod> projectMethods = new HashSet<>();
-
-        addProjectMethods(instructions, projectMethods);
-
-        return projectMethods;
+    void setResourceClass(final String className) {
+        resourceClassName = className;
     }
 
     /**
-     * Adds all project methods called in the given {@code instructions} to the {@code projectMethods} recursively.
+     * Searches for own project method invoke instructions in the given list (recursively) and adds the project methods to the global method pool.
+     * The invoked methods are discovered breadth-first, the classes of the next level are prefetched while the current level is handled.
+     * Every project method is summarized only once, the prefetching and summarizing is charged to the active budget.
      *
-     * @param instructions   The instructions of the current method
-     * @param projectMethods All found project methods
+     * @param instructions The instructions where to search
      */
-    private void addProjectMethods(final List<Instruction> instructions, final Set<ProjectMethod> projectMethods) {
-        Set<MethodIdentifier> projectMethodIdentifiers = findUnhandledProjectMethodIdentifiers(instructions, projectMethods);
-
-        for (MethodIdentifier identifier : projectMethodIdentifiers) {
-            // TODO cache results -> singleton pool?
-
-            final MethodResult methodResult = visitProjectMethod(identifier);
-            if (methodResult == null) {
-                continue;
+    void registerProjectMethods(final List<Instruction> instructions) {
+        final Set<MethodIdentifier> projectMethods = new HashSet<>();
+        final Set<MethodIdentifier> handledMethods = new HashSet<>();
+        final AnalysisBudget budget = AnalysisBudget.active();
+
+        Set<MethodIdentifier> currentLevel = findUnhandledProjectMethodIdentifiers(instructions, handledMethods, 1);
+        for (int depth = 1; !currentLevel.isEmpty(); depth++) {
+            if (budget != null)
+                budget.checkDepth(depth);
+
+            handledMethods.addAll(currentLevel);
+            callGraph.prefetch(currentLevel);
+
+            final Set<MethodIdentifier> nextLevel = new HashSet<>();
+            for (final MethodIdentifier identifier : currentLevel) {
+                final List<Instruction> nestedMethodInstructions = callGraph.getInstructions(identifier);
+                if (nestedMethodInstructions == null)
+                    continue;
+
+                projectMethods.add(identifier);
+                final Set<MethodIdentifier> invokedMethods = findUnhandledProjectMethodIdentifiers(nestedMethodInstructions, handledMethods, depth + 1);
+                callGraph.prefetch(invokedMethods);
+                nextLevel.addAll(invokedMethods);
             }
-
-            final List<Instruction> nestedMethodInstructions = interpretRelevantInstructions(methodResult.getInstructions());
-            projectMethods.add(new ProjectMethod(identifier, nestedMethodInstructions));
-            addProjectMethods(nestedMethodInstructions, projectMethods);
+            currentLevel = nextLevel;
         }
-    }
 
-    private MethodResult visitProjectMethod(MethodIdentifier identifier) {
-        try {
-            final ClassReader classReader = new ContextClassReader(identifier.getContainingClass());
-            final MethodResult methodResult = new MethodResult();
-            methodResult.setOriginalMethodSignature(identifier);
-            final ClassVisitor visitor = new ProjectMethodClassVisitor(methodResult, identifier);
-
-            classReader.accept(visitor, ClassReader.EXPAND_FRAMES);
-            return methodResult;
-        } catch (IOException e) {
-            LogProvider.error("Could not analyze project method " + identifier.getContainingClass() + "#" + identifier.getMethodName());
-            LogProvider.debug(e);
-            return null;
-        }
+        callGraph.summarize(projectMethods);
+
+        // the summaries have been charged to the budget on the summary threads
+        if (budget != null)
+            budget.check();
     }
 
     /**
-     * Returns project method identifiers of invoke instructions which are not included in the {@code projectMethods}.
+     * Returns project method identifiers of invoke instructions which are not included in the {@code handledMethods}.
      *
      * @param instructions   The instructions of the current method
-     * @param projectMethods All found project methods
+     * @param handledMethods All handled project methods
+     * @param depth          The interprocedural depth of the invoked methods
      * @return The new method identifiers of unhandled project method invoke instructions
      */
-    private Set<MethodIdentifier> findUnhandledProjectMethodIdentifiers(final List<Instruction> instructions, final Set<ProjectMethod> projectMethods) {
+    private Set<MethodIdentifier> findUnhandledProjectMethodIdentifiers(final List<Instruction> instructions, final Set<MethodIdentifier> handledMethods, final int depth) {
         // find own methods
         return instructions.stream().filter(i -> i.getType() == Instruction.InstructionType.INVOKE || i.getType() == Instruction.InstructionType.METHOD_HANDLE)
-                .map(i -> (InvokeInstruction) i).filter(this::isProjectMethod).map(InvokeInstruction::getIdentifier)
-                .filter(i -> projectMethods.stream().noneMatch(m -> m.matches(i)))
+                .map(i -> (InvokeInstruction) i).filter(i -> isProjectMethod(i, depth)).map(InvokeInstruction::getIdentifier)
+                .filter(i -> !handledMethods.contains(i))
                 .collect(Collectors.toSet());
     }
 
     /**
-     * Checks if the given instruction invokes a method defined in the analyzed project.
+     * Checks if the given instruction invokes a method defined in the analyzed project which should be followed according to the scope policy.
      *
      * @param instruction The invoke instruction
+     * @param depth       The interprocedural depth of the invoked method
      * @return {@code true} if method was defined in the project
      */
-    private boolean isProjectMethod(final InvokeInstruction instruction) {
+    private boolean isProjectMethod(final InvokeInstruction instruction, final int depth) {
         final MethodIdentifier identifier = instruction.getIdentifier();
 
-        // check if method is in own package
-        return identifier.getContainingClass().startsWith(projectPackagePrefix);
+        return options.getScopePolicy().isFollowed(identifier.getContainingClass(), resourceClassName, depth);
     }
 
 }
@@ -0,0 +1,374 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonArray;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonObject;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonValue;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.*;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.utils.DigestUtils;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Type;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The structural fingerprint of a method body. The given classes are abstracted to placeholders which are numbered by their first occurrence,
+ * therefore methods which only differ in these classes, e.g. generated resources for different entities, have the same fingerprint.
+ * The bodies of the invoked project methods are part of the fingerprint as well.
+ * Types and simulated elements can be translated between the concrete form of the fingerprinted method and the abstract form.
+ *
+ * @author Sebastian Daschner
+ */
+class MethodFingerprint {
+
+    private static final char PLACEHOLDER = '#';
+    private static final String PRIMITIVE_DESCRIPTORS = "BCDFIJSZV";
+    private static final Pattern CLASS_NAME = Pattern.compile("L([^;<>]+)");
+    private static final Pattern PLACEHOLDER_NAME = Pattern.compile(PLACEHOLDER + "(\\d+)");
+
+    private final String digest;
+    private final List<String> classes;
+    private final Map<String, Integer> placeholders;
+
+    private MethodFingerprint(final String digest, final List<String> classes, final Map<String, Integer> placeholders) {
+        this.digest = digest;
+        this.classes = classes;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Returns the content address of the normalized method body.
+     */
+    String getDigest() {
+        return digest;
+    }
+
+    /**
+     * Translates a concrete element of the fingerprinted method to the abstract form.
+     *
+     * @return The abstract element or {@code null} if the element cannot be translated
+     */
+    Element abstractElement(final Element element) {
+        return retype(element, this::abstractType);
+    }
+
+    /**
+     * Translates an abstract element to the concrete form of the fingerprinted method.
+     *
+     * @return The concrete element or {@code null} if the element cannot be translated
+     */
+    Element instantiateElement(final Element element) {
+        return retype(element, this::instantiateType);
+    }
+
+    String abstractType(final String type) {
+        if (isInternalName(type)) {
+            final Integer placeholder = placeholders.get(type);
+            return placeholder == null ? type : PLACEHOLDER + placeholder.toString();
+        }
+        return replace(CLASS_NAME, type, name -> {
+            final Integer placeholder = placeholders.get(name);
+            return placeholder == null ? null : "L" + PLACEHOLDER + placeholder;
+        });
+    }
+
+    String instantiateType(final String type) {
+        return replace(PLACEHOLDER_NAME, type, index -> classes.get(Integer.parseInt(index)));
+    }
+
+    /**
+     * Checks if the type is a class name in JVM notation (e.g. {@code java/lang/String}) rather than a type descriptor.
+     */
+    private static boolean isInternalName(final String type) {
+        if (type.indexOf(';') >= 0 || type.startsWith("["))
+            return false;
+        return type.length() > 1 || PRIMITIVE_DESCRIPTORS.indexOf(type.charAt(0)) < 0;
+    }
+
+    private static String replace(final Pattern pattern, final String type, final Function<String, String> replacement) {
+        final Matcher matcher = pattern.matcher(type);
+        final StringBuffer buffer = new StringBuffer();
+        while (matcher.find()) {
+            final String replaced = replacement.apply(matcher.group(1));
+            matcher.appendReplacement(buffer, Matcher.quoteReplacement(replaced == null ? matcher.group() : replaced));
+        }
+        matcher.appendTail(buffer);
+        return buffer.toString();
+    }
+
+    private static Element retype(final Element element, final UnaryOperator<String> typeMapping) {
+        if (element == null)
+            return null;
+
+        // widened elements have no values and keep the widening
+        final Element retyped = new Element(element);
+        retyped.getTypes().clear();
+        element.getTypes().stream().map(typeMapping).forEach(retyped.getTypes()::add);
+
+        if (element.getPossibleValues().isEmpty())
+            return retyped;
+
+        retyped.getPossibleValues().clear();
+        for (final Object value : element.getPossibleValues()) {
+            final Object retypedValue = retypeValue(value, typeMapping);
+            if (retypedValue == null && value != null)
+                return null;
+            retyped.getPossibleValues().add(retypedValue);
+        }
+        return retyped;
+    }
+
+    private static Object retypeValue(final Object value, final UnaryOperator<String> typeMapping) {
+        if (value == null || isLiteral(value))
+            // literal values are part of the fingerprint
+            return value;
+
+        if (value instanceof HttpResponse) {
+            final HttpResponse response = (HttpResponse) value;
+            final HttpResponse retyped = new HttpResponse();
+            retyped.getStatuses().addAll(response.getStatuses());
+            retyped.setWidenedStatuses(response.isWidenedStatuses());
+            retyped.getHeaders().addAll(response.getHeaders());
+            retyped.getContentTypes().addAll(response.getContentTypes());
+            response.getEntityTypes().stream().map(typeMapping).forEach(retyped.getEntityTypes()::add);
+            for (final JsonValue inlineEntity : response.getInlineEntities()) {
+                final Object retypedEntity = retypeValue(inlineEntity, typeMapping);
+                if (retypedEntity == null)
+                    return null;
+                retyped.getInlineEntities().add((JsonValue) retypedEntity);
+            }
+            return retyped;
+        }
+
+        if (value instanceof JsonObject) {
+            final JsonObject retyped = new JsonObject();
+            for (final Map.Entry<String, Element> entry : ((JsonObject) value).getStructure().entrySet()) {
+                final Element retypedElement = retype(entry.getValue(), typeMapping);
+                if (retypedElement == null && entry.getValue() != null)
+                    return null;
+                retyped.getStructure().put(entry.getKey(), retypedElement);
+            }
+            return retyped;
+        }
+
+        if (value instanceof JsonArray) {
+            final JsonArray retyped = new JsonArray();
+            for (final Element element : ((JsonArray) value).getElements()) {
+                final Element retypedElement = retype(element, typeMapping);
+                if (retypedElement == null && element != null)
+                    return null;
+                retyped.getElements().add(retypedElement);
+            }
+            return retyped;
+        }
+
+        // e.g. method handles
+        return null;
+    }
+
+    private static boolean isLiteral(final Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character
+                || value instanceof Type || value instanceof Handle;
+    }
+
+    /**
+     * Creates the fingerprint of the given instructions.
+     *
+     * @param instructions The instructions of the method
+     * @param abstracted   Whether a class (in JVM notation) is abstracted
+     * @param bodies       Returns the instructions of invoked project methods or {@code null} if the method is not simulated
+     * @param objectIds    Returns unique ids of non-literal values, e.g. constant objects
+     * @return The fingerprint
+     */
+    static MethodFingerprint of(final List<Instruction> instructions, final Predicate<String> abstracted, final Function<MethodIdentifier, List<Instruction>> bodies,
+                                final ToIntFunction<Object> objectIds) {
+        return new Normalizer(abstracted, bodies, objectIds).normalize(instructions);
+    }
+
+    /**
+     * Returns the classes which are referenced in the given instructions, including the bodies of the invoked project methods.
+     *
+     * @param instructions The instructions of the method
+     * @param bodies       Returns the instructions of invoked project methods or {@code null} if the method is not simulated
+     * @return The class names in JVM notation
+     */
+    static Set<String> referencedClasses(final List<Instruction> instructions, final Function<MethodIdentifier, List<Instruction>> bodies) {
+        final Set<String> classes = new HashSet<>();
+        new Normalizer(c -> {
+            classes.add(c);
+            return false;
+        }, bodies, v -> 0).appendBodies(instructions);
+        return classes;
+    }
+
+    /**
+     * Writes the normalized form of method bodies.
+     */
+    private static class Normalizer {
+
+        private final StringBuilder builder = new StringBuilder();
+        private final Map<Label, Integer> labels = new IdentityHashMap<>();
+        private final List<String> classes = new ArrayList<>();
+        private final Map<String, Integer> placeholders = new HashMap<>();
+        private final Map<MethodIdentifier, Integer> invokedMethods = new HashMap<>();
+        private final Deque<List<Instruction>> pendingBodies = new ArrayDeque<>();
+        private final Predicate<String> abstracted;
+        private final Function<MethodIdentifier, List<Instruction>> bodies;
+        private final ToIntFunction<Object> objectIds;
+
+        Normalizer(final Predicate<String> abstracted, final Function<MethodIdentifier, List<Instruction>> bodies, final ToIntFunction<Object> objectIds) {
+            this.abstracted = abstracted;
+            this.bodies = bodies;
+            this.objectIds = objectIds;
+        }
+
+        MethodFingerprint normalize(final List<Instruction> instructions) {
+            appendBodies(instructions);
+            return new MethodFingerprint(digest(builder), classes, placeholders);
+        }
+
+        void appendBodies(final List<Instruction> instructions) {
+            appendBody(instructions);
+            while (!pendingBodies.isEmpty())
+                appendBody(pendingBodies.poll());
+        }
+
+        private void appendBody(final List<Instruction> instructions) {
+            // labels are local to the method body
+            labels.clear();
+            builder.append('{');
+            instructions.forEach(this::append);
+            builder.append('}');
+        }
+
+        private void append(final Instruction instruction) {
+            builder.append(instruction.getClass().getSimpleName()).append('@').append(label(instruction.getLabel()));
+
+            if (instruction instanceof InvokeInstruction) {
+                appendMethod(((InvokeInstruction) instruction).getIdentifier());
+                if (instruction instanceof InvokeDynamicInstruction)
+                    appendMethod(((InvokeDynamicInstruction) instruction).getDynamicIdentifier());
+            } else if (instruction instanceof GetPropertyInstruction) {
+                final GetPropertyInstruction getProperty = (GetPropertyInstruction) instruction;
+                appendType(getProperty.getContainingClass()).append(getProperty.getPropertyName());
+                appendType(getProperty.getPropertyType());
+                if (instruction instanceof GetStaticInstruction)
+                    appendValue(((GetStaticInstruction) instruction).getValue());
+            } else if (instruction instanceof LoadStoreInstruction) {
+                final LoadStoreInstruction loadStore = (LoadStoreInstruction) instruction;
+                builder.append(loadStore.getNumber()).append(',').append(loadStore.getName());
+                appendType(loadStore.getVariableType());
+                if (instruction instanceof LoadInstruction)
+                    builder.append(',').append(label(((LoadInstruction) instruction).getValidUntil()));
+            } else if (instruction instanceof LoadStoreInstructionPlaceholder) {
+                final LoadStoreInstructionPlaceholder placeholder = (LoadStoreInstructionPlaceholder) instruction;
+                builder.append(placeholder.getType()).append(placeholder.getNumber());
+            } else if (instruction instanceof NewInstruction) {
+                appendType(((NewInstruction) instruction).getClassName());
+            } else if (instruction instanceof PushInstruction) {
+                final PushInstruction push = (PushInstruction) instruction;
+                appendType(push.getValueType());
+                appendValue(push.getValue());
+            } else {
+                // the remaining instructions don't contain types
+                builder.append(instruction);
+            }
+            builder.append(';');
+        }
+
+        private void appendMethod(final MethodIdentifier identifier) {
+            appendType(identifier.getContainingClass()).append('.').append(identifier.getMethodName()).append(identifier.isStaticMethod() ? 's' : 'v');
+            identifier.getParameters().forEach(this::appendType);
+            appendType(identifier.getReturnType());
+
+            // invoked project methods are referenced by the order of their occurrence
+            Integer invoked = invokedMethods.get(identifier);
+            if (invoked == null) {
+                final List<Instruction> body = bodies.apply(identifier);
+                if (body == null)
+                    return;
+                invoked = invokedMethods.size();
+                invokedMethods.put(identifier, invoked);
+                pendingBodies.add(body);
+            }
+            builder.append("->").append(invoked);
+        }
+
+        private StringBuilder appendType(final String type) {
+            builder.append(',');
+            if (type == null)
+                return builder;
+
+            if (isInternalName(type))
+                return builder.append(abstracted.test(type) ? PLACEHOLDER + placeholder(type).toString() : type);
+
+            final Matcher matcher = CLASS_NAME.matcher(type);
+            int last = 0;
+            while (matcher.find()) {
+                builder.append(type, last, matcher.start());
+                final String className = matcher.group(1);
+                builder.append('L').append(abstracted.test(className) ? PLACEHOLDER + placeholder(className).toString() : className);
+                last = matcher.end();
+            }
+            return builder.append(type, last, type.length());
+        }
+
+        private Integer placeholder(final String className) {
+            return placeholders.computeIfAbsent(className, c -> {
+                classes.add(c);
+                return classes.size() - 1;
+            });
+        }
+
+        private void appendValue(final Object value) {
+            builder.append(',');
+            if (value == null)
+                return;
+
+            builder.append(value.getClass().getName()).append(':');
+            if (isLiteral(value))
+                builder.append(value);
+            else
+                builder.append('@').append(objectIds.applyAsInt(value));
+        }
+
+        private int label(final Label label) {
+            if (label == null)
+                return -1;
+            return labels.computeIfAbsent(label, l -> labels.size());
+        }
+
+        private static String digest(final CharSequence normalized) {
+            final byte[] hash = DigestUtils.sha256().digest(normalized.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        }
+
+    }
+
+}
@@ -0,0 +1,609 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
+
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisOptions;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.AnalysisBudget;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.BudgetExceededException;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.InjectableArgumentMethodSimulator;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.RecursiveComponent;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ProjectMethodClassVisitor;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.summaries.DependencySummaries;
+import com.sebastian_daschner.jaxrs_analyzer.model.SymbolTable;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Widening;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.InvokeInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.Method;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.ProjectMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.SummarizedMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The call graph of the project methods which are invoked by the analyzed resource methods.
+ * The class bytes of every project method are read and reduced only once, the classes of newly discovered methods can be prefetched in parallel.
+ * Methods of summarized dependencies are taken from their {@link DependencySummaries} instead.
+ * Newly reachable methods are summarized bottom-up per strongly connected component, callees before callers,
+ * independent components in parallel on the own summary threads.
+ * Components of recursive methods are summarized by fixpoint iteration over their return values,
+ * other methods are summarized by their return values if these don't depend on the arguments and thus aren't simulated again by their callers.
+ * The work on the own threads is charged to the {@link AnalysisBudget} of the thread which requested it, if active.
+ * Closing the call graph cancels the pending methods and summaries, the call graph can't be used afterwards.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+class ProjectCallGraph {
+
+    /**
+     * The maximum number of fixpoint iterations of a recursive component.
+     */
+    private static final int MAX_FIXPOINT_ITERATIONS = 16;
+
+    /**
+     * The maximum number of classes which are queued to be prefetched, further classes are loaded by the discovering thread.
+     */
+    private static final int PREFETCH_QUEUE_CAPACITY = 128;
+
+    /**
+     * The type of the probe arguments which reveal whether a return value depends on the arguments.
+     */
+    private static final String PROBE_TYPE = "Lcom/sebastian_daschner/jaxrs_analyzer/analysis/bytecode/ProjectCallGraph$Probe;";
+
+    /**
+     * The types of the arguments which are modified by the simulation, methods which take them can't be replaced by their return values.
+     */
+    private static final Set<String> MODIFIED_ARGUMENT_TYPES = new HashSet<>(Arrays.asList(Types.OBJECT, Types.RESPONSE_BUILDER,
+            Types.JSON_OBJECT_BUILDER, Types.JSON_ARRAY_BUILDER));
+
+    private final Lock lock = new ReentrantLock();
+    private final Map<MethodIdentifier, CompletableFuture<Optional<Node>>> nodes = new ConcurrentHashMap<>();
+    private final Set<CompletableFuture<Void>> pendingSummaries = ConcurrentHashMap.newKeySet();
+    private final Set<MethodIdentifier> summarized = new HashSet<>();
+    private final MethodBodyCache bodyCache;
+    private final ThreadPoolExecutor prefetchExecutor;
+    private final ThreadPoolExecutor summaryExecutor;
+    private final AnalysisOptions options;
+    private final MethodPool methodPool;
+    private final DependencySummaries dependencySummaries;
+    private final SymbolTable symbolTable;
+    private final Widening widening;
+    private volatile boolean closed;
+
+    ProjectCallGraph(final AnalysisOptions options) {
+        this(options, new MethodPool(), new DependencySummaries(), new SymbolTable());
+    }
+
+    /**
+     * The threads of the call graph are created by the analysis threads and thus inherit the class loader of the analysis.
+     *
+     * @param options             The analysis options
+     * @param methodPool          The method pool of the analysis where the summarized project methods are added
+     * @param dependencySummaries The loaded summaries of the dependencies
+     * @param symbolTable         The symbol table of the analysis which interns the descriptors of the read methods
+     */
+    ProjectCallGraph(final AnalysisOptions options, final MethodPool methodPool, final DependencySummaries dependencySummaries, final SymbolTable symbolTable) {
+        this.options = options;
+        this.methodPool = methodPool;
+        this.dependencySummaries = dependencySummaries;
+        this.symbolTable = symbolTable;
+        widening = options.createWidening();
+        bodyCache = new MethodBodyCache(methodPool);
+        final int threads = Runtime.getRuntime().availableProcessors();
+        prefetchExecutor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.SECONDS, new ArrayBlockingQueue<>(PREFETCH_QUEUE_CAPACITY),
+                daemonThreads("jaxrs-analyzer-prefetch"), ProjectCallGraph::runOrReject);
+        prefetchExecutor.allowCoreThreadTimeOut(true);
+        summaryExecutor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), daemonThreads("jaxrs-analyzer-summary"));
+        summaryExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs the rejected task in the caller thread unless the executor has been shut down, then the task would be discarded silently.
+     */
+    private static void runOrReject(final Runnable task, final ThreadPoolExecutor executor) {
+        if (executor.isShutdown())
+            throw new RejectedExecutionException("The call graph has already been closed");
+        task.run();
+    }
+
+    private static ThreadFactory daemonThreads(final String name) {
+        return r -> {
+            final Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Stops the prefetching and summarizing and releases the read methods.
+     * Threads which wait for pending methods fail with an {@link IllegalStateException}, threads which wait for pending summaries
+     * with a {@link CancellationException}.
+     */
+    void close() {
+        closed = true;
+        prefetchExecutor.shutdownNow();
+        summaryExecutor.shutdownNow();
+
+        // the dropped tasks would never complete their futures
+        nodes.values().forEach(n -> n.cancel(false));
+        pendingSummaries.forEach(s -> s.cancel(false));
+        nodes.clear();
+        pendingSummaries.clear();
+        bodyCache.clear();
+    }
+
+    private void checkOpen() {
+        if (closed)
+            throw new IllegalStateException("The call graph has already been closed");
+    }
+
+    /**
+     * Returns the method pool of the analysis.
+     */
+    MethodPool getMethodPool() {
+        return methodPool;
+    }
+
+    /**
+     * Returns the loaded summaries of the dependencies.
+     */
+    DependencySummaries getDependencySummaries() {
+        return dependencySummaries;
+    }
+
+    /**
+     * Returns the widening of the possible values of the analysis.
+     */
+    Widening getWidening() {
+        return widening;
+    }
+
+    /**
+     * Creates a new budget for the analysis of a single method, which widens the elements by the widening of the analysis.
+     */
+    AnalysisBudget createBudget() {
+        return options.createBudget(widening);
+    }
+
+    /**
+     * Reads, visits and reduces the given project methods asynchronously. The class of several methods is only read once.
+     * Prefetched classes are dropped if the active budget of the calling thread has run out meanwhile.
+     *
+     * @param identifiers The method identifiers
+     */
+    void prefetch(final Collection<MethodIdentifier> identifiers) {
+        checkOpen();
+        final AnalysisBudget budget = AnalysisBudget.active();
+        final Map<String, Map<MethodIdentifier, CompletableFuture<Optional<Node>>>> classMethods = new HashMap<>();
+        for (final MethodIdentifier identifier : identifiers) {
+            final CompletableFuture<Optional<Node>> future = new CompletableFuture<>();
+            if (nodes.putIfAbsent(identifier, future) == null)
+                classMethods.computeIfAbsent(identifier.getContainingClass(), c -> new HashMap<>()).put(identifier, future);
+        }
+
+        try {
+            classMethods.forEach((className, methods) -> {
+                final AnalysisBudget forkedBudget = budget == null ? null : budget.fork();
+                prefetchExecutor.execute(() -> prefetchClass(className, methods, forkedBudget));
+            });
+        } catch (RejectedExecutionException e) {
+            // closed concurrently
+            classMethods.values().forEach(m -> m.values().forEach(f -> f.cancel(false)));
+            throw new IllegalStateException("The call graph has already been closed", e);
+        }
+    }
+
+    /**
+     * Returns the relevant instructions of the given project method, the class bytes are only read once.
+     *
+     * @param identifier The method identifier
+     * @return The instructions or {@code null} if the method could not be analyzed
+     */
+    List<Instruction> getInstructions(final MethodIdentifier identifier) {
+        checkOpen();
+        final CompletableFuture<Optional<Node>> future = new CompletableFuture<>();
+        final CompletableFuture<Optional<Node>> existing = nodes.putIfAbsent(identifier, future);
+        if (existing == null)
+            loadClass(identifier.getContainingClass(), Collections.singletonMap(identifier, future));
+
+        try {
+            return (existing == null ? future : existing).join().map(n -> n.instructions).orElse(null);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        } catch (CancellationException e) {
+            checkOpen();
+            // the prefetch has been dropped, the method is loaded by this thread
+            return getInstructions(identifier);
+        }
+    }
+
+    /**
+     * Loads the given methods of a class on a prefetch thread, charged to the budget of the requesting thread.
+     * If the budget has run out, the methods are dropped and loaded on demand instead.
+     */
+    private void prefetchClass(final String className, final Map<MethodIdentifier, CompletableFuture<Optional<Node>>> methods, final AnalysisBudget budget) {
+        if (budget == null) {
+            loadClass(className, methods);
+            return;
+        }
+
+        budget.activate();
+        try {
+            budget.check();
+            loadClass(className, methods);
+        } catch (BudgetExceededException e) {
+            methods.forEach((method, node) -> {
+                nodes.remove(method, node);
+                node.cancel(false);
+            });
+        } finally {
+            budget.deactivate();
+        }
+    }
+
+    /**
+     * Loads the given methods of a class and completes their nodes.
+     */
+    private void loadClass(final String className, final Map<MethodIdentifier, CompletableFuture<Optional<Node>>> methods) {
+        final Map<MethodIdentifier, CompletableFuture<Optional<Node>>> analyzedMethods = new HashMap<>();
+        methods.forEach((method, node) -> {
+            final Element summary = dependencySummaries.getMethodSummary(method);
+            if (summary != null)
+                node.complete(Optional.of(new Node(summary)));
+            else
+                analyzedMethods.put(method, node);
+        });
+
+        if (!analyzedMethods.isEmpty())
+            readClass(className, analyzedMethods);
+    }
+
+    private void readClass(final String className, final Map<MethodIdentifier, CompletableFuture<Optional<Node>>> methods) {
+        try {
+            final ClassReader classReader = new ContextClassReader(className);
+            methods.forEach((m, node) -> node.complete(visitProjectMethod(classReader, m)));
+        } catch (IOException e) {
+            methods.forEach((m, node) -> {
+                LogProvider.error("Could not analyze project method " + m.getContainingClass() + "#" + m.getMethodName());
+                LogProvider.debug(e);
+                node.complete(Optional.empty());
+            });
+        } catch (RuntimeException | Error e) {
+            // waiting threads must not block forever
+            methods.values().forEach(node -> node.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Returns the node of a loaded method.
+     */
+    private CompletableFuture<Optional<Node>> node(final MethodIdentifier identifier) {
+        final CompletableFuture<Optional<Node>> node = nodes.get(identifier);
+        if (node == null) {
+            checkOpen();
+            throw new IllegalStateException("The method " + identifier + " has not been loaded");
+        }
+        return node;
+    }
+
+    private Optional<Node> visitProjectMethod(final ClassReader classReader, final MethodIdentifier identifier) {
+        final MethodResult methodResult = new MethodResult();
+        methodResult.setOriginalMethodSignature(identifier);
+        final ClassVisitor visitor = new ProjectMethodClassVisitor(methodResult, identifier, symbolTable);
+
+        classReader.accept(visitor, ClassReader.EXPAND_FRAMES);
+        return Optional.of(new Node(bodyCache.reduceInstructions(methodResult.getInstructions())));
+    }
+
+    /**
+     * Returns the cache of the structurally identical method bodies.
+     */
+    MethodBodyCache getBodyCache() {
+        return bodyCache;
+    }
+
+    /**
+     * Summarizes the given reachable project methods which have not been summarized yet and adds them to the method pool.
+     * The summaries are charged to the active budget of the calling thread, if any,
+     * and fall back to the declared return types (or the simulation of the method) once the budget runs out.
+     *
+     * @param methods The project methods which are reachable from the analyzed method (and have been loaded)
+     */
+    void summarize(final Set<MethodIdentifier> methods) {
+        checkOpen();
+        final AnalysisBudget budget = AnalysisBudget.active();
+        lock.lock();
+        try {
+            final List<List<MethodIdentifier>> components = new StronglyConnectedComponents(methods, m -> callees(m, methods)).compute();
+            final Map<MethodIdentifier, CompletableFuture<Void>> scheduled = new HashMap<>();
+
+            // components are in reverse topological order, i.e. callees first
+            for (final List<MethodIdentifier> component : components) {
+                if (summarized.containsAll(component))
+                    continue;
+
+                final CompletableFuture<?>[] dependencies = component.stream().flatMap(m -> callees(m, methods).stream())
+                        .filter(c -> !component.contains(c)).map(scheduled::get).filter(Objects::nonNull).distinct().toArray(CompletableFuture[]::new);
+
+                final boolean recursive = component.size() > 1 || callees(component.get(0), methods).contains(component.get(0));
+                final AnalysisBudget componentBudget = budget != null ? budget.fork() : createBudget();
+                final CompletableFuture<Void> future = CompletableFuture.allOf(dependencies)
+                        .thenRunAsync(() -> summarizeComponent(component, recursive, componentBudget), summaryExecutor);
+                pendingSummaries.add(future);
+                future.whenComplete((v, e) -> pendingSummaries.remove(future));
+
+                component.forEach(m -> scheduled.put(m, future));
+                summarized.addAll(component);
+            }
+
+            scheduled.values().stream().distinct().forEach(CompletableFuture::join);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Set<MethodIdentifier> callees(final MethodIdentifier method, final Set<MethodIdentifier> methods) {
+        return node(method).join().map(n -> n.callees).orElse(Collections.emptySet()).stream().filter(methods::contains).collect(Collectors.toSet());
+    }
+
+    /**
+     * Summarizes the component within the given budget.
+     */
+    private void summarizeComponent(final List<MethodIdentifier> component, final boolean recursive, final AnalysisBudget budget) {
+        if (!recursive) {
+            final MethodIdentifier identifier = component.get(0);
+            final Element summary = node(identifier).join().map(n -> n.summary).orElse(null);
+            if (summary != null) {
+                methodPool.addSummarizedMethod(new SummarizedMethod(identifier, summary));
+                return;
+            }
+
+            methodPool.addProjectMethod(new ProjectMethod(identifier, getInstructions(identifier), methodPool));
+            final Element returnValue = summarizeReturnValue(identifier, budget);
+            if (returnValue != null)
+                methodPool.addSummarizedMethod(new SummarizedMethod(identifier, returnValue));
+            return;
+        }
+
+        final RecursiveComponent recursiveComponent = new RecursiveComponent();
+        component.forEach(m -> methodPool.addProjectMethod(new ProjectMethod(m, getInstructions(m), recursiveComponent, methodPool)));
+
+        budget.activate();
+        recursiveComponent.enter();
+        try {
+            boolean changed = true;
+            for (int i = 0; changed && i < MAX_FIXPOINT_ITERATIONS; i++) {
+                changed = false;
+                for (final MethodIdentifier identifier : component) {
+                    final Element returnValue = new InjectableArgumentMethodSimulator(methodPool).simulate(declaredArguments(identifier), getInstructions(identifier), identifier);
+                    changed |= recursiveComponent.mergeSummary(identifier, returnValue);
+                }
+            }
+        } catch (BudgetExceededException e) {
+            // the summaries fall back to the declared return types
+            LogProvider.debug("Summary of recursive methods " + component + " exceeded its budget (" + e.getMessage() + ")");
+        } finally {
+            recursiveComponent.exit();
+            budget.deactivate();
+        }
+    }
+
+    private static List<Element> declaredArguments(final MethodIdentifier identifier) {
+        return identifier.getParameters().stream().map(Element::new).collect(Collectors.toList());
+    }
+
+    /**
+     * Summarizes the return values of the given methods which don't depend on the arguments, e.g. to pre-build the summary of a dependency.
+     * A return value is independent if the method returns the same value for the declared argument types as for probe arguments
+     * and the method doesn't take arguments which could be modified by the simulation.
+     * Only return values which consist of constants are summarized.
+     *
+     * @param methods The methods to summarize
+     * @return The return values of the independent methods
+     */
+    Map<MethodIdentifier, Element> summarizeReturnValues(final Collection<MethodIdentifier> methods) {
+        prefetch(methods);
+        final Set<MethodIdentifier> loadedMethods = methods.stream().filter(m -> getInstructions(m) != null).collect(Collectors.toSet());
+        summarize(loadedMethods);
+
+        final Map<MethodIdentifier, Element> returnValues = new HashMap<>();
+        for (final MethodIdentifier identifier : loadedMethods) {
+            final Element returnValue = summarizeReturnValue(identifier, createBudget());
+            if (returnValue != null)
+                returnValues.put(identifier, returnValue);
+        }
+        return returnValues;
+    }
+
+    private Element summarizeReturnValue(final MethodIdentifier identifier, final AnalysisBudget budget) {
+        if (identifier.getParameters().stream().anyMatch(MODIFIED_ARGUMENT_TYPES::contains))
+            return null;
+
+        final Method method = methodPool.get(identifier);
+        final Element object = identifier.isStaticMethod() ? null : new Element("L" + identifier.getContainingClass() + ";");
+        final List<Element> probeArguments = identifier.getParameters().stream()
+                .map(p -> new Element(new HashSet<>(Arrays.asList(p, PROBE_TYPE)), new Probe())).collect(Collectors.toList());
+
+        budget.activate();
+        try {
+            final Element returnValue = method.invoke(object, declaredArguments(identifier));
+            final Element probedReturnValue = method.invoke(object, probeArguments);
+            return returnValue != null && returnValue.equals(probedReturnValue) && isConstant(returnValue) ? returnValue : null;
+        } catch (BudgetExceededException e) {
+            LogProvider.debug("Summary of method " + identifier + " exceeded its budget (" + e.getMessage() + ")");
+            return null;
+        } catch (RuntimeException e) {
+            LogProvider.error("Could not summarize method " + identifier.getContainingClass() + "#" + identifier.getMethodName() + ", reason: " + e.getMessage());
+            LogProvider.debug(e);
+            return null;
+        } finally {
+            budget.deactivate();
+        }
+    }
+
+    /**
+     * Checks whether the return value consists of constants only.
+     * Other values like responses or method handles could have been built from the arguments without revealing it, as the declared and the probe arguments have no known values,
+     * e.g. a response with the status of an argument.
+     */
+    private static boolean isConstant(final Element returnValue) {
+        return returnValue.getClass() == Element.class && !returnValue.getPossibleValues().isEmpty()
+                && returnValue.getPossibleValues().stream().allMatch(v -> v instanceof String || v instanceof Number || v instanceof Boolean || v instanceof Character);
+    }
+
+    /**
+     * A project method with its relevant instructions and invoked methods or a summarized method of a dependency.
+     */
+    private static class Node {
+
+        private final List<Instruction> instructions;
+        private final Set<MethodIdentifier> callees;
+        private final Element summary;
+
+        Node(final List<Instruction> instructions) {
+            this.instructions = instructions;
+            callees = instructions.stream().filter(i -> i.getType() == Instruction.InstructionType.INVOKE || i.getType() == Instruction.InstructionType.METHOD_HANDLE)
+                    .map(i -> ((InvokeInstruction) i).getIdentifier()).collect(Collectors.toSet());
+            summary = null;
+        }
+
+        Node(final Element summary) {
+            // summarized methods are not simulated, thus don't invoke further methods
+            instructions = Collections.emptyList();
+            callees = Collections.emptySet();
+            this.summary = summary;
+        }
+
+    }
+
+    /**
+     * A distinct argument value which is only used for probing.
+     */
+    private static class Probe {
+    }
+
+    /**
+     * Computes the strongly connected components of the call graph restricted to the given methods (Tarjan's algorithm).
+     */
+    static class StronglyConnectedComponents {
+
+        private final Set<MethodIdentifier> methods;
+        private final Function<MethodIdentifier, Set<MethodIdentifier>> callees;
+        private final Map<MethodIdentifier, Integer> indices = new HashMap<>();
+        private final Map<MethodIdentifier, Integer> lowLinks = new HashMap<>();
+        private final Deque<MethodIdentifier> stack = new ArrayDeque<>();
+        private final Set<MethodIdentifier> onStack = new HashSet<>();
+        private final List<List<MethodIdentifier>> components = new ArrayList<>();
+
+        /**
+         * @param methods The methods of the call graph
+         * @param callees The invoked methods of a method, restricted to the given methods
+         */
+        StronglyConnectedComponents(final Set<MethodIdentifier> methods, final Function<MethodIdentifier, Set<MethodIdentifier>> callees) {
+            this.methods = methods;
+            this.callees = callees;
+        }
+
+        /**
+         * Returns the components in reverse topological order.
+         */
+        List<List<MethodIdentifier>> compute() {
+            methods.stream().filter(m -> !indices.containsKey(m)).forEach(this::connect);
+            return components;
+        }
+
+        /**
+         * Visits the methods depth-first with an explicit stack of the methods and their remaining callees, as the call chains can be arbitrarily deep.
+         */
+        private void connect(final MethodIdentifier root) {
+            final Deque<Map.Entry<MethodIdentifier, Iterator<MethodIdentifier>>> path = new ArrayDeque<>();
+            path.push(visit(root));
+
+            while (!path.isEmpty()) {
+                final MethodIdentifier method = path.peek().getKey();
+                final Iterator<MethodIdentifier> remainingCallees = path.peek().getValue();
+
+                if (remainingCallees.hasNext()) {
+                    final MethodIdentifier callee = remainingCallees.next();
+                    if (!indices.containsKey(callee))
+                        path.push(visit(callee));
+                    else if (onStack.contains(callee))
+                        lowLinks.put(method, Math.min(lowLinks.get(method), indices.get(callee)));
+                    continue;
+                }
+
+                path.pop();
+                if (!path.isEmpty()) {
+                    final MethodIdentifier caller = path.peek().getKey();
+                    lowLinks.put(caller, Math.min(lowLinks.get(caller), lowLinks.get(method)));
+                }
+
+                if (lowLinks.get(method).equals(indices.get(method))) {
+                    final List<MethodIdentifier> component = new ArrayList<>();
+                    MethodIdentifier member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (!member.equals(method));
+                    components.add(component);
+                }
+            }
+        }
+
+        private Map.Entry<MethodIdentifier, Iterator<MethodIdentifier>> visit(final MethodIdentifier method) {
+            final int index = indices.size();
+            indices.put(method, index);
+            lowLinks.put(method, index);
+            stack.push(method);
+            onStack.add(method);
+            return new AbstractMap.SimpleImmutableEntry<>(method, callees.apply(method).iterator());
+        }
+
+    }
+
+}
@@ -16,14 +16,16 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
 
-import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
-import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodSimulator;
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisOptions;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.AnalysisBudget;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.BudgetExceededException;
 import com.sebastian_daschner.jaxrs_analyzer.model.Types;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonValue;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
-import com.sebastian_daschner.jaxrs_analyzer.model.methods.ProjectMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
 
 import java.util.Collections;
@@ -42,58 +44,100 @@ class ResourceMethodContentAnalyzer extends MethodContentAnalyzer {
 
     private final Lock lock = new ReentrantLock();
 
+    ResourceMethodContentAnalyzer() {
+        this(new AnalysisOptions());
+    }
+
+    ResourceMethodContentAnalyzer(final AnalysisOptions options) {
+        this(options, new ProjectCallGraph(options));
+    }
+
+    ResourceMethodContentAnalyzer(final AnalysisOptions options, final ProjectCallGraph callGraph) {
+        super(options, callGraph);
+    }
+
     /**
      * Analyzes the method (including own project methods).
+     * If the analysis exceeds its budget the method result is degraded to the information of the method signature.
      *
      * @param methodResult The method result
      */
     void analyze(final MethodResult methodResult) {
         lock.lock();
+        AnalysisBudget budget = null;
         try {
-            buildPackagePrefix(methodResult.getParentResource().getOriginalClass());
+            budget = activateBudget();
+            analyzeInternal(methodResult);
+        } catch (BudgetExceededException e) {
+            final MethodIdentifier identifier = methodResult.getOriginalMethodSignature();
+            LogProvider.info("Analysis of resource method " + identifier.getContainingClass() + "#" + identifier.getMethodName()
+                    + " exceeded its budget (" + e.getMessage() + "), falling back to the method signature");
+            addSignatureResponse(methodResult);
+            methodResult.setDegraded(true);
+        } finally {
+            if (budget != null)
+                budget.deactivate();
+            lock.unlock();
+        }
+    }
 
-            final List<Instruction> visitedInstructions = interpretRelevantInstructions(methodResult.getInstructions());
+    private void analyzeInternal(final MethodResult methodResult) {
+        setResourceClass(methodResult.getParentResource().getOriginalClass());
 
-            // find project defined methods in invoke occurrences
-            final Set<ProjectMethod> projectMethods = findProjectMethods(visitedInstructions);
+        final List<Instruction> visitedInstructions = interpretRelevantInstructions(methodResult.getInstructions());
 
-            // add project methods to global method pool
-            projectMethods.forEach(MethodPool.getInstance()::addProjectMethod);
+        // find project defined methods in invoke occurrences and add them to the global method pool
+        registerProjectMethods(visitedInstructions);
 
-            Element returnedElement = new MethodSimulator().simulate(visitedInstructions);
-            final String returnType = methodResult.getOriginalMethodSignature().getReturnType();
+        Element returnedElement = simulate(visitedInstructions, createSimulator());
+        final String returnType = methodResult.getOriginalMethodSignature().getReturnType();
 
-            // void resource methods are interpreted later; stop analyzing on error
-            if (Types.PRIMITIVE_VOID.equals(returnType)) {
-                return;
-            }
-            
-            // happens for abstract methods or if there is no return
-            boolean hasReturnElement = returnedElement != null;
+        // void resource methods are interpreted later; stop analyzing on error
+        if (Types.PRIMITIVE_VOID.equals(returnType)) {
+            return;
+        }
 
-            final Set<Object> possibleObjects = hasReturnElement ? returnedElement.getPossibleValues().stream().filter(o -> !(o instanceof HttpResponse))
-                    .collect(Collectors.toSet()) : Collections.emptySet();
+        // happens for abstract methods or if there is no return
+        boolean hasReturnElement = returnedElement != null;
 
-            // for non-Response methods add a default if there are non-Response objects or none objects at all
-            if (!Types.RESPONSE.equals(returnType)) {
-                final HttpResponse defaultResponse = new HttpResponse();
+        final Set<Object> possibleObjects = hasReturnElement ? returnedElement.getPossibleValues().stream().filter(o -> !(o instanceof HttpResponse))
+                .collect(Collectors.toSet()) : Collections.emptySet();
 
-                if (Types.OBJECT.equals(returnType))
-                    defaultResponse.getEntityTypes().addAll(returnedElement.getTypes());
-                else
-                    defaultResponse.getEntityTypes().add(returnType);
+        // for non-Response methods add a default if there are non-Response objects or none objects at all
+        if (!Types.RESPONSE.equals(returnType)) {
+            final HttpResponse defaultResponse = new HttpResponse();
 
-                possibleObjects.stream().filter(o -> o instanceof JsonValue).map(o -> (JsonValue) o).forEach(defaultResponse.getInlineEntities()::add);
+            if (Types.OBJECT.equals(returnType))
+                defaultResponse.getEntityTypes().addAll(returnedElement.getTypes());
+            else
+                defaultResponse.getEntityTypes().add(returnType);
 
-                methodResult.getResponses().add(defaultResponse);
-            }
+            possibleObjects.stream().filter(o -> o instanceof JsonValue).map(o -> (JsonValue) o).forEach(defaultResponse.getInlineEntities()::add);
 
-            // add Response results as well
-            if (hasReturnElement)
-                returnedElement.getPossibleValues().stream().filter(o -> o instanceof HttpResponse).map(o -> (HttpResponse) o).forEach(methodResult.getResponses()::add);
-        } finally {
-            lock.unlock();
+            methodResult.getResponses().add(defaultResponse);
         }
+
+        // add Response results as well
+        if (hasReturnElement)
+            returnedElement.getPossibleValues().stream().filter(o -> o instanceof HttpResponse).map(o -> (HttpResponse) o).forEach(methodResult.getResponses()::add);
+    }
+
+    /**
+     * Adds the response which is declared by the method signature, i.e. the return type with the default status.
+     *
+     * @param methodResult The method result
+     */
+    private void addSignatureResponse(final MethodResult methodResult) {
+        final String returnType = methodResult.getOriginalMethodSignature().getReturnType();
+
+        // void methods are documented with the default no-content response
+        if (Types.PRIMITIVE_VOID.equals(returnType))
+            return;
+
+        final HttpResponse response = new HttpResponse();
+        if (!Types.RESPONSE.equals(returnType))
+            response.getEntityTypes().add(returnType);
+        methodResult.getResponses().add(response);
     }
 
 }
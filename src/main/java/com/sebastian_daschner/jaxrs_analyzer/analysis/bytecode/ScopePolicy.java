@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
+
+import com.sebastian_daschner.jaxrs_analyzer.utils.StringUtils;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Decides which invoked methods are followed and simulated while analyzing a resource method.
+ * <p>
+ * Package patterns are written in Java notation, e.g. {@code com.company.persistence}, and match exactly that package.
+ * Patterns ending with {@code .*} match the package and all of its sub-packages.
+ * <p>
+ * A method is followed if its package is included and not excluded. If no includes are configured the first two package nodes
+ * of the analyzed resource class are included. Methods in opaque packages, or beyond the depth limit of their package, are not followed;
+ * they only contribute their declared return type.
+ * This class is immutable and thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class ScopePolicy {
+
+    /**
+     * The number of package hierarchies which are taken to identify project resources if no includes are configured.
+     */
+    private static final int DEFAULT_PACKAGE_HIERARCHIES = 2;
+
+    private final List<PackagePattern> includes;
+    private final List<PackagePattern> excludes;
+    private final List<PackagePattern> opaque;
+    private final Map<PackagePattern, Integer> depthLimits;
+
+    /**
+     * Creates a scope policy which follows the methods of the resources' project packages.
+     */
+    public ScopePolicy() {
+        this(Collections.emptySet(), Collections.emptySet(), Collections.emptySet(), Collections.emptyMap());
+    }
+
+    /**
+     * @param includes    The included package patterns (the resource's project package if empty)
+     * @param excludes    The excluded package patterns
+     * @param opaque      The package patterns of which the methods are never followed
+     * @param depthLimits The maximum interprocedural depths of package patterns, methods directly invoked by the resource method have depth 1
+     */
+    public ScopePolicy(final Set<String> includes, final Set<String> excludes, final Set<String> opaque, final Map<String, Integer> depthLimits) {
+        this.includes = toPatterns(includes);
+        this.excludes = toPatterns(excludes);
+        this.opaque = toPatterns(opaque);
+        this.depthLimits = new HashMap<>();
+        depthLimits.forEach((p, d) -> this.depthLimits.put(new PackagePattern(p), d));
+    }
+
+    /**
+     * Checks if a method of the given class invoked from the analyzed resource class should be followed.
+     * No class bytes are read.
+     *
+     * @param className         The class containing the invoked method as JVM class name, e.g. {@code com/company/Service}
+     * @param resourceClassName The analyzed resource class as JVM class name
+     * @param depth             The interprocedural depth of the invocation
+     * @return {@code true} if the method should be followed
+     */
+    public boolean isFollowed(final String className, final String resourceClassName, final int depth) {
+        final String packageName = packageOf(className);
+
+        if (!isIncluded(packageName, resourceClassName) || matchesAny(excludes, packageName) || matchesAny(opaque, packageName))
+            return false;
+
+        return depthLimits.entrySet().stream().filter(e -> e.getKey().matches(packageName))
+                // most specific pattern wins
+                .max(Comparator.comparingInt(e -> e.getKey().specificity()))
+                .map(e -> depth <= e.getValue()).orElse(true);
+    }
+
+    /**
+     * Checks if the given class belongs to the project scope of the analyzed resource class, i.e. it's included and not excluded.
+     * Opaque packages and depth limits are not considered.
+     *
+     * @param className         The class as JVM class name
+     * @param resourceClassName The analyzed resource class as JVM class name
+     * @return {@code true} if the class is in the project scope
+     */
+    public boolean isInScope(final String className, final String resourceClassName) {
+        final String packageName = packageOf(className);
+        return isIncluded(packageName, resourceClassName) && !matchesAny(excludes, packageName);
+    }
+
+    private boolean isIncluded(final String packageName, final String resourceClassName) {
+        if (includes.isEmpty())
+            return isInPackage(packageName, projectPackage(resourceClassName));
+        return matchesAny(includes, packageName);
+    }
+
+    private static boolean matchesAny(final List<PackagePattern> patterns, final String packageName) {
+        for (final PackagePattern pattern : patterns) {
+            if (pattern.matches(packageName))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the project package which is identified by the first two package nodes of the resource class.
+     */
+    private static String projectPackage(final String resourceClassName) {
+        final String[] splitPackage = packageOf(resourceClassName).split("\\.");
+
+        if (splitPackage.length >= DEFAULT_PACKAGE_HIERARCHIES)
+            return Stream.of(splitPackage).limit(DEFAULT_PACKAGE_HIERARCHIES).collect(Collectors.joining("."));
+        return packageOf(resourceClassName);
+    }
+
+    private static String packageOf(final String className) {
+        final int lastPackageSeparator = className.lastIndexOf('/');
+        return lastPackageSeparator == -1 ? "" : className.substring(0, lastPackageSeparator).replace('/', '.');
+    }
+
+    private static boolean isInPackage(final String packageName, final String parentPackage) {
+        if (parentPackage.isEmpty())
+            // the default package does not contain sub-packages
+            return packageName.isEmpty();
+        return packageName.equals(parentPackage) || packageName.startsWith(parentPackage + '.');
+    }
+
+    private static List<PackagePattern> toPatterns(final Set<String> patterns) {
+        return patterns.stream().filter(p -> !StringUtils.isBlank(p)).map(PackagePattern::new).collect(Collectors.toList());
+    }
+
+    /**
+     * A package pattern, e.g. {@code com.company} or {@code com.company.*}.
+     */
+    private static class PackagePattern {
+
+        private static final String WILDCARD_SUFFIX = ".*";
+
+        private final String packageName;
+        private final boolean subPackages;
+
+        PackagePattern(final String pattern) {
+            final String trimmed = pattern.trim();
+            subPackages = trimmed.endsWith(WILDCARD_SUFFIX);
+            packageName = subPackages ? trimmed.substring(0, trimmed.length() - WILDCARD_SUFFIX.length()) : trimmed;
+        }
+
+        boolean matches(final String packageName) {
+            return subPackages ? isInPackage(packageName, this.packageName) : this.packageName.equals(packageName);
+        }
+
+        int specificity() {
+            return packageName.length() * 2 + (subPackages ? 0 : 1);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            final PackagePattern that = (PackagePattern) o;
+
+            return subPackages == that.subPackages && packageName.equals(that.packageName);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * packageName.hashCode() + (subPackages ? 1 : 0);
+        }
+
+    }
+
+}
@@ -16,13 +16,15 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
 
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisOptions;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.JobRegistry;
-import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
-import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodSimulator;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.AnalysisBudget;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.BudgetExceededException;
 import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
-import com.sebastian_daschner.jaxrs_analyzer.model.methods.ProjectMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
 
@@ -41,7 +43,24 @@ import static java.util.Collections.singleton;
 class SubResourceLocatorMethodContentAnalyzer extends MethodContentAnalyzer {
 
     private final Lock lock = new ReentrantLock();
-    private final MethodSimulator simulator = new MethodSimulator();
+    private final JobRegistry jobRegistry;
+
+    SubResourceLocatorMethodContentAnalyzer() {
+        this(new AnalysisOptions());
+    }
+
+    SubResourceLocatorMethodContentAnalyzer(final AnalysisOptions options) {
+        this(options, new ProjectCallGraph(options));
+    }
+
+    SubResourceLocatorMethodContentAnalyzer(final AnalysisOptions options, final ProjectCallGraph callGraph) {
+        this(options, callGraph, new JobRegistry());
+    }
+
+    SubResourceLocatorMethodContentAnalyzer(final AnalysisOptions options, final ProjectCallGraph callGraph, final JobRegistry jobRegistry) {
+        super(options, callGraph);
+        this.jobRegistry = jobRegistry;
+    }
 
     /**
      * Analyzes the sub-resource locator method as a class result (which will be the content of a method result).
@@ -50,14 +69,18 @@ class SubResourceLocatorMethodContentAnalyzer extends MethodContentAnalyzer {
      */
     void analyze(final MethodResult methodResult) {
         lock.lock();
+        AnalysisBudget budget = null;
         try {
-            buildPackagePrefix(methodResult.getParentResource().getOriginalClass());
+            budget = activateBudget();
+            setResourceClass(methodResult.getParentResource().getOriginalClass());
 
             determineReturnTypes(methodResult).stream()
                     // FEATURE handle several sub-resource impl's
                     .reduce((l, r) -> JavaUtils.determineMostSpecificType(l, r))
                     .ifPresent(t -> registerSubResourceJob(t, methodResult.getSubResource()));
         } finally {
+            if (budget != null)
+                budget.deactivate();
             lock.unlock();
         }
     }
@@ -67,15 +90,23 @@ class SubResourceLocatorMethodContentAnalyzer extends MethodContentAnalyzer {
      * This will analyze the concrete returned types (which then are further analyzed).
      */
     private Set<String> determineReturnTypes(final MethodResult result) {
-        final List<Instruction> visitedInstructions = interpretRelevantInstructions(result.getInstructions());
+        final Element returnedElement;
+        try {
+            final List<Instruction> visitedInstructions = interpretRelevantInstructions(result.getInstructions());
 
-        // find project defined methods in invoke occurrences
-        final Set<ProjectMethod> projectMethods = findProjectMethods(visitedInstructions);
+            // find project defined methods in invoke occurrences and add them to the global method pool
+            registerProjectMethods(visitedInstructions);
 
-        // add project methods to global method pool
-        projectMethods.forEach(MethodPool.getInstance()::addProjectMethod);
+            // a simulation which exceeds its budget leaves its state behind, thus every locator is simulated by a new simulator
+            returnedElement = simulate(visitedInstructions, createSimulator());
+        } catch (BudgetExceededException e) {
+            final MethodIdentifier identifier = result.getOriginalMethodSignature();
+            LogProvider.info("Analysis of sub-resource locator " + identifier.getContainingClass() + "#" + identifier.getMethodName()
+                    + " exceeded its budget (" + e.getMessage() + "), falling back to the method signature");
+            result.setDegraded(true);
+            return singleton(identifier.getReturnType());
+        }
 
-        final Element returnedElement = simulator.simulate(visitedInstructions);
         if (returnedElement == null) {
             // happens for abstract methods or if there is no return
             return singleton(result.getOriginalMethodSignature().getReturnType());
@@ -86,7 +117,7 @@ class SubResourceLocatorMethodContentAnalyzer extends MethodContentAnalyzer {
 
     private void registerSubResourceJob(final String type, final ClassResult classResult) {
         final String className = JavaUtils.toClassName(type);
-        JobRegistry.getInstance().analyzeResourceClass(className, classResult);
+        jobRegistry.analyzeResourceClass(className, classResult);
     }
 
 }
@@ -1,6 +1,7 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.collection;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.model.SymbolTable;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.*;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import org.objectweb.asm.Handle;
@@ -224,23 +225,23 @@ public final class InstructionBuilder {
         }
     }
 
-    public static InvokeInstruction buildInvokeInstruction(final int opcode, String containingClass, String name, String desc, final Label label) {
+    public static InvokeInstruction buildInvokeInstruction(final int opcode, String containingClass, String name, String desc, final Label label, final SymbolTable symbolTable) {
         switch (opcode) {
             case INVOKEINTERFACE:
             case INVOKEVIRTUAL:
             case INVOKESPECIAL:
-                return new InvokeInstruction(of(containingClass, name, desc, false), label);
+                return new InvokeInstruction(of(containingClass, name, desc, false, symbolTable), label);
             case INVOKESTATIC:
-                return new InvokeInstruction(of(containingClass, name, desc, true), label);
+                return new InvokeInstruction(of(containingClass, name, desc, true, symbolTable), label);
             default:
                 throw new IllegalArgumentException("Unexpected opcode " + opcode);
         }
     }
 
-    public static Instruction buildInvokeDynamic(final String className, final String name, final String desc, final Handle handle, final Label label) {
-        final MethodIdentifier actualIdentifier = of(handle.getOwner(), handle.getName(), handle.getDesc(), handle.getTag() == Opcodes.H_INVOKESTATIC);
+    public static Instruction buildInvokeDynamic(final String className, final String name, final String desc, final Handle handle, final Label label, final SymbolTable symbolTable) {
+        final MethodIdentifier actualIdentifier = of(handle.getOwner(), handle.getName(), handle.getDesc(), handle.getTag() == Opcodes.H_INVOKESTATIC, symbolTable);
 
-        final MethodIdentifier dynamicIdentifier = of(className, name, desc, true);
+        final MethodIdentifier dynamicIdentifier = of(className, name, desc, true, symbolTable);
         return new InvokeDynamicInstruction(actualIdentifier, dynamicIdentifier, label);
     }
 
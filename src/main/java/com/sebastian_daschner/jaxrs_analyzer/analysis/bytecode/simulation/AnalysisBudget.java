@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Widening;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The budget for analyzing a single resource method: the number of simulated instructions, the interprocedural depth and the wall-clock time.
+ * The budget is activated for the current thread and consulted by the method simulators and the project method discovery,
+ * the {@link Widening} of the analysis is activated together with the budget.
+ * Work which is done for the analyzed method on other threads, e.g. by the call graph, is charged to the same budget via {@link #fork()}.
+ * A {@link BudgetExceededException} is thrown once the budget runs out.
+ * The simulated instructions are counted thread-safe, otherwise an active budget is confined to a single thread.
+ *
+ * @author Sebastian Daschner
+ */
+public class AnalysisBudget {
+
+    public static final int DEFAULT_MAX_INSTRUCTIONS = 1_000_000;
+    public static final int DEFAULT_MAX_DEPTH = 50;
+    public static final long DEFAULT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * The number of simulated instructions after which the deadline is checked.
+     */
+    private static final int DEADLINE_CHECK_INTERVAL = 1 << 10;
+    private static final ThreadLocal<AnalysisBudget> ACTIVE = new ThreadLocal<>();
+
+    private final int maxInstructions;
+    private final int maxDepth;
+    private final long timeoutMillis;
+    private final Widening widening;
+    private final boolean forked;
+    private AnalysisBudget previousBudget;
+    private Widening previousWidening;
+    private AtomicInteger instructions;
+    private long deadline;
+    private int depth;
+
+    public AnalysisBudget(final int maxInstructions, final int maxDepth, final long timeoutMillis) {
+        this(maxInstructions, maxDepth, timeoutMillis, new Widening(Widening.DEFAULT_MAX_POSSIBLE_VALUES));
+    }
+
+    public AnalysisBudget(final int maxInstructions, final int maxDepth, final long timeoutMillis, final Widening widening) {
+        this.maxInstructions = maxInstructions;
+        this.maxDepth = maxDepth;
+        this.timeoutMillis = timeoutMillis;
+        this.widening = widening;
+        forked = false;
+    }
+
+    private AnalysisBudget(final AnalysisBudget budget) {
+        maxInstructions = budget.maxInstructions;
+        maxDepth = budget.maxDepth;
+        timeoutMillis = budget.timeoutMillis;
+        widening = budget.widening;
+        forked = true;
+        instructions = budget.instructions;
+        deadline = budget.deadline;
+        depth = budget.depth;
+    }
+
+    /**
+     * Activates this budget for the current thread and starts the wall-clock timer, a forked budget continues the timer of its origin.
+     * The budget has to be {@link #deactivate() deactivated} after the analysis.
+     */
+    public void activate() {
+        if (!forked) {
+            instructions = new AtomicInteger();
+            depth = 0;
+            deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        }
+        previousBudget = ACTIVE.get();
+        ACTIVE.set(this);
+        previousWidening = Widening.activate(widening);
+    }
+
+    /**
+     * Deactivates this budget, the previously active budget of the current thread is active again.
+     */
+    public void deactivate() {
+        if (previousBudget != null)
+            ACTIVE.set(previousBudget);
+        else
+            ACTIVE.remove();
+        Widening.restore(previousWidening);
+        previousBudget = null;
+        previousWidening = null;
+    }
+
+    /**
+     * Returns a budget which charges the simulated instructions and the wall-clock time to this active budget, e.g. to analyze on another thread.
+     * The interprocedural depth of the forked budget continues at the current depth. The forked budget has to be activated on the other thread.
+     *
+     * @return The forked budget
+     */
+    public AnalysisBudget fork() {
+        if (instructions == null)
+            throw new IllegalStateException("The budget has not been activated");
+        return new AnalysisBudget(this);
+    }
+
+    /**
+     * Returns the budget which is active for the current thread or {@code null} if the analysis is unbounded.
+     */
+    public static AnalysisBudget active() {
+        return ACTIVE.get();
+    }
+
+    /**
+     * Consumes one simulated instruction.
+     */
+    void consumeInstruction() {
+        final int consumed = instructions.incrementAndGet();
+        if (consumed > maxInstructions)
+            throw new BudgetExceededException("more than " + maxInstructions + " simulated instructions");
+        if ((consumed & (DEADLINE_CHECK_INTERVAL - 1)) == 0)
+            checkDeadline();
+    }
+
+    /**
+     * Enters a nested method simulation.
+     */
+    void enterMethod() {
+        checkDepth(++depth);
+    }
+
+    void exitMethod() {
+        depth--;
+    }
+
+    /**
+     * Checks the interprocedural depth, e.g. while following nested project method invocations.
+     *
+     * @param depth The current depth
+     */
+    public void checkDepth(final int depth) {
+        if (depth > maxDepth)
+            throw new BudgetExceededException("interprocedural depth of more than " + maxDepth);
+        check();
+    }
+
+    /**
+     * Checks whether the budget has run out, including the instructions which have been charged by forked budgets.
+     */
+    public void check() {
+        if (instructions.get() > maxInstructions)
+            throw new BudgetExceededException("more than " + maxInstructions + " simulated instructions");
+        checkDeadline();
+    }
+
+    public void checkDeadline() {
+        if (System.nanoTime() - deadline > 0)
+            throw new BudgetExceededException("timeout of " + timeoutMillis + " ms");
+    }
+
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+/**
+ * Thrown if the {@link AnalysisBudget} of a resource method analysis runs out.
+ *
+ * @author Sebastian Daschner
+ */
+public class BudgetExceededException extends RuntimeException {
+
+    BudgetExceededException(final String reason) {
+        // stack trace is not needed to unwind the analysis
+        super(reason, null, false, false);
+    }
+
+}
@@ -20,12 +20,9 @@ import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 
-import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.IntStream;
 
 /**
  * Simulates the the instructions of a project method. The parameters of the method can be set with the actual arguments. This class is thread-safe.
@@ -34,12 +31,14 @@ import java.util.stream.IntStream;
  */
 public class InjectableArgumentMethodSimulator extends MethodSimulator {
 
+    private final Lock lock = new ReentrantLock();
+
     /**
-     * The called methods in a single recursive method simulation. Used to prevent infinite loops while analysing recursion.
+     * @param methodPool The method pool of the analysis
      */
-    private static final List<MethodIdentifier> EXECUTED_PATH_METHODS = Collections.synchronizedList(new LinkedList<>());
-
-    private final Lock lock = new ReentrantLock();
+    public InjectableArgumentMethodSimulator(final MethodPool methodPool) {
+        super(methodPool);
+    }
 
     /**
      * Simulates the instructions of the method which will be called with the given arguments.
@@ -50,20 +49,20 @@ public class InjectableArgumentMethodSimulator extends MethodSimulator {
      * @return The return value or {@code null} if return type is void
      */
     public Element simulate(final List<Element> arguments, final List<Instruction> instructions, final MethodIdentifier identifier) {
-        // prevent infinite loops on analysing recursion
-        if (EXECUTED_PATH_METHODS.contains(identifier))
-            return new Element();
+        final AnalysisBudget budget = AnalysisBudget.active();
+        if (budget != null)
+            budget.enterMethod();
 
         lock.lock();
-        EXECUTED_PATH_METHODS.add(identifier);
         try {
 
             injectArguments(arguments, identifier);
 
             return simulateInternal(instructions);
         } finally {
-            EXECUTED_PATH_METHODS.remove(identifier);
             lock.unlock();
+            if (budget != null)
+                budget.exitMethod();
         }
     }
 
@@ -77,7 +76,8 @@ public class InjectableArgumentMethodSimulator extends MethodSimulator {
         final int startIndex = staticMethod ? 0 : 1;
         final int endIndex = staticMethod ? arguments.size() - 1 : arguments.size();
 
-        IntStream.rangeClosed(startIndex, endIndex).forEach(i -> localVariables.put(i, arguments.get(staticMethod ? i : i - 1)));
+        for (int i = startIndex; i <= endIndex; i++)
+            localVariables.put(i, arguments.get(staticMethod ? i : i - 1));
     }
 
 }
@@ -16,6 +16,7 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
 
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonValue;
@@ -31,7 +32,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils.INITIALIZER_NAME;
 import static com.sebastian_daschner.jaxrs_analyzer.model.Types.*;
@@ -71,8 +74,7 @@ enum KnownResponseResultMethod implements IdentifiableMethod {
             addHeader(object, HttpHeaders.EXPIRES)),
 
     RESPONSE_BUILDER_HEADER(ofNonStatic(CLASS_RESPONSE_BUILDER, "header", RESPONSE_BUILDER, STRING, OBJECT), (object, arguments) -> {
-        arguments.get(0).getPossibleValues().stream()
-                .map(header -> (String) header).forEach(h -> addHeader(object, h));
+        possibleValues(arguments.get(0), "header names").map(header -> (String) header).forEach(h -> addHeader(object, h));
         return object;
     }),
 
@@ -98,14 +100,12 @@ enum KnownResponseResultMethod implements IdentifiableMethod {
             addHeader(object, HttpHeaders.LOCATION)),
 
     RESPONSE_BUILDER_STATUS_ENUM(ofNonStatic(CLASS_RESPONSE_BUILDER, "status", RESPONSE_BUILDER, RESPONSE_STATUS), (object, arguments) -> {
-        arguments.get(0).getPossibleValues().stream()
-                .map(status -> ((Response.Status) status).getStatusCode()).forEach(s -> addStatus(object, s));
+        addStatuses(object, arguments.get(0), status -> ((Response.Status) status).getStatusCode());
         return object;
     }),
 
     RESPONSE_BUILDER_STATUS_INT(ofNonStatic(CLASS_RESPONSE_BUILDER, "status", RESPONSE_BUILDER, PRIMITIVE_INT), (object, arguments) -> {
-        arguments.get(0).getPossibleValues().stream()
-                .map(status -> (int) status).forEach(s -> addStatus(object, s));
+        addStatuses(object, arguments.get(0), status -> (int) status);
         return object;
     }),
 
@@ -116,14 +116,13 @@ enum KnownResponseResultMethod implements IdentifiableMethod {
             addHeader(object, HttpHeaders.ETAG)),
 
     RESPONSE_BUILDER_TYPE(ofNonStatic(CLASS_RESPONSE_BUILDER, "type", RESPONSE_BUILDER, "Ljavax/ws/rs/core/MediaType;"), (object, arguments) -> {
-        arguments.get(0).getPossibleValues().stream()
+        possibleValues(arguments.get(0), "content types")
                 .map(m -> (MediaType) m).map(m -> m.getType() + '/' + m.getSubtype()).forEach(t -> addContentType(object, t));
         return object;
     }),
 
     RESPONSE_BUILDER_TYPE_STRING(ofNonStatic(CLASS_RESPONSE_BUILDER, "type", RESPONSE_BUILDER, STRING), (object, arguments) -> {
-        arguments.get(0).getPossibleValues().stream()
-                .map(t -> (String) t).forEach(t -> addContentType(object, t));
+        possibleValues(arguments.get(0), "content types").map(t -> (String) t).forEach(t -> addContentType(object, t));
         return object;
     }),
 
@@ -143,15 +142,13 @@ enum KnownResponseResultMethod implements IdentifiableMethod {
 
     RESPONSE_STATUS_ENUM(ofStatic(CLASS_RESPONSE, "status", RESPONSE_BUILDER, RESPONSE_STATUS), (notAvailable, arguments) -> {
         final Element object = new Element(RESPONSE, new HttpResponse());
-        arguments.get(0).getPossibleValues().stream()
-                .map(status -> ((Response.Status) status).getStatusCode()).forEach(s -> addStatus(object, s));
+        addStatuses(object, arguments.get(0), status -> ((Response.Status) status).getStatusCode());
         return object;
     }),
 
     RESPONSE_STATUS_INT(ofStatic(CLASS_RESPONSE, "status", RESPONSE_BUILDER, PRIMITIVE_INT), (notAvailable, arguments) -> {
         final Element object = new Element(RESPONSE, new HttpResponse());
-        arguments.get(0).getPossibleValues().stream()
-                .map(status -> (int) status).forEach(s -> addStatus(object, s));
+        addStatuses(object, arguments.get(0), status -> (int) status);
         return object;
     }),
 
@@ -177,7 +174,7 @@ enum KnownResponseResultMethod implements IdentifiableMethod {
     RESPONSE_OK_MEDIATYPE(ofStatic(CLASS_RESPONSE, "ok", RESPONSE_BUILDER, OBJECT, "Ljavax/ws/rs/core/MediaType;"), (notAvailable, arguments) -> {
         final Element object = new Element(RESPONSE, new HttpResponse());
         addStatus(object, Response.Status.OK.getStatusCode());
-        arguments.get(1).getPossibleValues().stream().map(m -> (MediaType) m)
+        possibleValues(arguments.get(1), "content types").map(m -> (MediaType) m)
                 .map(m -> m.getType() + '/' + m.getSubtype()).forEach(t -> addContentType(object, t));
         return addEntity(object, arguments.get(0));
     }),
@@ -185,8 +182,7 @@ enum KnownResponseResultMethod implements IdentifiableMethod {
     RESPONSE_OK_MEDIATYPE_STRING(ofStatic(CLASS_RESPONSE, "ok", RESPONSE_BUILDER, OBJECT, STRING), (notAvailable, arguments) -> {
         final Element object = new Element(RESPONSE, new HttpResponse());
         addStatus(object, Response.Status.OK.getStatusCode());
-        arguments.get(1).getPossibleValues().stream()
-                .map(t -> (String) t).forEach(t -> addContentType(object, t));
+        possibleValues(arguments.get(1), "content types").map(t -> (String) t).forEach(t -> addContentType(object, t));
         return addEntity(object, arguments.get(0));
     }),
 
@@ -271,29 +267,25 @@ enum KnownResponseResultMethod implements IdentifiableMethod {
 
     WEB_APPLICATION_EXCEPTION_STATUS(ofNonStatic(CLASS_WEB_APPLICATION_EXCEPTION, INITIALIZER_NAME, PRIMITIVE_VOID, PRIMITIVE_INT), (notAvailable, arguments) -> {
         final Element object = new Element(RESPONSE, new HttpResponse());
-        arguments.get(0).getPossibleValues().stream()
-                .map(status -> (int) status).forEach(s -> addStatus(object, s));
+        addStatuses(object, arguments.get(0), status -> (int) status);
         return object;
     }),
 
     WEB_APPLICATION_EXCEPTION_MESSAGE_STATUS(ofNonStatic(CLASS_WEB_APPLICATION_EXCEPTION, INITIALIZER_NAME, PRIMITIVE_VOID, STRING, PRIMITIVE_INT), (notAvailable, arguments) -> {
         final Element object = new Element(RESPONSE, new HttpResponse());
-        arguments.get(1).getPossibleValues().stream()
-                .map(status -> (int) status).forEach(s -> addStatus(object, s));
+        addStatuses(object, arguments.get(1), status -> (int) status);
         return object;
     }),
 
     WEB_APPLICATION_EXCEPTION_RESPONSE_STATUS(ofNonStatic(CLASS_WEB_APPLICATION_EXCEPTION, INITIALIZER_NAME, PRIMITIVE_VOID, RESPONSE_STATUS), (notAvailable, arguments) -> {
         final Element object = new Element(RESPONSE, new HttpResponse());
-        arguments.get(0).getPossibleValues().stream()
-                .map(status -> ((Response.Status) status).getStatusCode()).forEach(s -> addStatus(object, s));
+        addStatuses(object, arguments.get(0), status -> ((Response.Status) status).getStatusCode());
         return object;
     }),
 
     WEB_APPLICATION_EXCEPTION_MESSAGE_RESPONSE_STATUS(ofNonStatic(CLASS_WEB_APPLICATION_EXCEPTION, INITIALIZER_NAME, PRIMITIVE_VOID, STRING, RESPONSE_STATUS), (notAvailable, arguments) -> {
         final Element object = new Element(RESPONSE, new HttpResponse());
-        arguments.get(1).getPossibleValues().stream()
-                .map(status -> ((Response.Status) status).getStatusCode()).forEach(s -> addStatus(object, s));
+        addStatuses(object, arguments.get(1), status -> ((Response.Status) status).getStatusCode());
         return object;
     }),
 
@@ -315,37 +307,33 @@ enum KnownResponseResultMethod implements IdentifiableMethod {
 
     WEB_APPLICATION_EXCEPTION_CAUSE_STATUS(ofNonStatic(CLASS_WEB_APPLICATION_EXCEPTION, INITIALIZER_NAME, PRIMITIVE_VOID, THROWABLE, PRIMITIVE_INT), (notAvailable, arguments) -> {
         final Element object = new Element(RESPONSE, new HttpResponse());
-        arguments.get(1).getPossibleValues().stream()
-                .map(status -> (int) status).forEach(s -> addStatus(object, s));
+        addStatuses(object, arguments.get(1), status -> (int) status);
         return object;
     }),
 
     WEB_APPLICATION_EXCEPTION_MESSAGE_CAUSE_STATUS(ofNonStatic(CLASS_WEB_APPLICATION_EXCEPTION, INITIALIZER_NAME, PRIMITIVE_VOID, STRING, THROWABLE, PRIMITIVE_INT), (notAvailable, arguments) -> {
         final Element object = new Element(RESPONSE, new HttpResponse());
-        arguments.get(2).getPossibleValues().stream()
-                .map(status -> (int) status).forEach(s -> addStatus(object, s));
+        addStatuses(object, arguments.get(2), status -> (int) status);
         return object;
     }),
 
     WEB_APPLICATION_EXCEPTION_CAUSE_RESPONSE_STATUS(ofNonStatic(CLASS_WEB_APPLICATION_EXCEPTION, INITIALIZER_NAME, PRIMITIVE_VOID, THROWABLE, RESPONSE_STATUS), (notAvailable, arguments) -> {
         final Element object = new Element(RESPONSE, new HttpResponse());
-        arguments.get(1).getPossibleValues().stream()
-                .map(status -> ((Response.Status) status).getStatusCode()).forEach(s -> addStatus(object, s));
+        addStatuses(object, arguments.get(1), status -> ((Response.Status) status).getStatusCode());
         return object;
     }),
 
     WEB_APPLICATION_EXCEPTION_MESSAGE_CAUSE_RESPONSE_STATUS(ofNonStatic(CLASS_WEB_APPLICATION_EXCEPTION, INITIALIZER_NAME, PRIMITIVE_VOID, STRING, THROWABLE, RESPONSE_STATUS),
             (notAvailable, arguments) -> {
                 final Element object = new Element(RESPONSE, new HttpResponse());
-                arguments.get(2).getPossibleValues().stream()
-                        .map(status -> ((Response.Status) status).getStatusCode()).forEach(s -> addStatus(object, s));
+                addStatuses(object, arguments.get(2), status -> ((Response.Status) status).getStatusCode());
                 return object;
             }),
 
     // other methods --------------------------
 
     RESOURCE_CONTEXT_INIT(ofNonStatic(CLASS_RESOURCE_CONTEXT, "getResource", OBJECT, CLASS),
-            (object, arguments) -> new Element(arguments.get(0).getPossibleValues().stream()
+            (object, arguments) -> new Element(possibleValues(arguments.get(0), "resource classes")
                     .filter(s -> s instanceof String).map(s -> (String) s).collect(Collectors.toSet()))
     ),
 
@@ -441,6 +429,23 @@ enum KnownResponseResultMethod implements IdentifiableMethod {
         return object;
     }
 
+    /**
+     * Returns the possible values of the argument. A widened argument may hold any value, which can't be listed.
+     */
+    private static Stream<Object> possibleValues(final Element argument, final String description) {
+        if (argument.isWidened())
+            LogProvider.debug("The possible " + description + " have been widened to any value and are not listed");
+        return argument.getPossibleValues().stream();
+    }
+
+    private static Element addStatuses(final Element object, final Element statuses, final Function<Object, Integer> statusCode) {
+        if (statuses.isWidened())
+            // any status is possible, the response can't be assumed to be successful
+            object.getPossibleValues().stream().filter(r -> r instanceof HttpResponse).map(r -> (HttpResponse) r).forEach(r -> r.setWidenedStatuses(true));
+        statuses.getPossibleValues().stream().map(statusCode).forEach(s -> addStatus(object, s));
+        return object;
+    }
+
     private static Element addStatus(final Element object, final Integer status) {
         object.getPossibleValues().stream().filter(r -> r instanceof HttpResponse).map(r -> (HttpResponse) r).forEach(r -> r.getStatuses().add(status));
         return object;
@@ -21,6 +21,7 @@ import com.sebastian_daschner.jaxrs_analyzer.model.methods.IdentifiableMethod;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.Method;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.ProjectMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.SummarizedMethod;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -33,16 +34,12 @@ import java.util.stream.Stream;
 import static com.sebastian_daschner.jaxrs_analyzer.model.Types.PRIMITIVE_VOID;
 
 /**
- * A thread-safe singleton pool of known {@link Method}s.
+ * A thread-safe pool of known {@link Method}s. Every analysis owns its pool of the project and summarized methods.
  *
  * @author Sebastian Daschner
  */
 public class MethodPool {
 
-    /**
-     * The only instance of the method pool.
-     */
-    private static final MethodPool INSTANCE = new MethodPool();
     private static final Function<MethodIdentifier, Method> DEFAULT_METHOD = identifier -> (object, arguments) -> {
         if (!PRIMITIVE_VOID.equals(identifier.getReturnType()))
             return new Element(identifier.getReturnType());
@@ -52,7 +49,7 @@ public class MethodPool {
     private final List<IdentifiableMethod> availableMethods;
     private final ReadWriteLock readWriteLock;
 
-    private MethodPool() {
+    public MethodPool() {
         availableMethods = new LinkedList<>();
 
         // order matters, known methods are taken first
@@ -63,19 +60,45 @@ public class MethodPool {
     }
 
     /**
-     * Adds a project method to the pool.
+     * Adds a project method to the pool. A previously added project or summarized method with the same identifier is replaced.
      *
      * @param method The method to add
      */
     public void addProjectMethod(final ProjectMethod method) {
+        add(method, method.getIdentifier());
+    }
+
+    /**
+     * Adds a summarized method of a dependency to the pool. A previously added project or summarized method with the same identifier is replaced.
+     *
+     * @param method The method to add
+     */
+    public void addSummarizedMethod(final SummarizedMethod method) {
+        add(method, method.getIdentifier());
+    }
+
+    private void add(final IdentifiableMethod method, final MethodIdentifier identifier) {
         readWriteLock.writeLock().lock();
         try {
+            availableMethods.removeIf(m -> (m instanceof ProjectMethod || m instanceof SummarizedMethod) && m.matches(identifier));
             availableMethods.add(method);
         } finally {
             readWriteLock.writeLock().unlock();
         }
     }
 
+    /**
+     * Removes all project and summarized methods, the known methods remain.
+     */
+    public void clear() {
+        readWriteLock.writeLock().lock();
+        try {
+            availableMethods.removeIf(m -> m instanceof ProjectMethod || m instanceof SummarizedMethod);
+        } finally {
+            readWriteLock.writeLock().unlock();
+        }
+    }
+
     /**
      * Returns a method identified by an method identifier.
      *
@@ -97,13 +120,4 @@ public class MethodPool {
         return DEFAULT_METHOD.apply(identifier);
     }
 
-    /**
-     * Returns the singleton instance.
-     *
-     * @return The method pool
-     */
-    public static MethodPool getInstance() {
-        return INSTANCE;
-    }
-
 }
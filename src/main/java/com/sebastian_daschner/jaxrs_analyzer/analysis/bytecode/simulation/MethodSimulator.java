@@ -24,13 +24,9 @@ import com.sebastian_daschner.jaxrs_analyzer.model.methods.Method;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import org.objectweb.asm.Label;
 
-import javax.ws.rs.core.MultivaluedHashMap;
-import javax.ws.rs.core.MultivaluedMap;
 import java.util.*;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import static com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils.determineLeastSpecificType;
 import static com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils.toType;
@@ -43,15 +39,29 @@ import static com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils.toType;
 public class MethodSimulator {
 
     private final Lock lock = new ReentrantLock();
-    private final MethodPool methodPool = MethodPool.getInstance();
-    private final Stack<Element> runtimeStack = new Stack<>();
-    private final MultivaluedMap<Label, Integer> variableInvalidation = new MultivaluedHashMap<>();
+    private final MethodPool methodPool;
+    private final ElementStack runtimeStack = new ElementStack();
+    private final Map<Label, BitSet> variableInvalidation = new HashMap<>();
     private Label active;
 
     Map<Integer, Element> localVariables = new HashMap<>();
 
     private Element returnElement;
 
+    /**
+     * Creates a simulator which only knows the known methods, not the project methods.
+     */
+    public MethodSimulator() {
+        this(new MethodPool());
+    }
+
+    /**
+     * @param methodPool The method pool of the analysis
+     */
+    public MethodSimulator(final MethodPool methodPool) {
+        this.methodPool = methodPool;
+    }
+
     /**
      * Simulates the instructions and collects information about the resource method.
      *
@@ -75,7 +85,12 @@ public class MethodSimulator {
      * @return The return element of the method
      */
     Element simulateInternal(final List<Instruction> instructions) {
-        instructions.forEach(this::simulate);
+        final AnalysisBudget budget = AnalysisBudget.active();
+        for (final Instruction instruction : instructions) {
+            if (budget != null)
+                budget.consumeInstruction();
+            simulate(instruction);
+        }
 
         return returnElement;
     }
@@ -111,9 +126,14 @@ public class MethodSimulator {
                 break;
             case LOAD:
                 final LoadInstruction loadInstruction = (LoadInstruction) instruction;
-                runtimeStack.push(localVariables.getOrDefault(loadInstruction.getNumber(), new Element(loadInstruction.getVariableType())));
-                runtimeStack.peek().getTypes().add(loadInstruction.getVariableType());
-                variableInvalidation.add(loadInstruction.getValidUntil(), loadInstruction.getNumber());
+                final Element variable = localVariables.get(loadInstruction.getNumber());
+                if (variable != null) {
+                    variable.getTypes().add(loadInstruction.getVariableType());
+                    runtimeStack.push(variable);
+                } else {
+                    runtimeStack.push(new Element(loadInstruction.getVariableType()));
+                }
+                variableInvalidation.computeIfAbsent(loadInstruction.getValidUntil(), l -> new BitSet()).set(loadInstruction.getNumber());
                 break;
             case STORE:
                 simulateStore((StoreInstruction) instruction);
@@ -142,10 +162,12 @@ public class MethodSimulator {
                 throw new IllegalArgumentException("Instruction without type!");
         }
 
-        if (instruction.getLabel() != active && variableInvalidation.containsKey(active)) {
-            variableInvalidation.get(active).forEach(localVariables::remove);
+        if (instruction.getLabel() != active) {
+            final BitSet invalidated = variableInvalidation.get(active);
+            if (invalidated != null)
+                invalidated.stream().forEach(localVariables::remove);
+            active = instruction.getLabel();
         }
-        active = instruction.getLabel();
     }
 
     /**
@@ -154,16 +176,14 @@ public class MethodSimulator {
      * @param instruction The instruction to simulate
      */
     private void simulateMethodHandle(final InvokeDynamicInstruction instruction) {
-        final List<Element> arguments = IntStream.range(0, instruction.getDynamicIdentifier().getParameters().size())
-                .mapToObj(t -> runtimeStack.pop()).collect(Collectors.toList());
-        Collections.reverse(arguments);
+        final Element[] poppedArguments = runtimeStack.pop(instruction.getDynamicIdentifier().getParameters().size());
 
-        if (!instruction.getDynamicIdentifier().isStaticMethod())
-            // first parameter is `this`
-            arguments.remove(0);
+        // first parameter is `this` for non-static methods
+        final int offset = instruction.getDynamicIdentifier().isStaticMethod() || poppedArguments.length == 0 ? 0 : 1;
+        final List<Element> arguments = Arrays.asList(poppedArguments).subList(offset, poppedArguments.length);
 
         // adds the transferred arguments of the bootstrap call
-        runtimeStack.push(new MethodHandle(instruction.getDynamicIdentifier().getReturnType(), instruction.getIdentifier(), arguments));
+        runtimeStack.push(new MethodHandle(instruction.getDynamicIdentifier().getReturnType(), instruction.getIdentifier(), arguments, methodPool));
     }
 
     /**
@@ -172,11 +192,8 @@ public class MethodSimulator {
      * @param instruction The instruction to simulate
      */
     private void simulateInvoke(final InvokeInstruction instruction) {
-        final List<Element> arguments = new LinkedList<>();
-        MethodIdentifier identifier = instruction.getIdentifier();
-
-        IntStream.range(0, identifier.getParameters().size()).forEach(i -> arguments.add(runtimeStack.pop()));
-        Collections.reverse(arguments);
+        final MethodIdentifier identifier = instruction.getIdentifier();
+        final List<Element> arguments = Arrays.asList(runtimeStack.pop(identifier.getParameters().size()));
 
         Element object = null;
         Method method;
@@ -220,10 +237,10 @@ public class MethodSimulator {
      * @param element The element to merge
      */
     private void mergeElementStore(final int index, final String type, final Element element) {
-        // new element must be created for immutability
+        // new element must be created for immutability, the values are copied on write
         final String elementType = type.equals(Types.OBJECT) ? determineLeastSpecificType(element.getTypes().toArray(new String[element.getTypes().size()])) : type;
-        final Element created = new Element(elementType);
-        created.merge(element);
+        final Element created = new Element(element);
+        created.getTypes().add(elementType);
         localVariables.merge(index, created, Element::merge);
     }
 
@@ -253,8 +270,9 @@ public class MethodSimulator {
      * @param instruction The instruction to simulate
      */
     private void simulateSizeChange(final SizeChangingInstruction instruction) {
-        IntStream.range(0, instruction.getNumberOfPops()).forEach(i -> runtimeStack.pop());
-        IntStream.range(0, instruction.getNumberOfPushes()).forEach(i -> runtimeStack.push(new Element()));
+        runtimeStack.drop(instruction.getNumberOfPops());
+        for (int i = 0; i < instruction.getNumberOfPushes(); i++)
+            runtimeStack.push(new Element());
     }
 
     /**
@@ -269,4 +287,63 @@ public class MethodSimulator {
         returnElement = stackElement;
     }
 
+    /**
+     * An unsynchronized, array-based runtime stack.
+     */
+    private static class ElementStack {
+
+        private Element[] elements = new Element[16];
+        private int size;
+
+        void push(final Element element) {
+            if (size == elements.length)
+                elements = Arrays.copyOf(elements, size << 1);
+            elements[size++] = element;
+        }
+
+        Element pop() {
+            if (size == 0)
+                throw new EmptyStackException();
+            final Element element = elements[--size];
+            elements[size] = null;
+            return element;
+        }
+
+        /**
+         * Pops the given number of elements. The elements are returned in the order they have been pushed.
+         */
+        Element[] pop(final int number) {
+            if (number > size)
+                throw new EmptyStackException();
+            final Element[] popped = new Element[number];
+            size -= number;
+            System.arraycopy(elements, size, popped, 0, number);
+            Arrays.fill(elements, size, size + number, null);
+            return popped;
+        }
+
+        void drop(final int number) {
+            if (number > size)
+                throw new EmptyStackException();
+            Arrays.fill(elements, size - number, size, null);
+            size -= number;
+        }
+
+        Element peek() {
+            if (size == 0)
+                throw new EmptyStackException();
+            return elements[size - 1];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            Arrays.fill(elements, 0, size, null);
+            size = 0;
+        }
+
+    }
+
 }
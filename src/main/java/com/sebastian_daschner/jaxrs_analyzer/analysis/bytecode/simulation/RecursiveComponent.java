@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.sebastian_daschner.jaxrs_analyzer.model.Types.PRIMITIVE_VOID;
+
+/**
+ * A strongly connected component of mutually recursive project methods.
+ * The component holds the return value summaries of its methods which are computed by fixpoint iteration.
+ * Once a method of the component is simulated, recursive invocations of component methods return their summaries instead of being simulated again.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class RecursiveComponent {
+
+    private final Map<MethodIdentifier, Element> summaries = new ConcurrentHashMap<>();
+    private final ThreadLocal<Integer> entered = ThreadLocal.withInitial(() -> 0);
+
+    /**
+     * Returns {@code true} if a method of this component is currently simulated by the current thread.
+     */
+    public boolean isEntered() {
+        return entered.get() > 0;
+    }
+
+    public void enter() {
+        entered.set(entered.get() + 1);
+    }
+
+    public void exit() {
+        final int count = entered.get() - 1;
+        if (count == 0)
+            entered.remove();
+        else
+            entered.set(count);
+    }
+
+    /**
+     * Returns a copy of the current return value summary of the given method.
+     *
+     * @param identifier The method identifier
+     * @return The summary or {@code null} if return type is void
+     */
+    public Element getSummary(final MethodIdentifier identifier) {
+        if (PRIMITIVE_VOID.equals(identifier.getReturnType()))
+            return null;
+
+        final Element summary = summaries.get(identifier);
+        return summary == null ? new Element(identifier.getReturnType()) : new Element(summary);
+    }
+
+    /**
+     * Merges the given return value into the summary of the method.
+     *
+     * @param identifier  The method identifier
+     * @param returnValue The simulated return value (may be {@code null})
+     * @return {@code true} if the summary has changed
+     */
+    public boolean mergeSummary(final MethodIdentifier identifier, final Element returnValue) {
+        if (returnValue == null)
+            return false;
+
+        final Element previous = getSummary(identifier);
+        if (previous == null)
+            return false;
+
+        final Element merged = new Element(previous).merge(returnValue);
+        if (merged.equals(previous) && summaries.containsKey(identifier))
+            return false;
+
+        summaries.put(identifier, merged);
+        return true;
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.classes;
+
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
+import com.sebastian_daschner.jaxrs_analyzer.model.PlatformTypes;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * The inheritance table of JAX-RS annotated methods. The annotated methods of every super class and interface are read once from bytecode
+ * and shared by all sub-types. The inherited annotated methods of a type are resolved once per type, thus every method needs a single lookup.
+ * Every analysis owns its table as the types are read from the classes of the analysis. This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class AnnotatedSuperMethodTable {
+
+    private static final Set<String> RELEVANT_METHOD_ANNOTATIONS = new HashSet<>(Arrays.asList(Types.PATH, Types.GET, Types.PUT, Types.POST,
+            Types.DELETE, Types.OPTIONS, Types.HEAD));
+
+    private final Map<String, Optional<DeclaredType>> declaredTypes = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, MethodNode>> inheritedMethods = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the annotated method of the nearest super type (super classes before interfaces) which is overridden by the given method.
+     *
+     * @param className       The class name of the overriding method
+     * @param methodName      The method name
+     * @param methodSignature The method signature
+     * @return The method node (which contains the annotations but no code) or {@code null} if no annotated super method exists
+     */
+    MethodNode findAnnotatedSuperMethod(final String className, final String methodName, final String methodSignature) {
+        return inheritedMethods(className).get(key(methodName, methodSignature));
+    }
+
+    /**
+     * Removes all resolved types, e.g. when the classes of the analysis are released.
+     */
+    public void clear() {
+        declaredTypes.clear();
+        inheritedMethods.clear();
+    }
+
+    private Map<String, MethodNode> inheritedMethods(final String className) {
+        final Map<String, MethodNode> methods = inheritedMethods.get(className);
+        if (methods != null)
+            return methods;
+
+        final Map<String, MethodNode> collectedMethods = collectInheritedMethods(className);
+        final Map<String, MethodNode> existing = inheritedMethods.putIfAbsent(className, collectedMethods);
+        return existing == null ? collectedMethods : existing;
+    }
+
+    /**
+     * Collects the annotated methods of all super types breadth-first, the methods of the nearer types take precedence.
+     */
+    private Map<String, MethodNode> collectInheritedMethods(final String className) {
+        final DeclaredType type = declaredType(className);
+        if (type == null)
+            return Collections.emptyMap();
+
+        final Map<String, MethodNode> methods = new HashMap<>();
+        final Set<String> visitedTypes = new HashSet<>();
+        final Queue<String> superTypes = new ArrayDeque<>(type.superTypes);
+
+        String superType;
+        while ((superType = superTypes.poll()) != null) {
+            if (!visitedTypes.add(superType))
+                continue;
+
+            final DeclaredType declaredSuperType = declaredType(superType);
+            if (declaredSuperType != null) {
+                declaredSuperType.annotatedMethods.forEach(methods::putIfAbsent);
+                superTypes.addAll(declaredSuperType.superTypes);
+            }
+        }
+        return methods;
+    }
+
+    private DeclaredType declaredType(final String className) {
+        // platform types don't declare JAX-RS annotated methods
+        if (PlatformTypes.isPlatformType(className))
+            return null;
+
+        final Optional<DeclaredType> type = declaredTypes.get(className);
+        if (type != null)
+            return type.orElse(null);
+
+        final Optional<DeclaredType> readType = Optional.ofNullable(readType(className));
+        declaredTypes.putIfAbsent(className, readType);
+        return readType.orElse(null);
+    }
+
+    private DeclaredType readType(final String className) {
+        final ClassNode classNode = new ClassNode();
+        try {
+            new ContextClassReader(className).accept(classNode, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        } catch (IOException e) {
+            LogProvider.debug("Could not read super type " + className + ", reason: " + e.getMessage());
+            return null;
+        }
+
+        final List<String> superTypes = new ArrayList<>();
+        if (classNode.superName != null && !Types.CLASS_OBJECT.equals(classNode.superName))
+            superTypes.add(classNode.superName);
+        for (final Object interfaceName : classNode.interfaces)
+            superTypes.add((String) interfaceName);
+
+        final Map<String, MethodNode> annotatedMethods = new HashMap<>();
+        for (final Object methodObject : classNode.methods) {
+            final MethodNode method = (MethodNode) methodObject;
+            final boolean legalModifiers = ((method.access & ACC_SYNTHETIC) | (method.access & ACC_STATIC) | (method.access & ACC_NATIVE)) == 0;
+            if (legalModifiers && hasJAXRSAnnotations(method))
+                annotatedMethods.putIfAbsent(key(method.name, method.signature == null ? method.desc : method.signature), method);
+        }
+
+        final boolean httpMethod = annotationDescriptors(classNode.visibleAnnotations).anyMatch(Types.HTTP_METHOD::equals);
+        return new DeclaredType(superTypes, annotatedMethods, httpMethod);
+    }
+
+    private boolean hasJAXRSAnnotations(final MethodNode method) {
+        return annotationDescriptors(method.visibleAnnotations).anyMatch(d -> RELEVANT_METHOD_ANNOTATIONS.contains(d) || isHttpMethodAnnotation(d));
+    }
+
+    private static Stream<String> annotationDescriptors(final List<?> annotations) {
+        if (annotations == null)
+            return Stream.empty();
+        return annotations.stream().map(a -> ((AnnotationNode) a).desc);
+    }
+
+    /**
+     * Checks if the annotation is a custom HTTP method designator, i.e. annotated with {@code @HttpMethod}.
+     */
+    private boolean isHttpMethodAnnotation(final String annotationDesc) {
+        final DeclaredType annotationType = declaredType(JavaUtils.toClassName(annotationDesc));
+        return annotationType != null && annotationType.httpMethod;
+    }
+
+    /**
+     * Methods are identified by their name and parameter types, return types are not taken into account.
+     */
+    private static String key(final String methodName, final String signature) {
+        return methodName + JavaUtils.getParameters(signature);
+    }
+
+    /**
+     * A type with its direct super types and its own JAX-RS annotated methods.
+     */
+    private static class DeclaredType {
+
+        private final List<String> superTypes;
+        private final Map<String, MethodNode> annotatedMethods;
+        private final boolean httpMethod;
+
+        DeclaredType(final List<String> superTypes, final Map<String, MethodNode> annotatedMethods, final boolean httpMethod) {
+            this.superTypes = superTypes;
+            this.annotatedMethods = annotatedMethods;
+            this.httpMethod = httpMethod;
+        }
+
+    }
+
+}
@@ -6,18 +6,18 @@ import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.annotation.Consume
 import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.annotation.PathAnnotationVisitor;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.annotation.ProducesAnnotationVisitor;
 import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
+import com.sebastian_daschner.jaxrs_analyzer.model.SymbolTable;
 import com.sebastian_daschner.jaxrs_analyzer.model.Types;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
 import org.objectweb.asm.*;
+import org.objectweb.asm.tree.MethodNode;
 
 import javax.ws.rs.*;
-import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.*;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.stream.Stream;
 
 import static com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils.isAnnotationPresent;
@@ -31,10 +31,23 @@ public class JAXRSClassVisitor extends ClassVisitor {
     private static final Class<? extends Annotation>[] RELEVANT_METHOD_ANNOTATIONS = new Class[]{Path.class, GET.class, PUT.class, POST.class, DELETE.class, OPTIONS.class, HEAD.class};
 
     private final ClassResult classResult;
+    private final AnnotatedSuperMethodTable annotatedSuperMethods;
+    private final SymbolTable symbolTable;
 
     public JAXRSClassVisitor(final ClassResult classResult) {
+        this(classResult, new AnnotatedSuperMethodTable(), new SymbolTable());
+    }
+
+    /**
+     * @param classResult           The class result
+     * @param annotatedSuperMethods The inheritance table of the analysis
+     * @param symbolTable           The symbol table of the analysis
+     */
+    public JAXRSClassVisitor(final ClassResult classResult, final AnnotatedSuperMethodTable annotatedSuperMethods, final SymbolTable symbolTable) {
         super(ASM5);
         this.classResult = classResult;
+        this.annotatedSuperMethods = annotatedSuperMethods;
+        this.symbolTable = symbolTable;
     }
 
     @Override
@@ -71,17 +84,17 @@ public class JAXRSClassVisitor extends ClassVisitor {
     public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
         final boolean legalModifiers = ((access & ACC_SYNTHETIC) | (access & ACC_STATIC) | (access & ACC_NATIVE)) == 0;
         final String methodSignature = signature == null ? desc : signature;
-        final MethodIdentifier identifier = MethodIdentifier.of(classResult.getOriginalClass(), name, methodSignature, false);
+        final MethodIdentifier identifier = MethodIdentifier.of(classResult.getOriginalClass(), name, methodSignature, false, symbolTable);
 
         if (legalModifiers && !"<init>".equals(name)) {
             final MethodResult methodResult = new MethodResult();
             if (hasJAXRSAnnotations(classResult.getOriginalClass(), name, methodSignature))
-                return new JAXRSMethodVisitor(identifier, classResult, methodResult, true);
+                return new JAXRSMethodVisitor(identifier, classResult, methodResult, true, symbolTable);
             else {
-                final Method annotatedSuperMethod = searchAnnotatedSuperMethod(classResult.getOriginalClass(), name, methodSignature);
+                final MethodNode annotatedSuperMethod = annotatedSuperMethods.findAnnotatedSuperMethod(classResult.getOriginalClass(), name, methodSignature);
                 if (annotatedSuperMethod != null) {
                     try {
-                        return new JAXRSMethodVisitor(identifier, classResult, methodResult, false);
+                        return new JAXRSMethodVisitor(identifier, classResult, methodResult, false, symbolTable);
                     } finally {
                         classResult.getMethods().stream().filter(m -> m.equals(methodResult)).findAny().ifPresent(m -> visitJAXRSSuperMethod(annotatedSuperMethod, m));
                     }
@@ -96,39 +109,6 @@ public class JAXRSClassVisitor extends ClassVisitor {
         return method != null && hasJAXRSAnnotations(method);
     }
 
-    private static Method searchAnnotatedSuperMethod(final String className, final String methodName, final String methodSignature) {
-        final List<Class<?>> superTypes = determineSuperTypes(className);
-        return superTypes.stream().map(c -> {
-            final Method superAnnotatedMethod = JavaUtils.findMethod(c, methodName, methodSignature);
-            if (superAnnotatedMethod != null && hasJAXRSAnnotations(superAnnotatedMethod))
-                return superAnnotatedMethod;
-            return null;
-        }).filter(Objects::nonNull).findAny().orElse(null);
-    }
-
-    private static List<Class<?>> determineSuperTypes(final String className) {
-        final Class<?> loadedClass = JavaUtils.loadClassFromName(className);
-        if (loadedClass == null)
-            return Collections.emptyList();
-
-        final List<Class<?>> superClasses = new ArrayList<>();
-        final Queue<Class<?>> classesToCheck = new LinkedBlockingQueue<>();
-        Class<?> currentClass = loadedClass;
-
-        do {
-            if (currentClass.getSuperclass() != null && Object.class != currentClass.getSuperclass())
-                classesToCheck.add(currentClass.getSuperclass());
-
-            Stream.of(currentClass.getInterfaces()).forEach(classesToCheck::add);
-
-            if (currentClass != loadedClass)
-                superClasses.add(currentClass);
-
-        } while ((currentClass = classesToCheck.poll()) != null);
-
-        return superClasses;
-    }
-
     private static boolean hasJAXRSAnnotations(final Method method) {
         for (final Object annotation : method.getDeclaredAnnotations()) {
             // TODO test both
@@ -142,17 +122,9 @@ public class JAXRSClassVisitor extends ClassVisitor {
         return false;
     }
 
-    private void visitJAXRSSuperMethod(Method method, MethodResult methodResult) {
-        try {
-
-            final ClassReader classReader = new ContextClassReader(method.getDeclaringClass().getCanonicalName());
-            final ClassVisitor visitor = new JAXRSAnnotatedSuperMethodClassVisitor(methodResult, method);
-
-            classReader.accept(visitor, ClassReader.EXPAND_FRAMES);
-        } catch (IOException e) {
-            LogProvider.error("Could not analyze JAX-RS super annotated method " + method);
-            LogProvider.debug(e);
-        }
+    private static void visitJAXRSSuperMethod(final MethodNode method, final MethodResult methodResult) {
+        // the annotations of the super method are replayed, the code is not needed
+        method.accept(new JAXRSAnnotatedSuperMethodVisitor(methodResult));
     }
 
 }
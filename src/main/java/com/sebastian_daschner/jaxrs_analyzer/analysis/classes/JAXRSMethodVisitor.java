@@ -15,6 +15,7 @@ import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.annotation.Default
 import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.annotation.ParamAnnotationVisitor;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.annotation.PathAnnotationVisitor;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.annotation.ProducesAnnotationVisitor;
+import com.sebastian_daschner.jaxrs_analyzer.model.SymbolTable;
 import com.sebastian_daschner.jaxrs_analyzer.model.Types;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.HttpMethod;
@@ -35,7 +36,12 @@ class JAXRSMethodVisitor extends ProjectMethodVisitor {
     private final boolean methodAnnotated;
 
     JAXRSMethodVisitor(final MethodIdentifier identifier, final ClassResult classResult, final MethodResult methodResult, final boolean methodAnnotated) {
-        super(methodResult, identifier.getContainingClass());
+        this(identifier, classResult, methodResult, methodAnnotated, new SymbolTable());
+    }
+
+    JAXRSMethodVisitor(final MethodIdentifier identifier, final ClassResult classResult, final MethodResult methodResult, final boolean methodAnnotated,
+                       final SymbolTable symbolTable) {
+        super(methodResult, identifier.getContainingClass(), symbolTable);
         this.methodAnnotated = methodAnnotated;
 
         parameterTypes = identifier.getParameters();
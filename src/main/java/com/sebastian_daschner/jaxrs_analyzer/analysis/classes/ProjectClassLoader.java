@@ -0,0 +1,107 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.classes;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.sources.ClassSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * The class loader of a single analysis, which is owned and closed by the analyzer.
+ * The classes are loaded from the added class paths and the class sources, e.g. classes which are held in memory.
+ * The loader is the context class loader of the analysis threads while the analysis runs, see {@link #run(Supplier)}.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class ProjectClassLoader extends URLClassLoader {
+
+    private final List<ClassSource> classSources = new CopyOnWriteArrayList<>();
+
+    public ProjectClassLoader() {
+        super(new URL[]{});
+    }
+
+    /**
+     * Adds the location to the class path.
+     *
+     * @param location The location of a jar file or a directory
+     */
+    public void addClassPath(final Path location) throws MalformedURLException {
+        addURL(location.toUri().toURL());
+    }
+
+    /**
+     * Adds the class source. Sources which are located on disk are added as class path,
+     * the classes of other sources are defined from their bytecode.
+     *
+     * @param classSource The class source
+     */
+    public void addClassSource(final ClassSource classSource) throws IOException {
+        if (classSource.getLocation() != null)
+            addClassPath(classSource.getLocation());
+        else
+            classSources.add(classSource);
+    }
+
+    /**
+     * Runs the given action with this loader as context class loader of the current thread, the previous context class loader is restored afterwards.
+     * Threads which are created meanwhile inherit the context class loader.
+     *
+     * @param action The action
+     * @return The result of the action
+     */
+    public <T> T run(final Supplier<T> action) {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader previousClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(this);
+        try {
+            return action.get();
+        } finally {
+            thread.setContextClassLoader(previousClassLoader);
+        }
+    }
+
+    @Override
+    protected Class<?> findClass(final String name) throws ClassNotFoundException {
+        try {
+            return super.findClass(name);
+        } catch (ClassNotFoundException e) {
+            final byte[] bytes = findClassBytes(name.replace('.', '/'));
+            if (bytes == null)
+                throw e;
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+    @Override
+    public InputStream getResourceAsStream(final String name) {
+        final InputStream stream = super.getResourceAsStream(name);
+        if (stream != null || !name.endsWith(".class"))
+            return stream;
+
+        final byte[] bytes = findClassBytes(name.substring(0, name.length() - ".class".length()));
+        return bytes == null ? null : new ByteArrayInputStream(bytes);
+    }
+
+    private byte[] findClassBytes(final String className) {
+        for (final ClassSource classSource : classSources) {
+            try {
+                final byte[] bytes = classSource.getBytes(className);
+                if (bytes != null)
+                    return bytes;
+            } catch (IOException e) {
+                // try the next source
+            }
+        }
+        return null;
+    }
+
+}
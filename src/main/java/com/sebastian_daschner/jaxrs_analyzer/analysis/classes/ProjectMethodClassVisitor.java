@@ -1,6 +1,7 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.classes;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.model.SymbolTable;
 import com.sebastian_daschner.jaxrs_analyzer.model.Types;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
@@ -19,13 +20,24 @@ public class ProjectMethodClassVisitor extends ClassVisitor {
 
     private final MethodResult methodResult;
     private final MethodIdentifier identifier;
+    private final SymbolTable symbolTable;
     private boolean methodFound;
     private String superName;
 
     public ProjectMethodClassVisitor(final MethodResult methodResult, final MethodIdentifier identifier) {
+        this(methodResult, identifier, new SymbolTable());
+    }
+
+    /**
+     * @param methodResult The method result where the instructions of the method are added
+     * @param identifier   The method to visit
+     * @param symbolTable  The symbol table of the analysis
+     */
+    public ProjectMethodClassVisitor(final MethodResult methodResult, final MethodIdentifier identifier, final SymbolTable symbolTable) {
         super(ASM5);
         this.methodResult = methodResult;
         this.identifier = identifier;
+        this.symbolTable = symbolTable;
     }
 
     @Override
@@ -40,7 +52,7 @@ public class ProjectMethodClassVisitor extends ClassVisitor {
         final String methodSignature = identifier.getSignature();
         if (legalModifiers && identifier.getMethodName().equals(name) && (methodSignature.equals(desc) || methodSignature.equals(signature))) {
             methodFound = true;
-            return new ProjectMethodVisitor(methodResult, identifier.getContainingClass());
+            return new ProjectMethodVisitor(methodResult, identifier.getContainingClass(), symbolTable);
         }
 
         return null;
@@ -52,7 +64,7 @@ public class ProjectMethodClassVisitor extends ClassVisitor {
         if (!methodFound && !superName.equals(Types.CLASS_OBJECT)) {
             try {
                 final ClassReader classReader = new ContextClassReader(superName);
-                final ClassVisitor visitor = new ProjectMethodClassVisitor(methodResult, identifier);
+                final ClassVisitor visitor = new ProjectMethodClassVisitor(methodResult, identifier, symbolTable);
 
                 classReader.accept(visitor, ClassReader.EXPAND_FRAMES);
             } catch (IOException e) {
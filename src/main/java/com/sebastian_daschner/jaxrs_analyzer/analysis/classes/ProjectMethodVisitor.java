@@ -1,5 +1,6 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.classes;
 
+import com.sebastian_daschner.jaxrs_analyzer.model.SymbolTable;
 import com.sebastian_daschner.jaxrs_analyzer.model.Types;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.*;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
@@ -26,12 +27,19 @@ class ProjectMethodVisitor extends MethodVisitor {
     private final List<Label> visitedLabels = new ArrayList<>();
     final MethodResult methodResult;
     private final String className;
-
-    ProjectMethodVisitor(MethodResult methodResult, String className) {
+    private final SymbolTable symbolTable;
+
+    /**
+     * @param methodResult The method result where the instructions are added
+     * @param className    The class name of the method
+     * @param symbolTable  The symbol table of the analysis which interns the read descriptors
+     */
+    ProjectMethodVisitor(MethodResult methodResult, String className, final SymbolTable symbolTable) {
         super(ASM5);
         // TODO refactor to list of instructions only
         this.methodResult = methodResult;
         this.className = className;
+        this.symbolTable = symbolTable;
     }
 
     @Override
@@ -66,7 +74,7 @@ class ProjectMethodVisitor extends MethodVisitor {
 
             final Label label = placeholder.getLabel();
             if (isLabelActive(label, start, end)) {
-                final String type = signature != null ? signature : desc;
+                final String type = symbolTable.intern(signature != null ? signature : desc);
                 iterator.set(placeholder.getType() == LOAD_PLACEHOLDER ? new LoadInstruction(index, type, name, label, end) : new StoreInstruction(index, type, name, label));
             }
         }
@@ -103,17 +111,17 @@ class ProjectMethodVisitor extends MethodVisitor {
 
     @Override
     public void visitTypeInsn(int opcode, String className) {
-        methodResult.getInstructions().add(buildTypeInstruction(opcode, className, getLastLabel()));
+        methodResult.getInstructions().add(buildTypeInstruction(opcode, symbolTable.intern(className), getLastLabel()));
     }
 
     @Override
     public void visitFieldInsn(int opcode, String owner, String name, String desc) {
-        methodResult.getInstructions().add(buildFieldInstruction(opcode, owner, name, desc, getLastLabel()));
+        methodResult.getInstructions().add(buildFieldInstruction(opcode, symbolTable.intern(owner), name, symbolTable.intern(desc), getLastLabel()));
     }
 
     @Override
     public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
-        methodResult.getInstructions().add(buildInvokeInstruction(opcode, owner, name, desc, getLastLabel()));
+        methodResult.getInstructions().add(buildInvokeInstruction(opcode, owner, name, desc, getLastLabel(), symbolTable));
     }
 
     @Override
@@ -121,7 +129,7 @@ class ProjectMethodVisitor extends MethodVisitor {
         final Handle handle = Stream.of(bsmArgs).filter(a -> a instanceof Handle).map(a -> (Handle) a)
                 .findAny().orElseThrow(() -> new IllegalStateException("No invoke dynamic handle found."));
 
-        methodResult.getInstructions().add(buildInvokeDynamic(className, name, desc, handle, getLastLabel()));
+        methodResult.getInstructions().add(buildInvokeDynamic(className, name, desc, handle, getLastLabel(), symbolTable));
     }
 
     @Override
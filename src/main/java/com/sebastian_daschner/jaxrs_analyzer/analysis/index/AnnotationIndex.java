@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.index;
+
+import com.sebastian_daschner.jaxrs_analyzer.utils.DigestUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * The index of the annotation occurrences and the class hierarchy of a project path (a directory or a jar-file).
+ * The index is stored as compact binary file under {@link #LOCATION} of the project path and identified by the stamp of the contained classes.
+ * Only runtime-visible annotations are indexed.
+ * This class is immutable.
+ *
+ * @author Sebastian Daschner
+ */
+public class AnnotationIndex {
+
+    /**
+     * The location of the index file, relative to the project directory or jar root.
+     */
+    public static final String LOCATION = "META-INF/jaxrs-analyzer/annotation-index";
+
+    private static final int MAGIC = 0x4A415849;
+    private static final int FORMAT_VERSION = 1;
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private final String stamp;
+    private final Map<String, List<String>> superTypes;
+    private final Map<String, List<AnnotationOccurrence>> occurrences;
+
+    /**
+     * @param stamp       The stamp of the indexed classes, see {@link #stamp(Path)}
+     * @param superTypes  The direct super class and interfaces of all indexed classes (in JVM notation)
+     * @param occurrences The occurrences of the annotations, identified by their types (e.g. {@code Ljavax/ws/rs/Path;})
+     */
+    public AnnotationIndex(final String stamp, final Map<String, List<String>> superTypes, final Map<String, List<AnnotationOccurrence>> occurrences) {
+        Objects.requireNonNull(stamp);
+        this.stamp = stamp;
+        this.superTypes = Collections.unmodifiableMap(superTypes);
+        this.occurrences = Collections.unmodifiableMap(occurrences);
+    }
+
+    public String getStamp() {
+        return stamp;
+    }
+
+    /**
+     * Returns the names of all indexed classes (in JVM notation).
+     */
+    public Set<String> getClassNames() {
+        return superTypes.keySet();
+    }
+
+    /**
+     * Returns the direct super class (if not {@code java/lang/Object}) and interfaces of the given class.
+     */
+    public List<String> getSuperTypes(final String className) {
+        return superTypes.getOrDefault(className, emptyList());
+    }
+
+    /**
+     * Returns the occurrences of the given annotation type (e.g. {@code Ljavax/ws/rs/Path;}).
+     */
+    public List<AnnotationOccurrence> getOccurrences(final String annotationType) {
+        return occurrences.getOrDefault(annotationType, emptyList());
+    }
+
+    /**
+     * Returns the names of the classes (in JVM notation) which are directly annotated with the given annotation type.
+     */
+    public Set<String> getAnnotatedClasses(final String annotationType) {
+        return getOccurrences(annotationType).stream().filter(o -> o.getKind() == AnnotationOccurrence.ElementKind.TYPE)
+                .map(AnnotationOccurrence::getClassName).collect(Collectors.toSet());
+    }
+
+    /**
+     * Checks if this index reflects the current classes of the given project path.
+     *
+     * @param projectPath The directory or jar-file
+     * @return {@code true} if the classes haven't changed since the index has been built
+     * @throws IOException If the project path could not be read
+     */
+    public boolean isUpToDate(final Path projectPath) throws IOException {
+        return stamp.equals(stamp(projectPath));
+    }
+
+    /**
+     * Writes this index in the binary format.
+     *
+     * @param output The output stream
+     * @throws IOException If the index could not be written
+     */
+    public void write(final OutputStream output) throws IOException {
+        // all names are written once to the string table and referenced by their index
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        superTypes.forEach((c, s) -> {
+            stringIndex(strings, c);
+            s.forEach(t -> stringIndex(strings, t));
+        });
+        occurrences.forEach((a, l) -> {
+            stringIndex(strings, a);
+            l.forEach(o -> {
+                stringIndex(strings, o.getClassName());
+                stringIndex(strings, o.getMemberName());
+                stringIndex(strings, o.getMemberDescriptor());
+            });
+        });
+
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output));
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeUTF(stamp);
+
+        data.writeInt(strings.size());
+        for (final String string : strings.keySet())
+            data.writeUTF(string);
+
+        data.writeInt(superTypes.size());
+        for (final Map.Entry<String, List<String>> entry : superTypes.entrySet()) {
+            data.writeInt(strings.get(entry.getKey()));
+            data.writeShort(entry.getValue().size());
+            for (final String superType : entry.getValue())
+                data.writeInt(strings.get(superType));
+        }
+
+        data.writeInt(occurrences.size());
+        for (final Map.Entry<String, List<AnnotationOccurrence>> entry : occurrences.entrySet()) {
+            data.writeInt(strings.get(entry.getKey()));
+            data.writeInt(entry.getValue().size());
+            for (final AnnotationOccurrence occurrence : entry.getValue()) {
+                data.writeByte(occurrence.getKind().ordinal());
+                data.writeInt(strings.get(occurrence.getClassName()));
+                data.writeInt(occurrence.getMemberName() == null ? -1 : strings.get(occurrence.getMemberName()));
+                data.writeInt(occurrence.getMemberDescriptor() == null ? -1 : strings.get(occurrence.getMemberDescriptor()));
+                data.writeShort(occurrence.getParameterIndex());
+            }
+        }
+        data.flush();
+    }
+
+    private static void stringIndex(final Map<String, Integer> strings, final String string) {
+        if (string != null)
+            strings.putIfAbsent(string, strings.size());
+    }
+
+    /**
+     * Reads an index in the binary format.
+     *
+     * @param input The input stream
+     * @return The index or {@code null} if the index has not been written in the current format
+     * @throws IOException If the index could not be read
+     */
+    public static AnnotationIndex read(final InputStream input) throws IOException {
+        final DataInputStream data = new DataInputStream(new BufferedInputStream(input));
+        if (data.readInt() != MAGIC || data.readInt() != FORMAT_VERSION)
+            return null;
+
+        final String stamp = data.readUTF();
+
+        final String[] strings = new String[data.readInt()];
+        for (int i = 0; i < strings.length; i++)
+            strings[i] = data.readUTF();
+
+        final int classCount = data.readInt();
+        final Map<String, List<String>> superTypes = new HashMap<>(classCount * 2);
+        for (int i = 0; i < classCount; i++) {
+            final String className = strings[data.readInt()];
+            final int superTypeCount = data.readShort();
+            final List<String> classSuperTypes = new ArrayList<>(superTypeCount);
+            for (int j = 0; j < superTypeCount; j++)
+                classSuperTypes.add(strings[data.readInt()]);
+            superTypes.put(className, Collections.unmodifiableList(classSuperTypes));
+        }
+
+        final AnnotationOccurrence.ElementKind[] kinds = AnnotationOccurrence.ElementKind.values();
+        final int annotationCount = data.readInt();
+        final Map<String, List<AnnotationOccurrence>> occurrences = new HashMap<>(annotationCount * 2);
+        for (int i = 0; i < annotationCount; i++) {
+            final String annotationType = strings[data.readInt()];
+            final int occurrenceCount = data.readInt();
+            final List<AnnotationOccurrence> annotationOccurrences = new ArrayList<>(occurrenceCount);
+            for (int j = 0; j < occurrenceCount; j++) {
+                final AnnotationOccurrence.ElementKind kind = kinds[data.readByte()];
+                final String className = strings[data.readInt()];
+                final int memberName = data.readInt();
+                final int memberDescriptor = data.readInt();
+                final int parameterIndex = data.readShort();
+                annotationOccurrences.add(new AnnotationOccurrence(kind, className, memberName < 0 ? null : strings[memberName],
+                        memberDescriptor < 0 ? null : strings[memberDescriptor], parameterIndex));
+            }
+            occurrences.put(annotationType, Collections.unmodifiableList(annotationOccurrences));
+        }
+
+        return new AnnotationIndex(stamp, superTypes, occurrences);
+    }
+
+    /**
+     * Loads the index which is stored in the given project path.
+     *
+     * @param projectPath The directory or jar-file
+     * @return The index or {@code null} if the project path contains no index in the current format
+     * @throws IOException If the index could not be read
+     */
+    public static AnnotationIndex load(final Path projectPath) throws IOException {
+        try {
+            if (Files.isDirectory(projectPath)) {
+                final Path file = indexFile(projectPath);
+                if (!Files.isRegularFile(file))
+                    return null;
+                try (final InputStream input = Files.newInputStream(file)) {
+                    return read(input);
+                }
+            }
+
+            try (final JarFile jarFile = new JarFile(projectPath.toFile())) {
+                final JarEntry entry = jarFile.getJarEntry(LOCATION);
+                if (entry == null)
+                    return null;
+                try (final InputStream input = jarFile.getInputStream(entry)) {
+                    return read(input);
+                }
+            }
+        } catch (EOFException | IndexOutOfBoundsException e) {
+            throw new IOException("Malformed annotation index in " + projectPath, e);
+        }
+    }
+
+    /**
+     * Calculates the stamp of the classes of the given project path.
+     * The stamp only depends on the names, sizes and modification times (checksums for jar-files) of the class files, the files are not read.
+     *
+     * @param projectPath The directory or jar-file
+     * @return The stamp as hex string
+     * @throws IOException If the project path could not be read
+     */
+    public static String stamp(final Path projectPath) throws IOException {
+        final List<String> entries;
+        if (Files.isDirectory(projectPath)) {
+            try (final Stream<Path> files = Files.walk(projectPath)) {
+                entries = files.filter(f -> f.toString().endsWith(CLASS_FILE_EXTENSION) && Files.isRegularFile(f))
+                        .map(f -> directoryEntry(projectPath, f)).collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        } else {
+            try (final JarFile jarFile = new JarFile(projectPath.toFile())) {
+                entries = jarFile.stream().filter(e -> e.getName().endsWith(CLASS_FILE_EXTENSION))
+                        .map(e -> e.getName() + ':' + e.getSize() + ':' + e.getCrc()).collect(Collectors.toList());
+            }
+        }
+        Collections.sort(entries);
+
+        final MessageDigest digest = DigestUtils.sha256();
+        entries.forEach(e -> digest.update((e + '\n').getBytes(StandardCharsets.UTF_8)));
+
+        return DigestUtils.hex(digest);
+    }
+
+    private static String directoryEntry(final Path projectPath, final Path file) {
+        try {
+            final String name = projectPath.relativize(file).toString().replace(File.separatorChar, '/');
+            return name + ':' + Files.size(file) + ':' + Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the location of the index file in the given directory.
+     */
+    static Path indexFile(final Path directory) {
+        return directory.resolve(Paths.get(LOCATION));
+    }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.index;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import org.objectweb.asm.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Collections.singletonMap;
+import static org.objectweb.asm.Opcodes.ASM5;
+
+/**
+ * Builds the {@link AnnotationIndex} of a project path in a single pass over all classes.
+ * The code of the classes is not visited.
+ *
+ * @author Sebastian Daschner
+ */
+public class AnnotationIndexBuilder {
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private final Map<String, List<String>> superTypes = new HashMap<>();
+    private final Map<String, List<AnnotationOccurrence>> occurrences = new HashMap<>();
+
+    private AnnotationIndexBuilder() {
+        // use static methods
+    }
+
+    /**
+     * Builds the index of the classes of the given project path.
+     *
+     * @param projectPath The directory or jar-file
+     * @return The index
+     * @throws IOException If the classes could not be read
+     */
+    public static AnnotationIndex build(final Path projectPath) throws IOException {
+        final String stamp = AnnotationIndex.stamp(projectPath);
+        final AnnotationIndexBuilder builder = new AnnotationIndexBuilder();
+
+        if (Files.isDirectory(projectPath)) {
+            final List<Path> classFiles;
+            try (final Stream<Path> files = Files.walk(projectPath)) {
+                classFiles = files.filter(f -> f.toString().endsWith(CLASS_FILE_EXTENSION) && Files.isRegularFile(f)).collect(Collectors.toList());
+            }
+            for (final Path classFile : classFiles) {
+                try (final InputStream input = Files.newInputStream(classFile)) {
+                    builder.index(input);
+                }
+            }
+        } else {
+            try (final JarFile jarFile = new JarFile(projectPath.toFile())) {
+                final Enumeration<JarEntry> entries = jarFile.entries();
+                while (entries.hasMoreElements()) {
+                    final JarEntry entry = entries.nextElement();
+                    if (!entry.getName().endsWith(CLASS_FILE_EXTENSION))
+                        continue;
+                    try (final InputStream input = jarFile.getInputStream(entry)) {
+                        builder.index(input);
+                    }
+                }
+            }
+        }
+
+        return new AnnotationIndex(stamp, builder.superTypes, builder.occurrences);
+    }
+
+    /**
+     * Builds the index of the given project path and stores it under {@link AnnotationIndex#LOCATION} of the directory or jar-file.
+     *
+     * @param projectPath The directory or jar-file
+     * @return The built index
+     * @throws IOException If the classes could not be read or the index could not be written
+     */
+    public static AnnotationIndex buildAndStore(final Path projectPath) throws IOException {
+        final AnnotationIndex index = build(projectPath);
+
+        if (Files.isDirectory(projectPath)) {
+            store(index, AnnotationIndex.indexFile(projectPath));
+        } else {
+            // the index entry doesn't change the stamp of the jar, as only class entries are taken into account
+            final URI uri = URI.create("jar:" + projectPath.toUri());
+            try (final FileSystem fileSystem = FileSystems.newFileSystem(uri, singletonMap("create", "false"))) {
+                store(index, fileSystem.getPath(AnnotationIndex.LOCATION));
+            }
+        }
+        return index;
+    }
+
+    private static void store(final AnnotationIndex index, final Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (final OutputStream output = Files.newOutputStream(file)) {
+            index.write(output);
+        }
+    }
+
+    private void index(final InputStream classFile) throws IOException {
+        new ClassReader(classFile).accept(new IndexClassVisitor(), ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+    }
+
+    private void add(final String annotationType, final AnnotationOccurrence occurrence) {
+        occurrences.computeIfAbsent(annotationType, a -> new ArrayList<>()).add(occurrence);
+    }
+
+    private class IndexClassVisitor extends ClassVisitor {
+
+        private String className;
+
+        IndexClassVisitor() {
+            super(ASM5);
+        }
+
+        @Override
+        public void visit(final int version, final int access, final String name, final String signature, final String superName, final String[] interfaces) {
+            className = name;
+            final List<String> classSuperTypes = new ArrayList<>();
+            if (superName != null && !Types.CLASS_OBJECT.equals(superName))
+                classSuperTypes.add(superName);
+            if (interfaces != null)
+                classSuperTypes.addAll(Arrays.asList(interfaces));
+            superTypes.put(name, classSuperTypes);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(final String desc, final boolean visible) {
+            if (visible)
+                add(desc, new AnnotationOccurrence(AnnotationOccurrence.ElementKind.TYPE, className, null, null, -1));
+            return null;
+        }
+
+        @Override
+        public FieldVisitor visitField(final int access, final String name, final String desc, final String signature, final Object value) {
+            return new FieldVisitor(ASM5) {
+                @Override
+                public AnnotationVisitor visitAnnotation(final String annotationDesc, final boolean visible) {
+                    if (visible)
+                        add(annotationDesc, new AnnotationOccurrence(AnnotationOccurrence.ElementKind.FIELD, className, name, desc, -1));
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public MethodVisitor visitMethod(final int access, final String name, final String desc, final String signature, final String[] exceptions) {
+            return new MethodVisitor(ASM5) {
+                @Override
+                public AnnotationVisitor visitAnnotation(final String annotationDesc, final boolean visible) {
+                    if (visible)
+                        add(annotationDesc, new AnnotationOccurrence(AnnotationOccurrence.ElementKind.METHOD, className, name, desc, -1));
+                    return null;
+                }
+
+                @Override
+                public AnnotationVisitor visitParameterAnnotation(final int parameter, final String annotationDesc, final boolean visible) {
+                    if (visible)
+                        add(annotationDesc, new AnnotationOccurrence(AnnotationOccurrence.ElementKind.PARAMETER, className, name, desc, parameter));
+                    return null;
+                }
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.index;
+
+import java.util.Objects;
+
+/**
+ * An occurrence of an annotation on a type, method, field or method parameter.
+ * This class is immutable.
+ *
+ * @author Sebastian Daschner
+ */
+public class AnnotationOccurrence {
+
+    private final ElementKind kind;
+    private final String className;
+    private final String memberName;
+    private final String memberDescriptor;
+    private final int parameterIndex;
+
+    /**
+     * @param kind             The kind of the annotated element
+     * @param className        The declaring class (in JVM notation)
+     * @param memberName       The name of the annotated method or field or {@code null} for types
+     * @param memberDescriptor The descriptor of the annotated method or field or {@code null} for types
+     * @param parameterIndex   The index of the annotated parameter or {@code -1} for non-parameters
+     */
+    public AnnotationOccurrence(final ElementKind kind, final String className, final String memberName, final String memberDescriptor, final int parameterIndex) {
+        Objects.requireNonNull(kind);
+        Objects.requireNonNull(className);
+        this.kind = kind;
+        this.className = className;
+        this.memberName = memberName;
+        this.memberDescriptor = memberDescriptor;
+        this.parameterIndex = parameterIndex;
+    }
+
+    public ElementKind getKind() {
+        return kind;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getMemberName() {
+        return memberName;
+    }
+
+    public String getMemberDescriptor() {
+        return memberDescriptor;
+    }
+
+    public int getParameterIndex() {
+        return parameterIndex;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final AnnotationOccurrence that = (AnnotationOccurrence) o;
+
+        if (parameterIndex != that.parameterIndex) return false;
+        if (kind != that.kind) return false;
+        if (!className.equals(that.className)) return false;
+        if (memberName != null ? !memberName.equals(that.memberName) : that.memberName != null) return false;
+        return memberDescriptor != null ? memberDescriptor.equals(that.memberDescriptor) : that.memberDescriptor == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = kind.hashCode();
+        result = 31 * result + className.hashCode();
+        result = 31 * result + (memberName != null ? memberName.hashCode() : 0);
+        result = 31 * result + (memberDescriptor != null ? memberDescriptor.hashCode() : 0);
+        result = 31 * result + parameterIndex;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AnnotationOccurrence{" +
+                "kind=" + kind +
+                ", className='" + className + '\'' +
+                ", memberName='" + memberName + '\'' +
+                ", memberDescriptor='" + memberDescriptor + '\'' +
+                ", parameterIndex=" + parameterIndex +
+                '}';
+    }
+
+    /**
+     * The kinds of annotated elements.
+     */
+    public enum ElementKind {
+
+        TYPE, METHOD, FIELD, PARAMETER
+
+    }
+
+}
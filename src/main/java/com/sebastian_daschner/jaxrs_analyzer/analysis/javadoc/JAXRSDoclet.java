@@ -1,9 +1,17 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
 
 import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.ClassComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MemberParameterTag;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sun.javadoc.*;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils.getMethodSignature;
@@ -11,22 +19,54 @@ import static com.sebastian_daschner.jaxrs_analyzer.model.Types.*;
 import static com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier.of;
 
 /**
+ * The doclet which is run by the javadoc tool. The documentation is converted right away to comment records,
+ * thus no javadoc objects are reachable after the javadoc tool has finished.
+ *
  * @author Sebastian Daschner
  */
 public class JAXRSDoclet {
 
+    private static final String DEPRECATED_TAG_NAME = "@deprecated";
+
+    /**
+     * The comments of the current javadoc invocation, the javadoc tool runs the doclet in the invoking thread.
+     */
+    private static final ThreadLocal<SourceFileComments> COMMENTS = new ThreadLocal<>();
+
+    /**
+     * Runs the given javadoc invocation with this doclet and returns the extracted comments.
+     *
+     * @param javaDoc The invocation of the javadoc tool
+     * @return The comments of all documented classes
+     */
+    static SourceFileComments collectComments(final Callable<?> javaDoc) throws Exception {
+        final SourceFileComments comments = new SourceFileComments();
+        COMMENTS.set(comments);
+        try {
+            javaDoc.call();
+            return comments;
+        } finally {
+            COMMENTS.remove();
+        }
+    }
+
     public static boolean start(RootDoc rootDoc) {
-        Stream.of(rootDoc.classes()).forEach(JAXRSDoclet::handleClassDoc);
+        final SourceFileComments comments = COMMENTS.get();
+        if (comments == null)
+            return false;
+
+        Stream.of(rootDoc.classes()).forEach(c -> handleClassDoc(c, comments));
         return true;
     }
 
-    private static void handleClassDoc(final ClassDoc classDoc) {
+    private static void handleClassDoc(final ClassDoc classDoc, final SourceFileComments comments) {
         final String className = toClassName(classDoc.qualifiedName());
-        JavaDocAnalyzer.put(className, classDoc);
-        Stream.of(classDoc.methods()).forEach(m -> handleMethodDoc(m, className));
+        final ClassComment classComment = createClassComment(classDoc);
+        comments.addClassComment(className, classComment);
+        Stream.of(classDoc.methods()).forEach(m -> handleMethodDoc(m, className, classComment, comments));
     }
 
-    private static void handleMethodDoc(final MethodDoc methodDoc, final String className) {
+    private static void handleMethodDoc(final MethodDoc methodDoc, final String className, final ClassComment classComment, final SourceFileComments comments) {
         final String[] parameterTypes = Stream.of(methodDoc.parameters())
                 .map(p -> p.type().qualifiedTypeName())
                 .map(JAXRSDoclet::toType)
@@ -36,7 +76,46 @@ public class JAXRSDoclet {
         final String signature = getMethodSignature(returnType, parameterTypes);
 
         final MethodIdentifier identifier = of(className, methodDoc.name(), signature, methodDoc.isStatic());
-        JavaDocAnalyzer.put(identifier, methodDoc);
+        comments.addMethodComment(identifier, createMethodComment(methodDoc, classComment));
+    }
+
+    private static ClassComment createClassComment(final ClassDoc classDoc) {
+        final List<MemberParameterTag> fieldComments = Stream.of(classDoc.fields(false))
+                .map(f -> new MemberParameterTag(f.commentText(), createAnnotations(f.annotations())))
+                .collect(Collectors.toList());
+        return new ClassComment(classDoc.commentText(), fieldComments, isDeprecated(classDoc));
+    }
+
+    private static MethodComment createMethodComment(final MethodDoc methodDoc, final ClassComment classComment) {
+        final Map<String, String> paramComments = new HashMap<>();
+        Stream.of(methodDoc.paramTags()).forEach(t -> paramComments.putIfAbsent(t.parameterName(), t.parameterComment()));
+
+        final List<MemberParameterTag> paramTags = Stream.of(methodDoc.parameters())
+                .map(p -> new MemberParameterTag(paramComments.get(p.name()), createAnnotations(p.annotations())))
+                .collect(Collectors.toList());
+        return new MethodComment(methodDoc.commentText(), paramTags, classComment, isDeprecated(methodDoc));
+    }
+
+    /**
+     * Returns the qualified annotation type names and their {@code value} strings.
+     * The type names are interned as the same few annotation types are repeated for every documented parameter and field.
+     */
+    private static Map<String, String> createAnnotations(final AnnotationDesc... annotations) {
+        final Map<String, String> annotationValues = new HashMap<>();
+        for (final AnnotationDesc annotation : annotations) {
+            final String value = Stream.of(annotation.elementValues())
+                    .filter(p -> "value".equals(p.element().name()))
+                    .map(p -> p.value().value())
+                    .filter(v -> v instanceof String)
+                    .map(String.class::cast)
+                    .findAny().orElse(null);
+            annotationValues.put(annotation.annotationType().qualifiedTypeName().intern(), value);
+        }
+        return annotationValues;
+    }
+
+    private static boolean isDeprecated(final Doc doc) {
+        return doc.tags(DEPRECATED_TAG_NAME).length > 0;
     }
 
     private static String toClassName(final String qualifiedName) {
@@ -1,105 +1,159 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisOptions;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
-import com.sun.javadoc.ClassDoc;
-import com.sun.javadoc.MethodDoc;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
+ * Analyzes the JavaDoc of the project sources and adds it to the method results.
+ * The comments are either extracted by a lightweight parser of the source files (default) or by a doclet run by the javadoc tool.
+ * The extracted comments are only kept for a single analysis, afterwards only the comments of the method results are reachable.
+ *
  * @author Sebastian Daschner
  */
 public class JavaDocAnalyzer {
 
-    private static final Map<MethodIdentifier, MethodDoc> METHOD_DOCS = new ConcurrentHashMap<>();
-    // TODO use class results for POJO / JAXB enhancement
-    private static final Map<String, ClassDoc> CLASS_DOCS = new ConcurrentHashMap<>();
-
-    public void analyze(final Set<ClassResult> classResults, final Set<String> packages, final Set<Path> projectSourcePaths, final Set<Path> classPaths) {
-        try {
-            invokeDoclet(packages, projectSourcePaths, classPaths);
-            combineResults(classResults);
-        } catch (Exception e) {
-            LogProvider.error("could not analyze JavaDoc, reason: " + e.getMessage());
-            LogProvider.debug(e);
+    private final AnalysisOptions options;
+
+    public JavaDocAnalyzer() {
+        this(new AnalysisOptions());
+    }
+
+    public JavaDocAnalyzer(final AnalysisOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Analyzes the JavaDoc of the given class results and adds it to their method results.
+     *
+     * @param classResults       The analyzed class results
+     * @param projectSourcePaths The project source file paths
+     * @param classPaths         The class paths of the project
+     */
+    public void analyze(final Set<ClassResult> classResults, final Set<Path> projectSourcePaths, final Set<Path> classPaths) {
+        try (final JavaDocExtraction extraction = startExtraction(projectSourcePaths, classPaths)) {
+            classResults.forEach(extraction::add);
+            extraction.combineResults(classResults);
+        }
+    }
+
+    /**
+     * Starts the JavaDoc extraction of an analysis. The source files of the class results which are added to the extraction
+     * are parsed asynchronously, e.g. while further classes are analyzed.
+     *
+     * @param projectSourcePaths The project source file paths
+     * @param classPaths         The class paths of the project, which are read when the results are combined
+     * @return The extraction which has to be closed after the results are combined
+     */
+    public JavaDocExtraction startExtraction(final Set<Path> projectSourcePaths, final Set<Path> classPaths) {
+        return startExtraction(Collections.emptySet(), projectSourcePaths, classPaths);
+    }
+
+    /**
+     * Starts the JavaDoc extraction of an analysis. If the project class paths contain a JavaDoc index, which has been written
+     * by the {@link JavaDocIndexProcessor} at compile time, the indexed comments are used instead of the source files.
+     *
+     * @param projectClassPaths  The project class paths (directories or jar-files) which are searched for JavaDoc indexes
+     * @param projectSourcePaths The project source file paths
+     * @param classPaths         The class paths of the project, which are read when the results are combined
+     * @return The extraction which has to be closed after the results are combined
+     */
+    public JavaDocExtraction startExtraction(final Set<Path> projectClassPaths, final Set<Path> projectSourcePaths, final Set<Path> classPaths) {
+        return new JavaDocExtraction(this, options, projectClassPaths, projectSourcePaths, classPaths);
+    }
+
+    static boolean classExists(final String className) {
+        try (final InputStream stream = ContextClassReader.getClassLoader().getResourceAsStream(className + ".class")) {
+            return stream != null;
+        } catch (IOException e) {
+            return false;
         }
     }
 
-    private void invokeDoclet(final Set<String> packages, final Set<Path> projectSourcePaths, final Set<Path> classPaths) throws Exception {
+    /**
+     * Runs the javadoc tool with the doclet on the given source files and returns the extracted comments.
+     * Several invocations can run concurrently, every invocation uses its own javadoc environment.
+     */
+    SourceFileComments invokeDoclet(final Collection<Path> sourceFiles, final Set<Path> projectSourcePaths, final Set<Path> classPaths) throws Exception {
         final String docletName = "com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc.JAXRSDoclet";
         final Class<?> doclet = ContextClassReader.getClassLoader().loadClass(docletName);
         final String docletPath = Paths.get(doclet.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
-        final String encoding = System.getProperty("project.build.sourceEncoding", Charset.defaultCharset().name());
 
-        // TODO only invoke on sources visited in visitSource
         final String[] args = Stream.concat(
                 Stream.of("-sourcepath", joinPaths(projectSourcePaths),
                         "-classpath", joinPaths(classPaths),
                         "-quiet",
                         "-docletpath", docletPath,
                         "-doclet", docletName,
-                        "-encoding", encoding
+                        "-encoding", sourceEncoding()
                 ),
-                packages.stream()
+                sourceFiles.stream().map(JavaDocAnalyzer::toJavaDocArgument).distinct()
         ).toArray(String[]::new);
         final Class<?> javaDocMain = ContextClassReader.getClassLoader().loadClass("com.sun.tools.javadoc.Main");
-        final int result = (int) javaDocMain.getMethod("execute", String[].class).invoke(null, (Object) args);
-        if (result != 0)
-            LogProvider.error("Error in javadoc analysis");
-    }
-
-    private String joinPaths(final Set<Path> projectSourcePaths) {
-        return projectSourcePaths.stream().map(Path::toString).collect(Collectors.joining(File.pathSeparator));
+        return JAXRSDoclet.collectComments(() -> {
+            final int result = (int) javaDocMain.getMethod("execute", String[].class).invoke(null, (Object) args);
+            if (result != 0)
+                LogProvider.error("Error in javadoc analysis");
+            return result;
+        });
     }
 
-    private void combineResults(final Set<ClassResult> classResults) {
-        METHOD_DOCS.entrySet().forEach(e -> classResults.stream()
-                .map(c -> findMethodResult(e.getKey(), c))
-                .filter(Objects::nonNull)
-                .forEach(m -> m.setMethodDoc(e.getValue())));
+    /**
+     * Returns the source file or, for source files in jar-files, the package which javadoc looks up in the source path.
+     */
+    private static String toJavaDocArgument(final Path sourceFile) {
+        if (sourceFile.getFileSystem() == FileSystems.getDefault())
+            return sourceFile.toString();
+        final Path packagePath = sourceFile.getRoot().relativize(sourceFile.getParent());
+        return StreamSupport.stream(packagePath.spliterator(), false).map(Path::toString).collect(Collectors.joining("."));
     }
 
-    private MethodResult findMethodResult(final MethodIdentifier identifier, final ClassResult classResult) {
-        if (classResult.getOriginalClass().equals(identifier.getContainingClass()))
-            return classResult.getMethods().stream()
-                    .filter(methodResult -> methodResult.getOriginalMethodSignature().equals(identifier))
-                    .findAny().orElse(null);
-
-        return classResult.getMethods().stream()
-                .map(MethodResult::getSubResource)
-                .filter(Objects::nonNull)
-                .map(c -> findMethodResult(identifier, c))
-                .filter(Objects::nonNull)
-                .findAny().orElse(null);
+    static String sourceEncoding() {
+        return System.getProperty("project.build.sourceEncoding", Charset.defaultCharset().name());
     }
 
-    public static void put(final MethodIdentifier identifier, final MethodDoc methodDoc) {
-        METHOD_DOCS.put(identifier, methodDoc);
+    private String joinPaths(final Set<Path> projectSourcePaths) {
+        return projectSourcePaths.stream().map(Path::toString).collect(Collectors.joining(File.pathSeparator));
     }
 
-    public static void put(final String className, final ClassDoc classDoc) {
-        CLASS_DOCS.put(className, classDoc);
-    }
+    void combineResults(final Set<ClassResult> classResults, final Map<MethodIdentifier, MethodComment> methodComments) {
+        // the method results of the class result trees are indexed once, every documented method needs a single lookup
+        final Map<String, List<MethodResult>> methodResults = new HashMap<>();
+        classResults.forEach(c -> indexMethodResults(c, methodResults));
 
-    public static MethodDoc get(final MethodIdentifier identifier) {
-        return METHOD_DOCS.get(identifier);
+        methodComments.forEach((identifier, methodDoc) -> methodResults.getOrDefault(identifier.getErasedKey(), Collections.emptyList())
+                .forEach(m -> m.setMethodDoc(methodDoc)));
     }
 
-    public static ClassDoc get(final String className) {
-        return CLASS_DOCS.get(className);
+    private static void indexMethodResults(final ClassResult classResult, final Map<String, List<MethodResult>> methodResults) {
+        for (final MethodResult methodResult : classResult.getMethods()) {
+            if (methodResult.getOriginalMethodSignature() != null)
+                methodResults.computeIfAbsent(methodResult.getOriginalMethodSignature().getErasedKey(), k -> new ArrayList<>()).add(methodResult);
+            if (methodResult.getSubResource() != null)
+                indexMethodResults(methodResult.getSubResource(), methodResults);
+        }
     }
 
 }
@@ -0,0 +1,137 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
+
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.utils.DigestUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Caches the extracted comments of source files on disk. An entry is identified by the hash of the source file contents,
+ * therefore only new or changed source files have to be parsed again.
+ * As the referenced types are resolved by the classes which exist on the class path, an entry contains the looked up classes as well;
+ * the entry is only used if these classes still resolve the same way.
+ * The entries are written to temporary files which are atomically moved into place, thus concurrent analyses can share a cache directory;
+ * as the entries are content-addressed, concurrent writers of the same entry write the same contents.
+ * Entries which can't be read, e.g. written in another format, are treated as missing.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+class JavaDocCache {
+
+    private static final String FILE_EXTENSION = ".jdc";
+    private static final int MAGIC = 0x4A444345;
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path directory;
+
+    /**
+     * @param directory The cache directory, which is created if necessary
+     */
+    JavaDocCache(final Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Reads the cached comments of a source file.
+     *
+     * @param hash        The hash of the source file contents, see {@link #hash(byte[])}
+     * @param classExists Whether a class (in JVM notation) exists in the current analysis
+     * @return The comments or {@code null} if the source file isn't cached or the looked up classes have changed
+     */
+    SourceFileComments read(final String hash, final Predicate<String> classExists) {
+        final Path file = directory.resolve(hash + FILE_EXTENSION);
+        if (!Files.isRegularFile(file))
+            return null;
+
+        try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION)
+                throw new IOException("Unsupported format of the cached JavaDoc");
+
+            final int classCount = input.readInt();
+            for (int i = 0; i < classCount; i++) {
+                final String className = input.readUTF();
+                if (classExists.test(className) != input.readBoolean()) {
+                    LogProvider.debug("Cached JavaDoc " + file + " is outdated, the class " + className + " resolves differently");
+                    return null;
+                }
+            }
+            return SourceFileComments.read(input);
+        } catch (IOException | RuntimeException e) {
+            LogProvider.debug("Could not read cached JavaDoc " + file + ", reason: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the comments of a source file to the cache. Failures are logged and otherwise ignored.
+     *
+     * @param hash            The hash of the source file contents, see {@link #hash(byte[])}
+     * @param comments        The extracted comments
+     * @param resolvedClasses The classes which have been looked up while parsing and whether they exist
+     */
+    void write(final String hash, final SourceFileComments comments, final Map<String, Boolean> resolvedClasses) {
+        final Path file = directory.resolve(hash + FILE_EXTENSION);
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(directory);
+            temporaryFile = Files.createTempFile(directory, hash, ".tmp");
+            try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.writeInt(resolvedClasses.size());
+                for (final Map.Entry<String, Boolean> entry : resolvedClasses.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    output.writeBoolean(entry.getValue());
+                }
+                comments.write(output);
+            }
+            move(temporaryFile, file);
+        } catch (IOException e) {
+            LogProvider.debug("Could not write cached JavaDoc " + file + ", reason: " + e.getMessage());
+        } finally {
+            if (temporaryFile != null)
+                deleteQuietly(temporaryFile);
+        }
+    }
+
+    private static void move(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LogProvider.debug("Could not delete " + file + ", reason: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Calculates the hash (SHA-256) of the given source file contents.
+     *
+     * @param contents The contents of the source file
+     * @return The hash as hex string
+     */
+    static String hash(final byte[] contents) {
+        final MessageDigest digest = DigestUtils.sha256();
+        digest.update(contents);
+        return DigestUtils.hex(digest);
+    }
+
+}
@@ -0,0 +1,231 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
+
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisOptions;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The JavaDoc extraction of a single analysis. The source files of the added class results are resolved right away;
+ * the source parser extracts their comments asynchronously while further classes are analyzed, the javadoc doclet runs once
+ * all class results are known. The doclet documents the packages in concurrent batches if several workers are configured.
+ * The extracted comments are joined with the method results in {@link #combineResults(Set)}.
+ * If the project class paths contain a {@link JavaDocIndex}, which has been written at compile time, the indexed comments of the
+ * source files are used if the source files are up-to-date or not available; the other source files are extracted as usual.
+ * The class results have to be added and combined by a single thread.
+ *
+ * @author Sebastian Daschner
+ */
+public class JavaDocExtraction implements AutoCloseable {
+
+    private final JavaDocAnalyzer javaDocAnalyzer;
+    private final AnalysisOptions options;
+    private final Set<Path> projectSourcePaths;
+    private final Set<Path> classPaths;
+    private final JavaDocSourceFiles javaDocSourceFiles = new JavaDocSourceFiles();
+    private final Set<Path> sourceFiles = new LinkedHashSet<>();
+    private final List<CompletableFuture<Void>> parsedFiles = new ArrayList<>();
+    private final Map<MethodIdentifier, MethodComment> methodComments = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> existingClasses = new ConcurrentHashMap<>();
+    private final Charset charset = Charset.forName(JavaDocAnalyzer.sourceEncoding());
+    private final JavaDocCache cache;
+    private final Map<String, JavaDocIndex.Entry> indexEntries = new HashMap<>();
+    private final Set<String> indexedSourceFiles = new HashSet<>();
+    private ExecutorService executor;
+
+    JavaDocExtraction(final JavaDocAnalyzer javaDocAnalyzer, final AnalysisOptions options, final Set<Path> projectClassPaths,
+                      final Set<Path> projectSourcePaths, final Set<Path> classPaths) {
+        this.javaDocAnalyzer = javaDocAnalyzer;
+        this.options = options;
+        this.projectSourcePaths = projectSourcePaths;
+        this.classPaths = classPaths;
+        cache = options.getJavaDocCacheDirectory() == null ? null : new JavaDocCache(options.getJavaDocCacheDirectory());
+        loadIndexes(projectClassPaths);
+    }
+
+    /**
+     * Adds an analyzed class result. The new source files of the class and its types are taken from the index or parsed asynchronously.
+     *
+     * @param classResult The class result, its bytecode has to be analyzed already
+     */
+    public void add(final ClassResult classResult) {
+        try {
+            // only the sources of the analyzed resources and their types are parsed, not the whole project
+            for (final Map.Entry<String, Path> entry : javaDocSourceFiles.resolveSourceFiles(Collections.singleton(classResult), projectSourcePaths).entrySet()) {
+                final Path sourceFile = entry.getValue();
+                final JavaDocIndex.Entry indexEntry = indexEntries.get(entry.getKey());
+
+                if (indexEntry != null && (sourceFile == null || indexEntry.isUpToDate(sourceFile))) {
+                    if (indexedSourceFiles.add(entry.getKey()))
+                        methodComments.putAll(indexEntry.getComments().getMethodComments());
+                } else if (sourceFile != null && sourceFiles.add(sourceFile) && !options.isJavaDocDoclet()) {
+                    parsedFiles.add(CompletableFuture.runAsync(() -> parseSourceFile(sourceFile), executor()));
+                }
+            }
+        } catch (Exception e) {
+            LogProvider.error("could not analyze JavaDoc of " + classResult.getOriginalClass() + ", reason: " + e.getMessage());
+            LogProvider.debug(e);
+        }
+    }
+
+    /**
+     * Waits for the extraction of all added class results and adds the comments to the method results.
+     *
+     * @param classResults The analyzed class results
+     */
+    public void combineResults(final Set<ClassResult> classResults) {
+        try {
+            if (sourceFiles.isEmpty() && indexedSourceFiles.isEmpty()) {
+                LogProvider.debug("No source files of the resource classes found in " + projectSourcePaths);
+                return;
+            }
+
+            // TODO use class comments for POJO / JAXB enhancement
+            if (options.isJavaDocDoclet()) {
+                if (!sourceFiles.isEmpty())
+                    methodComments.putAll(invokeDoclet().getMethodComments());
+            } else {
+                parsedFiles.forEach(CompletableFuture::join);
+            }
+            javaDocAnalyzer.combineResults(classResults, methodComments);
+        } catch (Exception e) {
+            LogProvider.error("could not analyze JavaDoc, reason: " + e.getMessage());
+            LogProvider.debug(e);
+        }
+    }
+
+    /**
+     * Stops the extraction and closes the source files.
+     */
+    @Override
+    public void close() {
+        if (executor != null)
+            executor.shutdownNow();
+        javaDocSourceFiles.close();
+    }
+
+    /**
+     * Loads the JavaDoc indexes of the project class paths. Every class path contributes the entries of its own source files.
+     */
+    private void loadIndexes(final Set<Path> projectClassPaths) {
+        for (final Path classPath : projectClassPaths) {
+            try {
+                final JavaDocIndex index = JavaDocIndex.load(classPath);
+                if (index != null) {
+                    LogProvider.debug("Using the JavaDoc index of " + classPath);
+                    index.getEntries().forEach(indexEntries::putIfAbsent);
+                }
+            } catch (IOException e) {
+                LogProvider.error("Could not read the JavaDoc index of " + classPath + ", reason: " + e.getMessage());
+                LogProvider.debug(e);
+            }
+        }
+    }
+
+    /**
+     * Runs the doclet on batches of whole packages, the batches run concurrently and their comments are merged afterwards.
+     */
+    private SourceFileComments invokeDoclet() throws Exception {
+        final List<List<Path>> batches = partitionPackages(sourceFiles, options.getJavaDocWorkers());
+        if (batches.size() == 1)
+            return javaDocAnalyzer.invokeDoclet(batches.get(0), projectSourcePaths, classPaths);
+
+        final List<CompletableFuture<SourceFileComments>> batchComments = new ArrayList<>();
+        for (final List<Path> batch : batches) {
+            batchComments.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return javaDocAnalyzer.invokeDoclet(batch, projectSourcePaths, classPaths);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor()));
+        }
+
+        final SourceFileComments comments = new SourceFileComments();
+        for (final CompletableFuture<SourceFileComments> batch : batchComments)
+            comments.addAll(batch.join());
+        return comments;
+    }
+
+    /**
+     * Partitions the source files into at most the given number of batches of whole packages, with similar numbers of files.
+     */
+    static List<List<Path>> partitionPackages(final Set<Path> sourceFiles, final int batchCount) {
+        final Map<Path, List<Path>> packages = new LinkedHashMap<>();
+        sourceFiles.forEach(f -> packages.computeIfAbsent(f.getParent(), p -> new ArrayList<>()).add(f));
+
+        final List<List<Path>> batches = new ArrayList<>();
+        for (int index = 0; index < Math.min(batchCount, packages.size()); index++)
+            batches.add(new ArrayList<>());
+
+        // the largest packages are distributed first, every package is added to the smallest batch
+        packages.values().stream().sorted(Comparator.comparingInt(List<Path>::size).reversed())
+                .forEach(p -> batches.stream().min(Comparator.comparingInt(List::size)).ifPresent(b -> b.addAll(p)));
+        return batches;
+    }
+
+    private ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(options.getJavaDocWorkers(), r -> {
+                final Thread thread = new Thread(r, "jaxrs-analyzer-javadoc");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Extracts the comments of the source file without the javadoc tool.
+     * If a cache directory is configured, the source file is only parsed if it isn't cached yet or its types resolve differently.
+     */
+    private void parseSourceFile(final Path sourceFile) {
+        try {
+            final byte[] contents = Files.readAllBytes(sourceFile);
+            final String hash = cache == null ? null : JavaDocCache.hash(contents);
+            SourceFileComments comments = cache == null ? null : cache.read(hash, this::classExists);
+
+            if (comments == null) {
+                comments = new SourceFileComments();
+                final Map<String, Boolean> resolvedClasses = new HashMap<>();
+                new JavaDocParser(c -> resolvedClasses.computeIfAbsent(c, this::classExists))
+                        .parse(new String(contents, charset), comments::addClassComment, comments::addMethodComment);
+                if (cache != null)
+                    cache.write(hash, comments, resolvedClasses);
+            }
+            methodComments.putAll(comments.getMethodComments());
+        } catch (IOException e) {
+            LogProvider.error("Could not read source file " + sourceFile + ", reason: " + e.getMessage());
+            LogProvider.debug(e);
+        } catch (RuntimeException e) {
+            LogProvider.error("Could not parse source file " + sourceFile + ", reason: " + e.getMessage());
+            LogProvider.debug(e);
+        }
+    }
+
+    private boolean classExists(final String className) {
+        return existingClasses.computeIfAbsent(className, JavaDocAnalyzer::classExists);
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * The JavaDoc index of a project path (a directory or a jar-file), which is written at compile time by the {@link JavaDocIndexProcessor}.
+ * The index contains the comments of the resource classes, their methods and the referenced types of the compilation,
+ * grouped by their source files, and is stored under {@link #LOCATION} of the class output.
+ * Every source file is stamped with its size and modification time at compile time, comparable to the annotation index,
+ * so that changed source files are extracted again instead.
+ * This class is immutable.
+ *
+ * @author Sebastian Daschner
+ */
+final class JavaDocIndex {
+
+    /**
+     * The location of the index file, relative to the class output directory or jar root.
+     */
+    static final String LOCATION = "META-INF/jaxrs-analyzer/javadoc-index";
+
+    private static final int MAGIC = 0x4A444958;
+    private static final int FORMAT_VERSION = 1;
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * @param entries The indexed source files by their names relative to the source root (e.g. {@code com/company/Users.java})
+     */
+    JavaDocIndex(final Map<String, Entry> entries) {
+        this.entries = Collections.unmodifiableMap(new LinkedHashMap<>(entries));
+    }
+
+    /**
+     * Returns the indexed source files by their names relative to the source root (e.g. {@code com/company/Users.java}).
+     */
+    Map<String, Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Writes this index in the binary format.
+     *
+     * @param output The output stream
+     * @throws IOException If the index could not be written
+     */
+    void write(final OutputStream output) throws IOException {
+        final DataOutputStream dataOutput = new DataOutputStream(output);
+        dataOutput.writeInt(MAGIC);
+        dataOutput.writeInt(FORMAT_VERSION);
+        dataOutput.writeInt(entries.size());
+        for (final Map.Entry<String, Entry> entry : entries.entrySet()) {
+            dataOutput.writeUTF(entry.getKey());
+            dataOutput.writeLong(entry.getValue().size);
+            dataOutput.writeLong(entry.getValue().lastModified);
+            dataOutput.flush();
+            entry.getValue().comments.write(output);
+        }
+        dataOutput.flush();
+    }
+
+    /**
+     * Reads an index in the binary format.
+     *
+     * @param input The input stream
+     * @return The index
+     * @throws IOException If the index could not be read or is written in another format
+     */
+    static JavaDocIndex read(final InputStream input) throws IOException {
+        final DataInputStream dataInput = new DataInputStream(input);
+        try {
+            if (dataInput.readInt() != MAGIC || dataInput.readInt() != FORMAT_VERSION)
+                throw new IOException("Unsupported format of the JavaDoc index");
+
+            final int entryCount = dataInput.readInt();
+            final Map<String, Entry> entries = new LinkedHashMap<>();
+            for (int index = 0; index < entryCount; index++) {
+                final String sourceFileName = dataInput.readUTF();
+                final long size = dataInput.readLong();
+                final long lastModified = dataInput.readLong();
+                entries.put(sourceFileName, new Entry(size, lastModified, SourceFileComments.read(dataInput)));
+            }
+            return new JavaDocIndex(entries);
+        } catch (EOFException e) {
+            throw new IOException("Malformed JavaDoc index", e);
+        }
+    }
+
+    /**
+     * Loads the index which is stored in the given project path.
+     *
+     * @param projectPath The directory or jar-file
+     * @return The index or {@code null} if the project path contains no index
+     * @throws IOException If the index could not be read or is written in another format
+     */
+    static JavaDocIndex load(final Path projectPath) throws IOException {
+        if (Files.isDirectory(projectPath)) {
+            final Path file = projectPath.resolve(LOCATION);
+            if (!Files.isRegularFile(file))
+                return null;
+            try (final InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+                return read(input);
+            }
+        }
+
+        if (!Files.isRegularFile(projectPath))
+            return null;
+
+        try (final JarFile jarFile = new JarFile(projectPath.toFile())) {
+            final JarEntry entry = jarFile.getJarEntry(LOCATION);
+            if (entry == null)
+                return null;
+            try (final InputStream input = new BufferedInputStream(jarFile.getInputStream(entry))) {
+                return read(input);
+            }
+        }
+    }
+
+    /**
+     * The comments of a single source file, identified by the stamp of the compiled source file.
+     */
+    static class Entry {
+
+        /**
+         * The size or modification time of source files which aren't stored in the file system, e.g. generated in memory.
+         */
+        static final long UNKNOWN = -1;
+
+        private final long size;
+        private final long lastModified;
+        private final SourceFileComments comments;
+
+        /**
+         * @param size         The size of the source file in bytes, or {@link #UNKNOWN}
+         * @param lastModified The modification time of the source file in milliseconds, or {@link #UNKNOWN}
+         * @param comments     The comments of the classes and methods declared in the source file
+         */
+        Entry(final long size, final long lastModified, final SourceFileComments comments) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.comments = comments;
+        }
+
+        SourceFileComments getComments() {
+            return comments;
+        }
+
+        /**
+         * Checks if this entry reflects the given current source file.
+         *
+         * @param sourceFile The source file
+         * @return {@code true} if the source file hasn't changed since it has been indexed
+         */
+        boolean isUpToDate(final Path sourceFile) {
+            if (size == UNKNOWN || lastModified == UNKNOWN)
+                return false;
+
+            try {
+                return Files.size(sourceFile) == size && Files.getLastModifiedTime(sourceFile).toMillis() == lastModified;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+    }
+
+}
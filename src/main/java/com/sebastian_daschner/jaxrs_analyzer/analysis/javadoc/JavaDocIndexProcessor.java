@@ -0,0 +1,357 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.ClassComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MemberParameterTag;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.sebastian_daschner.jaxrs_analyzer.model.Types.*;
+
+/**
+ * Captures the JavaDoc of the compiled resource classes at compile time and writes the {@link JavaDocIndex} to the class output.
+ * The comments of the resource classes, their methods, their super types and the types of their method parameters and return values
+ * which are part of the compilation are indexed per source file, together with the stamp of the source file.
+ * The analysis uses the up-to-date entries of the index instead of the source files.
+ * <p>
+ * The processor is registered as service but only runs if it is enabled with the {@link #INDEX_OPTION} processor option,
+ * e.g. {@code -Ajaxrs.analyzer.javadoc.index=true}.
+ * The entries of an existing index are kept for the source files which are not part of the compilation, e.g. of incremental builds.
+ *
+ * @author Sebastian Daschner
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(JavaDocIndexProcessor.INDEX_OPTION)
+public class JavaDocIndexProcessor extends AbstractProcessor {
+
+    /**
+     * The processor option which enables the index.
+     */
+    public static final String INDEX_OPTION = "jaxrs.analyzer.javadoc.index";
+
+    private static final String PATH_ANNOTATION = "javax.ws.rs.Path";
+    private static final String HTTP_METHOD_ANNOTATION = "javax.ws.rs.HttpMethod";
+
+    private final Map<String, JavaDocIndex.Entry> existingEntries = new LinkedHashMap<>();
+    private final Map<String, JavaDocIndex.Entry> entries = new LinkedHashMap<>();
+    private final Set<String> compiledSourceFiles = new HashSet<>();
+    private final Set<String> indexedClasses = new HashSet<>();
+    private boolean enabled;
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        enabled = processingEnv.getOptions().containsKey(INDEX_OPTION) && !"false".equalsIgnoreCase(processingEnv.getOptions().get(INDEX_OPTION));
+        if (enabled)
+            loadExistingEntries();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        // the processor is not invoked at all unless it is enabled
+        return enabled ? super.getSupportedAnnotationTypes() : Collections.emptySet();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (!enabled)
+            return false;
+
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+
+        // only the types of the current round contain doc comments
+        final Set<TypeElement> sourceTypes = new HashSet<>();
+        ElementFilter.typesIn(roundEnv.getRootElements()).forEach(t -> {
+            compiledSourceFiles.add(getSourceFileName(t));
+            addNestedTypes(t, sourceTypes);
+        });
+
+        final Queue<TypeElement> types = new ArrayDeque<>();
+        sourceTypes.stream().filter(this::isResource).forEach(types::add);
+
+        TypeElement type;
+        while ((type = types.poll()) != null) {
+            if (!indexedClasses.add(toClassName(type)))
+                continue;
+
+            final SourceFileComments comments = getEntry(type).getComments();
+            final ClassComment classComment = createClassComment(type);
+            comments.addClassComment(toClassName(type), classComment);
+
+            for (final ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                comments.addMethodComment(createIdentifier(type, method), createMethodComment(method, classComment));
+                referencedTypes(method).stream().filter(sourceTypes::contains).forEach(types::add);
+            }
+
+            processingEnv.getTypeUtils().directSupertypes(type.asType()).stream().map(this::toTypeElement)
+                    .filter(sourceTypes::contains).forEach(types::add);
+        }
+        return false;
+    }
+
+    /**
+     * Returns the entry of the source file which declares the given type, the source file is stamped when the entry is created.
+     */
+    private JavaDocIndex.Entry getEntry(final TypeElement type) {
+        return entries.computeIfAbsent(getSourceFileName(type), n -> {
+            final Path sourceFile = getSourceFile(n);
+            if (sourceFile != null) {
+                try {
+                    return new JavaDocIndex.Entry(Files.size(sourceFile), Files.getLastModifiedTime(sourceFile).toMillis(), new SourceFileComments());
+                } catch (IOException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Could not stamp " + sourceFile + ", reason: " + e.getMessage());
+                }
+            }
+            return new JavaDocIndex.Entry(JavaDocIndex.Entry.UNKNOWN, JavaDocIndex.Entry.UNKNOWN, new SourceFileComments());
+        });
+    }
+
+    /**
+     * Returns the name of the source file relative to the source root, e.g. {@code com/company/Users.java}.
+     * The file name is derived from the top-level type, as required for public types.
+     */
+    private String getSourceFileName(final TypeElement type) {
+        final TypeElement topLevelType = getTopLevelType(type);
+        final String packageName = processingEnv.getElementUtils().getPackageOf(topLevelType).getQualifiedName().toString();
+        final String packagePath = packageName.isEmpty() ? "" : packageName.replace('.', '/') + '/';
+        return packagePath + topLevelType.getSimpleName() + ".java";
+    }
+
+    /**
+     * Returns the source file in the source path of the compilation or {@code null} if the file is not stored in the file system.
+     * The source files can't be stamped if the compilation has no source path (javac {@code -sourcepath}).
+     */
+    private Path getSourceFile(final String sourceFileName) {
+        final int packageEnd = sourceFileName.lastIndexOf('/');
+        final String packageName = sourceFileName.substring(0, Math.max(packageEnd, 0)).replace('/', '.');
+        try {
+            final URI uri = processingEnv.getFiler().getResource(StandardLocation.SOURCE_PATH, packageName, sourceFileName.substring(packageEnd + 1)).toUri();
+            return "file".equals(uri.getScheme()) ? Paths.get(uri) : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static TypeElement getTopLevelType(final TypeElement type) {
+        TypeElement current = type;
+        while (current.getEnclosingElement() instanceof TypeElement)
+            current = (TypeElement) current.getEnclosingElement();
+        return current;
+    }
+
+    private static void addNestedTypes(final TypeElement type, final Set<TypeElement> types) {
+        types.add(type);
+        ElementFilter.typesIn(type.getEnclosedElements()).forEach(t -> addNestedTypes(t, types));
+    }
+
+    /**
+     * Checks if the type is annotated with {@code @Path} or declares a method with {@code @Path} or a HTTP method annotation.
+     */
+    private boolean isResource(final TypeElement type) {
+        if (hasAnnotation(type, PATH_ANNOTATION))
+            return true;
+
+        return ElementFilter.methodsIn(type.getEnclosedElements()).stream()
+                .anyMatch(m -> hasAnnotation(m, PATH_ANNOTATION) || m.getAnnotationMirrors().stream()
+                        .anyMatch(a -> hasAnnotation(a.getAnnotationType().asElement(), HTTP_METHOD_ANNOTATION)));
+    }
+
+    private static boolean hasAnnotation(final Element element, final String annotationType) {
+        return element.getAnnotationMirrors().stream().anyMatch(a -> annotationType.equals(toQualifiedName(a)));
+    }
+
+    /**
+     * Returns the declared types of the parameters and the return value, including the type arguments and array component types.
+     */
+    private Set<TypeElement> referencedTypes(final ExecutableElement method) {
+        final Set<TypeElement> types = new HashSet<>();
+        final Queue<TypeMirror> typeMirrors = new ArrayDeque<>();
+        typeMirrors.add(method.getReturnType());
+        method.getParameters().stream().map(Element::asType).forEach(typeMirrors::add);
+
+        TypeMirror typeMirror;
+        while ((typeMirror = typeMirrors.poll()) != null) {
+            if (typeMirror.getKind() == TypeKind.ARRAY) {
+                typeMirrors.add(((ArrayType) typeMirror).getComponentType());
+            } else if (typeMirror.getKind() == TypeKind.DECLARED) {
+                final DeclaredType declaredType = (DeclaredType) typeMirror;
+                if (types.add((TypeElement) declaredType.asElement()))
+                    typeMirrors.addAll(declaredType.getTypeArguments());
+            }
+        }
+        return types;
+    }
+
+    private ClassComment createClassComment(final TypeElement type) {
+        final JavaDocParser.DocComment doc = getDocComment(type);
+        // enum constants are documented as fields as well
+        final List<MemberParameterTag> fieldComments = ElementFilter.fieldsIn(type.getEnclosedElements()).stream()
+                .map(f -> new MemberParameterTag(getDocComment(f).getText(), createAnnotations(f)))
+                .collect(Collectors.toList());
+        return new ClassComment(doc.getText(), fieldComments, doc.isDeprecated());
+    }
+
+    private MethodComment createMethodComment(final ExecutableElement method, final ClassComment classComment) {
+        final JavaDocParser.DocComment doc = getDocComment(method);
+        final List<MemberParameterTag> paramTags = method.getParameters().stream()
+                .map(p -> new MemberParameterTag(doc.getParamComment(p.getSimpleName().toString()), createAnnotations(p)))
+                .collect(Collectors.toList());
+        return new MethodComment(doc.getText(), paramTags, classComment, doc.isDeprecated());
+    }
+
+    private JavaDocParser.DocComment getDocComment(final Element element) {
+        return JavaDocParser.DocComment.ofText(processingEnv.getElementUtils().getDocComment(element));
+    }
+
+    /**
+     * Returns the qualified annotation type names and their {@code value} strings.
+     */
+    private static Map<String, String> createAnnotations(final Element element) {
+        final Map<String, String> annotations = new HashMap<>();
+        for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            final String value = annotation.getElementValues().entrySet().stream()
+                    .filter(e -> e.getKey().getSimpleName().contentEquals("value"))
+                    .map(Map.Entry::getValue).map(AnnotationValue::getValue)
+                    .filter(v -> v instanceof String).map(String.class::cast)
+                    .findAny().orElse(null);
+            annotations.put(toQualifiedName(annotation).intern(), value);
+        }
+        return annotations;
+    }
+
+    private static String toQualifiedName(final AnnotationMirror annotation) {
+        return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private MethodIdentifier createIdentifier(final TypeElement type, final ExecutableElement method) {
+        final String[] parameterTypes = method.getParameters().stream().map(p -> toType(p.asType())).toArray(String[]::new);
+        final String signature = JavaUtils.getMethodSignature(toType(method.getReturnType()), parameterTypes);
+        return MethodIdentifier.of(toClassName(type), method.getSimpleName().toString(), signature, method.getModifiers().contains(Modifier.STATIC));
+    }
+
+    /**
+     * Returns the erased type in JVM notation, e.g. {@code Ljava/util/List;}.
+     */
+    private String toType(final TypeMirror typeMirror) {
+        final TypeMirror erasedType = processingEnv.getTypeUtils().erasure(typeMirror);
+        switch (erasedType.getKind()) {
+            case VOID:
+                return PRIMITIVE_VOID;
+            case BOOLEAN:
+                return PRIMITIVE_BOOLEAN;
+            case CHAR:
+                return PRIMITIVE_CHAR;
+            case BYTE:
+                return PRIMITIVE_BYTE;
+            case SHORT:
+                return PRIMITIVE_SHORT;
+            case INT:
+                return PRIMITIVE_INT;
+            case LONG:
+                return PRIMITIVE_LONG;
+            case FLOAT:
+                return PRIMITIVE_FLOAT;
+            case DOUBLE:
+                return PRIMITIVE_DOUBLE;
+            case ARRAY:
+                return '[' + toType(((ArrayType) erasedType).getComponentType());
+            case DECLARED:
+                return 'L' + toClassName((TypeElement) ((DeclaredType) erasedType).asElement()) + ';';
+            default:
+                return OBJECT;
+        }
+    }
+
+    private TypeElement toTypeElement(final TypeMirror typeMirror) {
+        final Element element = processingEnv.getTypeUtils().asElement(typeMirror);
+        return element instanceof TypeElement ? (TypeElement) element : null;
+    }
+
+    /**
+     * Returns the binary class name in JVM notation, e.g. {@code com/company/Outer$Inner}.
+     */
+    private String toClassName(final TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString().replace('.', '/');
+    }
+
+    /**
+     * Loads the entries of the index of a previous compilation, if present.
+     */
+    private void loadExistingEntries() {
+        try (final InputStream input = new BufferedInputStream(processingEnv.getFiler()
+                .getResource(StandardLocation.CLASS_OUTPUT, "", JavaDocIndex.LOCATION).openInputStream())) {
+            existingEntries.putAll(JavaDocIndex.read(input).getEntries());
+        } catch (IOException e) {
+            // no or no readable index, the index is written from scratch
+        }
+    }
+
+    /**
+     * Writes the index, consisting of the entries of the compiled source files and the existing entries of the other source files.
+     */
+    private void writeIndex() {
+        final Map<String, JavaDocIndex.Entry> indexEntries = new LinkedHashMap<>(existingEntries);
+        indexEntries.keySet().removeAll(compiledSourceFiles);
+        indexEntries.putAll(entries);
+        if (indexEntries.isEmpty() && existingEntries.isEmpty())
+            return;
+
+        try {
+            final FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", JavaDocIndex.LOCATION);
+            try (final OutputStream output = new BufferedOutputStream(file.openOutputStream())) {
+                new JavaDocIndex(indexEntries).write(output);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Could not write the JavaDoc index, reason: " + e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,1102 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.ClassComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MemberParameterTag;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Extracts the JavaDoc comments of Java source files without the javadoc tool. Only the declarations of classes, methods and fields
+ * and their doc comments are read; method bodies and initializers are skipped.
+ * The referenced types are resolved by the imports, the declared types of the file and the classes which exist on the class path.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+class JavaDocParser {
+
+    private static final String DEPRECATED_TAG = "@deprecated";
+    private static final String PARAM_TAG = "@param";
+    private static final Set<String> MODIFIERS = new HashSet<>(Arrays.asList("public", "protected", "private", "static", "abstract", "final",
+            "native", "synchronized", "transient", "volatile", "strictfp", "default"));
+    private static final Map<String, String> PRIMITIVE_TYPES = new HashMap<>();
+
+    static {
+        PRIMITIVE_TYPES.put("void", Types.PRIMITIVE_VOID);
+        PRIMITIVE_TYPES.put("boolean", Types.PRIMITIVE_BOOLEAN);
+        PRIMITIVE_TYPES.put("char", Types.PRIMITIVE_CHAR);
+        PRIMITIVE_TYPES.put("byte", Types.PRIMITIVE_BYTE);
+        PRIMITIVE_TYPES.put("short", Types.PRIMITIVE_SHORT);
+        PRIMITIVE_TYPES.put("int", Types.PRIMITIVE_INT);
+        PRIMITIVE_TYPES.put("long", Types.PRIMITIVE_LONG);
+        PRIMITIVE_TYPES.put("float", Types.PRIMITIVE_FLOAT);
+        PRIMITIVE_TYPES.put("double", Types.PRIMITIVE_DOUBLE);
+    }
+
+    private final Predicate<String> classExists;
+
+    /**
+     * @param classExists Whether a class (in JVM notation, e.g. {@code java/lang/String}) exists, used to resolve imported and same-package types
+     */
+    JavaDocParser(final Predicate<String> classExists) {
+        this.classExists = classExists;
+    }
+
+    /**
+     * Parses the given source file contents and passes the comments of all declared classes and methods.
+     *
+     * @param source          The contents of the Java source file
+     * @param classComments   Receives the class names (in JVM notation) and their comments
+     * @param methodComments  Receives the method identifiers and their comments
+     */
+    void parse(final String source, final BiConsumer<String, ClassComment> classComments, final BiConsumer<MethodIdentifier, MethodComment> methodComments) {
+        final SourceFile sourceFile = new SourceFile(new Tokenizer(source).tokenize());
+        sourceFile.parse();
+
+        for (final DeclaredClass declaredClass : sourceFile.classes) {
+            final ClassComment classComment = declaredClass.createComment(sourceFile);
+            classComments.accept(declaredClass.binaryName, classComment);
+            for (final DeclaredMethod method : declaredClass.methods)
+                methodComments.accept(method.createIdentifier(sourceFile, declaredClass), method.createComment(sourceFile, declaredClass, classComment));
+        }
+    }
+
+    /**
+     * The contents of a doc comment, split into the main text and the block tags (as parsed by the javadoc tool).
+     */
+    static class DocComment {
+
+        private static final DocComment EMPTY = new DocComment("", Collections.emptyList());
+
+        private final String text;
+        private final List<String[]> tags;
+
+        private DocComment(final String text, final List<String[]> tags) {
+            this.text = text;
+            this.tags = tags;
+        }
+
+        String getText() {
+            return text;
+        }
+
+        boolean hasTag(final String name) {
+            return tags.stream().anyMatch(t -> t[0].equals(name));
+        }
+
+        boolean isDeprecated() {
+            return hasTag(DEPRECATED_TAG);
+        }
+
+        /**
+         * Returns the comment of the {@code @param} tag of the given parameter or {@code null}.
+         */
+        String getParamComment(final String parameterName) {
+            for (final String[] tag : tags) {
+                if (!PARAM_TAG.equals(tag[0]))
+                    continue;
+                final String[] nameAndComment = divideAtWhite(tag[1]);
+                if (nameAndComment[0].equals(parameterName))
+                    return nameAndComment[1];
+            }
+            return null;
+        }
+
+        static DocComment of(final String rawComment) {
+            if (rawComment == null)
+                return EMPTY;
+            return parseComponents(stripLeadingStars(rawComment));
+        }
+
+        /**
+         * Returns the doc comment of a comment text without the leading asterisks, e.g. as returned by the annotation processing API.
+         */
+        static DocComment ofText(final String comment) {
+            if (comment == null)
+                return EMPTY;
+            return parseComponents(comment);
+        }
+
+        /**
+         * Removes the leading whitespace and asterisks of every line, lines without asterisk keep their indentation.
+         */
+        private static String stripLeadingStars(final String rawComment) {
+            final String[] lines = rawComment.split("\r\n|\r|\n", -1);
+            final List<String> strippedLines = new ArrayList<>();
+            for (int i = 0; i < lines.length; i++) {
+                final String line = lines[i];
+                int start = 0;
+                if (i == 0) {
+                    while (start < line.length() && line.charAt(start) == '*')
+                        start++;
+                }
+
+                int textStart = start;
+                while (textStart < line.length() && isLineWhitespace(line.charAt(textStart)))
+                    textStart++;
+                if (textStart < line.length() && line.charAt(textStart) == '*') {
+                    while (textStart < line.length() && line.charAt(textStart) == '*')
+                        textStart++;
+                } else if (i > 0) {
+                    textStart = start;
+                }
+
+                // an empty first line is skipped
+                if (i > 0 || textStart < line.length() || lines.length == 1)
+                    strippedLines.add(line.substring(textStart));
+            }
+            return String.join("\n", strippedLines);
+        }
+
+        private static boolean isLineWhitespace(final char c) {
+            return c == ' ' || c == '\t' || c == '\f';
+        }
+
+        /**
+         * Splits the comment into the main text and the block tags, which start with an {@code @} at the beginning of a line.
+         * The texts are trimmed.
+         */
+        private static DocComment parseComponents(final String comment) {
+            final List<String[]> tags = new ArrayList<>();
+            String text = "";
+
+            boolean inTagName = false;
+            boolean inText = false;
+            boolean newLine = true;
+            String tagName = null;
+            int tagStart = 0;
+            int textStart = 0;
+            int lastNonWhite = -1;
+
+            for (int index = 0; index < comment.length(); index++) {
+                final char c = comment.charAt(index);
+                final boolean white = Character.isWhitespace(c);
+
+                if (inTagName) {
+                    if (white) {
+                        tagName = comment.substring(tagStart, index);
+                        inTagName = false;
+                    }
+                } else {
+                    if (!inText && !white) {
+                        textStart = index;
+                        inText = true;
+                    }
+                    if (inText && newLine && c == '@') {
+                        final String componentText = component(comment, textStart, lastNonWhite + 1);
+                        if (tagName == null)
+                            text = componentText;
+                        else
+                            tags.add(new String[]{tagName, componentText});
+                        tagStart = index;
+                        inTagName = true;
+                        inText = false;
+                    }
+                }
+
+                if (c == '\n')
+                    newLine = true;
+                else if (!white) {
+                    lastNonWhite = index;
+                    newLine = false;
+                }
+            }
+
+            if (inTagName)
+                tagName = comment.substring(tagStart);
+            if (!inText)
+                textStart = comment.length();
+            final String componentText = component(comment, textStart, lastNonWhite + 1);
+            if (tagName == null)
+                text = componentText;
+            else
+                tags.add(new String[]{tagName, componentText});
+
+            return new DocComment(text, tags);
+        }
+
+        private static String component(final String comment, final int start, final int end) {
+            return end <= start ? "" : comment.substring(start, end);
+        }
+
+        private static String[] divideAtWhite(final String text) {
+            int index = 0;
+            while (index < text.length() && !Character.isWhitespace(text.charAt(index)))
+                index++;
+            final String name = text.substring(0, index);
+            while (index < text.length() && Character.isWhitespace(text.charAt(index)))
+                index++;
+            return new String[]{name, text.substring(index)};
+        }
+
+    }
+
+    private enum TokenKind {
+        IDENTIFIER, SYMBOL, STRING, LITERAL, DOC_COMMENT, END
+    }
+
+    private static class Token {
+
+        private final TokenKind kind;
+        private final String text;
+
+        Token(final TokenKind kind, final String text) {
+            this.kind = kind;
+            this.text = text;
+        }
+
+        boolean is(final String symbol) {
+            return (kind == TokenKind.SYMBOL || kind == TokenKind.IDENTIFIER) && text.equals(symbol);
+        }
+
+    }
+
+    /**
+     * Splits the source into identifiers, symbols, literals and doc comments. Other comments and whitespace are dropped.
+     */
+    private static class Tokenizer {
+
+        private final String source;
+        private final List<Token> tokens = new ArrayList<>();
+        private int position;
+
+        Tokenizer(final String source) {
+            this.source = source;
+        }
+
+        List<Token> tokenize() {
+            while (position < source.length()) {
+                final char c = source.charAt(position);
+                if (Character.isWhitespace(c)) {
+                    position++;
+                } else if (source.startsWith("//", position)) {
+                    final int end = source.indexOf('\n', position);
+                    position = end < 0 ? source.length() : end + 1;
+                } else if (source.startsWith("/*", position)) {
+                    readComment();
+                } else if (c == '"') {
+                    tokens.add(new Token(TokenKind.STRING, readQuoted('"')));
+                } else if (c == '\'') {
+                    tokens.add(new Token(TokenKind.LITERAL, readQuoted('\'')));
+                } else if (Character.isJavaIdentifierStart(c)) {
+                    final int start = position;
+                    while (position < source.length() && Character.isJavaIdentifierPart(source.charAt(position)))
+                        position++;
+                    tokens.add(new Token(TokenKind.IDENTIFIER, source.substring(start, position)));
+                } else if (Character.isDigit(c)) {
+                    readNumber();
+                } else if (source.startsWith("...", position)) {
+                    tokens.add(new Token(TokenKind.SYMBOL, "..."));
+                    position += 3;
+                } else {
+                    tokens.add(new Token(TokenKind.SYMBOL, String.valueOf(c)));
+                    position++;
+                }
+            }
+            tokens.add(new Token(TokenKind.END, ""));
+            return tokens;
+        }
+
+        private void readComment() {
+            final int end = source.indexOf("*/", position + 2);
+            final int contentEnd = end < 0 ? source.length() : end;
+            // "/**/" is an empty block comment, not a doc comment
+            if (source.startsWith("/**", position) && position + 3 <= contentEnd)
+                tokens.add(new Token(TokenKind.DOC_COMMENT, source.substring(position + 3, contentEnd)));
+            position = end < 0 ? source.length() : end + 2;
+        }
+
+        private String readQuoted(final char quote) {
+            final StringBuilder builder = new StringBuilder();
+            position++;
+            while (position < source.length()) {
+                final char c = source.charAt(position++);
+                if (c == quote)
+                    break;
+                if (c == '\\' && position < source.length())
+                    builder.append(unescape(source.charAt(position++)));
+                else
+                    builder.append(c);
+            }
+            return builder.toString();
+        }
+
+        private static char unescape(final char c) {
+            switch (c) {
+                case 'n':
+                    return '\n';
+                case 't':
+                    return '\t';
+                case 'r':
+                    return '\r';
+                case 'b':
+                    return '\b';
+                case 'f':
+                    return '\f';
+                case '0':
+                    return '\0';
+                default:
+                    return c;
+            }
+        }
+
+        private void readNumber() {
+            final int start = position;
+            while (position < source.length()) {
+                final char c = source.charAt(position);
+                final char previous = source.charAt(position - 1);
+                if (Character.isLetterOrDigit(c) || c == '.' || c == '_' || (c == '+' || c == '-') && (previous == 'e' || previous == 'E'))
+                    position++;
+                else
+                    break;
+            }
+            tokens.add(new Token(TokenKind.LITERAL, source.substring(start, position)));
+        }
+
+    }
+
+    /**
+     * A reference to a type in the source, e.g. {@code Map.Entry<K, V>[]}, which is resolved after the whole file has been parsed.
+     */
+    private static class TypeReference {
+
+        private final List<String> names;
+        private final int dimensions;
+
+        TypeReference(final List<String> names, final int dimensions) {
+            this.names = names;
+            this.dimensions = dimensions;
+        }
+
+    }
+
+    private static class DeclaredParameter {
+
+        private final String name;
+        private final TypeReference type;
+        private final List<DeclaredAnnotation> annotations;
+
+        DeclaredParameter(final String name, final TypeReference type, final List<DeclaredAnnotation> annotations) {
+            this.name = name;
+            this.type = type;
+            this.annotations = annotations;
+        }
+
+    }
+
+    private static class DeclaredAnnotation {
+
+        private final List<String> names;
+        private final String value;
+
+        DeclaredAnnotation(final List<String> names, final String value) {
+            this.names = names;
+            this.value = value;
+        }
+
+    }
+
+    private static class DeclaredField {
+
+        private final String docComment;
+        private final List<DeclaredAnnotation> annotations;
+
+        DeclaredField(final String docComment, final List<DeclaredAnnotation> annotations) {
+            this.docComment = docComment;
+            this.annotations = annotations;
+        }
+
+    }
+
+    private static class DeclaredMethod {
+
+        private final String docComment;
+        private final String name;
+        private final boolean staticMethod;
+        private final TypeReference returnType;
+        private final List<DeclaredParameter> parameters;
+        private final Map<String, TypeReference> typeParameters;
+
+        DeclaredMethod(final String docComment, final String name, final boolean staticMethod, final TypeReference returnType,
+                       final List<DeclaredParameter> parameters, final Map<String, TypeReference> typeParameters) {
+            this.docComment = docComment;
+            this.name = name;
+            this.staticMethod = staticMethod;
+            this.returnType = returnType;
+            this.parameters = parameters;
+            this.typeParameters = typeParameters;
+        }
+
+        MethodIdentifier createIdentifier(final SourceFile sourceFile, final DeclaredClass declaringClass) {
+            final String[] parameterTypes = parameters.stream().map(p -> sourceFile.resolveType(p.type, declaringClass, typeParameters)).toArray(String[]::new);
+            final String returnType = sourceFile.resolveType(this.returnType, declaringClass, typeParameters);
+            return MethodIdentifier.of(declaringClass.binaryName, name, JavaUtils.getMethodSignature(returnType, parameterTypes), staticMethod);
+        }
+
+        MethodComment createComment(final SourceFile sourceFile, final DeclaredClass declaringClass, final ClassComment classComment) {
+            final DocComment doc = DocComment.of(docComment);
+            final List<MemberParameterTag> paramTags = new ArrayList<>();
+            for (final DeclaredParameter parameter : parameters)
+                paramTags.add(new MemberParameterTag(doc.getParamComment(parameter.name), sourceFile.resolveAnnotations(parameter.annotations, declaringClass)));
+            return new MethodComment(doc.getText(), paramTags, classComment, doc.isDeprecated());
+        }
+
+    }
+
+    private static class DeclaredClass {
+
+        private final String simpleName;
+        private final String binaryName;
+        private final DeclaredClass enclosingClass;
+        private final String docComment;
+        private final Map<String, TypeReference> typeParameters;
+        private final Set<String> memberTypes = new HashSet<>();
+        private final List<DeclaredField> fields = new ArrayList<>();
+        private final List<DeclaredMethod> methods = new ArrayList<>();
+
+        DeclaredClass(final String simpleName, final String binaryName, final DeclaredClass enclosingClass, final String docComment,
+                      final Map<String, TypeReference> typeParameters) {
+            this.simpleName = simpleName;
+            this.binaryName = binaryName;
+            this.enclosingClass = enclosingClass;
+            this.docComment = docComment;
+            this.typeParameters = typeParameters;
+        }
+
+        ClassComment createComment(final SourceFile sourceFile) {
+            final DocComment doc = DocComment.of(docComment);
+            final List<MemberParameterTag> fieldComments = new ArrayList<>();
+            for (final DeclaredField field : fields)
+                fieldComments.add(new MemberParameterTag(DocComment.of(field.docComment).getText(), sourceFile.resolveAnnotations(field.annotations, this)));
+            return new ClassComment(doc.getText(), fieldComments, doc.isDeprecated());
+        }
+
+    }
+
+    /**
+     * Parses the declarations of a single source file.
+     */
+    private class SourceFile {
+
+        private final List<Token> tokens;
+        private final List<DeclaredClass> classes = new ArrayList<>();
+        private final Set<String> topLevelTypes = new HashSet<>();
+        private final Map<String, String> singleTypeImports = new HashMap<>();
+        private final List<String> onDemandImports = new ArrayList<>();
+        private String packagePath = "";
+        private int position;
+
+        SourceFile(final List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        void parse() {
+            while (true) {
+                final String docComment = skipDocComments();
+                final Token token = current();
+                if (token.kind == TokenKind.END)
+                    return;
+
+                if (token.is("package")) {
+                    position++;
+                    packagePath = String.join("/", readQualifiedName()) + '/';
+                    skipPast(";");
+                } else if (token.is("import")) {
+                    position++;
+                    readImport();
+                } else if (token.is(";")) {
+                    position++;
+                } else {
+                    parseMember(docComment, null);
+                }
+            }
+        }
+
+        private void readImport() {
+            final boolean staticImport = current().is("static");
+            if (staticImport)
+                position++;
+            final List<String> names = readQualifiedName();
+            if (current().is(".") && peek(1).is("*")) {
+                position += 2;
+                if (!staticImport)
+                    onDemandImports.add(String.join(".", names));
+            } else if (!staticImport && !names.isEmpty()) {
+                singleTypeImports.put(names.get(names.size() - 1), String.join(".", names));
+            }
+            skipPast(";");
+        }
+
+        /**
+         * Parses a member of the given class (or a top-level type if the class is {@code null}).
+         */
+        private void parseMember(final String docComment, final DeclaredClass declaringClass) {
+            final List<DeclaredAnnotation> annotations = new ArrayList<>();
+            final boolean staticMember = readModifiers(annotations);
+            final Token token = current();
+
+            if (token.is("{")) {
+                // initializer
+                skipBalanced();
+                return;
+            }
+            if (token.is(";")) {
+                position++;
+                return;
+            }
+            if (token.is("class") || token.is("interface") || token.is("enum") || token.is("@") && peek(1).is("interface")
+                    || token.is("record") && peek(1).kind == TokenKind.IDENTIFIER) {
+                parseClass(docComment, declaringClass);
+                return;
+            }
+            if (declaringClass == null) {
+                // unknown top-level construct
+                position++;
+                return;
+            }
+
+            final Map<String, TypeReference> typeParameters = current().is("<") ? readTypeParameters() : Collections.emptyMap();
+
+            if (current().kind == TokenKind.IDENTIFIER && current().text.equals(declaringClass.simpleName) && peek(1).is("(")) {
+                // constructors are not documented
+                position++;
+                skipBalanced();
+                skipMethodRest();
+                return;
+            }
+
+            final TypeReference type = readType();
+            if (type == null || current().kind != TokenKind.IDENTIFIER) {
+                skipDeclaration();
+                return;
+            }
+            final String name = current().text;
+            position++;
+
+            if (current().is("(")) {
+                final List<DeclaredParameter> parameters = readParameters();
+                declaringClass.methods.add(new DeclaredMethod(docComment, name, staticMember, withDimensions(type, readDimensions()), parameters, typeParameters));
+                skipMethodRest();
+            } else {
+                // every declarator of the declaration shares the comment and the annotations
+                do {
+                    declaringClass.fields.add(new DeclaredField(docComment, annotations));
+                } while (skipFieldDeclarator());
+            }
+        }
+
+        private void parseClass(final String docComment, final DeclaredClass enclosingClass) {
+            final boolean enumType = current().is("enum");
+            if (current().is("@"))
+                position++;
+            position++;
+
+            final String name = current().text;
+            position++;
+            final Map<String, TypeReference> typeParameters = current().is("<") ? readTypeParameters() : Collections.emptyMap();
+
+            final String binaryName = enclosingClass == null ? packagePath + name : enclosingClass.binaryName + '$' + name;
+            final DeclaredClass declaredClass = new DeclaredClass(name, binaryName, enclosingClass, docComment, typeParameters);
+            classes.add(declaredClass);
+            if (enclosingClass == null)
+                topLevelTypes.add(name);
+            else
+                enclosingClass.memberTypes.add(name);
+
+            // skips the record components, super types and permitted types
+            while (!current().is("{") && current().kind != TokenKind.END) {
+                if (current().is("(") || current().is("["))
+                    skipBalanced();
+                else
+                    position++;
+            }
+            if (current().kind == TokenKind.END)
+                return;
+            position++;
+
+            if (enumType)
+                readEnumConstants(declaredClass);
+            parseClassBody(declaredClass);
+        }
+
+        private void parseClassBody(final DeclaredClass declaredClass) {
+            while (true) {
+                final String docComment = skipDocComments();
+                final Token token = current();
+                if (token.kind == TokenKind.END)
+                    return;
+                if (token.is("}")) {
+                    position++;
+                    return;
+                }
+                parseMember(docComment, declaredClass);
+            }
+        }
+
+        /**
+         * Reads the constants of an enum body up to the first member or the end of the body. The constants are documented as fields.
+         */
+        private void readEnumConstants(final DeclaredClass declaredClass) {
+            while (current().kind != TokenKind.END && !current().is("}")) {
+                final String docComment = skipDocComments();
+                final List<DeclaredAnnotation> annotations = new ArrayList<>();
+                readModifiers(annotations);
+                if (current().kind == TokenKind.IDENTIFIER) {
+                    declaredClass.fields.add(new DeclaredField(docComment, annotations));
+                    position++;
+                }
+
+                // skips the arguments and the class body of the constant
+                while (current().kind != TokenKind.END && !current().is(",") && !current().is(";") && !current().is("}")) {
+                    if (current().is("(") || current().is("{") || current().is("["))
+                        skipBalanced();
+                    else
+                        position++;
+                }
+                if (current().is(";")) {
+                    position++;
+                    return;
+                }
+                if (current().is(","))
+                    position++;
+            }
+        }
+
+        /**
+         * Reads the modifiers and annotations.
+         *
+         * @return {@code true} if the {@code static} modifier is present
+         */
+        private boolean readModifiers(final List<DeclaredAnnotation> annotations) {
+            boolean staticModifier = false;
+            while (true) {
+                skipDocComments();
+                final Token token = current();
+                if (token.is("@") && !peek(1).is("interface")) {
+                    position++;
+                    annotations.add(readAnnotation());
+                } else if (token.kind == TokenKind.IDENTIFIER && MODIFIERS.contains(token.text) && !peek(1).is(":")) {
+                    staticModifier |= token.is("static");
+                    position++;
+                } else if (token.is("sealed") || token.is("non") && peek(1).is("-") && peek(2).is("sealed")) {
+                    position += token.is("non") ? 3 : 1;
+                } else {
+                    return staticModifier;
+                }
+            }
+        }
+
+        private DeclaredAnnotation readAnnotation() {
+            final List<String> names = readQualifiedName();
+            String value = null;
+            if (current().is("(")) {
+                final int end = findClosing();
+                value = readAnnotationValue(position + 1, end);
+                position = end + 1;
+            }
+            return new DeclaredAnnotation(names, value);
+        }
+
+        /**
+         * Returns the {@code value} element of the annotation arguments, if it's a string constant.
+         */
+        private String readAnnotationValue(final int start, final int end) {
+            int elementStart = start;
+            int depth = 0;
+            for (int index = start; index <= end; index++) {
+                final Token token = tokens.get(index);
+                if (token.is("(") || token.is("{") || token.is("["))
+                    depth++;
+                else if ((token.is(")") || token.is("}") || token.is("]")) && index < end)
+                    depth--;
+
+                if (depth == 0 && (token.is(",") || index == end)) {
+                    final boolean named = index - elementStart > 1 && tokens.get(elementStart).kind == TokenKind.IDENTIFIER && tokens.get(elementStart + 1).is("=");
+                    if (!named)
+                        return stringConstant(elementStart, index);
+                    if (tokens.get(elementStart).text.equals("value"))
+                        return stringConstant(elementStart + 2, index);
+                    elementStart = index + 1;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns the string of a (concatenated) string literal expression or {@code null}.
+         */
+        private String stringConstant(final int start, final int end) {
+            final StringBuilder builder = new StringBuilder();
+            for (int index = start; index < end; index++) {
+                final Token token = tokens.get(index);
+                final boolean expectLiteral = (index - start) % 2 == 0;
+                if (expectLiteral && token.kind == TokenKind.STRING)
+                    builder.append(token.text);
+                else if (expectLiteral || !token.is("+"))
+                    return null;
+            }
+            return end > start && (end - start) % 2 == 1 ? builder.toString() : null;
+        }
+
+        private Map<String, TypeReference> readTypeParameters() {
+            final Map<String, TypeReference> typeParameters = new HashMap<>();
+            final int end = findClosing();
+            position++;
+            while (position < end) {
+                final List<DeclaredAnnotation> ignored = new ArrayList<>();
+                readModifiers(ignored);
+                final String name = current().text;
+                position++;
+                TypeReference bound = null;
+                if (current().is("extends")) {
+                    position++;
+                    bound = readType();
+                }
+                typeParameters.put(name, bound);
+                // further bounds don't contribute to the erasure
+                while (position < end && !current().is(",")) {
+                    if (current().is("<"))
+                        skipBalanced();
+                    else
+                        position++;
+                }
+                if (current().is(","))
+                    position++;
+            }
+            position = end + 1;
+            return typeParameters;
+        }
+
+        private List<DeclaredParameter> readParameters() {
+            final List<DeclaredParameter> parameters = new ArrayList<>();
+            final int end = findClosing();
+            position++;
+            while (position < end) {
+                final List<DeclaredAnnotation> annotations = new ArrayList<>();
+                readModifiers(annotations);
+                TypeReference type = readType();
+                if (current().is("...")) {
+                    position++;
+                    type = withDimensions(type, 1);
+                }
+                final String name = current().text;
+                position++;
+                type = withDimensions(type, readDimensions());
+                // receiver parameters are no actual parameters
+                if (type != null && !"this".equals(name))
+                    parameters.add(new DeclaredParameter(name, type, annotations));
+
+                while (position < end && !current().is(","))
+                    position++;
+                if (current().is(","))
+                    position++;
+            }
+            position = end + 1;
+            return parameters;
+        }
+
+        /**
+         * Reads a type, the type arguments are skipped.
+         */
+        private TypeReference readType() {
+            final List<DeclaredAnnotation> typeAnnotations = new ArrayList<>();
+            readModifiers(typeAnnotations);
+            if (current().kind != TokenKind.IDENTIFIER)
+                return null;
+
+            final List<String> names = new ArrayList<>();
+            names.add(current().text);
+            position++;
+            while (true) {
+                if (current().is("<")) {
+                    position = findClosing() + 1;
+                } else if (current().is(".") && peek(1).kind == TokenKind.IDENTIFIER) {
+                    names.add(peek(1).text);
+                    position += 2;
+                } else if (current().is(".") && peek(1).is("@")) {
+                    position++;
+                    readModifiers(typeAnnotations);
+                } else {
+                    break;
+                }
+            }
+            return new TypeReference(names, readDimensions());
+        }
+
+        private int readDimensions() {
+            int dimensions = 0;
+            while (current().is("[") && peek(1).is("]")) {
+                dimensions++;
+                position += 2;
+            }
+            return dimensions;
+        }
+
+        private TypeReference withDimensions(final TypeReference type, final int dimensions) {
+            if (type == null || dimensions == 0)
+                return type;
+            return new TypeReference(type.names, type.dimensions + dimensions);
+        }
+
+        private List<String> readQualifiedName() {
+            final List<String> names = new ArrayList<>();
+            if (current().kind != TokenKind.IDENTIFIER)
+                return names;
+            names.add(current().text);
+            position++;
+            while (current().is(".") && peek(1).kind == TokenKind.IDENTIFIER) {
+                names.add(peek(1).text);
+                position += 2;
+            }
+            return names;
+        }
+
+        /**
+         * Skips the throws clause, the default value and the body of a method.
+         */
+        private void skipMethodRest() {
+            while (current().kind != TokenKind.END) {
+                if (current().is(";")) {
+                    position++;
+                    return;
+                }
+                if (current().is("{")) {
+                    skipBalanced();
+                    return;
+                }
+                if (current().is("(") || current().is("["))
+                    skipBalanced();
+                else
+                    position++;
+            }
+        }
+
+        /**
+         * Skips the remaining declaration up to the next semicolon, including initializers with anonymous classes or lambdas.
+         */
+        /**
+         * Skips the rest of a field declarator and returns whether another declarator of the same declaration follows.
+         */
+        private boolean skipFieldDeclarator() {
+            while (current().kind != TokenKind.END && !current().is("}")) {
+                if (current().is(";")) {
+                    position++;
+                    return false;
+                }
+                if (current().is(",") && peek(1).kind == TokenKind.IDENTIFIER && (peek(2).is("=") || peek(2).is(",") || peek(2).is(";") || peek(2).is("["))) {
+                    position += 2;
+                    return true;
+                }
+                if (current().is("(") || current().is("{") || current().is("["))
+                    skipBalanced();
+                else
+                    position++;
+            }
+            return false;
+        }
+
+        private void skipDeclaration() {
+            while (current().kind != TokenKind.END && !current().is("}")) {
+                if (current().is(";")) {
+                    position++;
+                    return;
+                }
+                if (current().is("(") || current().is("{") || current().is("["))
+                    skipBalanced();
+                else
+                    position++;
+            }
+        }
+
+        private void skipBalanced() {
+            position = findClosing() + 1;
+        }
+
+        /**
+         * Returns the position of the bracket which closes the bracket at the current position.
+         */
+        private int findClosing() {
+            final String open = current().text;
+            final String close = open.equals("(") ? ")" : open.equals("{") ? "}" : open.equals("[") ? "]" : ">";
+            int depth = 0;
+            for (int index = position; index < tokens.size(); index++) {
+                final Token token = tokens.get(index);
+                if (token.kind == TokenKind.END)
+                    return index - 1;
+                if (token.is(open))
+                    depth++;
+                else if (token.is(close) && --depth == 0)
+                    return index;
+            }
+            return tokens.size() - 1;
+        }
+
+        private void skipPast(final String symbol) {
+            while (current().kind != TokenKind.END && !current().is(symbol))
+                position++;
+            if (current().is(symbol))
+                position++;
+        }
+
+        /**
+         * Skips the doc comments at the current position.
+         *
+         * @return The last doc comment or {@code null}
+         */
+        private String skipDocComments() {
+            String docComment = null;
+            while (current().kind == TokenKind.DOC_COMMENT) {
+                docComment = current().text;
+                position++;
+            }
+            return docComment;
+        }
+
+        private Token current() {
+            return tokens.get(position);
+        }
+
+        private Token peek(final int offset) {
+            return tokens.get(Math.min(position + offset, tokens.size() - 1));
+        }
+
+        /**
+         * Returns the erased type of the given type reference in JVM notation, e.g. {@code [Ljava/lang/String;}.
+         */
+        String resolveType(final TypeReference type, final DeclaredClass declaringClass, final Map<String, TypeReference> methodTypeParameters) {
+            final StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < type.dimensions; i++)
+                builder.append('[');
+
+            final String primitive = type.names.size() == 1 ? PRIMITIVE_TYPES.get(type.names.get(0)) : null;
+            if (primitive != null)
+                return builder.append(primitive).toString();
+
+            final TypeReference typeVariableBound = findTypeVariable(type, declaringClass, methodTypeParameters);
+            if (typeVariableBound != null)
+                return builder.append(resolveType(typeVariableBound, declaringClass, Collections.emptyMap())).toString();
+            if (isTypeVariable(type, declaringClass, methodTypeParameters))
+                return builder.append(Types.OBJECT).toString();
+
+            return builder.append('L').append(resolveClass(type.names, declaringClass)).append(';').toString();
+        }
+
+        private TypeReference findTypeVariable(final TypeReference type, final DeclaredClass declaringClass, final Map<String, TypeReference> methodTypeParameters) {
+            if (type.names.size() != 1)
+                return null;
+            final String name = type.names.get(0);
+            if (methodTypeParameters.containsKey(name))
+                return methodTypeParameters.get(name);
+            for (DeclaredClass c = declaringClass; c != null; c = c.enclosingClass) {
+                if (c.typeParameters.containsKey(name))
+                    return c.typeParameters.get(name);
+            }
+            return null;
+        }
+
+        private boolean isTypeVariable(final TypeReference type, final DeclaredClass declaringClass, final Map<String, TypeReference> methodTypeParameters) {
+            if (type.names.size() != 1)
+                return false;
+            final String name = type.names.get(0);
+            if (methodTypeParameters.containsKey(name))
+                return true;
+            for (DeclaredClass c = declaringClass; c != null; c = c.enclosingClass) {
+                if (c.typeParameters.containsKey(name))
+                    return true;
+            }
+            return false;
+        }
+
+        /**
+         * Resolves the (possibly qualified) class name in the scope of the given class, following the precedence of member types,
+         * single-type imports, types of the same package and on-demand imports.
+         *
+         * @return The class name in JVM notation
+         */
+        String resolveClass(final List<String> names, final DeclaredClass declaringClass) {
+            final String firstName = names.get(0);
+            final String resolved = resolveSimpleName(firstName, declaringClass);
+            if (resolved == null && names.size() > 1)
+                return resolveQualifiedName(names);
+
+            final StringBuilder builder = new StringBuilder(resolved == null ? packagePath + firstName : resolved);
+            for (int i = 1; i < names.size(); i++)
+                builder.append('$').append(names.get(i));
+            return builder.toString();
+        }
+
+        private String resolveSimpleName(final String name, final DeclaredClass declaringClass) {
+            for (DeclaredClass c = declaringClass; c != null; c = c.enclosingClass) {
+                if (c.memberTypes.contains(name))
+                    return c.binaryName + '$' + name;
+                if (c.simpleName.equals(name))
+                    return c.binaryName;
+            }
+            if (topLevelTypes.contains(name))
+                return packagePath + name;
+
+            final String imported = singleTypeImports.get(name);
+            if (imported != null)
+                return resolveQualifiedName(Arrays.asList(imported.split("\\.")));
+
+            if (classExists.test(packagePath + name))
+                return packagePath + name;
+
+            for (final String onDemandImport : onDemandImports) {
+                final List<String> names = new ArrayList<>(Arrays.asList(onDemandImport.split("\\.")));
+                names.add(name);
+                final String className = findExistingClass(names);
+                if (className != null)
+                    return className;
+            }
+
+            final String langClass = "java/lang/" + name;
+            return classExists.test(langClass) ? langClass : null;
+        }
+
+        /**
+         * Resolves a fully-qualified name, e.g. {@code a.b.Outer.Inner}, where the package part is unknown.
+         */
+        private String resolveQualifiedName(final List<String> names) {
+            final String className = findExistingClass(names);
+            return className != null ? className : String.join("/", names);
+        }
+
+        private String findExistingClass(final List<String> names) {
+            for (int packageLength = names.size() - 1; packageLength >= 0; packageLength--) {
+                final String packagePart = String.join("/", names.subList(0, packageLength));
+                final String classPart = String.join("$", names.subList(packageLength, names.size()));
+                final String className = packagePart.isEmpty() ? classPart : packagePart + '/' + classPart;
+                if (classExists.test(className))
+                    return className;
+            }
+            return null;
+        }
+
+        /**
+         * Returns the annotations with their qualified type names (e.g. {@code javax.ws.rs.PathParam}) and string values.
+         */
+        Map<String, String> resolveAnnotations(final List<DeclaredAnnotation> annotations, final DeclaredClass declaringClass) {
+            final Map<String, String> resolved = new LinkedHashMap<>();
+            for (final DeclaredAnnotation annotation : annotations)
+                resolved.put(resolveClass(annotation.names, declaringClass).replace('/', '.').replace('$', '.'), annotation.value);
+            return resolved;
+        }
+
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
+
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
+import com.sebastian_daschner.jaxrs_analyzer.model.PlatformTypes;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.MethodParameter;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the source files which are documented by javadoc. Only the analyzed resource classes, their super types
+ * and the request and response entity and parameter types are taken into account, not all project packages.
+ * The source file name is taken from the {@code SourceFile} attribute of the class, if present.
+ * The source files of jar-files are resolved in their zip file systems, which are closed together with this object.
+ *
+ * @author Sebastian Daschner
+ */
+class JavaDocSourceFiles implements AutoCloseable {
+
+    private static final Pattern CLASS_NAME = Pattern.compile("L([^;<>]+)");
+
+    private final Set<String> visitedClasses = new HashSet<>();
+    private final Set<String> visitedSourceFiles = new HashSet<>();
+    private final Queue<String> classes = new ArrayDeque<>();
+    private final Map<Path, FileSystem> jarFileSystems = new HashMap<>();
+
+    /**
+     * Returns the existing source files of the classes which are documented for the given class results.
+     *
+     * @param classResults       The analyzed class results
+     * @param projectSourcePaths The source directories or jar-files
+     * @return The source files
+     */
+    Set<Path> resolve(final Set<ClassResult> classResults, final Set<Path> projectSourcePaths) throws IOException {
+        return resolveSourceFiles(classResults, projectSourcePaths).values().stream().filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Returns the source files of the classes which are documented for the given class results, including the classes
+     * whose source files don't exist in the source paths. Every source file is only returned once for this object.
+     *
+     * @param classResults       The analyzed class results
+     * @param projectSourcePaths The source directories or jar-files
+     * @return The source files (or {@code null} if not existent) by their names relative to the source root, e.g. {@code com/company/Users.java}
+     */
+    Map<String, Path> resolveSourceFiles(final Set<ClassResult> classResults, final Set<Path> projectSourcePaths) throws IOException {
+        classResults.forEach(this::addClassResult);
+
+        final Map<String, Path> sourceFiles = new LinkedHashMap<>();
+        String className;
+        while ((className = classes.poll()) != null) {
+            final SourceClass sourceClass = readClass(className);
+            sourceClass.superTypes.forEach(this::addClass);
+
+            final String sourceFileName = sourceClass.getSourceFileName();
+            if (!visitedSourceFiles.add(sourceFileName))
+                continue;
+
+            sourceFiles.put(sourceFileName, null);
+            for (final Path sourcePath : projectSourcePaths) {
+                final Path sourceFile = sourceRoot(sourcePath).resolve(sourceFileName);
+                if (Files.isRegularFile(sourceFile)) {
+                    sourceFiles.put(sourceFileName, sourceFile);
+                    break;
+                }
+            }
+        }
+        return sourceFiles;
+    }
+
+    private Path sourceRoot(final Path sourcePath) throws IOException {
+        if (!Files.isRegularFile(sourcePath))
+            return sourcePath;
+
+        FileSystem fileSystem = jarFileSystems.get(sourcePath);
+        if (fileSystem == null) {
+            fileSystem = FileSystems.newFileSystem(sourcePath, (ClassLoader) null);
+            jarFileSystems.put(sourcePath, fileSystem);
+        }
+        return fileSystem.getPath("/");
+    }
+
+    /**
+     * Closes the file systems of the jar-files, the resolved source files of them can't be read afterwards.
+     */
+    @Override
+    public void close() {
+        for (final FileSystem fileSystem : jarFileSystems.values()) {
+            try {
+                fileSystem.close();
+            } catch (IOException e) {
+                LogProvider.debug("Could not close " + fileSystem + ", reason: " + e.getMessage());
+            }
+        }
+        jarFileSystems.clear();
+    }
+
+    private void addClassResult(final ClassResult classResult) {
+        addClass(classResult.getOriginalClass());
+        addParameterTypes(classResult.getClassFields());
+
+        for (final MethodResult methodResult : classResult.getMethods()) {
+            addTypes(methodResult.getRequestBodyType());
+            addParameterTypes(methodResult.getMethodParameters());
+            methodResult.getResponses().stream().map(HttpResponse::getEntityTypes).flatMap(Set::stream).forEach(this::addTypes);
+
+            if (methodResult.getSubResource() != null)
+                addClassResult(methodResult.getSubResource());
+        }
+    }
+
+    private void addParameterTypes(final Collection<MethodParameter> parameters) {
+        parameters.stream().map(p -> p.getType().getType()).forEach(this::addTypes);
+    }
+
+    /**
+     * Adds the classes contained in the given type, including the type parameters.
+     */
+    private void addTypes(final String type) {
+        if (type == null)
+            return;
+
+        final Matcher matcher = CLASS_NAME.matcher(type);
+        while (matcher.find())
+            addClass(matcher.group(1));
+    }
+
+    private void addClass(final String className) {
+        // platform types are never part of the project sources
+        if (className != null && !PlatformTypes.isPlatformType(className) && visitedClasses.add(className))
+            classes.add(className);
+    }
+
+    private static SourceClass readClass(final String className) {
+        final SourceClass sourceClass = new SourceClass(className);
+        try {
+            new ContextClassReader(className).accept(sourceClass, ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
+        } catch (IOException e) {
+            LogProvider.debug("Could not read class " + className + ", reason: " + e.getMessage());
+        }
+        return sourceClass;
+    }
+
+    /**
+     * Collects the source file and the super types of a class.
+     */
+    private static class SourceClass extends ClassVisitor {
+
+        private final String className;
+        private final Set<String> superTypes = new HashSet<>();
+        private String sourceFile;
+
+        SourceClass(final String className) {
+            super(Opcodes.ASM5);
+            this.className = className;
+        }
+
+        @Override
+        public void visit(final int version, final int access, final String name, final String signature, final String superName, final String[] interfaces) {
+            if (superName != null && !Types.CLASS_OBJECT.equals(superName))
+                superTypes.add(superName);
+            if (interfaces != null)
+                superTypes.addAll(Arrays.asList(interfaces));
+        }
+
+        @Override
+        public void visitSource(final String source, final String debug) {
+            sourceFile = source;
+        }
+
+        /**
+         * Returns the relative path of the source file. The file name falls back to the top-level class name if the class doesn't contain the source file.
+         */
+        String getSourceFileName() {
+            final int packageEnd = className.lastIndexOf('/');
+            final String packagePath = className.substring(0, packageEnd + 1);
+            if (sourceFile != null)
+                return packagePath + sourceFile;
+
+            final String simpleName = className.substring(packageEnd + 1);
+            final int nestedStart = simpleName.indexOf('$');
+            return packagePath + (nestedStart > 0 ? simpleName.substring(0, nestedStart) : simpleName) + ".java";
+        }
+
+    }
+
+}
@@ -0,0 +1,228 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.ClassComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MemberParameterTag;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The extracted comments of the classes and methods declared in a single source file or in all source files documented by the javadoc tool.
+ * The comments are stored in a compact binary format, e.g. in the JavaDoc cache and index.
+ *
+ * @author Sebastian Daschner
+ */
+class SourceFileComments {
+
+    private static final int MAGIC = 0x4A444F43;
+    private static final int FORMAT_VERSION = 1;
+    private static final int NULL_STRING = -1;
+
+    private final Map<String, ClassComment> classComments = new LinkedHashMap<>();
+    private final Map<MethodIdentifier, MethodComment> methodComments = new LinkedHashMap<>();
+
+    void addClassComment(final String className, final ClassComment classComment) {
+        classComments.put(className, classComment);
+    }
+
+    void addMethodComment(final MethodIdentifier identifier, final MethodComment methodComment) {
+        methodComments.put(identifier, methodComment);
+    }
+
+    /**
+     * Adds all comments of the given comments.
+     */
+    void addAll(final SourceFileComments comments) {
+        classComments.putAll(comments.classComments);
+        methodComments.putAll(comments.methodComments);
+    }
+
+    Map<String, ClassComment> getClassComments() {
+        return classComments;
+    }
+
+    Map<MethodIdentifier, MethodComment> getMethodComments() {
+        return methodComments;
+    }
+
+    boolean isEmpty() {
+        return classComments.isEmpty() && methodComments.isEmpty();
+    }
+
+    /**
+     * Writes the comments in the binary format.
+     *
+     * @param output The output stream
+     * @throws IOException If the comments could not be written
+     */
+    void write(final OutputStream output) throws IOException {
+        new CommentsWriter().write(this, output);
+    }
+
+    /**
+     * Reads comments in the binary format.
+     *
+     * @param input The input stream
+     * @return The comments
+     * @throws IOException If the comments could not be read or are written in another format
+     */
+    static SourceFileComments read(final InputStream input) throws IOException {
+        final DataInputStream dataInput = new DataInputStream(input);
+        if (dataInput.readInt() != MAGIC || dataInput.readInt() != FORMAT_VERSION)
+            throw new IOException("Unsupported format of the JavaDoc comments");
+
+        try {
+            return new CommentsReader(dataInput).read();
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Malformed JavaDoc comments", e);
+        }
+    }
+
+    /**
+     * Writes the binary format: the header, the table of all distinct strings and the comments which refer to the strings by their index.
+     */
+    private static class CommentsWriter {
+
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final DataOutputStream bodyOutput = new DataOutputStream(body);
+
+        void write(final SourceFileComments comments, final OutputStream output) throws IOException {
+            final Map<ClassComment, Integer> classIndexes = new IdentityHashMap<>();
+
+            bodyOutput.writeInt(comments.getClassComments().size());
+            for (final Map.Entry<String, ClassComment> entry : comments.getClassComments().entrySet()) {
+                classIndexes.put(entry.getValue(), classIndexes.size());
+                writeString(entry.getKey());
+                writeString(entry.getValue().getComment());
+                bodyOutput.writeBoolean(entry.getValue().isDeprecated());
+                writeTags(entry.getValue().getFieldComments());
+            }
+
+            bodyOutput.writeInt(comments.getMethodComments().size());
+            for (final Map.Entry<MethodIdentifier, MethodComment> entry : comments.getMethodComments().entrySet()) {
+                final MethodIdentifier identifier = entry.getKey();
+                writeString(identifier.getContainingClass());
+                writeString(identifier.getMethodName());
+                writeString(identifier.getSignature());
+                bodyOutput.writeBoolean(identifier.isStaticMethod());
+
+                final MethodComment methodComment = entry.getValue();
+                writeString(methodComment.getComment());
+                bodyOutput.writeBoolean(methodComment.isDeprecated());
+                writeTags(methodComment.getParamTags());
+                bodyOutput.writeInt(classIndexes.getOrDefault(methodComment.getContainingClassComment(), -1));
+            }
+            bodyOutput.flush();
+
+            final DataOutputStream dataOutput = new DataOutputStream(output);
+            dataOutput.writeInt(MAGIC);
+            dataOutput.writeInt(FORMAT_VERSION);
+            dataOutput.writeInt(strings.size());
+            for (final String string : strings.keySet()) {
+                final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                dataOutput.writeInt(bytes.length);
+                dataOutput.write(bytes);
+            }
+            body.writeTo(dataOutput);
+            dataOutput.flush();
+        }
+
+        private void writeTags(final List<MemberParameterTag> tags) throws IOException {
+            bodyOutput.writeInt(tags.size());
+            for (final MemberParameterTag tag : tags) {
+                writeString(tag.getComment());
+                bodyOutput.writeInt(tag.getAnnotations().size());
+                for (final Map.Entry<String, String> annotation : tag.getAnnotations().entrySet()) {
+                    writeString(annotation.getKey());
+                    writeString(annotation.getValue());
+                }
+            }
+        }
+
+        private void writeString(final String string) throws IOException {
+            bodyOutput.writeInt(string == null ? NULL_STRING : strings.computeIfAbsent(string, s -> strings.size()));
+        }
+
+    }
+
+    /**
+     * Reads the binary format after the header.
+     */
+    private static class CommentsReader {
+
+        private final DataInputStream input;
+        private String[] strings;
+
+        CommentsReader(final DataInputStream input) {
+            this.input = input;
+        }
+
+        SourceFileComments read() throws IOException {
+            strings = new String[input.readInt()];
+            for (int index = 0; index < strings.length; index++) {
+                final byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                strings[index] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            final SourceFileComments comments = new SourceFileComments();
+            final List<ClassComment> classComments = new ArrayList<>();
+
+            final int classCount = input.readInt();
+            for (int index = 0; index < classCount; index++) {
+                final String className = readString();
+                final String comment = readString();
+                final boolean deprecated = input.readBoolean();
+                final ClassComment classComment = new ClassComment(comment, readTags(), deprecated);
+                classComments.add(classComment);
+                comments.addClassComment(className, classComment);
+            }
+
+            final int methodCount = input.readInt();
+            for (int index = 0; index < methodCount; index++) {
+                final MethodIdentifier identifier = MethodIdentifier.of(readString(), readString(), readString(), input.readBoolean());
+                final String comment = readString();
+                final boolean deprecated = input.readBoolean();
+                final List<MemberParameterTag> paramTags = readTags();
+                final int classIndex = input.readInt();
+                comments.addMethodComment(identifier, new MethodComment(comment, paramTags, classIndex < 0 ? null : classComments.get(classIndex), deprecated));
+            }
+
+            return comments;
+        }
+
+        private List<MemberParameterTag> readTags() throws IOException {
+            final int tagCount = input.readInt();
+            final List<MemberParameterTag> tags = new ArrayList<>(tagCount);
+            for (int index = 0; index < tagCount; index++) {
+                final String comment = readString();
+                final int annotationCount = input.readInt();
+                final Map<String, String> annotations = new LinkedHashMap<>();
+                for (int annotation = 0; annotation < annotationCount; annotation++)
+                    annotations.put(readString(), readString());
+                tags.add(new MemberParameterTag(comment, annotations));
+            }
+            return tags;
+        }
+
+        private String readString() throws IOException {
+            final int index = input.readInt();
+            return index == NULL_STRING ? null : strings[index];
+        }
+
+    }
+
+}
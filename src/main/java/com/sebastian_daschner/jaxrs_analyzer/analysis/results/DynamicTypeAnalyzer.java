@@ -29,6 +29,8 @@ import java.util.Map;
 /**
  * Analyzes {@code JsonValue}s to derive the actual JSON representations.
  * Equal JSON structures (i.e. objects or arrays) will result in the same dynamically identified representation.
+ * The dynamic types are hash-consed: as every structure is identified once, the objects are looked up by their properties
+ * and the arrays by the identifier of their element type.
  *
  * @author Sebastian Daschner
  */
@@ -39,8 +41,30 @@ class DynamicTypeAnalyzer {
      */
     private final Map<TypeIdentifier, TypeRepresentation> typeRepresentations;
 
+    /**
+     * The dynamic object types by their property names and types.
+     */
+    private final Map<Map<String, TypeIdentifier>, TypeIdentifier> objectTypes = new HashMap<>();
+
+    /**
+     * The dynamic collection types by the identifiers of their element types.
+     */
+    private final Map<TypeIdentifier, TypeIdentifier> collectionTypes = new HashMap<>();
+
     DynamicTypeAnalyzer(final Map<TypeIdentifier, TypeRepresentation> typeRepresentations) {
         this.typeRepresentations = typeRepresentations;
+        typeRepresentations.values().forEach(this::addExistingType);
+    }
+
+    private void addExistingType(final TypeRepresentation representation) {
+        final TypeIdentifier identifier = representation.getIdentifier();
+        if (!identifier.getType().equals(Types.JSON))
+            return;
+
+        if (representation instanceof TypeRepresentation.CollectionTypeRepresentation)
+            collectionTypes.putIfAbsent(((TypeRepresentation.CollectionTypeRepresentation) representation).getComponentType(), identifier);
+        else if (representation instanceof TypeRepresentation.ConcreteTypeRepresentation)
+            objectTypes.putIfAbsent(((TypeRepresentation.ConcreteTypeRepresentation) representation).getProperties(), identifier);
     }
 
     /**
@@ -75,43 +99,25 @@ class DynamicTypeAnalyzer {
 
     private TypeIdentifier analyzeInternal(final JsonArray jsonArray) {
         final TypeIdentifier containedIdentifier = jsonArray.isEmpty() ? TypeIdentifier.ofType(Types.OBJECT) : analyzeInternal(jsonArray.get(0));
-        final TypeRepresentation containedRepresentation = typeRepresentations.getOrDefault(containedIdentifier, TypeRepresentation.ofConcrete(containedIdentifier));
-
-        final TypeIdentifier existingCollection = findExistingCollection(containedRepresentation);
-        if (existingCollection != null) {
-            return existingCollection;
-        }
 
-        final TypeIdentifier identifier = TypeIdentifier.ofDynamic();
-        typeRepresentations.put(identifier, TypeRepresentation.ofCollection(identifier, containedRepresentation));
-        return identifier;
+        // the contained dynamic types are unique, therefore equal collections have the same element identifier
+        return collectionTypes.computeIfAbsent(containedIdentifier, c -> {
+            final TypeRepresentation containedRepresentation = typeRepresentations.getOrDefault(c, TypeRepresentation.ofConcrete(c));
+            final TypeIdentifier identifier = TypeIdentifier.ofDynamic();
+            typeRepresentations.put(identifier, TypeRepresentation.ofCollection(identifier, containedRepresentation));
+            return identifier;
+        });
     }
 
     private TypeIdentifier analyzeInternal(final JsonObject jsonObject) {
         final HashMap<String, TypeIdentifier> properties = jsonObject.entrySet().stream()
                 .collect(HashMap::new, (m, v) -> m.put(v.getKey(), analyze(v.getValue())), Map::putAll);
 
-        final TypeIdentifier existing = findExistingType(properties);
-        if (existing != null)
-            return existing;
-
-        final TypeIdentifier identifier = TypeIdentifier.ofDynamic();
-        typeRepresentations.put(identifier, TypeRepresentation.ofConcrete(identifier, properties));
-        return identifier;
-    }
-
-    private TypeIdentifier findExistingCollection(final TypeRepresentation containedRepresentation) {
-        return typeRepresentations.entrySet().stream().filter(e -> e.getValue() instanceof TypeRepresentation.CollectionTypeRepresentation)
-                .filter(e -> e.getKey().getType().equals(Types.JSON))
-                .filter(e -> ((TypeRepresentation.CollectionTypeRepresentation) e.getValue()).contentEquals(containedRepresentation))
-                .map(Map.Entry::getKey).findAny().orElse(null);
-    }
-
-    private TypeIdentifier findExistingType(final HashMap<String, TypeIdentifier> properties) {
-        return typeRepresentations.entrySet().stream().filter(e -> e.getValue() instanceof TypeRepresentation.ConcreteTypeRepresentation)
-                .filter(e -> e.getKey().getType().equals(Types.JSON))
-                .filter(e -> ((TypeRepresentation.ConcreteTypeRepresentation) e.getValue()).contentEquals(properties))
-                .map(Map.Entry::getKey).findAny().orElse(null);
+        return objectTypes.computeIfAbsent(properties, p -> {
+            final TypeIdentifier identifier = TypeIdentifier.ofDynamic();
+            typeRepresentations.put(identifier, TypeRepresentation.ofConcrete(identifier, p));
+            return identifier;
+        });
     }
 
 }
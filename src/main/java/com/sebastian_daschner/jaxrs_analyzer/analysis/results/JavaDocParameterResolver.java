@@ -1,9 +1,12 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.results;
 
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.ClassComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MemberParameterTag;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.MethodParameter;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.ParameterType;
-import com.sun.javadoc.*;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -23,50 +26,37 @@ final class JavaDocParameterResolver {
         throw new UnsupportedOperationException();
     }
 
-    static Optional<ParamTag> findParameterDoc(final MethodParameter parameter, final MethodDoc methodDoc) {
-        final Optional<String> paramName = Stream.of(methodDoc.parameters())
-                .filter(p -> hasAnnotation(parameter, p.annotations()))
-                .map(Parameter::name)
-                .findAny();
-
-        if (!paramName.isPresent())
-            return Optional.empty();
-
-        return Stream.of(methodDoc.paramTags())
-                .filter(t -> t.parameterName().equals(paramName.get()))
-                .findAny();
+    static Optional<String> findParameterDoc(final MethodParameter parameter, final MethodComment methodDoc) {
+        return methodDoc.getParamTags().stream()
+                .filter(t -> hasAnnotation(parameter, t.getAnnotations()))
+                .findAny()
+                .map(MemberParameterTag::getComment);
     }
 
-    static Optional<FieldDoc> findFieldDoc(final MethodParameter parameter, final ClassDoc classDoc) {
+    static Optional<MemberParameterTag> findFieldDoc(final MethodParameter parameter, final ClassComment classDoc) {
         if (classDoc == null)
             return Optional.empty();
 
-        return Stream.of(classDoc.fields(false))
-                .filter(f -> hasAnnotation(parameter, f.annotations()))
+        return classDoc.getFieldComments().stream()
+                .filter(f -> hasAnnotation(parameter, f.getAnnotations()))
                 .findAny();
     }
 
-    static Optional<ParamTag> findRequestBodyDoc(final MethodDoc methodDoc) {
-        final Optional<String> paramName = Stream.of(methodDoc.parameters())
-                .filter(p -> isRequestBody(p.annotations()))
-                .map(Parameter::name)
-                .findAny();
-
-        return Stream.of(methodDoc.paramTags())
-                .filter(t -> t.parameterName().equals(paramName.get()))
-                .findAny();
+    static Optional<String> findRequestBodyDoc(final MethodComment methodDoc) {
+        return methodDoc.getParamTags().stream()
+                .filter(t -> isRequestBody(t.getAnnotations()))
+                .findAny()
+                .map(MemberParameterTag::getComment);
     }
 
-    private static boolean hasAnnotation(final MethodParameter parameter, final AnnotationDesc... annotations) {
-        return Stream.of(annotations)
-                .filter(a -> annotationTypeMatches(a.annotationType().qualifiedTypeName(), parameter.getParameterType()))
-                .anyMatch(a -> annotationValueMatches(a.elementValues(), parameter.getName()));
+    private static boolean hasAnnotation(final MethodParameter parameter, final Map<String, String> annotations) {
+        return annotations.entrySet().stream()
+                .filter(a -> annotationTypeMatches(a.getKey(), parameter.getParameterType()))
+                .anyMatch(a -> parameter.getName().equals(a.getValue()));
     }
 
-    private static boolean isRequestBody(final AnnotationDesc... annotations) {
-        return Stream.of(annotations)
-                .map(AnnotationDesc::annotationType)
-                .map(AnnotationTypeDoc::qualifiedTypeName)
+    private static boolean isRequestBody(final Map<String, String> annotations) {
+        return annotations.keySet().stream()
                 .noneMatch(t -> Stream.of(KNOWN_ANNOTATIONS).anyMatch(a -> t.equals(toReadableType(a))));
     }
 
@@ -74,11 +64,6 @@ final class JavaDocParameterResolver {
         return qualifiedTypeName.equals(getJavaType(parameterType));
     }
 
-    private static boolean annotationValueMatches(final AnnotationDesc.ElementValuePair[] elementValuePairs, final String name) {
-        return Stream.of(elementValuePairs)
-                .anyMatch(p -> "value".equals(p.element().name()) && name.equals(p.value().value()));
-    }
-
     private static String getJavaType(final ParameterType parameterType) {
         switch (parameterType) {
             case PATH:
@@ -18,6 +18,9 @@ package com.sebastian_daschner.jaxrs_analyzer.analysis.results;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.summaries.ClassSummary;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.summaries.DependencySummaries;
+import com.sebastian_daschner.jaxrs_analyzer.model.PlatformTypes;
 import com.sebastian_daschner.jaxrs_analyzer.model.Types;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypedMetadata;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeIdentifier;
@@ -42,13 +45,13 @@ import static com.sebastian_daschner.jaxrs_analyzer.model.Types.COLLECTION;
 /**
  * Analyzes a class (usually a POJO) for it's properties and methods.
  * The analysis is used to derive the JSON/XML representations.
+ * The properties of every class are resolved once per analyzer and generic binding, e.g. for super classes which are shared by several types.
  *
  * @author Sebastian Daschner
  */
 class JavaTypeAnalyzer {
 
     private final static String[] NAMES_TO_IGNORE = {"getClass"};
-    private static Set<String> ignoredFieldNames = new HashSet<>();
 
     /**
      * The type representation storage where all analyzed types have to be added. This will be created by the caller.
@@ -56,8 +59,19 @@ class JavaTypeAnalyzer {
     private final Map<TypeIdentifier, TypeRepresentation> typeRepresentations;
     private final Set<String> analyzedTypes;
 
+    /**
+     * The resolved properties by the (generic) types of the analyzed classes and their super types.
+     */
+    private final Map<String, Map<String, TypedMetadata>> classProperties = new HashMap<>();
+    private final DependencySummaries dependencySummaries;
+
     JavaTypeAnalyzer(final Map<TypeIdentifier, TypeRepresentation> typeRepresentations) {
+        this(typeRepresentations, new DependencySummaries());
+    }
+
+    JavaTypeAnalyzer(final Map<TypeIdentifier, TypeRepresentation> typeRepresentations, final DependencySummaries dependencySummaries) {
         this.typeRepresentations = typeRepresentations;
+        this.dependencySummaries = dependencySummaries;
         analyzedTypes = new HashSet<>();
     }
 
@@ -92,6 +106,15 @@ class JavaTypeAnalyzer {
             return TypeRepresentation.ofCollection(identifier, analyzeInternal(TypeIdentifier.ofType(containedType), containedType));
         }
 
+        final ClassSummary summary = dependencySummaries.getClassSummary(type);
+        if (summary != null)
+            return analyzeSummary(identifier, summary);
+
+        final String className = toClassName(type);
+        if (isJDKType(type) && Boolean.FALSE.equals(PlatformTypes.isEnum(className)) && Boolean.FALSE.equals(PlatformTypes.isXmlAnnotated(className)))
+            // platform types don't have properties, unannotated ones are not loaded
+            return TypeRepresentation.ofConcrete(identifier, XMLMetadata.ofUnannotatedClass(className.replace('/', '.')), Collections.emptyMap());
+
         final Class<?> loadedClass = loadClassFromType(type);
         if (loadedClass != null && loadedClass.isEnum())
             return TypeRepresentation.ofEnum(identifier, Stream.of(loadedClass.getEnumConstants()).map(o -> (Enum<?>) o).map(Enum::name).toArray(String[]::new));
@@ -100,16 +123,54 @@ class JavaTypeAnalyzer {
         return TypeRepresentation.ofConcrete(identifier, typeXmlMetadata, analyzeClass(type, loadedClass));
     }
 
+    /**
+     * Creates the representation of a summarized dependency class without loading the class.
+     */
+    private TypeRepresentation analyzeSummary(final TypeIdentifier identifier, final ClassSummary summary) {
+        if (summary.isEnum())
+            return TypeRepresentation.ofEnum(identifier, summary.getEnumConstants().toArray(new String[0]));
+
+        summary.getProperties().values().forEach(p -> analyze(p.getTypeIdentifier().getType()));
+        return TypeRepresentation.ofConcrete(identifier, summary.getXmlMetadata(), new LinkedHashMap<>(summary.getProperties()));
+    }
+
+    /**
+     * Summarizes the representation of the given (non-generic) class, e.g. to pre-build the summary of a dependency.
+     *
+     * @param type The type to summarize
+     * @return The class summary or {@code null} if the class could not be loaded
+     */
+    ClassSummary summarize(final String type) {
+        final Class<?> loadedClass = loadClassFromType(type);
+        if (loadedClass == null)
+            return null;
+
+        if (loadedClass.isEnum())
+            return ClassSummary.ofEnum(Stream.of(loadedClass.getEnumConstants()).map(o -> ((Enum<?>) o).name()).collect(Collectors.toList()));
+        return ClassSummary.ofConcrete(XMLMetadata.extract(loadedClass), analyzeClass(type, loadedClass));
+    }
+
     private Map<String, TypedMetadata> analyzeClass(final String type, final Class<?> clazz) {
         if (clazz == null || isJDKType(type))
             return Collections.emptyMap();
 
+        // the property types have been analyzed together with the cached properties already
+        final Map<String, TypedMetadata> cachedProperties = classProperties.get(type);
+        if (cachedProperties != null)
+            return cachedProperties;
+
+        final Map<String, TypedMetadata> properties = Collections.unmodifiableMap(analyzeProperties(type, clazz));
+        classProperties.put(type, properties);
+        return properties;
+    }
+
+    private Map<String, TypedMetadata> analyzeProperties(final String type, final Class<?> clazz) {
         final XmlAccessType value = getXmlAccessType(clazz);
 
         // TODO analyze & test annotation inheritance
-        ignoredFieldNames.clear();
-        final List<Field> relevantFields = Stream.of(clazz.getDeclaredFields()).filter(f -> isRelevant(f, value)).collect(Collectors.toList());
-        final List<Method> relevantGetters = Stream.of(clazz.getDeclaredMethods()).filter(m -> isRelevant(m, value)).collect(Collectors.toList());
+        final Set<String> ignoredFieldNames = new HashSet<>();
+        final List<Field> relevantFields = Stream.of(clazz.getDeclaredFields()).filter(f -> isRelevant(f, value, ignoredFieldNames)).collect(Collectors.toList());
+        final List<Method> relevantGetters = Stream.of(clazz.getDeclaredMethods()).filter(m -> isRelevant(m, value, ignoredFieldNames)).collect(Collectors.toList());
 
         // order matters
         final Map<String, TypedMetadata> properties = new LinkedHashMap<>();
@@ -138,7 +199,7 @@ class JavaTypeAnalyzer {
         return XmlAccessType.PUBLIC_MEMBER;
     }
 
-    private static boolean isRelevant(final Field field, final XmlAccessType accessType) {
+    private static boolean isRelevant(final Field field, final XmlAccessType accessType, final Set<String> ignoredFieldNames) {
         if (field.isSynthetic())
             return false;
 
@@ -174,10 +235,12 @@ class JavaTypeAnalyzer {
      * Does not allow methods with ignored names.
      * Does also not take methods annotated with {@link XmlTransient}.
      *
-     * @param method The method
+     * @param method            The method
+     * @param accessType        The XML access type of the class
+     * @param ignoredFieldNames The names of the ignored fields of the class
      * @return {@code true} if the method should be analyzed further
      */
-    private static boolean isRelevant(final Method method, final XmlAccessType accessType) {
+    private static boolean isRelevant(final Method method, final XmlAccessType accessType, final Set<String> ignoredFieldNames) {
         if (method.isSynthetic() || !isGetter(method))
             return false;
 
@@ -16,8 +16,13 @@
 
 package com.sebastian_daschner.jaxrs_analyzer.analysis.results;
 
+import com.sebastian_daschner.jaxrs_analyzer.analysis.summaries.ClassSummary;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.summaries.DependencySummaries;
 import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.ClassComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MemberParameterTag;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.MethodParameter;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.ResourceMethod;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.Resources;
@@ -25,11 +30,8 @@ import com.sebastian_daschner.jaxrs_analyzer.model.rest.Response;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
 import com.sebastian_daschner.jaxrs_analyzer.utils.StringUtils;
-import com.sun.javadoc.ClassDoc;
-import com.sun.javadoc.Doc;
-import com.sun.javadoc.MethodDoc;
-import com.sun.javadoc.ParamTag;
 
+import java.util.HashMap;
 import java.util.Optional;
 import java.util.Set;
 
@@ -42,11 +44,22 @@ import static com.sebastian_daschner.jaxrs_analyzer.analysis.results.JavaDocPara
  */
 public class ResultInterpreter {
 
-    private static final String DEPRECATED_TAG_NAME = "@deprecated";
     private JavaTypeAnalyzer javaTypeAnalyzer;
     private Resources resources;
     private DynamicTypeAnalyzer dynamicTypeAnalyzer;
     private StringParameterResolver stringParameterResolver;
+    private final DependencySummaries dependencySummaries;
+
+    public ResultInterpreter() {
+        this(new DependencySummaries());
+    }
+
+    /**
+     * @param dependencySummaries The loaded summaries of the dependencies, which are used instead of loading the summarized classes
+     */
+    public ResultInterpreter(final DependencySummaries dependencySummaries) {
+        this.dependencySummaries = dependencySummaries;
+    }
 
     /**
      * Interprets the class results.
@@ -57,7 +70,7 @@ public class ResultInterpreter {
         resources = new Resources();
         resources.setBasePath(PathNormalizer.getApplicationPath(classResults));
 
-        javaTypeAnalyzer = new JavaTypeAnalyzer(resources.getTypeRepresentations());
+        javaTypeAnalyzer = new JavaTypeAnalyzer(resources.getTypeRepresentations(), dependencySummaries);
         dynamicTypeAnalyzer = new DynamicTypeAnalyzer(resources.getTypeRepresentations());
         stringParameterResolver = new StringParameterResolver(resources.getTypeRepresentations(), javaTypeAnalyzer);
 
@@ -66,6 +79,16 @@ public class ResultInterpreter {
         return resources;
     }
 
+    /**
+     * Summarizes the representation of the given class, e.g. to pre-build the summary of a dependency.
+     *
+     * @param type The (non-generic) type to summarize
+     * @return The class summary or {@code null} if the class could not be loaded
+     */
+    public ClassSummary summarizeClass(final String type) {
+        return new JavaTypeAnalyzer(new HashMap<>(), dependencySummaries).summarize(type);
+    }
+
     /**
      * Interprets the class result.
      *
@@ -103,9 +126,9 @@ public class ResultInterpreter {
      * @return The resource method which this method represents
      */
     private ResourceMethod interpretResourceMethod(final MethodResult methodResult, final ClassResult classResult) {
-        final MethodDoc methodDoc = methodResult.getMethodDoc();
+        final MethodComment methodDoc = methodResult.getMethodDoc();
 
-        final String description = methodDoc == null || StringUtils.isBlank(methodDoc.commentText()) ? null : methodDoc.commentText();
+        final String description = methodDoc == null || StringUtils.isBlank(methodDoc.getComment()) ? null : methodDoc.getComment();
         final ResourceMethod resourceMethod = new ResourceMethod(methodResult.getHttpMethod(), description);
         updateMethodParameters(resourceMethod.getMethodParameters(), classResult.getClassFields());
         updateMethodParameters(resourceMethod.getMethodParameters(), methodResult.getMethodParameters());
@@ -128,43 +151,49 @@ public class ResultInterpreter {
         if (methodResult.isDeprecated() || classResult.isDeprecated() || hasDeprecationTag(methodDoc))
             resourceMethod.setDeprecated(true);
 
-        return resourceMethod;
-    }
+        if (isDegraded(methodResult))
+            resourceMethod.setDegraded(true);
 
-    private boolean hasDeprecationTag(MethodDoc doc) {
-        if (doc == null)
-            return false;
-        return hasMethodDeprecationTag(doc) || hasClassDeprecationTag(doc);
+        return resourceMethod;
     }
 
-    private boolean hasMethodDeprecationTag(MethodDoc doc) {
-        return doc.tags(DEPRECATED_TAG_NAME).length > 0;
+    /**
+     * Checks whether the analysis of the method or of one of the sub-resource locators which lead to the method exceeded its budget.
+     */
+    private static boolean isDegraded(final MethodResult methodResult) {
+        MethodResult result = methodResult;
+        while (result != null) {
+            if (result.isDegraded())
+                return true;
+            result = result.getParentResource() == null ? null : result.getParentResource().getParentSubResourceLocator();
+        }
+        return false;
     }
 
-    private boolean hasClassDeprecationTag(MethodDoc methodDoc) {
-        final ClassDoc doc = methodDoc.containingClass();
-        return doc != null && doc.tags(DEPRECATED_TAG_NAME).length > 0;
+    private boolean hasDeprecationTag(final MethodComment doc) {
+        if (doc == null)
+            return false;
+        final ClassComment classDoc = doc.getContainingClassComment();
+        return doc.isDeprecated() || classDoc != null && classDoc.isDeprecated();
     }
 
-    private void addParameterDescriptions(final Set<MethodParameter> methodParameters, final MethodDoc methodDoc) {
+    private void addParameterDescriptions(final Set<MethodParameter> methodParameters, final MethodComment methodDoc) {
         if (methodDoc == null)
             return;
 
         methodParameters.forEach(p -> {
-            final Optional<ParamTag> tag = findParameterDoc(p, methodDoc);
-
-            final String description = tag.map(ParamTag::parameterComment)
-                    .orElseGet(() -> findFieldDoc(p, methodDoc.containingClass())
-                            .map(Doc::commentText).orElse(null));
+            final String description = findParameterDoc(p, methodDoc)
+                    .orElseGet(() -> findFieldDoc(p, methodDoc.getContainingClassComment())
+                            .map(MemberParameterTag::getComment).orElse(null));
 
             p.setDescription(description);
         });
     }
 
-    private String findRequestBodyDescription(final MethodDoc methodDoc) {
+    private String findRequestBodyDescription(final MethodComment methodDoc) {
         if (methodDoc == null)
             return null;
-        return findRequestBodyDoc(methodDoc).map(ParamTag::parameterComment).orElse(null);
+        return findRequestBodyDoc(methodDoc).orElse(null);
     }
 
     /**
@@ -188,7 +217,8 @@ public class ResultInterpreter {
             return;
         }
 
-        methodResult.getResponses().stream().filter(r -> r.getStatuses().isEmpty())
+        // responses with widened statuses may have any status, which isn't necessarily the successful default
+        methodResult.getResponses().stream().filter(r -> r.getStatuses().isEmpty() && !r.isWidenedStatuses())
                 .forEach(r -> r.getStatuses().add(javax.ws.rs.core.Response.Status.OK.getStatusCode()));
     }
 
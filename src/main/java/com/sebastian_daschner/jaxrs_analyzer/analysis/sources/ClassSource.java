@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.sources;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * A source of compiled classes, e.g. a directory, a jar-file or classes which are held in memory.
+ * The class names are in JVM notation (e.g. {@code com/company/Model}).
+ *
+ * @author Sebastian Daschner
+ */
+public interface ClassSource {
+
+    /**
+     * Returns the names of all contained classes.
+     *
+     * @return The class names
+     * @throws IOException If the source could not be read
+     */
+    Set<String> getClassNames() throws IOException;
+
+    /**
+     * Checks if the given class is contained in this source.
+     *
+     * @param className The class name
+     * @return {@code true} if the class is contained
+     */
+    boolean contains(String className);
+
+    /**
+     * Returns the bytecode of the given class.
+     *
+     * @param className The class name
+     * @return The contents of the class file or {@code null} if the class is not contained
+     * @throws IOException If the class could not be read
+     */
+    byte[] getBytes(String className) throws IOException;
+
+    /**
+     * Returns the hash of the contents of this source, which changes whenever a contained class changes.
+     *
+     * @return The hash as hex string
+     * @throws IOException If the source could not be read
+     */
+    String getContentHash() throws IOException;
+
+    /**
+     * Returns the location on disk of this source.
+     *
+     * @return The directory or jar-file or {@code null} if the source is not located on disk
+     */
+    Path getLocation();
+
+    /**
+     * Creates the class source of the given location.
+     *
+     * @param location The directory or jar-file
+     * @return The class source
+     */
+    static ClassSource of(final Path location) {
+        if (!Files.exists(location))
+            throw new IllegalArgumentException("The location '" + location + "' does not exist!");
+        if (Files.isDirectory(location))
+            return new DirectoryClassSource(location);
+        if (Files.isRegularFile(location) && location.toString().endsWith(".jar"))
+            return new JarClassSource(location);
+        throw new IllegalArgumentException("The location '" + location + "' must be a jar file or a directory");
+    }
+
+}
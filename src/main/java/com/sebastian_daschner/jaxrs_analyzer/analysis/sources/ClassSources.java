@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.sources;
+
+import com.sebastian_daschner.jaxrs_analyzer.utils.DigestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Common functionality of the class sources.
+ *
+ * @author Sebastian Daschner
+ */
+final class ClassSources {
+
+    static final String CLASS_FILE_EXTENSION = ".class";
+
+    private ClassSources() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Calculates the hash (SHA-256) of the names and contents of all classes of the source.
+     */
+    static String contentHash(final ClassSource source) throws IOException {
+        final MessageDigest digest = DigestUtils.sha256();
+
+        final List<String> classNames = new ArrayList<>(source.getClassNames());
+        Collections.sort(classNames);
+        for (final String className : classNames) {
+            digest.update(className.getBytes(StandardCharsets.UTF_8));
+            digest.update(source.getBytes(className));
+        }
+
+        return DigestUtils.hex(digest);
+    }
+
+}
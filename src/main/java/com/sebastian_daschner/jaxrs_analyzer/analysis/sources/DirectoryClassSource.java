@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.sources;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.sebastian_daschner.jaxrs_analyzer.analysis.sources.ClassSources.CLASS_FILE_EXTENSION;
+
+/**
+ * The classes which are contained in a directory, e.g. the build output of a project.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class DirectoryClassSource implements ClassSource {
+
+    private final Path directory;
+
+    public DirectoryClassSource(final Path directory) {
+        Objects.requireNonNull(directory);
+        this.directory = directory;
+    }
+
+    @Override
+    public Set<String> getClassNames() throws IOException {
+        try (final Stream<Path> files = Files.walk(directory)) {
+            return files.filter(f -> f.toString().endsWith(CLASS_FILE_EXTENSION) && Files.isRegularFile(f))
+                    .map(f -> directory.relativize(f).toString().replace(File.separatorChar, '/'))
+                    .map(n -> n.substring(0, n.length() - CLASS_FILE_EXTENSION.length()))
+                    .collect(Collectors.toSet());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public boolean contains(final String className) {
+        return Files.isRegularFile(classFile(className));
+    }
+
+    @Override
+    public byte[] getBytes(final String className) throws IOException {
+        final Path classFile = classFile(className);
+        if (!Files.isRegularFile(classFile))
+            return null;
+        return Files.readAllBytes(classFile);
+    }
+
+    @Override
+    public String getContentHash() throws IOException {
+        return ClassSources.contentHash(this);
+    }
+
+    @Override
+    public Path getLocation() {
+        return directory;
+    }
+
+    private Path classFile(final String className) {
+        return directory.resolve(className + CLASS_FILE_EXTENSION);
+    }
+
+    @Override
+    public String toString() {
+        return directory.toString();
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.sources;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The classes which are held in memory, e.g. by a build tool which has just compiled them.
+ * The class contents are not copied and must not be modified after creation.
+ * This class is immutable.
+ *
+ * @author Sebastian Daschner
+ */
+public class InMemoryClassSource implements ClassSource {
+
+    private final Map<String, byte[]> classes;
+    private volatile String contentHash;
+
+    /**
+     * @param classes The contents of the class files, identified by the class names (in JVM notation, e.g. {@code com/company/Model})
+     */
+    public InMemoryClassSource(final Map<String, byte[]> classes) {
+        Objects.requireNonNull(classes);
+        this.classes = Collections.unmodifiableMap(new HashMap<>(classes));
+    }
+
+    @Override
+    public Set<String> getClassNames() {
+        return classes.keySet();
+    }
+
+    @Override
+    public boolean contains(final String className) {
+        return classes.containsKey(className);
+    }
+
+    @Override
+    public byte[] getBytes(final String className) {
+        return classes.get(className);
+    }
+
+    @Override
+    public String getContentHash() {
+        // the contents are immutable, thus the hash is calculated only once
+        if (contentHash == null) {
+            try {
+                contentHash = ClassSources.contentHash(this);
+            } catch (IOException e) {
+                // no I/O involved
+                throw new IllegalStateException(e);
+            }
+        }
+        return contentHash;
+    }
+
+    @Override
+    public Path getLocation() {
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return classes.size() + " in-memory classes";
+    }
+
+}
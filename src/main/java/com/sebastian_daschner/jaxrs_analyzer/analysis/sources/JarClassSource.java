@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.sources;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.summaries.DependencySummary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+
+import static com.sebastian_daschner.jaxrs_analyzer.analysis.sources.ClassSources.CLASS_FILE_EXTENSION;
+
+/**
+ * The classes which are contained in a jar-file. The jar-file is opened on every access.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class JarClassSource implements ClassSource {
+
+    private final Path jar;
+
+    public JarClassSource(final Path jar) {
+        Objects.requireNonNull(jar);
+        this.jar = jar;
+    }
+
+    @Override
+    public Set<String> getClassNames() throws IOException {
+        try (final JarFile jarFile = new JarFile(jar.toFile())) {
+            return jarFile.stream().map(JarEntry::getName).filter(n -> n.endsWith(CLASS_FILE_EXTENSION))
+                    .map(n -> n.substring(0, n.length() - CLASS_FILE_EXTENSION.length()))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    @Override
+    public boolean contains(final String className) {
+        try (final JarFile jarFile = new JarFile(jar.toFile())) {
+            return jarFile.getJarEntry(className + CLASS_FILE_EXTENSION) != null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public byte[] getBytes(final String className) throws IOException {
+        try (final JarFile jarFile = new JarFile(jar.toFile())) {
+            final JarEntry entry = jarFile.getJarEntry(className + CLASS_FILE_EXTENSION);
+            if (entry == null)
+                return null;
+
+            try (final InputStream input = jarFile.getInputStream(entry)) {
+                final ByteArrayOutputStream output = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ((read = input.read(buffer)) >= 0)
+                    output.write(buffer, 0, read);
+                return output.toByteArray();
+            }
+        }
+    }
+
+    /**
+     * Returns the hash of the jar-file, which also identifies its dependency summary.
+     */
+    @Override
+    public String getContentHash() throws IOException {
+        return DependencySummary.hash(jar);
+    }
+
+    @Override
+    public Path getLocation() {
+        return jar;
+    }
+
+    @Override
+    public String toString() {
+        return jar.toString();
+    }
+
+}
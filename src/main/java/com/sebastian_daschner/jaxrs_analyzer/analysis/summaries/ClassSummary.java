@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.summaries;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypedMetadata;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.XMLMetadata;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The summarized representation of a (non-generic) class of a dependency: either the constants of an enum or the properties of a concrete type.
+ * This class is immutable.
+ *
+ * @author Sebastian Daschner
+ */
+public class ClassSummary {
+
+    private final List<String> enumConstants;
+    private final XMLMetadata xmlMetadata;
+    private final Map<String, TypedMetadata> properties;
+
+    private ClassSummary(final List<String> enumConstants, final XMLMetadata xmlMetadata, final Map<String, TypedMetadata> properties) {
+        this.enumConstants = enumConstants;
+        this.xmlMetadata = xmlMetadata;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns {@code true} if the class is an enum.
+     */
+    public boolean isEnum() {
+        return enumConstants != null;
+    }
+
+    /**
+     * Returns the enum constants or {@code null} if the class is not an enum.
+     */
+    public List<String> getEnumConstants() {
+        return enumConstants;
+    }
+
+    public XMLMetadata getXmlMetadata() {
+        return xmlMetadata;
+    }
+
+    /**
+     * Returns the properties in their original order.
+     */
+    public Map<String, TypedMetadata> getProperties() {
+        return properties;
+    }
+
+    public static ClassSummary ofEnum(final List<String> enumConstants) {
+        return new ClassSummary(Collections.unmodifiableList(enumConstants), null, Collections.emptyMap());
+    }
+
+    public static ClassSummary ofConcrete(final XMLMetadata xmlMetadata, final Map<String, TypedMetadata> properties) {
+        return new ClassSummary(null, xmlMetadata, Collections.unmodifiableMap(new LinkedHashMap<>(properties)));
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.summaries;
+
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe registry of the loaded dependency summaries of an analysis. The summaries are used instead of reading and simulating the bytecode of the
+ * dependencies. A summary is stale if it has been written in another format or with different analysis options, or if one of the jars
+ * it has been summarized with is not on the class path anymore, e.g. because the jar has changed;
+ * a summarized class is ignored if it is loaded from another location than the summarized jar. Stale summaries fall back to the normal analysis.
+ *
+ * @author Sebastian Daschner
+ */
+public class DependencySummaries {
+
+    private final Map<String, LoadedSummary> summaries = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> validClasses = new ConcurrentHashMap<>();
+
+    /**
+     * Loads the summaries of the given jars from the summaries directory. Jars without a valid summary are analyzed as usual.
+     * The jars are only hashed if the directory contains summaries and the jars have changed since they have been hashed the last time.
+     *
+     * @param directory         The summaries directory
+     * @param classPaths        The class path locations, only jar-files are considered
+     * @param maxPossibleValues The maximum number of possible values of the current analysis
+     */
+    public void load(final Path directory, final Collection<Path> classPaths, final int maxPossibleValues) {
+        if (!DependencySummary.exists(directory)) {
+            LogProvider.debug("No summaries found in " + directory);
+            return;
+        }
+
+        final Map<Path, String> jarHashes = hashJars(directory, classPaths);
+        final Set<String> classPathHashes = new HashSet<>(jarHashes.values());
+
+        jarHashes.forEach((jar, hash) -> {
+            try {
+                final DependencySummary summary = DependencySummary.read(directory, hash);
+                if (summary == null || summary.getMaxPossibleValues() != maxPossibleValues) {
+                    LogProvider.debug("No current summary of " + jar + " found, the jar will be analyzed");
+                    return;
+                }
+                if (!classPathHashes.containsAll(summary.getDependencyHashes())) {
+                    LogProvider.debug("The summary of " + jar + " is outdated as its dependencies have changed, the jar will be analyzed");
+                    return;
+                }
+
+                final LoadedSummary loadedSummary = new LoadedSummary(summary, jar);
+                summary.getClassNames().forEach(c -> summaries.put(c, loadedSummary));
+                LogProvider.debug("Loaded summary of " + jar + " with " + summary.getMethods().size() + " methods");
+            } catch (IOException e) {
+                LogProvider.error("Could not load the summary of " + jar + ", reason: " + e.getMessage());
+                LogProvider.debug(e);
+            }
+        });
+        validClasses.clear();
+    }
+
+    private static Map<Path, String> hashJars(final Path directory, final Collection<Path> classPaths) {
+        final JarHashes jarHashes = JarHashes.load(directory);
+        final Map<Path, String> hashes = new LinkedHashMap<>();
+        classPaths.stream().filter(p -> p.toFile().isFile() && p.toString().endsWith(".jar")).forEach(jar -> {
+            try {
+                hashes.put(jar, jarHashes.hash(jar));
+            } catch (IOException e) {
+                LogProvider.error("Could not load the summary of " + jar + ", reason: " + e.getMessage());
+                LogProvider.debug(e);
+            }
+        });
+        jarHashes.write();
+        return hashes;
+    }
+
+    /**
+     * Checks if the given class is contained in a summarized jar and is loaded from that jar.
+     *
+     * @param className The class name (in JVM notation)
+     * @return {@code true} if the class is summarized
+     */
+    public boolean isSummarized(final String className) {
+        return getSummary(className) != null;
+    }
+
+    /**
+     * Returns the summarized return value of the given method.
+     *
+     * @param identifier The method identifier
+     * @return The return value (which has to be copied before modification) or {@code null} if the method is not summarized
+     */
+    public Element getMethodSummary(final MethodIdentifier identifier) {
+        final DependencySummary summary = getSummary(identifier.getContainingClass());
+        return summary == null ? null : summary.getMethods().get(identifier);
+    }
+
+    /**
+     * Returns the summarized representation of the given class.
+     *
+     * @param type The type (e.g. {@code Lcom/company/Model;}), generic types are not summarized
+     * @return The class summary or {@code null} if the class is not summarized
+     */
+    public ClassSummary getClassSummary(final String type) {
+        if (!type.startsWith("L") || !type.endsWith(";") || type.indexOf('<') >= 0)
+            return null;
+
+        final DependencySummary summary = getSummary(type.substring(1, type.length() - 1));
+        return summary == null ? null : summary.getClasses().get(type);
+    }
+
+    /**
+     * Removes all loaded summaries.
+     */
+    public void clear() {
+        summaries.clear();
+        validClasses.clear();
+    }
+
+    private DependencySummary getSummary(final String className) {
+        if (summaries.isEmpty())
+            return null;
+
+        final LoadedSummary loadedSummary = summaries.get(className);
+        if (loadedSummary == null)
+            return null;
+
+        return validClasses.computeIfAbsent(className, loadedSummary::isLoadedFromJar) ? loadedSummary.summary : null;
+    }
+
+    /**
+     * A summary with the location of the summarized jar.
+     */
+    private static class LoadedSummary {
+
+        private final DependencySummary summary;
+        private final Path jar;
+
+        LoadedSummary(final DependencySummary summary, final Path jar) {
+            this.summary = summary;
+            this.jar = jar;
+        }
+
+        /**
+         * Checks if the class is loaded from the summarized jar, i.e. not shadowed by another class path location.
+         */
+        boolean isLoadedFromJar(final String className) {
+            final URL resource = ContextClassReader.getClassLoader().getResource(className + ".class");
+            if (resource == null)
+                return false;
+
+            try {
+                return resource.toString().equals("jar:" + jar.toUri().toURL() + "!/" + className + ".class");
+            } catch (MalformedURLException e) {
+                return false;
+            }
+        }
+
+    }
+
+}
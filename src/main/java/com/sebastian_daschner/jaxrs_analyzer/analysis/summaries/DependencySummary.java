@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.summaries;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.utils.DigestUtils;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonWriter;
+import javax.json.stream.JsonGenerator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.singletonMap;
+
+/**
+ * The pre-built summary of a dependency jar: the return values of its methods which don't depend on the arguments
+ * and the representations of its classes. The summary is identified by the hash of the jar and
+ * depends on the jars which have been on the class path while summarizing, identified by their hashes as well.
+ * This class is immutable.
+ *
+ * @author Sebastian Daschner
+ */
+public class DependencySummary {
+
+    private static final String FILE_EXTENSION = ".json";
+
+    private final String hash;
+    private final int maxPossibleValues;
+    private final Set<String> dependencyHashes;
+    private final Set<String> classNames;
+    private final Map<MethodIdentifier, Element> methods;
+    private final Map<String, ClassSummary> classes;
+
+    /**
+     * @param hash              The hash of the summarized jar, see {@link #hash(Path)}
+     * @param maxPossibleValues The maximum number of possible values of the summarized elements
+     * @param dependencyHashes  The hashes of the other jars on the class path of the summarized jar
+     * @param classNames        The names of all classes (in JVM notation) contained in the jar
+     * @param methods           The summarized return values of the methods
+     * @param classes           The summarized representations of the classes, identified by their type (e.g. {@code Lcom/company/Model;})
+     */
+    public DependencySummary(final String hash, final int maxPossibleValues, final Set<String> dependencyHashes, final Set<String> classNames,
+                             final Map<MethodIdentifier, Element> methods, final Map<String, ClassSummary> classes) {
+        this.hash = hash;
+        this.maxPossibleValues = maxPossibleValues;
+        this.dependencyHashes = Collections.unmodifiableSet(dependencyHashes);
+        this.classNames = Collections.unmodifiableSet(classNames);
+        this.methods = Collections.unmodifiableMap(methods);
+        this.classes = Collections.unmodifiableMap(classes);
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public int getMaxPossibleValues() {
+        return maxPossibleValues;
+    }
+
+    public Set<String> getDependencyHashes() {
+        return dependencyHashes;
+    }
+
+    public Set<String> getClassNames() {
+        return classNames;
+    }
+
+    public Map<MethodIdentifier, Element> getMethods() {
+        return methods;
+    }
+
+    public Map<String, ClassSummary> getClasses() {
+        return classes;
+    }
+
+    /**
+     * Writes this summary to the given directory, the file is named after the hash of the jar.
+     *
+     * @param directory The summaries directory
+     * @return The written file
+     * @throws IOException If the summary could not be written
+     */
+    public Path write(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        final Path file = directory.resolve(hash + FILE_EXTENSION);
+        final Map<String, ?> config = singletonMap(JsonGenerator.PRETTY_PRINTING, true);
+
+        try (final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+             final JsonWriter jsonWriter = Json.createWriterFactory(config).createWriter(writer)) {
+            jsonWriter.write(SummaryJsonMapper.map(this));
+        }
+        return file;
+    }
+
+    /**
+     * Reads the summary of the given jar from the summaries directory.
+     *
+     * @param directory The summaries directory
+     * @param hash      The hash of the jar
+     * @return The summary or {@code null} if there is no summary of the jar in the current format
+     * @throws IOException If the summary could not be read
+     */
+    public static DependencySummary read(final Path directory, final String hash) throws IOException {
+        final Path file = directory.resolve(hash + FILE_EXTENSION);
+        if (!Files.isRegularFile(file))
+            return null;
+
+        try (final Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             final JsonReader jsonReader = Json.createReader(reader)) {
+            final JsonObject object = jsonReader.readObject();
+            return SummaryJsonMapper.read(object);
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed summary " + file + ", reason: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Checks whether the given directory contains any summaries, without reading them.
+     *
+     * @param directory The summaries directory
+     * @return {@code true} if there is at least one summary
+     */
+    public static boolean exists(final Path directory) {
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_EXTENSION)) {
+            for (final Path file : files) {
+                if (!JarHashes.FILE_NAME.equals(file.getFileName().toString()))
+                    return true;
+            }
+            return false;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Calculates the hash (SHA-256) of the contents of the given jar.
+     *
+     * @param jar The jar file
+     * @return The hash as hex string
+     * @throws IOException If the jar could not be read
+     */
+    public static String hash(final Path jar) throws IOException {
+        final MessageDigest digest = DigestUtils.sha256();
+
+        final byte[] buffer = new byte[8192];
+        try (final InputStream stream = Files.newInputStream(jar)) {
+            int read;
+            while ((read = stream.read(buffer)) >= 0)
+                digest.update(buffer, 0, read);
+        }
+
+        return DigestUtils.hex(digest);
+    }
+
+}
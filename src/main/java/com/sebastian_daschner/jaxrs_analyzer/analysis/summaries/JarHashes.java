@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.summaries;
+
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonReader;
+import javax.json.JsonWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The hashes of the jars which have been looked up in a summaries directory, keyed by the jar location.
+ * A jar is only hashed again if its size or modification time has changed, thus unchanged jars aren't read on every analysis.
+ * The hashes are written to a temporary file which is atomically moved into place; concurrent analyses may overwrite each other's hashes,
+ * which are then calculated again.
+ * This class is not thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+class JarHashes {
+
+    static final String FILE_NAME = "jar-hashes.json";
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path file;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean changed;
+
+    private JarHashes(final Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads the jar hashes of the summaries directory. Hashes which can't be read are calculated again.
+     *
+     * @param directory The summaries directory
+     * @return The jar hashes
+     */
+    static JarHashes load(final Path directory) {
+        final JarHashes hashes = new JarHashes(directory.resolve(FILE_NAME));
+        if (!Files.isRegularFile(hashes.file))
+            return hashes;
+
+        try (final Reader reader = Files.newBufferedReader(hashes.file, StandardCharsets.UTF_8);
+             final JsonReader jsonReader = Json.createReader(reader)) {
+            final JsonObject object = jsonReader.readObject();
+            if (object.getInt("version", 0) == FORMAT_VERSION)
+                object.getJsonObject("jars").forEach((jar, value) -> hashes.entries.put(jar, Entry.read((JsonObject) value)));
+        } catch (IOException | RuntimeException e) {
+            LogProvider.debug("Could not read the jar hashes " + hashes.file + ", reason: " + e.getMessage());
+            hashes.entries.clear();
+        }
+        return hashes;
+    }
+
+    /**
+     * Returns the hash of the given jar, see {@link DependencySummary#hash(Path)}. The jar is only read if it has changed since it has been hashed.
+     *
+     * @param jar The jar file
+     * @return The hash as hex string
+     * @throws IOException If the jar could not be read
+     */
+    String hash(final Path jar) throws IOException {
+        final String location = jar.toAbsolutePath().normalize().toString();
+        final long size = Files.size(jar);
+        final long lastModified = Files.getLastModifiedTime(jar).toMillis();
+
+        final Entry entry = entries.get(location);
+        if (entry != null && entry.size == size && entry.lastModified == lastModified)
+            return entry.hash;
+
+        final String hash = DependencySummary.hash(jar);
+        entries.put(location, new Entry(size, lastModified, hash));
+        changed = true;
+        return hash;
+    }
+
+    /**
+     * Writes the hashes if new jars have been hashed. Failures are logged and otherwise ignored.
+     */
+    void write() {
+        if (!changed)
+            return;
+
+        final JsonObjectBuilder jars = Json.createObjectBuilder();
+        entries.forEach((jar, entry) -> jars.add(jar, entry.map()));
+
+        Path temporaryFile = null;
+        try {
+            temporaryFile = Files.createTempFile(file.getParent(), FILE_NAME, ".tmp");
+            try (final Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8);
+                 final JsonWriter jsonWriter = Json.createWriter(writer)) {
+                jsonWriter.write(Json.createObjectBuilder().add("version", FORMAT_VERSION).add("jars", jars).build());
+            }
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            changed = false;
+        } catch (IOException e) {
+            LogProvider.debug("Could not write the jar hashes " + file + ", reason: " + e.getMessage());
+            try {
+                if (temporaryFile != null)
+                    Files.deleteIfExists(temporaryFile);
+            } catch (IOException deleteException) {
+                LogProvider.debug(deleteException);
+            }
+        }
+    }
+
+    private static class Entry {
+
+        private final long size;
+        private final long lastModified;
+        private final String hash;
+
+        Entry(final long size, final long lastModified, final String hash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+
+        JsonObject map() {
+            return Json.createObjectBuilder().add("size", size).add("lastModified", lastModified).add("hash", hash).build();
+        }
+
+        static Entry read(final JsonObject object) {
+            return new Entry(object.getJsonNumber("size").longValue(), object.getJsonNumber("lastModified").longValue(), object.getString("hash"));
+        }
+
+    }
+
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.analysis.summaries;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypedMetadata;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.XMLMetadata;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonString;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Maps dependency summaries to and from their JSON representation.
+ *
+ * @author Sebastian Daschner
+ */
+final class SummaryJsonMapper {
+
+    static final int FORMAT_VERSION = 2;
+
+    private SummaryJsonMapper() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Maps the summary to JSON. Methods with return values which can't be represented, e.g. widened values or method handles, are omitted.
+     */
+    static JsonObject map(final DependencySummary summary) {
+        final JsonArrayBuilder dependencies = Json.createArrayBuilder();
+        summary.getDependencyHashes().forEach(dependencies::add);
+
+        final JsonArrayBuilder classNames = Json.createArrayBuilder();
+        summary.getClassNames().forEach(classNames::add);
+
+        final JsonArrayBuilder methods = Json.createArrayBuilder();
+        summary.getMethods().forEach((identifier, returnValue) -> {
+            final JsonObject element = mapElement(returnValue);
+            if (element != null)
+                methods.add(Json.createObjectBuilder().add("class", identifier.getContainingClass()).add("name", identifier.getMethodName())
+                        .add("signature", identifier.getSignature()).add("static", identifier.isStaticMethod()).add("returns", element));
+        });
+
+        final JsonObjectBuilder classes = Json.createObjectBuilder();
+        summary.getClasses().forEach((type, classSummary) -> classes.add(type, mapClass(classSummary)));
+
+        return Json.createObjectBuilder().add("version", FORMAT_VERSION).add("hash", summary.getHash())
+                .add("maxPossibleValues", summary.getMaxPossibleValues()).add("dependencies", dependencies).add("classNames", classNames)
+                .add("methods", methods).add("classes", classes).build();
+    }
+
+    /**
+     * Reads the summary from JSON.
+     *
+     * @return The summary or {@code null} if the JSON has been written in a different format version
+     */
+    static DependencySummary read(final JsonObject object) {
+        if (object.getInt("version", 0) != FORMAT_VERSION)
+            return null;
+
+        final Set<String> dependencyHashes = object.getJsonArray("dependencies").getValuesAs(JsonString.class).stream()
+                .map(JsonString::getString).collect(Collectors.toCollection(LinkedHashSet::new));
+        final Set<String> classNames = object.getJsonArray("classNames").getValuesAs(JsonString.class).stream()
+                .map(JsonString::getString).collect(Collectors.toCollection(LinkedHashSet::new));
+
+        final Map<MethodIdentifier, Element> methods = new LinkedHashMap<>();
+        for (final JsonObject method : object.getJsonArray("methods").getValuesAs(JsonObject.class)) {
+            final MethodIdentifier identifier = MethodIdentifier.of(method.getString("class"), method.getString("name"), method.getString("signature"), method.getBoolean("static"));
+            methods.put(identifier, readElement(method.getJsonObject("returns")));
+        }
+
+        final Map<String, ClassSummary> classes = new LinkedHashMap<>();
+        object.getJsonObject("classes").forEach((type, value) -> classes.put(type, readClass((JsonObject) value)));
+
+        return new DependencySummary(object.getString("hash"), object.getInt("maxPossibleValues"), dependencyHashes, classNames, methods, classes);
+    }
+
+    private static JsonObject mapElement(final Element element) {
+        if (element.isWidened())
+            return null;
+
+        final JsonArrayBuilder types = Json.createArrayBuilder();
+        element.getTypes().forEach(types::add);
+
+        final JsonArrayBuilder values = Json.createArrayBuilder();
+        for (final Object value : element.getPossibleValues()) {
+            final JsonObject mappedValue = mapValue(value);
+            if (mappedValue == null)
+                return null;
+            values.add(mappedValue);
+        }
+
+        return Json.createObjectBuilder().add("types", types).add("values", values).build();
+    }
+
+    private static JsonObject mapValue(final Object value) {
+        final JsonObjectBuilder builder = Json.createObjectBuilder();
+
+        if (value == null)
+            return builder.addNull("null").build();
+        if (value instanceof String)
+            return builder.add("string", (String) value).build();
+        if (value instanceof Integer)
+            return builder.add("int", (Integer) value).build();
+        if (value instanceof Long)
+            return builder.add("long", (Long) value).build();
+        if (value instanceof Float && Float.isFinite((Float) value))
+            return builder.add("float", (Float) value).build();
+        if (value instanceof Double && Double.isFinite((Double) value))
+            return builder.add("double", (Double) value).build();
+        if (value instanceof Boolean)
+            return builder.add("boolean", (Boolean) value).build();
+        if (value instanceof Character)
+            return builder.add("char", value.toString()).build();
+        if (value instanceof HttpResponse)
+            return mapResponse((HttpResponse) value, builder);
+        if (value instanceof com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonObject)
+            return mapJsonObject((com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonObject) value, builder);
+        if (value instanceof com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonArray)
+            return mapJsonArray((com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonArray) value, builder);
+
+        // e.g. method handles or other objects can't be represented
+        return null;
+    }
+
+    private static JsonObject mapResponse(final HttpResponse response, final JsonObjectBuilder builder) {
+        if (response.isWidenedStatuses())
+            return null;
+
+        final JsonArrayBuilder statuses = Json.createArrayBuilder();
+        response.getStatuses().forEach(statuses::add);
+        final JsonArrayBuilder headers = Json.createArrayBuilder();
+        response.getHeaders().forEach(headers::add);
+        final JsonArrayBuilder contentTypes = Json.createArrayBuilder();
+        response.getContentTypes().forEach(contentTypes::add);
+        final JsonArrayBuilder entityTypes = Json.createArrayBuilder();
+        response.getEntityTypes().forEach(entityTypes::add);
+
+        final JsonArrayBuilder inlineEntities = Json.createArrayBuilder();
+        for (final Object entity : response.getInlineEntities()) {
+            final JsonObject mappedEntity = mapValue(entity);
+            if (mappedEntity == null)
+                return null;
+            inlineEntities.add(mappedEntity);
+        }
+
+        return builder.add("response", Json.createObjectBuilder().add("statuses", statuses).add("headers", headers).add("contentTypes", contentTypes)
+                .add("entityTypes", entityTypes).add("inlineEntities", inlineEntities)).build();
+    }
+
+    private static JsonObject mapJsonObject(final com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonObject jsonObject, final JsonObjectBuilder builder) {
+        final JsonObjectBuilder structure = Json.createObjectBuilder();
+        for (final Map.Entry<String, Element> entry : jsonObject.getStructure().entrySet()) {
+            final JsonObject mappedElement = mapElement(entry.getValue());
+            if (mappedElement == null)
+                return null;
+            structure.add(entry.getKey(), mappedElement);
+        }
+        return builder.add("object", structure).build();
+    }
+
+    private static JsonObject mapJsonArray(final com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonArray jsonArray, final JsonObjectBuilder builder) {
+        final JsonArrayBuilder elements = Json.createArrayBuilder();
+        for (final Element element : jsonArray.getElements()) {
+            final JsonObject mappedElement = mapElement(element);
+            if (mappedElement == null)
+                return null;
+            elements.add(mappedElement);
+        }
+        return builder.add("array", elements).build();
+    }
+
+    private static Element readElement(final JsonObject object) {
+        final Set<String> types = object.getJsonArray("types").getValuesAs(JsonString.class).stream().map(JsonString::getString)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        final Object[] values = object.getJsonArray("values").getValuesAs(JsonObject.class).stream().map(SummaryJsonMapper::readValue).toArray();
+        return new Element(types, values);
+    }
+
+    private static Object readValue(final JsonObject object) {
+        final String kind = object.keySet().iterator().next();
+        switch (kind) {
+            case "null":
+                return null;
+            case "string":
+                return object.getString(kind);
+            case "int":
+                return object.getInt(kind);
+            case "long":
+                return object.getJsonNumber(kind).longValue();
+            case "float":
+                return (float) object.getJsonNumber(kind).doubleValue();
+            case "double":
+                return object.getJsonNumber(kind).doubleValue();
+            case "boolean":
+                return object.getBoolean(kind);
+            case "char":
+                return object.getString(kind).charAt(0);
+            case "response":
+                return readResponse(object.getJsonObject(kind));
+            case "object":
+                final com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonObject jsonObject = new com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonObject();
+                object.getJsonObject(kind).forEach((key, value) -> jsonObject.getStructure().put(key, readElement((JsonObject) value)));
+                return jsonObject;
+            case "array":
+                final com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonArray jsonArray = new com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonArray();
+                object.getJsonArray(kind).getValuesAs(JsonObject.class).forEach(e -> jsonArray.getElements().add(readElement(e)));
+                return jsonArray;
+            default:
+                throw new IllegalArgumentException("Unknown summarized value " + kind);
+        }
+    }
+
+    private static HttpResponse readResponse(final JsonObject object) {
+        final HttpResponse response = new HttpResponse();
+        object.getJsonArray("statuses").getValuesAs(JsonNumber.class).forEach(s -> response.getStatuses().add(s.intValue()));
+        object.getJsonArray("headers").getValuesAs(JsonString.class).forEach(h -> response.getHeaders().add(h.getString()));
+        object.getJsonArray("contentTypes").getValuesAs(JsonString.class).forEach(c -> response.getContentTypes().add(c.getString()));
+        object.getJsonArray("entityTypes").getValuesAs(JsonString.class).forEach(t -> response.getEntityTypes().add(t.getString()));
+        object.getJsonArray("inlineEntities").getValuesAs(JsonObject.class)
+                .forEach(e -> response.getInlineEntities().add((com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonValue) readValue(e)));
+        return response;
+    }
+
+    private static JsonObject mapClass(final ClassSummary summary) {
+        final JsonObjectBuilder builder = Json.createObjectBuilder();
+        if (summary.isEnum()) {
+            final JsonArrayBuilder constants = Json.createArrayBuilder();
+            summary.getEnumConstants().forEach(constants::add);
+            return builder.add("enumConstants", constants).build();
+        }
+
+        final JsonArrayBuilder properties = Json.createArrayBuilder();
+        summary.getProperties().forEach((name, metadata) -> {
+            final JsonObjectBuilder property = Json.createObjectBuilder().add("name", name).add("type", metadata.getTypeIdentifier().getType());
+            addXmlMetadata(property, metadata.getXmlMetadata());
+            properties.add(property);
+        });
+        addXmlMetadata(builder, summary.getXmlMetadata());
+        return builder.add("properties", properties).build();
+    }
+
+    private static void addXmlMetadata(final JsonObjectBuilder builder, final XMLMetadata xmlMetadata) {
+        if (xmlMetadata == null)
+            return;
+
+        final JsonObjectBuilder xml = Json.createObjectBuilder();
+        addOptional(xml, "namespace", xmlMetadata.getNamespace());
+        addOptional(xml, "name", xmlMetadata.getName());
+        addOptional(xml, "prefix", xmlMetadata.getPrefix());
+        if (xmlMetadata.isAttribute())
+            xml.add("attribute", true);
+        builder.add("xml", xml);
+    }
+
+    private static void addOptional(final JsonObjectBuilder builder, final String name, final String value) {
+        if (value != null)
+            builder.add(name, value);
+    }
+
+    private static ClassSummary readClass(final JsonObject object) {
+        if (object.containsKey("enumConstants"))
+            return ClassSummary.ofEnum(object.getJsonArray("enumConstants").getValuesAs(JsonString.class).stream()
+                    .map(JsonString::getString).collect(Collectors.toList()));
+
+        final Map<String, TypedMetadata> properties = new LinkedHashMap<>();
+        for (final JsonObject property : object.getJsonArray("properties").getValuesAs(JsonObject.class)) {
+            properties.put(property.getString("name"), new TypedMetadata(TypeIdentifier.ofType(property.getString("type")), readXmlMetadata(property)));
+        }
+        return ClassSummary.ofConcrete(readXmlMetadata(object), properties);
+    }
+
+    private static XMLMetadata readXmlMetadata(final JsonObject object) {
+        final JsonObject xml = object.getJsonObject("xml");
+        if (xml == null)
+            return null;
+
+        return new XMLMetadata(xml.getString("namespace", null), xml.getString("name", null),
+                xml.containsKey("attribute") ? Boolean.TRUE : null, xml.getString("prefix", null));
+    }
+
+}
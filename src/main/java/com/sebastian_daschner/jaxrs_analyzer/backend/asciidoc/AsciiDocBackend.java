@@ -32,6 +32,8 @@ public class AsciiDocBackend extends StringBackend {
         builder.append(resource).append("`\n\n");
         if (resourceMethod.isDeprecated())
             builder.append("CAUTION: deprecated\n\n");
+        if (resourceMethod.isDegraded())
+            builder.append("WARNING: analysis degraded to the method signature\n\n");
     }
 
     @Override
@@ -48,6 +48,8 @@ public class PlainTextBackend extends StringBackend {
         builder.append(resource).append(":\n");
         if (resourceMethod.isDeprecated())
             builder.append(" Deprecated\n");
+        if (resourceMethod.isDegraded())
+            builder.append(" Analysis degraded to the method signature\n");
     }
 
     @Override
@@ -157,6 +157,10 @@ public class SwaggerBackend implements Backend {
         if (method.isDeprecated())
             builder.add("deprecated", true);
 
+        // vendor extension, the documented operation is only based on the method signature
+        if (method.isDegraded())
+            builder.add("x-analysis-degraded", true);
+
         if (options.isRenderTags())
             Optional.ofNullable(extractTag(s)).ifPresent(t -> builder.add("tags", Json.createArrayBuilder().add(t)));
 
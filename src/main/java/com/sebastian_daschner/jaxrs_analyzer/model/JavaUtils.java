@@ -207,13 +207,20 @@ public final class JavaUtils {
             return false;
         }
 
+        final boolean bothTypesParameterized = hasTypeParameters(leftType) && hasTypeParameters(rightType);
+        final boolean typeParametersMatch = firstTypeArray || !bothTypesParameterized || getTypeParameters(leftType).equals(getTypeParameters(rightType));
+
+        // platform types are not loaded
+        final Boolean platformTypeAssignable = PlatformTypes.isAssignableTo(toClassName(leftType), toClassName(rightType));
+        if (platformTypeAssignable != null)
+            return platformTypeAssignable && typeParametersMatch;
+
         final Class<?> leftClass = loadClassFromType(leftType);
         final Class<?> rightClass = loadClassFromType(rightType);
         if (leftClass == null || rightClass == null)
             return false;
 
-        final boolean bothTypesParameterized = hasTypeParameters(leftType) && hasTypeParameters(rightType);
-        return rightClass.isAssignableFrom(leftClass) && (firstTypeArray || !bothTypesParameterized || getTypeParameters(leftType).equals(getTypeParameters(rightType)));
+        return rightClass.isAssignableFrom(leftClass) && typeParametersMatch;
     }
 
     private static boolean hasTypeParameters(final String type) {
@@ -335,6 +342,15 @@ public final class JavaUtils {
             return emptyMap();
         final Map<String, String> variables = new HashMap<>();
         final List<String> actualTypeParameters = getTypeParameters(type);
+
+        final List<String> platformTypeParameters = PlatformTypes.getTypeParameters(toClassName(type));
+        if (platformTypeParameters != null) {
+            for (int i = 0; i < actualTypeParameters.size() && i < platformTypeParameters.size(); i++) {
+                variables.put(platformTypeParameters.get(i), actualTypeParameters.get(i));
+            }
+            return variables;
+        }
+
         final Class<?> loadedClass = loadClassFromType(type);
         if (loadedClass == null) {
             LogProvider.debug("could not load class for type " + type);
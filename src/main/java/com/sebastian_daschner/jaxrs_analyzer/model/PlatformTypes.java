@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.model;
+
+import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Answers hierarchy and metadata questions about the JDK and Java EE platform types from a snapshot which is generated at build time
+ * (see {@link PlatformTypesGenerator}). The platform classes therefore don't have to be loaded during the analysis.
+ * The snapshot contains the fingerprints of the platform versions it has been generated with, i.e. the JDK specification version and
+ * checksums of the Java EE APIs. The types of a platform which differs in the current analysis are treated as unknown, as well as
+ * types which are missing in the snapshot; the callers fall back to loading these classes.
+ * If the snapshot is not available, e.g. when the sources haven't been built with Maven, all questions remain unanswered.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public final class PlatformTypes {
+
+    static final String RESOURCE = "META-INF/jaxrs-analyzer/platform-types";
+
+    static final String JDK_PLATFORM = "java/";
+
+    /**
+     * The Java EE platforms by their packages with the reference classes of which the checksums identify the API versions.
+     */
+    static final Map<String, String> JAVA_EE_PLATFORMS = Collections.unmodifiableMap(new LinkedHashMap<String, String>() {{
+        put("javax/ws/rs/", Types.CLASS_RESPONSE);
+        put("javax/json/", "javax/json/JsonValue");
+    }});
+
+    private static volatile CurrentPlatforms currentPlatforms;
+
+    private PlatformTypes() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks if the given class is contained in the snapshot.
+     *
+     * @param className The class name (in JVM notation, e.g. {@code java/util/List})
+     * @return {@code true} if the class is a known platform type
+     */
+    public static boolean isPlatformType(final String className) {
+        return type(className) != null;
+    }
+
+    /**
+     * Checks if the left class is assignable to the right class. Type parameters are not taken into account.
+     * Platform types are never assignable to non-platform types.
+     *
+     * @param leftClassName  The left class name (in JVM notation)
+     * @param rightClassName The right class name (in JVM notation)
+     * @return The result or {@code null} if the left class is not a known platform type
+     */
+    public static Boolean isAssignableTo(final String leftClassName, final String rightClassName) {
+        final PlatformType type = type(leftClassName);
+        if (type == null)
+            return null;
+
+        return leftClassName.equals(rightClassName) || Types.CLASS_OBJECT.equals(rightClassName) || type.superTypes.contains(rightClassName);
+    }
+
+    /**
+     * Returns the names of the type parameters of the given class.
+     *
+     * @param className The class name (in JVM notation)
+     * @return The type parameter names (e.g. {@code [K, V]}) or {@code null} if the class is not a known platform type
+     */
+    public static List<String> getTypeParameters(final String className) {
+        final PlatformType type = type(className);
+        return type == null ? null : type.typeParameters;
+    }
+
+    /**
+     * Checks if the given class is an enum.
+     *
+     * @param className The class name (in JVM notation)
+     * @return The result or {@code null} if the class is not a known platform type
+     */
+    public static Boolean isEnum(final String className) {
+        final PlatformType type = type(className);
+        return type == null ? null : type.enumType;
+    }
+
+    /**
+     * Checks if the given class is annotated with one of the JAXB annotations which define the XML metadata of a class,
+     * see {@link com.sebastian_daschner.jaxrs_analyzer.model.rest.XMLMetadata#extract(java.lang.reflect.AnnotatedElement)}.
+     *
+     * @param className The class name (in JVM notation)
+     * @return The result or {@code null} if the class is not a known platform type
+     */
+    public static Boolean isXmlAnnotated(final String className) {
+        final PlatformType type = type(className);
+        return type == null ? null : type.xmlAnnotated;
+    }
+
+    /**
+     * Returns the snapshot of the class if the class belongs to a platform which is current in the analysis of this thread.
+     */
+    private static PlatformType type(final String className) {
+        final PlatformType type = Snapshot.TYPES.get(className);
+        if (type == null)
+            return null;
+
+        final String platform = platform(className);
+        if (JDK_PLATFORM.equals(platform))
+            return Snapshot.JDK_CURRENT ? type : null;
+
+        final ClassLoader classLoader = ContextClassReader.getClassLoader();
+        CurrentPlatforms current = currentPlatforms;
+        if (current == null || current.classLoader.get() != classLoader) {
+            current = new CurrentPlatforms(classLoader);
+            currentPlatforms = current;
+        }
+        return current.platforms.contains(platform) ? type : null;
+    }
+
+    private static String platform(final String className) {
+        return JAVA_EE_PLATFORMS.keySet().stream().filter(className::startsWith).findAny().orElse(JDK_PLATFORM);
+    }
+
+    /**
+     * Returns the fingerprint of a platform as it is loaded by the given class loader: the JDK specification version
+     * or the checksum of the reference class of a Java EE API.
+     *
+     * @param platform    The platform package, see {@link #JDK_PLATFORM} and {@link #JAVA_EE_PLATFORMS}
+     * @param classLoader The class loader of the Java EE APIs
+     * @return The fingerprint or {@code null} if the platform is not available
+     */
+    static String fingerprint(final String platform, final ClassLoader classLoader) {
+        if (JDK_PLATFORM.equals(platform))
+            return System.getProperty("java.specification.version");
+
+        try (final InputStream stream = classLoader.getResourceAsStream(JAVA_EE_PLATFORMS.get(platform) + ".class")) {
+            if (stream == null)
+                return null;
+
+            final CRC32 checksum = new CRC32();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) >= 0)
+                checksum.update(buffer, 0, read);
+            return Long.toHexString(checksum.getValue());
+        } catch (IOException e) {
+            LogProvider.debug("Could not read the reference class of " + platform + ", reason: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Parses a line of the snapshot: {@code className <TAB> flags <TAB> typeParameters <TAB> superTypes}, the lists are comma-separated.
+     * The super types contain all transitive super classes and interfaces except {@code java/lang/Object}.
+     * Header lines contain the fingerprints of the platforms: {@code # platform <TAB> fingerprint}.
+     */
+    static void parse(final String line, final Map<String, PlatformType> types, final Map<String, String> names, final Map<String, String> fingerprints) {
+        if (line.startsWith("#")) {
+            final String[] columns = line.substring(1).split("\t", -1);
+            if (columns.length != 2)
+                throw new IllegalArgumentException("Malformed platform fingerprint " + line);
+            fingerprints.put(columns[0], columns[1]);
+            return;
+        }
+
+        final String[] columns = line.split("\t", -1);
+        if (columns.length != 4)
+            throw new IllegalArgumentException("Malformed platform type " + line);
+
+        final List<String> typeParameters = columns[2].isEmpty() ? Collections.emptyList() : Arrays.asList(columns[2].split(","));
+        final Set<String> superTypes = new HashSet<>();
+        if (!columns[3].isEmpty())
+            Stream.of(columns[3].split(",")).map(n -> names.computeIfAbsent(n, k -> k)).forEach(superTypes::add);
+
+        final String className = names.computeIfAbsent(columns[0], k -> k);
+        types.put(className, new PlatformType(columns[1].indexOf('e') >= 0, columns[1].indexOf('x') >= 0, Collections.unmodifiableList(typeParameters), superTypes));
+    }
+
+    static class PlatformType {
+
+        private final boolean enumType;
+        private final boolean xmlAnnotated;
+        private final List<String> typeParameters;
+        private final Set<String> superTypes;
+
+        PlatformType(final boolean enumType, final boolean xmlAnnotated, final List<String> typeParameters, final Set<String> superTypes) {
+            this.enumType = enumType;
+            this.xmlAnnotated = xmlAnnotated;
+            this.typeParameters = typeParameters;
+            this.superTypes = superTypes;
+        }
+
+    }
+
+    /**
+     * The Java EE platforms which are loaded by a class loader in the same versions as in the snapshot.
+     */
+    private static class CurrentPlatforms {
+
+        private final WeakReference<ClassLoader> classLoader;
+        private final Set<String> platforms = new HashSet<>();
+
+        CurrentPlatforms(final ClassLoader classLoader) {
+            this.classLoader = new WeakReference<>(classLoader);
+            for (final String platform : JAVA_EE_PLATFORMS.keySet()) {
+                final String fingerprint = Snapshot.FINGERPRINTS.get(platform);
+                if (fingerprint != null && fingerprint.equals(fingerprint(platform, classLoader)))
+                    platforms.add(platform);
+                else
+                    LogProvider.debug("The platform types of " + platform + " differ from the snapshot, the classes will be loaded");
+            }
+        }
+
+    }
+
+    /**
+     * Loads the snapshot on first access.
+     */
+    private static class Snapshot {
+
+        private static final Map<String, String> FINGERPRINTS = new HashMap<>();
+        private static final Map<String, PlatformType> TYPES = load();
+        private static final boolean JDK_CURRENT = isJdkCurrent();
+
+        private static Map<String, PlatformType> load() {
+            final InputStream stream = PlatformTypes.class.getClassLoader().getResourceAsStream(RESOURCE);
+            if (stream == null) {
+                LogProvider.debug("No platform type snapshot available, platform classes will be loaded");
+                return Collections.emptyMap();
+            }
+
+            final Map<String, PlatformType> types = new HashMap<>();
+            final Map<String, String> names = new HashMap<>();
+            try (final BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isEmpty())
+                        parse(line, types, names, FINGERPRINTS);
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                LogProvider.error("Could not read the platform type snapshot, reason: " + e.getMessage());
+                LogProvider.debug(e);
+                FINGERPRINTS.clear();
+                return Collections.emptyMap();
+            }
+            return types;
+        }
+
+        private static boolean isJdkCurrent() {
+            final boolean current = Objects.equals(FINGERPRINTS.get(JDK_PLATFORM), fingerprint(JDK_PLATFORM, null));
+            if (!current && !TYPES.isEmpty())
+                LogProvider.debug("The platform type snapshot has been generated for another JDK, the JDK classes will be loaded");
+            return current;
+        }
+
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.model;
+
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.TypeVariable;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates the snapshot of the JDK and Java EE platform types which is read by {@link PlatformTypes}.
+ * The generator is invoked at build time with the output file as argument.
+ * The snapshot starts with the fingerprints of the JDK and Java EE versions it has been generated with.
+ *
+ * @author Sebastian Daschner
+ */
+public final class PlatformTypesGenerator {
+
+    /**
+     * The JDK packages of which the direct classes are contained in the snapshot.
+     */
+    private static final List<String> JDK_PACKAGES = Arrays.asList("java/lang/", "java/util/", "java/util/concurrent/", "java/math/", "java/time/",
+            "java/net/", "java/io/", "java/nio/", "java/sql/");
+
+    /**
+     * The Java EE packages of which all classes, including sub-packages, are contained in the snapshot.
+     */
+    private static final List<String> JAVA_EE_PACKAGES = new ArrayList<>(PlatformTypes.JAVA_EE_PLATFORMS.keySet());
+
+    /**
+     * The annotations which define the XML metadata of a class.
+     */
+    private static final List<Class<? extends Annotation>> XML_ANNOTATIONS = Arrays.asList(XmlRootElement.class, XmlType.class, XmlElement.class, XmlAttribute.class);
+
+    private static final Pattern ANONYMOUS_CLASS = Pattern.compile(".*\\$\\d.*");
+
+    private PlatformTypesGenerator() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void main(final String... args) throws IOException {
+        if (args.length != 1)
+            throw new IllegalArgumentException("Usage: PlatformTypesGenerator <output file>");
+
+        final Set<String> classNames = new TreeSet<>();
+        classNames.addAll(findClassNames(Types.CLASS_OBJECT, JDK_PACKAGES, false));
+        classNames.addAll(findClassNames(Types.CLASS_RESPONSE, JAVA_EE_PACKAGES, true));
+
+        final List<String> lines = new ArrayList<>();
+        lines.add(fingerprint(PlatformTypes.JDK_PLATFORM));
+        JAVA_EE_PACKAGES.stream().map(PlatformTypesGenerator::fingerprint).forEach(lines::add);
+        classNames.stream().filter(c -> !ANONYMOUS_CLASS.matcher(c).matches())
+                .map(PlatformTypesGenerator::describe).filter(Objects::nonNull).forEach(lines::add);
+
+        final Path output = Paths.get(args[0]);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.write(output, lines, StandardCharsets.UTF_8);
+    }
+
+    private static String fingerprint(final String platform) {
+        final String fingerprint = PlatformTypes.fingerprint(platform, PlatformTypesGenerator.class.getClassLoader());
+        if (fingerprint == null)
+            throw new IllegalStateException("Could not determine the version of " + platform);
+        return '#' + platform + '\t' + fingerprint;
+    }
+
+    /**
+     * Returns the names of the classes in the given packages of the location (jar-file or JDK module) which contains the reference class.
+     */
+    private static Set<String> findClassNames(final String referenceClass, final List<String> packages, final boolean recursive) throws IOException {
+        final URL resource = PlatformTypesGenerator.class.getClassLoader().getResource(referenceClass + ".class");
+        if (resource == null)
+            throw new IllegalStateException("Could not find " + referenceClass);
+
+        final Stream<String> entries;
+        if ("jar".equals(resource.getProtocol())) {
+            final String location = resource.getPath().substring(0, resource.getPath().indexOf("!/"));
+            try (final JarFile jarFile = new JarFile(Paths.get(URI.create(location)).toFile())) {
+                entries = jarFile.stream().map(JarEntry::getName).collect(Collectors.toList()).stream();
+            }
+        } else if ("jrt".equals(resource.getProtocol())) {
+            // e.g. jrt:/java.base/java/lang/Object.class
+            final String module = resource.getPath().split("/")[1];
+            final Path root = FileSystems.getFileSystem(URI.create("jrt:/")).getPath("/modules", module);
+            try (final Stream<Path> paths = Files.walk(root)) {
+                entries = paths.map(p -> root.relativize(p).toString()).collect(Collectors.toList()).stream();
+            }
+        } else {
+            throw new IllegalStateException("Unsupported location " + resource);
+        }
+
+        return entries.filter(e -> e.endsWith(".class")).map(e -> e.substring(0, e.length() - ".class".length()))
+                .filter(c -> packages.stream().anyMatch(p -> c.startsWith(p) && (recursive || c.indexOf('/', p.length()) < 0)))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the snapshot line of the class or {@code null} if the class is not public.
+     */
+    private static String describe(final String className) {
+        final Class<?> clazz;
+        try {
+            clazz = Class.forName(className.replace('/', '.'), false, PlatformTypesGenerator.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+
+        if (!Modifier.isPublic(clazz.getModifiers()))
+            return null;
+
+        final String flags = (clazz.isEnum() ? "e" : clazz.isInterface() ? "i" : "c") + (XML_ANNOTATIONS.stream().anyMatch(clazz::isAnnotationPresent) ? "x" : "");
+        final String typeParameters = Stream.of(clazz.getTypeParameters()).map(TypeVariable::getName).collect(Collectors.joining(","));
+        return className + '\t' + flags + '\t' + typeParameters + '\t' + String.join(",", superTypes(clazz));
+    }
+
+    private static Set<String> superTypes(final Class<?> clazz) {
+        final Set<String> superTypes = new TreeSet<>();
+        final Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(clazz);
+
+        while (!pending.isEmpty()) {
+            final Class<?> current = pending.poll();
+            Stream.concat(Stream.of(current.getSuperclass()), Stream.of(current.getInterfaces())).filter(Objects::nonNull)
+                    .filter(c -> c != Object.class && superTypes.add(c.getName().replace('.', '/'))).forEach(pending::add);
+        }
+        return superTypes;
+    }
+
+}
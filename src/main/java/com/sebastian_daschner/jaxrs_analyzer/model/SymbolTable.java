@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.model;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns the class names, method names and type descriptors which are read from the bytecode of an analysis to canonical instances.
+ * Identifiers and type sets hold the canonical instances, the (heavily duplicated) descriptors are only kept once
+ * and compared by identity first.
+ * <p>
+ * Every analysis owns its table, which is cleared when the analysis is closed. Identifiers stay valid afterwards, as they hold the symbols themselves,
+ * symbols which are interned after the table has been cleared simply aren't identical anymore.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public class SymbolTable {
+
+    private final Map<String, String> symbols = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the canonical instance of the given symbol. The symbol is interned if it is not yet known.
+     *
+     * @param symbol The symbol, e.g. a JVM type descriptor
+     * @return The equal, interned symbol
+     */
+    public String intern(final String symbol) {
+        Objects.requireNonNull(symbol);
+        final String existing = symbols.putIfAbsent(symbol, symbol);
+        return existing != null ? existing : symbol;
+    }
+
+    /**
+     * Returns the number of interned symbols.
+     *
+     * @return The size of the table
+     */
+    public int size() {
+        return symbols.size();
+    }
+
+    /**
+     * Releases all interned symbols.
+     */
+    public void clear() {
+        symbols.clear();
+    }
+
+}
@@ -17,8 +17,6 @@
 package com.sebastian_daschner.jaxrs_analyzer.model.elements;
 
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
 
 import static com.sebastian_daschner.jaxrs_analyzer.model.Types.OBJECT;
@@ -34,18 +32,20 @@ public class Element {
     private final Set<String> types;
 
     public Element() {
-        this(Collections.singleton(OBJECT));
+        this(OBJECT);
     }
 
     public Element(final String type, final Object... values) {
-        this(Collections.singleton(type), values);
+        this(new TypeSet(type), values);
     }
 
     public Element(final Set<String> types, final Object... values) {
-        Objects.requireNonNull(types);
+        this(new TypeSet(types), values);
+    }
 
-        this.types = new HashSet<>(types);
-        possibleValues = new HashSet<>();
+    private Element(final TypeSet types, final Object[] values) {
+        this.types = types;
+        possibleValues = new ValueSet();
 
         // allow null as vararg argument
         if (values == null)
@@ -54,6 +54,16 @@ public class Element {
             Collections.addAll(possibleValues, values);
     }
 
+    /**
+     * Creates a copy of the given element. The types and possible values are shared until one of the elements is modified.
+     *
+     * @param element The element to copy
+     */
+    public Element(final Element element) {
+        types = new TypeSet(element.types);
+        possibleValues = new ValueSet((ValueSet) element.possibleValues);
+    }
+
     /**
      * Merges the other element into this element.
      *
@@ -74,6 +84,13 @@ public class Element {
         return types;
     }
 
+    /**
+     * Returns {@code true} if the possible values have been widened, i.e. the element may hold any value of its types.
+     */
+    public boolean isWidened() {
+        return ((ValueSet) possibleValues).isWidened();
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -81,6 +98,8 @@ public class Element {
 
         final Element element = (Element) o;
 
+        // a widened element represents any value, not no value
+        if (isWidened() != element.isWidened()) return false;
         if (!possibleValues.equals(element.possibleValues)) return false;
         return types.equals(element.types);
     }
@@ -89,6 +108,7 @@ public class Element {
     public int hashCode() {
         int result = possibleValues.hashCode();
         result = 31 * result + types.hashCode();
+        result = 31 * result + (isWidened() ? 1 : 0);
         return result;
     }
 
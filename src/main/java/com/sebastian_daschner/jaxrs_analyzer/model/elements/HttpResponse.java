@@ -27,8 +27,9 @@ public class HttpResponse {
     private final Set<Integer> statuses = new HashSet<>();
     private final Set<String> headers = new HashSet<>();
     private final Set<String> contentTypes = new HashSet<>();
-    private final Set<String> entityTypes = new HashSet<>();
+    private final Set<String> entityTypes = new TypeSet();
     private final Set<JsonValue> inlineEntities = new HashSet<>();
+    private boolean widenedStatuses;
 
     public Set<Integer> getStatuses() {
         return statuses;
@@ -50,6 +51,17 @@ public class HttpResponse {
         return inlineEntities;
     }
 
+    /**
+     * Returns {@code true} if the response was built with widened statuses, i.e. any status is possible besides the known statuses.
+     */
+    public boolean isWidenedStatuses() {
+        return widenedStatuses;
+    }
+
+    public void setWidenedStatuses(final boolean widenedStatuses) {
+        this.widenedStatuses = widenedStatuses;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -57,6 +69,7 @@ public class HttpResponse {
 
         final HttpResponse that = (HttpResponse) o;
 
+        if (widenedStatuses != that.widenedStatuses) return false;
         if (!statuses.equals(that.statuses)) return false;
         if (!headers.equals(that.headers)) return false;
         if (!contentTypes.equals(that.contentTypes)) return false;
@@ -71,6 +84,7 @@ public class HttpResponse {
         result = 31 * result + contentTypes.hashCode();
         result = 31 * result + entityTypes.hashCode();
         result = 31 * result + inlineEntities.hashCode();
+        result = 31 * result + (widenedStatuses ? 1 : 0);
         return result;
     }
 
@@ -82,6 +96,7 @@ public class HttpResponse {
                 ", contentTypes=" + contentTypes +
                 ", entityTypes=" + entityTypes +
                 ", inlineEntities=" + inlineEntities +
+                ", widenedStatuses=" + widenedStatuses +
                 '}';
     }
 
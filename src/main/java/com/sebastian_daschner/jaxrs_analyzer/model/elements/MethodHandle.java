@@ -44,16 +44,23 @@ public class MethodHandle extends Element implements Method {
      */
     private final List<Element> transferredArguments = new LinkedList<>();
 
-    public MethodHandle(final String returnType, final MethodIdentifier handleIdentifier, final List<Element> transferredArguments) {
+    /**
+     * The method pool of the analysis where the encapsulated methods are taken from.
+     */
+    private final MethodPool methodPool;
+
+    public MethodHandle(final String returnType, final MethodIdentifier handleIdentifier, final List<Element> transferredArguments, final MethodPool methodPool) {
         super(returnType);
         this.possibleIdentifiers.add(handleIdentifier);
         this.transferredArguments.addAll(transferredArguments);
+        this.methodPool = methodPool;
     }
 
     public MethodHandle(final MethodHandle methodHandle) {
         super(methodHandle.getTypes());
         this.possibleIdentifiers.addAll(methodHandle.possibleIdentifiers);
         this.transferredArguments.addAll(methodHandle.transferredArguments);
+        this.methodPool = methodHandle.methodPool;
     }
 
     public Set<MethodIdentifier> getPossibleIdentifiers() {
@@ -70,7 +77,7 @@ public class MethodHandle extends Element implements Method {
         final List<Element> combinedArguments = Stream.concat(transferredArguments.stream(), arguments.stream()).collect(Collectors.toList());
         return possibleIdentifiers.stream()
                 .map(i -> {
-                    final Method method = MethodPool.getInstance().get(i);
+                    final Method method = methodPool.get(i);
                     if (!i.isStaticMethod()) {
                         final List<Element> actualArguments = new ArrayList<>(combinedArguments);
                         final Element object = actualArguments.isEmpty() ? new Element() : actualArguments.remove(0);
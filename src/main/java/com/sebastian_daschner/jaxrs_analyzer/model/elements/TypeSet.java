@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.model.elements;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A set of JVM types which stores the types in a plain array, the types which are read from the bytecode are interned by the analysis
+ * and therefore mostly compared by identity.
+ * The types are kept in insertion order; element type sets usually only contain very few types.
+ * A single type is stored inline, copies share the array: only the set which has allocated the array appends to it in place, behind the types
+ * of all copies, every other modification copies the array first. Copying therefore doesn't modify the copied set, which may be read concurrently.
+ *
+ * @author Sebastian Daschner
+ */
+final class TypeSet extends AbstractSet<String> {
+
+    private String single;
+    private String[] types;
+    private int size;
+    private boolean arrayOwner;
+
+    TypeSet() {
+    }
+
+    TypeSet(final String type) {
+        single = Objects.requireNonNull(type);
+        size = 1;
+    }
+
+    TypeSet(final Collection<String> types) {
+        if (types instanceof TypeSet)
+            copyOf((TypeSet) types);
+        else
+            addAll(types);
+    }
+
+    private void copyOf(final TypeSet other) {
+        single = other.single;
+        size = other.size;
+        types = other.types;
+        arrayOwner = false;
+    }
+
+    @Override
+    public boolean add(final String type) {
+        return addType(Objects.requireNonNull(type));
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends String> types) {
+        if (!(types instanceof TypeSet))
+            return super.addAll(types);
+
+        final TypeSet other = (TypeSet) types;
+        if (size == 0) {
+            copyOf(other);
+            return size > 0;
+        }
+
+        boolean changed = false;
+        for (int i = 0; i < other.size; i++)
+            changed |= addType(other.typeAt(i));
+        return changed;
+    }
+
+    private boolean addType(final String type) {
+        if (indexOf(type) >= 0)
+            return false;
+
+        if (size == 0 && types == null) {
+            single = type;
+        } else {
+            if (types == null) {
+                types = new String[4];
+                types[0] = single;
+                arrayOwner = true;
+            } else if (!arrayOwner || size == types.length) {
+                types = Arrays.copyOf(types, size == types.length ? size << 1 : types.length);
+                arrayOwner = true;
+            }
+            types[size] = type;
+        }
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object type) {
+        return type instanceof String && indexOf((String) type) >= 0;
+    }
+
+    @Override
+    public boolean remove(final Object type) {
+        if (!(type instanceof String))
+            return false;
+
+        final int index = indexOf((String) type);
+        if (index < 0)
+            return false;
+
+        removeAt(index);
+        return true;
+    }
+
+    private void removeAt(final int index) {
+        if (types == null) {
+            size = 0;
+            return;
+        }
+
+        // copies may share the removed type
+        types = types.clone();
+        arrayOwner = true;
+        System.arraycopy(types, index + 1, types, index, size - index - 1);
+        size--;
+    }
+
+    private int indexOf(final String type) {
+        for (int i = 0; i < size; i++) {
+            if (typeAt(i).equals(type))
+                return i;
+        }
+        return -1;
+    }
+
+    private String typeAt(final int index) {
+        return types == null ? single : types[index];
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        types = null;
+        arrayOwner = false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+
+            private int next;
+            private boolean removable;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public String next() {
+                if (next >= size)
+                    throw new NoSuchElementException();
+                removable = true;
+                return typeAt(next++);
+            }
+
+            @Override
+            public void remove() {
+                if (!removable)
+                    throw new IllegalStateException();
+                removeAt(--next);
+                removable = false;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof TypeSet))
+            return super.equals(o);
+
+        final TypeSet that = (TypeSet) o;
+        if (size != that.size)
+            return false;
+
+        for (int i = 0; i < size; i++) {
+            if (that.indexOf(typeAt(i)) < 0)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // has to be compatible to other sets of strings
+        return super.hashCode();
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.model.elements;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A small, array-based set of the possible values of an element (may contain {@code null}).
+ * A single value is stored inline, copies share the array: only the set which has allocated the array appends to it in place, behind the values
+ * of all copies, every other modification copies the array first. Copying therefore doesn't modify the copied set, which may be read concurrently.
+ * The set is widened to an empty, saturated set once it would exceed the maximum number of values of the active {@link Widening},
+ * meaning any value of the element types is possible. A widened set equals any other empty set, the widening is compared by the owning {@link Element}.
+ *
+ * @author Sebastian Daschner
+ */
+final class ValueSet extends AbstractSet<Object> {
+
+    private Object single;
+    private Object[] values;
+    private int size;
+    private boolean arrayOwner;
+    private boolean widened;
+
+    ValueSet() {
+    }
+
+    ValueSet(final ValueSet other) {
+        copyOf(other);
+    }
+
+    private void copyOf(final ValueSet other) {
+        single = other.single;
+        size = other.size;
+        values = other.values;
+        widened = other.widened;
+        arrayOwner = false;
+    }
+
+    @Override
+    public boolean add(final Object value) {
+        if (widened || indexOf(value) >= 0)
+            return false;
+
+        final Widening widening = Widening.active();
+        if (size >= widening.getMaxPossibleValues()) {
+            widen();
+            widening.widened();
+            return true;
+        }
+
+        if (size == 0 && values == null) {
+            single = value;
+        } else {
+            if (values == null) {
+                values = new Object[4];
+                values[0] = single;
+                single = null;
+                arrayOwner = true;
+            } else if (!arrayOwner || size == values.length) {
+                values = Arrays.copyOf(values, size == values.length ? size << 1 : values.length);
+                arrayOwner = true;
+            }
+            values[size] = value;
+        }
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(final Collection<?> collection) {
+        if (collection instanceof ValueSet && ((ValueSet) collection).widened) {
+            if (widened)
+                return false;
+            widen();
+            return true;
+        }
+
+        if (size == 0 && !widened && collection instanceof ValueSet) {
+            copyOf((ValueSet) collection);
+            return size > 0;
+        }
+        return super.addAll(collection);
+    }
+
+    @Override
+    public boolean contains(final Object value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public boolean remove(final Object value) {
+        final int index = indexOf(value);
+        if (index < 0)
+            return false;
+
+        removeAt(index);
+        return true;
+    }
+
+    private void removeAt(final int index) {
+        if (values == null) {
+            single = null;
+            size = 0;
+            return;
+        }
+
+        // copies may share the removed value
+        values = values.clone();
+        arrayOwner = true;
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        values[--size] = null;
+    }
+
+    private int indexOf(final Object value) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(valueAt(i), value))
+                return i;
+        }
+        return -1;
+    }
+
+    private Object valueAt(final int index) {
+        return values == null ? single : values[index];
+    }
+
+    @Override
+    public void clear() {
+        single = null;
+        values = null;
+        size = 0;
+        arrayOwner = false;
+        widened = false;
+    }
+
+    private void widen() {
+        clear();
+        widened = true;
+    }
+
+    /**
+     * Returns {@code true} if this set has been widened to any value.
+     */
+    boolean isWidened() {
+        return widened;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        return new Iterator<Object>() {
+
+            private int next;
+            private boolean removable;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Object next() {
+                if (next >= size)
+                    throw new NoSuchElementException();
+                removable = true;
+                return valueAt(next++);
+            }
+
+            @Override
+            public void remove() {
+                if (!removable)
+                    throw new IllegalStateException();
+                removeAt(--next);
+                removable = false;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.model.elements;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the possible values of elements. Once an element would exceed the maximum number of distinct possible values
+ * its values are widened, i.e. the element represents any value of its types from then on.
+ * Every analysis owns its widening, which is activated for the analyzing threads, e.g. together with the {@code AnalysisBudget};
+ * elements which are created outside of an analysis are bounded by the default maximum.
+ * This class is thread-safe.
+ *
+ * @author Sebastian Daschner
+ */
+public final class Widening {
+
+    public static final int DEFAULT_MAX_POSSIBLE_VALUES = 64;
+
+    private static final Widening DEFAULT = new Widening(DEFAULT_MAX_POSSIBLE_VALUES);
+    private static final ThreadLocal<Widening> ACTIVE = new ThreadLocal<>();
+
+    private final int maxPossibleValues;
+    private final AtomicLong wideningEvents = new AtomicLong();
+
+    /**
+     * @param maxPossibleValues The positive maximum number of distinct possible values of a single element
+     */
+    public Widening(final int maxPossibleValues) {
+        if (maxPossibleValues < 1)
+            throw new IllegalArgumentException("The maximum number of possible values has to be positive");
+        this.maxPossibleValues = maxPossibleValues;
+    }
+
+    public int getMaxPossibleValues() {
+        return maxPossibleValues;
+    }
+
+    /**
+     * Returns the number of value sets which have been widened by this widening.
+     */
+    public long getWideningEvents() {
+        return wideningEvents.get();
+    }
+
+    void widened() {
+        wideningEvents.incrementAndGet();
+    }
+
+    /**
+     * Activates the given widening for the current thread.
+     *
+     * @param widening The widening
+     * @return The previously active widening (or {@code null}), which has to be {@link #restore(Widening) restored} afterwards
+     */
+    public static Widening activate(final Widening widening) {
+        final Widening previous = ACTIVE.get();
+        ACTIVE.set(widening);
+        return previous;
+    }
+
+    /**
+     * Restores the previously active widening for the current thread.
+     *
+     * @param previous The widening which has been returned by {@link #activate(Widening)}
+     */
+    public static void restore(final Widening previous) {
+        if (previous == null)
+            ACTIVE.remove();
+        else
+            ACTIVE.set(previous);
+    }
+
+    /**
+     * Returns the widening which is active for the current thread or the default widening.
+     */
+    static Widening active() {
+        final Widening widening = ACTIVE.get();
+        return widening != null ? widening : DEFAULT;
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.model.javadoc;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The documentation of a class, including the comments of its (annotated) fields.
+ * This class is immutable.
+ *
+ * @author Sebastian Daschner
+ */
+public class ClassComment extends JavaDocComment {
+
+    private final List<MemberParameterTag> fieldComments;
+
+    public ClassComment(final String comment, final List<MemberParameterTag> fieldComments, final boolean deprecated) {
+        super(comment, deprecated);
+        this.fieldComments = Collections.unmodifiableList(fieldComments);
+    }
+
+    public List<MemberParameterTag> getFieldComments() {
+        return fieldComments;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!super.equals(o)) return false;
+        return fieldComments.equals(((ClassComment) o).fieldComments);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + fieldComments.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ClassComment{" +
+                "comment='" + getComment() + '\'' +
+                ", fieldComments=" + fieldComments +
+                ", deprecated=" + isDeprecated() +
+                '}';
+    }
+
+}
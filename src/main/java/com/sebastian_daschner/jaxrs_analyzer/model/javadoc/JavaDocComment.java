@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.model.javadoc;
+
+/**
+ * The documentation of a documented element, i.e. the comment text without block tags and the deprecation.
+ * This class is immutable.
+ *
+ * @author Sebastian Daschner
+ */
+public abstract class JavaDocComment {
+
+    private final String comment;
+    private final boolean deprecated;
+
+    protected JavaDocComment(final String comment, final boolean deprecated) {
+        this.comment = comment;
+        this.deprecated = deprecated;
+    }
+
+    /**
+     * Returns the comment text or an empty string if the element is not commented.
+     */
+    public String getComment() {
+        return comment;
+    }
+
+    /**
+     * Returns whether the comment contains a {@code @deprecated} tag.
+     */
+    public boolean isDeprecated() {
+        return deprecated;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final JavaDocComment that = (JavaDocComment) o;
+
+        if (deprecated != that.deprecated) return false;
+        return comment != null ? comment.equals(that.comment) : that.comment == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = comment != null ? comment.hashCode() : 0;
+        result = 31 * result + (deprecated ? 1 : 0);
+        return result;
+    }
+
+}
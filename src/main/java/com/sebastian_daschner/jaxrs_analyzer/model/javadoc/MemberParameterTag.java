@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.model.javadoc;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The documentation of a method parameter (the {@code @param} tag) or a field together with its annotations.
+ * The annotations are needed to match the documented member with the JAX-RS parameters.
+ * This class is immutable.
+ *
+ * @author Sebastian Daschner
+ */
+public class MemberParameterTag {
+
+    private final String comment;
+    private final Map<String, String> annotations;
+
+    /**
+     * @param comment     The comment or {@code null} if the member is not documented
+     * @param annotations The fully-qualified annotation type names (e.g. {@code javax.ws.rs.PathParam}) and their {@code value} strings
+     *                    (or {@code null} if the annotation has no string value)
+     */
+    public MemberParameterTag(final String comment, final Map<String, String> annotations) {
+        this.comment = comment;
+        this.annotations = Collections.unmodifiableMap(annotations);
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public Map<String, String> getAnnotations() {
+        return annotations;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final MemberParameterTag that = (MemberParameterTag) o;
+
+        if (comment != null ? !comment.equals(that.comment) : that.comment != null) return false;
+        return annotations.equals(that.annotations);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = comment != null ? comment.hashCode() : 0;
+        result = 31 * result + annotations.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "MemberParameterTag{" +
+                "comment='" + comment + '\'' +
+                ", annotations=" + annotations +
+                '}';
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.model.javadoc;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The documentation of a method. Contains a tag per method parameter (in declaration order) and the documentation of the containing class.
+ * This class is immutable.
+ *
+ * @author Sebastian Daschner
+ */
+public class MethodComment extends JavaDocComment {
+
+    private final List<MemberParameterTag> paramTags;
+    private final ClassComment containingClassComment;
+
+    public MethodComment(final String comment, final List<MemberParameterTag> paramTags, final ClassComment containingClassComment, final boolean deprecated) {
+        super(comment, deprecated);
+        this.paramTags = Collections.unmodifiableList(paramTags);
+        this.containingClassComment = containingClassComment;
+    }
+
+    public List<MemberParameterTag> getParamTags() {
+        return paramTags;
+    }
+
+    /**
+     * Returns the documentation of the containing class or {@code null} if unknown.
+     */
+    public ClassComment getContainingClassComment() {
+        return containingClassComment;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!super.equals(o)) return false;
+
+        final MethodComment that = (MethodComment) o;
+
+        if (!paramTags.equals(that.paramTags)) return false;
+        return containingClassComment != null ? containingClassComment.equals(that.containingClassComment) : that.containingClassComment == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + paramTags.hashCode();
+        result = 31 * result + (containingClassComment != null ? containingClassComment.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "MethodComment{" +
+                "comment='" + getComment() + '\'' +
+                ", paramTags=" + paramTags +
+                ", deprecated=" + isDeprecated() +
+                '}';
+    }
+
+}
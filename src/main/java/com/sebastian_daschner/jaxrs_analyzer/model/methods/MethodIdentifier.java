@@ -17,11 +17,13 @@
 package com.sebastian_daschner.jaxrs_analyzer.model.methods;
 
 import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
+import com.sebastian_daschner.jaxrs_analyzer.model.SymbolTable;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
 
@@ -43,7 +45,14 @@ public class MethodIdentifier {
      */
     private final String returnType;
     private final boolean staticMethod;
-    private final List<String> parameters;
+    private final String[] parameters;
+    private final List<String> parameterTypes;
+    private final int hashCode;
+
+    /**
+     * The erased parameter and return types (return type at the last position), computed on demand.
+     */
+    private volatile String[] erasedTypes;
 
     private MethodIdentifier(final String containingClass, final String methodName, final List<String> parameters, final String returnType, final boolean staticMethod) {
         Objects.requireNonNull(containingClass);
@@ -54,7 +63,9 @@ public class MethodIdentifier {
         this.methodName = methodName;
         this.returnType = returnType;
         this.staticMethod = staticMethod;
-        this.parameters = parameters;
+        this.parameters = parameters.toArray(new String[parameters.size()]);
+        parameterTypes = Collections.unmodifiableList(Arrays.asList(this.parameters));
+        hashCode = calculateHashCode();
     }
 
     /**
@@ -62,7 +73,8 @@ public class MethodIdentifier {
      */
     public String getSignature() {
         final StringBuilder builder = new StringBuilder("(");
-        parameters.forEach(builder::append);
+        for (final String parameter : parameters)
+            builder.append(parameter);
         return builder.append(')').append(returnType).toString();
     }
 
@@ -75,7 +87,7 @@ public class MethodIdentifier {
     }
 
     public List<String> getParameters() {
-        return parameters;
+        return parameterTypes;
     }
 
     public String getReturnType() {
@@ -97,39 +109,62 @@ public class MethodIdentifier {
         if (!containingClass.equals(that.containingClass)) return false;
         if (!methodName.equals(that.methodName)) return false;
 
-        if (parameters.equals(that.parameters))
+        if (Arrays.equals(parameters, that.parameters))
             return true;
 
         // fallback if signature matches after type erasure
-        if (parameters.size() == that.parameters.size()) {
-            final List<String> erasedTypes = parameters.stream().map(JavaUtils::toClassName).collect(Collectors.toList());
-            final List<String> erasedThatTypes = that.parameters.stream().map(JavaUtils::toClassName).collect(Collectors.toList());
-            final String erasedReturnType = JavaUtils.toClassName(returnType);
-            final String erasedThatReturnType = JavaUtils.toClassName(that.returnType);
-            return erasedTypes.equals(erasedThatTypes) && erasedReturnType.equals(erasedThatReturnType);
-        }
+        return parameters.length == that.parameters.length && Arrays.equals(getErasedTypes(), that.getErasedTypes());
+    }
+
+    /**
+     * Returns a key of the method signature after type erasure, e.g. to index identifiers.
+     * Identifiers which are equal have the same erased key.
+     *
+     * @return The erased key
+     */
+    public String getErasedKey() {
+        final StringBuilder builder = new StringBuilder(staticMethod ? "static " : "")
+                .append(containingClass).append('.').append(methodName).append('(');
+        final String[] erased = getErasedTypes();
+        for (int i = 0; i < parameters.length; i++)
+            builder.append(erased[i]).append(';');
+        return builder.append(')').append(erased[parameters.length]).toString();
+    }
 
-        return false;
+    private String[] getErasedTypes() {
+        String[] erased = erasedTypes;
+        if (erased == null) {
+            erased = new String[parameters.length + 1];
+            for (int i = 0; i < parameters.length; i++)
+                erased[i] = JavaUtils.toClassName(parameters[i]);
+            erased[parameters.length] = JavaUtils.toClassName(returnType);
+            erasedTypes = erased;
+        }
+        return erased;
     }
 
     @Override
     public int hashCode() {
+        return hashCode;
+    }
+
+    private int calculateHashCode() {
         int result = containingClass.hashCode();
         result = 31 * result + methodName.hashCode();
         result = 31 * result + returnType.hashCode();
         result = 31 * result + (staticMethod ? 1 : 0);
-        result = 31 * result + parameters.hashCode();
+        result = 31 * result + Arrays.hashCode(parameters);
         return result;
     }
 
     @Override
     public String toString() {
         return "MethodIdentifier{" +
-                "containingClass='" + containingClass + '\'' +
-                ", methodName='" + methodName + '\'' +
-                ", returnType='" + returnType + '\'' +
+                "containingClass='" + getContainingClass() + '\'' +
+                ", methodName='" + getMethodName() + '\'' +
+                ", returnType='" + getReturnType() + '\'' +
                 ", staticMethod=" + staticMethod +
-                ", parameters=" + parameters +
+                ", parameters=" + parameterTypes +
                 '}';
     }
 
@@ -148,6 +183,22 @@ public class MethodIdentifier {
         return new MethodIdentifier(containingClass, methodName, parameters, returnType, staticMethod);
     }
 
+    /**
+     * Creates an identifier of the given parameters with the canonical symbols of the given table, e.g. for methods which are read from the bytecode.
+     *
+     * @param containingClass The class name
+     * @param methodName      The method name
+     * @param signature       The method signature
+     * @param staticMethod    If the method is static
+     * @param symbolTable     The symbol table of the analysis
+     * @return The method identifier
+     */
+    public static MethodIdentifier of(final String containingClass, final String methodName, final String signature, final boolean staticMethod, final SymbolTable symbolTable) {
+        final String returnType = symbolTable.intern(JavaUtils.getReturnType(signature));
+        final List<String> parameters = JavaUtils.getParameters(signature).stream().map(symbolTable::intern).collect(Collectors.toList());
+        return new MethodIdentifier(symbolTable.intern(containingClass), symbolTable.intern(methodName), parameters, returnType, staticMethod);
+    }
+
     /**
      * Creates an identifier of a non-static method.
      *
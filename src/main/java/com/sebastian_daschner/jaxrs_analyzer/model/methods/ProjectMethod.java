@@ -17,6 +17,8 @@
 package com.sebastian_daschner.jaxrs_analyzer.model.methods;
 
 import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.InjectableArgumentMethodSimulator;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.MethodPool;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.RecursiveComponent;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
 
@@ -31,10 +33,32 @@ public class ProjectMethod implements IdentifiableMethod {
 
     private final MethodIdentifier identifier;
     private final List<Instruction> instructions;
+    private final RecursiveComponent component;
+    private final MethodPool methodPool;
 
-    public ProjectMethod(final MethodIdentifier identifier, final List<Instruction> instructions) {
+    public ProjectMethod(final MethodIdentifier identifier, final List<Instruction> instructions, final MethodPool methodPool) {
+        this(identifier, instructions, null, methodPool);
+    }
+
+    /**
+     * @param identifier   The method identifier
+     * @param instructions The relevant instructions of the method
+     * @param component    The component of mutually recursive methods this method belongs to or {@code null} if not recursive
+     * @param methodPool   The method pool of the analysis where the invoked methods are taken from
+     */
+    public ProjectMethod(final MethodIdentifier identifier, final List<Instruction> instructions, final RecursiveComponent component, final MethodPool methodPool) {
         this.identifier = identifier;
         this.instructions = instructions;
+        this.component = component;
+        this.methodPool = methodPool;
+    }
+
+    public MethodIdentifier getIdentifier() {
+        return identifier;
+    }
+
+    public List<Instruction> getInstructions() {
+        return instructions;
     }
 
     @Override
@@ -44,7 +68,19 @@ public class ProjectMethod implements IdentifiableMethod {
 
     @Override
     public Element invoke(final Element object, final List<Element> arguments) {
-        return new InjectableArgumentMethodSimulator().simulate(arguments, instructions, identifier);
+        if (component == null)
+            return new InjectableArgumentMethodSimulator(methodPool).simulate(arguments, instructions, identifier);
+
+        // recursive invocations take the summary of the component
+        if (component.isEntered())
+            return component.getSummary(identifier);
+
+        component.enter();
+        try {
+            return new InjectableArgumentMethodSimulator(methodPool).simulate(arguments, instructions, identifier);
+        } finally {
+            component.exit();
+        }
     }
 
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.sebastian_daschner.jaxrs_analyzer.model.methods;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+
+import java.util.List;
+
+/**
+ * Represents a method of a dependency which has been summarized beforehand. The summarized return value doesn't depend on the arguments,
+ * therefore the method is not simulated.
+ *
+ * @author Sebastian Daschner
+ */
+public class SummarizedMethod implements IdentifiableMethod {
+
+    private final MethodIdentifier identifier;
+    private final Element returnValue;
+
+    /**
+     * @param identifier  The method identifier
+     * @param returnValue The summarized return value or {@code null} if the method returns {@code void}
+     */
+    public SummarizedMethod(final MethodIdentifier identifier, final Element returnValue) {
+        this.identifier = identifier;
+        this.returnValue = returnValue;
+    }
+
+    public MethodIdentifier getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public boolean matches(final MethodIdentifier identifier) {
+        return this.identifier.equals(identifier);
+    }
+
+    @Override
+    public Element invoke(final Element object, final List<Element> arguments) {
+        // the callers may modify the returned element
+        return returnValue == null ? null : new Element(returnValue);
+    }
+
+}
@@ -35,6 +35,7 @@ public class ResourceMethod {
     private TypeIdentifier requestBody;
     private String requestBodyDescription;
     private boolean deprecated;
+    private boolean degraded;
 
     public ResourceMethod(final HttpMethod method, final String description) {
         Objects.requireNonNull(method);
@@ -78,6 +79,17 @@ public class ResourceMethod {
         this.deprecated = deprecated;
     }
 
+    /**
+     * Returns whether the analysis of the method exceeded its budget, i.e. the method is documented according to its signature only.
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    public void setDegraded(final boolean degraded) {
+        this.degraded = degraded;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -103,6 +115,7 @@ public class ResourceMethod {
         if (!methodParameters.equals(that.methodParameters)) return false;
         if (method != that.method) return false;
         if (deprecated != that.deprecated) return false;
+        if (degraded != that.degraded) return false;
         if (description != null ? !description.equals(that.description) : that.description != null) return false;
         if (requestBodyDescription != null ? !requestBodyDescription.equals(that.requestBodyDescription) : that.requestBodyDescription != null)
             return false;
@@ -117,6 +130,7 @@ public class ResourceMethod {
         result = 31 * result + methodParameters.hashCode();
         result = 31 * result + method.hashCode();
         result = 31 * result + (deprecated ? 1231 : 1237);
+        result = 31 * result + (degraded ? 1231 : 1237);
         result = 31 * result + (description != null ? description.hashCode() : 0);
         result = 31 * result + (requestBodyDescription != null ? requestBodyDescription.hashCode() : 0);
         result = 31 * result + (requestBody != null ? requestBody.hashCode() : 0);
@@ -134,6 +148,7 @@ public class ResourceMethod {
                 ", description=" + description +
                 ", requestBodyDescription=" + requestBodyDescription +
                 ", requestBody=" + requestBody +
+                ", degraded=" + degraded +
                 '}';
     }
 
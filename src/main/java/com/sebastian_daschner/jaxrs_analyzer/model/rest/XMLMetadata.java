@@ -89,6 +89,17 @@ public class XMLMetadata {
         return true;
     }
 
+    /**
+     * Returns the XML metadata of a class without JAXB annotations, equal to the result of {@link #extract(AnnotatedElement)}.
+     * The class therefore doesn't have to be loaded.
+     *
+     * @param className The binary class name, e.g. {@code java.util.Map$Entry}
+     * @return The XML metadata
+     */
+    public static XMLMetadata ofUnannotatedClass(final String className) {
+        return new XMLMetadata(null, className, null, null);
+    }
+
     public static XMLMetadata extract(final AnnotatedElement annotatedElement) {
         XMLMetadata xmlMetadata = null;
         Boolean attribute = null;
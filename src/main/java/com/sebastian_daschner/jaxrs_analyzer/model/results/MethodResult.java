@@ -18,10 +18,10 @@ package com.sebastian_daschner.jaxrs_analyzer.model.results;
 
 import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
 import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.HttpMethod;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.MethodParameter;
-import com.sun.javadoc.MethodDoc;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -39,15 +39,16 @@ public class MethodResult {
     private final Set<String> responseMediaTypes = new HashSet<>();
     private final Set<MethodParameter> methodParameters = new HashSet<>();
     private final Set<HttpResponse> responses = new HashSet<>();
-    private final List<Instruction> instructions = new ArrayList<>();
+    private List<Instruction> instructions = new ArrayList<>();
     private String path;
     private String requestBodyType;
     private MethodIdentifier originalMethodSignature;
     private HttpMethod httpMethod;
     private ClassResult subResource;
     private ClassResult parentResource;
-    private MethodDoc methodDoc;
+    private MethodComment methodDoc;
     private boolean deprecated;
+    private boolean degraded;
 
     public Set<String> getRequestMediaTypes() {
         return requestMediaTypes;
@@ -69,6 +70,13 @@ public class MethodResult {
         return instructions;
     }
 
+    /**
+     * Releases the instructions once the bytecode of the method has been analyzed, the analysis results are kept.
+     */
+    public void releaseInstructions() {
+        instructions = new ArrayList<>();
+    }
+
     public String getPath() {
         return path;
     }
@@ -118,11 +126,11 @@ public class MethodResult {
         this.parentResource = parentResource;
     }
 
-    public MethodDoc getMethodDoc() {
+    public MethodComment getMethodDoc() {
         return methodDoc;
     }
 
-    public void setMethodDoc(final MethodDoc methodDoc) {
+    public void setMethodDoc(final MethodComment methodDoc) {
         this.methodDoc = methodDoc;
     }
 
@@ -134,6 +142,17 @@ public class MethodResult {
         this.deprecated = deprecated;
     }
 
+    /**
+     * Returns {@code true} if the bytecode analysis ran out of its budget and the result only reflects the method signature.
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    public void setDegraded(final boolean degraded) {
+        this.degraded = degraded;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -154,6 +173,7 @@ public class MethodResult {
         if (subResource != null ? !subResource.equals(that.subResource) : that.subResource != null) return false;
         if (methodDoc != null ? !methodDoc.equals(that.methodDoc) : that.methodDoc != null) return false;
         if (deprecated != that.deprecated) return false;
+        if (degraded != that.degraded) return false;
         return true;
     }
 
@@ -170,6 +190,7 @@ public class MethodResult {
         result = 31 * result + (subResource != null ? subResource.hashCode() : 0);
         result = 31 * result + (methodDoc != null ? methodDoc.hashCode() : 0);
         result = 31 * result + (deprecated ? 1231 : 1237);
+        result = 31 * result + (degraded ? 1231 : 1237);
         return result;
     }
 
@@ -188,6 +209,7 @@ public class MethodResult {
                 ", methodDoc=" + methodDoc +
                 ", parentResource=" + (parentResource == null ? "null" : "notNull") +
                 ", deprecated=" + deprecated +
+                ", degraded=" + degraded +
                 '}';
     }
 
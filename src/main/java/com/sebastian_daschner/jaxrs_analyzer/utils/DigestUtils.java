@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2015 Sebastian Daschner, sebastian-daschner.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.sebastian_daschner.jaxrs_analyzer.utils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Contains utility functions for the hashes of cached and stamped contents.
+ *
+ * @author Sebastian Daschner
+ */
+public final class DigestUtils {
+
+    private DigestUtils() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates a new SHA-256 message digest.
+     *
+     * @return The digest
+     */
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Completes the given digest and returns the hash as lower-case hex string.
+     *
+     * @param digest The digest
+     * @return The hash as hex string
+     */
+    public static String hex(final MessageDigest digest) {
+        final byte[] hash = digest.digest();
+        final StringBuilder builder = new StringBuilder(hash.length * 2);
+        for (final byte b : hash)
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        return builder.toString();
+    }
+
+}
@@ -17,33 +17,52 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis;
 
 import com.sebastian_daschner.jaxrs_analyzer.LogProvider;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.index.AnnotationIndex;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.index.AnnotationIndexBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.sources.ClassSource;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.sources.InMemoryClassSource;
 import com.sebastian_daschner.jaxrs_analyzer.builder.ResourceMethodBuilder;
 import com.sebastian_daschner.jaxrs_analyzer.builder.ResponseBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.model.SymbolTable;
 import com.sebastian_daschner.jaxrs_analyzer.model.Types;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.*;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
 
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.net.MalformedURLException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
-import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.junit.Assert.*;
 
 public class ProjectAnalyzerTest {
 
     private ProjectAnalyzer classUnderTest;
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private Path path;
+    private Set<Path> classPaths;
 
     @Before
     public void setUp() throws MalformedURLException {
@@ -56,12 +75,12 @@ public class ProjectAnalyzerTest {
         final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
         final List<JavaFileObject> compilationUnits = findClassFiles(testClassPath, fileManager);
 
-        final JavaCompiler.CompilationTask compilationTask = compiler.getTask(null, null, null, singletonList("-g"), null, compilationUnits);
+        final JavaCompiler.CompilationTask compilationTask = compiler.getTask(null, null, null, Arrays.asList("-g", "-proc:none"), null, compilationUnits);
         assertTrue("Could not compile test project", compilationTask.call());
 
         path = Paths.get(testClassPath).toAbsolutePath();
 
-        final Set<Path> classPaths = Stream.of(System.getProperty("java.class.path").split(File.pathSeparator))
+        classPaths = Stream.of(System.getProperty("java.class.path").split(File.pathSeparator))
                 .map(Paths::get)
                 .collect(Collectors.toSet());
 
@@ -69,6 +88,125 @@ public class ProjectAnalyzerTest {
         classUnderTest = new ProjectAnalyzer(classPaths);
     }
 
+    @Test(expected = IllegalArgumentException.class, timeout = 10000)
+    public void testFailingClassSource() {
+        final ClassSource failingSource = new InMemoryClassSource(Collections.emptyMap()) {
+            @Override
+            public Set<String> getClassNames() {
+                throw new IllegalArgumentException("Could not read the classes");
+            }
+        };
+
+        classUnderTest.analyzeClassSources(singleton(failingSource), emptySet());
+    }
+
+    @Test
+    public void testCloseReleasesClassLoader() {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        for (int i = 0; i < 3; i++) {
+            final String className = "com/company/Resource" + i;
+            final List<ClassLoader> analysisClassLoaders = new ArrayList<>();
+            final ClassSource classSource = new InMemoryClassSource(singletonMap(className, resourceClass(className, "resource" + i))) {
+                @Override
+                public Set<String> getClassNames() {
+                    // the classes are scanned by a thread of the analysis
+                    analysisClassLoaders.add(ContextClassReader.getClassLoader());
+                    return super.getClassNames();
+                }
+            };
+
+            try (final ProjectAnalyzer analyzer = new ProjectAnalyzer(emptySet())) {
+                assertEquals(singleton("resource" + i), analyzer.analyzeClassSources(singleton(classSource), emptySet()).getResources());
+            }
+            assertSame(contextClassLoader, Thread.currentThread().getContextClassLoader());
+            assertNotSame(contextClassLoader, analysisClassLoaders.get(0));
+
+            final WeakReference<ClassLoader> classLoader = new WeakReference<>(analysisClassLoaders.remove(0));
+            for (int gc = 0; gc < 20 && classLoader.get() != null; gc++)
+                System.gc();
+            assertNull("The class loader of the analysis has not been released", classLoader.get());
+        }
+    }
+
+    @Test
+    public void testCloseDoesNotAffectOtherAnalyzers() {
+        final ClassSource first = new InMemoryClassSource(singletonMap("com/company/First", resourceClass("com/company/First", "first")));
+        final ClassSource second = new InMemoryClassSource(singletonMap("com/company/Second", resourceClass("com/company/Second", "second")));
+
+        try (final ProjectAnalyzer secondAnalyzer = new ProjectAnalyzer(emptySet())) {
+            try (final ProjectAnalyzer firstAnalyzer = new ProjectAnalyzer(emptySet())) {
+                assertEquals(singleton("first"), firstAnalyzer.analyzeClassSources(singleton(first), emptySet()).getResources());
+                assertEquals(singleton("second"), secondAnalyzer.analyzeClassSources(singleton(second), emptySet()).getResources());
+            }
+
+            // the classes of the other analyzer are still loaded
+            assertEquals(singleton("second"), secondAnalyzer.analyzeClassSources(singleton(second), emptySet()).getResources());
+        }
+    }
+
+    @Test
+    public void testIndexedAndClassifiedResources() throws IOException {
+        final Path indexedPath = writeClass("indexed", "com/company/Indexed", resourceClass("com/company/Indexed", "indexed"));
+        final Path classifiedPath = writeClass("classified", "com/company/Classified", resourceClass("com/company/Classified", "classified"));
+        AnnotationIndexBuilder.buildAndStore(indexedPath);
+        assertTrue(AnnotationIndex.load(indexedPath).isUpToDate(indexedPath));
+        assertNull(AnnotationIndex.load(classifiedPath));
+
+        try (final ProjectAnalyzer analyzer = new ProjectAnalyzer(emptySet())) {
+            final Resources resources = analyzer.analyze(new HashSet<>(Arrays.asList(indexedPath, classifiedPath)), emptySet());
+
+            assertEquals(new HashSet<>(Arrays.asList("indexed", "classified")), resources.getResources());
+            assertEquals(1, resources.getMethods("indexed").size());
+            assertEquals(1, resources.getMethods("classified").size());
+        }
+    }
+
+    @Test
+    public void testCloseReleasesSymbolTable() {
+        for (int i = 0; i < 3; i++) {
+            // every analysis reads another project
+            final String className = "com/company/Resource" + i;
+            final ClassSource classSource = new InMemoryClassSource(singletonMap(className, resourceClass(className, "resource" + i)));
+
+            final SymbolTable symbolTable;
+            try (final ProjectAnalyzer analyzer = new ProjectAnalyzer(emptySet())) {
+                symbolTable = analyzer.getSymbolTable();
+                assertEquals(singleton("resource" + i), analyzer.analyzeClassSources(singleton(classSource), emptySet()).getResources());
+
+                // the class name has been interned by the analysis
+                final int size = symbolTable.size();
+                symbolTable.intern(className);
+                assertEquals(size, symbolTable.size());
+            }
+            assertEquals(0, symbolTable.size());
+        }
+    }
+
+    private Path writeClass(final String projectPath, final String className, final byte[] bytes) throws IOException {
+        final Path path = folder.newFolder(projectPath).toPath();
+        final Path classFile = path.resolve(className + ".class");
+        Files.createDirectories(classFile.getParent());
+        Files.write(classFile, bytes);
+        return path;
+    }
+
+    private static byte[] resourceClass(final String className, final String path) {
+        final ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, className, null, Types.CLASS_OBJECT, null);
+        writer.visitAnnotation(Types.PATH, true).visit("value", path);
+
+        final MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC, "get", "()Ljava/lang/String;", null, null);
+        method.visitAnnotation(Types.GET, true).visitEnd();
+        method.visitCode();
+        method.visitLdcInsn("value");
+        method.visitInsn(Opcodes.ARETURN);
+        method.visitMaxs(1, 1);
+        method.visitEnd();
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
     @Test
     public void test() {
         final long startTime = System.currentTimeMillis();
@@ -0,0 +1,146 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
+
+import com.sebastian_daschner.jaxrs_analyzer.builder.HttpResponseBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.*;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import org.junit.Test;
+import org.objectweb.asm.Label;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+public class MethodBodyCacheTest {
+
+    private static final Predicate<String> PROJECT_CLASS = c -> c.startsWith("com/company/");
+    private static final String TEST_CLASS = "com/sebastian_daschner/jaxrs_analyzer/analysis/bytecode/MethodBodyCacheTest";
+
+    @Test
+    public void testStructurallyIdenticalMethods() {
+        final MethodBodyCache cache = new MethodBodyCache();
+        final AtomicInteger simulations = new AtomicInteger();
+
+        final Element user = cache.simulate(findEntity("User"), PROJECT_CLASS, () -> {
+            simulations.incrementAndGet();
+            return new Element(Types.RESPONSE, HttpResponseBuilder.withStatues(200).andEntityTypes("Lcom/company/User;").build());
+        });
+        final Element order = cache.simulate(findEntity("Order"), PROJECT_CLASS, () -> {
+            simulations.incrementAndGet();
+            return null;
+        });
+
+        assertEquals(1, simulations.get());
+        assertEquals(new Element(Types.RESPONSE, HttpResponseBuilder.withStatues(200).andEntityTypes("Lcom/company/User;").build()), user);
+        assertEquals(new Element(Types.RESPONSE, HttpResponseBuilder.withStatues(200).andEntityTypes("Lcom/company/Order;").build()), order);
+    }
+
+    @Test
+    public void testDifferentLiterals() {
+        final MethodBodyCache cache = new MethodBodyCache();
+        final List<Instruction> first = Collections.singletonList(new PushInstruction("first", Types.STRING, new Label()));
+        final List<Instruction> second = Collections.singletonList(new PushInstruction("second", Types.STRING, new Label()));
+
+        cache.simulate(first, PROJECT_CLASS, () -> new Element(Types.STRING, "first"));
+        final Element element = cache.simulate(second, PROJECT_CLASS, () -> new Element(Types.STRING, "second"));
+
+        assertEquals(new Element(Types.STRING, "second"), element);
+    }
+
+    @Test
+    public void testNonProjectClassesAreNotAbstracted() {
+        final MethodBodyCache cache = new MethodBodyCache();
+        final AtomicInteger simulations = new AtomicInteger();
+
+        cache.simulate(newObject("org/library/First"), PROJECT_CLASS, () -> new Element("Lorg/library/First;", simulations.incrementAndGet()));
+        cache.simulate(newObject("org/library/Second"), PROJECT_CLASS, () -> new Element("Lorg/library/Second;", simulations.incrementAndGet()));
+
+        assertEquals(2, simulations.get());
+    }
+
+    @Test
+    public void testClassHierarchyIsNotAbstracted() {
+        final MethodBodyCache cache = new MethodBodyCache();
+        final Predicate<String> projectClass = c -> c.startsWith(TEST_CLASS);
+        final AtomicInteger simulations = new AtomicInteger();
+
+        cache.simulate(newObjects(TEST_CLASS + "$Other", TEST_CLASS + "$Base"), projectClass, () -> new Element(Types.OBJECT, simulations.incrementAndGet()));
+        // the simulation may depend on the hierarchy of the related classes
+        cache.simulate(newObjects(TEST_CLASS + "$Sub", TEST_CLASS + "$Base"), projectClass, () -> new Element(Types.OBJECT, simulations.incrementAndGet()));
+        assertEquals(2, simulations.get());
+
+        // unrelated classes are still interchangeable
+        final Element element = cache.simulate(newObjects(TEST_CLASS + "$Other", TEST_CLASS + "$Sub"), projectClass,
+                () -> new Element(Types.OBJECT, simulations.incrementAndGet()));
+        assertEquals(2, simulations.get());
+        assertEquals(new Element(Types.OBJECT, 1), element);
+    }
+
+    @Test
+    public void testClear() {
+        final MethodBodyCache cache = new MethodBodyCache();
+        final AtomicInteger simulations = new AtomicInteger();
+
+        cache.simulate(findEntity("User"), PROJECT_CLASS, () -> new Element(Types.RESPONSE, simulations.incrementAndGet()));
+        cache.clear();
+        cache.simulate(findEntity("User"), PROJECT_CLASS, () -> new Element(Types.RESPONSE, simulations.incrementAndGet()));
+
+        assertEquals(2, simulations.get());
+    }
+
+    @Test
+    public void testReduceInstructions() {
+        final MethodBodyCache cache = new MethodBodyCache();
+
+        final List<Instruction> userInstructions = findEntity("User");
+        final List<Instruction> orderInstructions = findEntity("Order");
+        final List<Instruction> userReduced = cache.reduceInstructions(userInstructions);
+        final List<Instruction> orderReduced = cache.reduceInstructions(orderInstructions);
+
+        assertEquals(userInstructions.size(), userReduced.size());
+        for (int i = 0; i < orderReduced.size(); i++)
+            assertSame(orderInstructions.get(i), orderReduced.get(i));
+    }
+
+    private static List<Instruction> findEntity(final String entity) {
+        final String serviceClass = "com/company/" + entity + "Service";
+        final String entityType = "Lcom/company/" + entity + ";";
+        final Label label = new Label();
+        final List<Instruction> instructions = new ArrayList<>();
+        instructions.add(new LoadInstruction(0, "Lcom/company/" + entity + "Resource;", "this", label, null));
+        instructions.add(new GetFieldInstruction("com/company/" + entity + "Resource", "service", "L" + serviceClass + ";", label));
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofNonStatic(serviceClass, "find", entityType), label));
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofStatic(Types.CLASS_RESPONSE, "ok", Types.RESPONSE_BUILDER, Types.OBJECT), label));
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofNonStatic(Types.CLASS_RESPONSE_BUILDER, "build", Types.RESPONSE), label));
+        instructions.add(new ReturnInstruction(label));
+        return instructions;
+    }
+
+    private static List<Instruction> newObject(final String className) {
+        return newObjects(className);
+    }
+
+    private static List<Instruction> newObjects(final String... classNames) {
+        final Label label = new Label();
+        final List<Instruction> instructions = new ArrayList<>();
+        for (final String className : classNames)
+            instructions.add(new NewInstruction(className, label));
+        instructions.add(new ReturnInstruction(label));
+        return instructions;
+    }
+
+    static class Base {
+    }
+
+    static class Sub extends Base {
+    }
+
+    static class Other {
+    }
+
+}
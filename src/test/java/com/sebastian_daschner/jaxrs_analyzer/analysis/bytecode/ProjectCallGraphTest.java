@@ -0,0 +1,244 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisOptions;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.AnalysisBudget;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.BudgetExceededException;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.Instruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.ProjectMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.SummarizedMethod;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ProjectCallGraphTest {
+
+    private static final String CLASS_NAME = "com/sebastian_daschner/jaxrs_analyzer/analysis/bytecode/ProjectCallGraphTest$Recursion";
+
+    @Test
+    public void testRecursiveComponent() {
+        final ProjectCallGraph callGraph = new ProjectCallGraph(new AnalysisOptions());
+        final MethodIdentifier even = MethodIdentifier.ofStatic(CLASS_NAME, "even", Types.STRING, Types.PRIMITIVE_INT);
+        final MethodIdentifier odd = MethodIdentifier.ofStatic(CLASS_NAME, "odd", Types.STRING, Types.PRIMITIVE_INT);
+
+        assertNotNull(callGraph.getInstructions(even));
+        assertNotNull(callGraph.getInstructions(odd));
+
+        callGraph.summarize(new HashSet<>(Arrays.asList(even, odd)));
+
+        final Element element = callGraph.getMethodPool().get(even).invoke(null, singletonList(new Element(Types.PRIMITIVE_INT)));
+        final Set<Object> expected = new HashSet<>(Arrays.asList("even", "odd"));
+        assertEquals(expected, element.getPossibleValues());
+    }
+
+    @Test
+    public void testNonRecursiveMethod() {
+        final ProjectCallGraph callGraph = new ProjectCallGraph(new AnalysisOptions());
+        final MethodIdentifier greeting = MethodIdentifier.ofStatic(CLASS_NAME, "greeting", Types.STRING);
+
+        assertNotNull(callGraph.getInstructions(greeting));
+        callGraph.summarize(new HashSet<>(singletonList(greeting)));
+
+        final Element element = callGraph.getMethodPool().get(greeting).invoke(null, emptyList());
+        assertEquals(new HashSet<>(singletonList("hello")), element.getPossibleValues());
+    }
+
+    @Test
+    public void testIndependentReturnValueIsSummarized() {
+        final ProjectCallGraph callGraph = new ProjectCallGraph(new AnalysisOptions());
+        final MethodIdentifier greeting = MethodIdentifier.ofStatic(CLASS_NAME, "greeting", Types.STRING);
+        final MethodIdentifier echo = MethodIdentifier.ofStatic(CLASS_NAME, "echo", Types.STRING, Types.STRING);
+
+        assertNotNull(callGraph.getInstructions(greeting));
+        assertNotNull(callGraph.getInstructions(echo));
+        callGraph.summarize(new HashSet<>(Arrays.asList(greeting, echo)));
+
+        assertTrue(callGraph.getMethodPool().get(greeting) instanceof SummarizedMethod);
+        assertTrue(callGraph.getMethodPool().get(echo) instanceof ProjectMethod);
+    }
+
+    @Test
+    public void testComponentsOfDeepCallChain() {
+        final int length = 100_000;
+        final List<MethodIdentifier> chain = IntStream.range(0, length)
+                .mapToObj(i -> MethodIdentifier.ofStatic(CLASS_NAME, "method" + i, Types.STRING)).collect(Collectors.toList());
+        final Map<MethodIdentifier, Set<MethodIdentifier>> callees = new HashMap<>();
+        for (int i = 0; i < length; i++)
+            // the last method calls the first but one, which closes a cycle
+            callees.put(chain.get(i), singleton(chain.get(i < length - 1 ? i + 1 : 1)));
+
+        final List<List<MethodIdentifier>> components = new ProjectCallGraph.StronglyConnectedComponents(new HashSet<>(chain), callees::get).compute();
+
+        assertEquals(2, components.size());
+        assertEquals(new HashSet<>(chain.subList(1, length)), new HashSet<>(components.get(0)));
+        assertEquals(singletonList(chain.get(0)), components.get(1));
+    }
+
+    @Test
+    public void testPrefetch() {
+        final ProjectCallGraph callGraph = new ProjectCallGraph(new AnalysisOptions());
+        final MethodIdentifier even = MethodIdentifier.ofStatic(CLASS_NAME, "even", Types.STRING, Types.PRIMITIVE_INT);
+        final MethodIdentifier greeting = MethodIdentifier.ofStatic(CLASS_NAME, "greeting", Types.STRING);
+        final MethodIdentifier unknown = MethodIdentifier.ofStatic("com/sebastian_daschner/jaxrs_analyzer/Unknown", "method", Types.STRING);
+
+        callGraph.prefetch(Arrays.asList(even, greeting, unknown));
+
+        assertNotNull(callGraph.getInstructions(even));
+        assertNotNull(callGraph.getInstructions(greeting));
+        assertNull(callGraph.getInstructions(unknown));
+    }
+
+    @Test
+    public void testSummaryIsChargedToBudget() {
+        final ProjectCallGraph callGraph = new ProjectCallGraph(new AnalysisOptions());
+        final MethodIdentifier even = MethodIdentifier.ofStatic(CLASS_NAME, "even", Types.STRING, Types.PRIMITIVE_INT);
+        final MethodIdentifier odd = MethodIdentifier.ofStatic(CLASS_NAME, "odd", Types.STRING, Types.PRIMITIVE_INT);
+
+        assertNotNull(callGraph.getInstructions(even));
+        assertNotNull(callGraph.getInstructions(odd));
+
+        final AnalysisBudget budget = new AnalysisBudget(5, 10, 60_000);
+        budget.activate();
+        try {
+            callGraph.summarize(new HashSet<>(Arrays.asList(even, odd)));
+            budget.check();
+            fail("The summary has not been charged to the budget");
+        } catch (BudgetExceededException e) {
+            // the recursive component has been simulated on a summary thread
+        } finally {
+            budget.deactivate();
+        }
+        assertNull(AnalysisBudget.active());
+    }
+
+    @Test(timeout = 10000)
+    public void testPrefetchOfExceededBudget() {
+        final ProjectCallGraph callGraph = new ProjectCallGraph(new AnalysisOptions());
+        final MethodIdentifier greeting = MethodIdentifier.ofStatic(CLASS_NAME, "greeting", Types.STRING);
+
+        final AnalysisBudget budget = new AnalysisBudget(100, 10, 0);
+        budget.activate();
+        try {
+            callGraph.prefetch(singleton(greeting));
+            // the dropped prefetch is loaded on demand
+            assertNotNull(callGraph.getInstructions(greeting));
+        } finally {
+            budget.deactivate();
+        }
+    }
+
+    @Test
+    public void testSummarizeReturnValues() {
+        final ProjectCallGraph callGraph = new ProjectCallGraph(new AnalysisOptions());
+        final MethodIdentifier greeting = MethodIdentifier.ofStatic(CLASS_NAME, "greeting", Types.STRING);
+        final MethodIdentifier echo = MethodIdentifier.ofStatic(CLASS_NAME, "echo", Types.STRING, Types.STRING);
+
+        final Map<MethodIdentifier, Element> returnValues = callGraph.summarizeReturnValues(Arrays.asList(greeting, echo));
+
+        assertEquals(singleton(greeting), returnValues.keySet());
+        assertEquals(new Element(Types.STRING, "hello"), returnValues.get(greeting));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUseAfterClose() {
+        final ProjectCallGraph callGraph = new ProjectCallGraph(new AnalysisOptions());
+        callGraph.close();
+
+        callGraph.prefetch(singleton(MethodIdentifier.ofStatic(CLASS_NAME, "greeting", Types.STRING)));
+    }
+
+    @Test(timeout = 10000)
+    public void testCloseCancelsPendingMethods() throws InterruptedException {
+        final ProjectCallGraph callGraph = new ProjectCallGraph(new AnalysisOptions());
+        final MethodIdentifier greeting = MethodIdentifier.ofStatic(CLASS_NAME, "greeting", Types.STRING);
+        final CountDownLatch reading = new CountDownLatch(1);
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextClassLoader = thread.getContextClassLoader();
+        // the prefetching thread inherits the class loader, which blocks until the call graph is closed
+        thread.setContextClassLoader(new ClassLoader(contextClassLoader) {
+            @Override
+            public InputStream getResourceAsStream(final String name) {
+                reading.countDown();
+                awaitUninterruptibly(closed);
+                return super.getResourceAsStream(name);
+            }
+        });
+        try {
+            callGraph.prefetch(singleton(greeting));
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+        reading.await();
+
+        final CompletableFuture<List<Instruction>> instructions = CompletableFuture.supplyAsync(() -> callGraph.getInstructions(greeting));
+        callGraph.close();
+        closed.countDown();
+
+        try {
+            instructions.join();
+            fail("The pending method has not been cancelled");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    private static void awaitUninterruptibly(final CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException e) {
+                // the prefetching is stopped on close
+            }
+        }
+    }
+
+    static class Recursion {
+
+        static String even(final int number) {
+            if (number == 0)
+                return "even";
+            return odd(number - 1);
+        }
+
+        static String odd(final int number) {
+            if (number == 0)
+                return "odd";
+            return even(number - 1);
+        }
+
+        static String greeting() {
+            return "hello";
+        }
+
+        static String echo(final String value) {
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisOptions;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.AnalysisBudget;
+import com.sebastian_daschner.jaxrs_analyzer.builder.HttpResponseBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.HttpResponse;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.InvokeInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.PushInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.ReturnInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
+import org.junit.Test;
+import org.objectweb.asm.Label;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.*;
+
+public class ResourceMethodContentAnalyzerBudgetTest {
+
+    @Test
+    public void testWithinBudget() {
+        final MethodResult methodResult = createResponseMethod();
+
+        new ResourceMethodContentAnalyzer().analyze(methodResult);
+
+        assertFalse(methodResult.isDegraded());
+        assertEquals(Collections.singleton(HttpResponseBuilder.withStatues(202).build()), methodResult.getResponses());
+    }
+
+    @Test
+    public void testExceededInstructions() {
+        final MethodResult methodResult = createResponseMethod();
+        final AnalysisOptions options = new AnalysisOptions();
+        options.configure(singletonMap(AnalysisOptions.MAX_SIMULATED_INSTRUCTIONS, "2"));
+
+        new ResourceMethodContentAnalyzer(options).analyze(methodResult);
+
+        assertTrue(methodResult.isDegraded());
+        assertEquals(Collections.singleton(new HttpResponse()), methodResult.getResponses());
+    }
+
+    @Test
+    public void testExceededInstructionsDeclaredEntity() {
+        final MethodResult methodResult = createMethod(Types.STRING);
+        methodResult.getInstructions().add(new PushInstruction("hello", Types.STRING, new Label()));
+        methodResult.getInstructions().add(new ReturnInstruction(new Label()));
+        final AnalysisOptions options = new AnalysisOptions();
+        options.configure(singletonMap(AnalysisOptions.MAX_SIMULATED_INSTRUCTIONS, "1"));
+
+        new ResourceMethodContentAnalyzer(options).analyze(methodResult);
+
+        assertTrue(methodResult.isDegraded());
+        final Set<HttpResponse> expected = new HashSet<>();
+        expected.add(HttpResponseBuilder.newBuilder().andEntityTypes(Types.STRING).build());
+        assertEquals(expected, methodResult.getResponses());
+    }
+
+    @Test(timeout = 10000)
+    public void testFailingBudgetActivationReleasesLock() throws Exception {
+        final ResourceMethodContentAnalyzer analyzer = new ResourceMethodContentAnalyzer() {
+            private boolean failed;
+
+            @Override
+            AnalysisBudget activateBudget() {
+                if (!failed) {
+                    failed = true;
+                    throw new IllegalStateException("Could not activate the budget");
+                }
+                return super.activateBudget();
+            }
+        };
+
+        try {
+            analyzer.analyze(createResponseMethod());
+            fail("The budget activation should fail");
+        } catch (IllegalStateException e) {
+            assertNull(AnalysisBudget.active());
+        }
+
+        // the analyzer is not locked by the failed analysis
+        final MethodResult methodResult = createResponseMethod();
+        final Thread thread = new Thread(() -> analyzer.analyze(methodResult));
+        thread.start();
+        thread.join();
+        assertEquals(Collections.singleton(HttpResponseBuilder.withStatues(202).build()), methodResult.getResponses());
+    }
+
+    private static MethodResult createResponseMethod() {
+        final MethodResult methodResult = createMethod(Types.RESPONSE);
+        final Label label = new Label();
+        methodResult.getInstructions().add(new PushInstruction(202, Types.PRIMITIVE_INT, label));
+        methodResult.getInstructions().add(new InvokeInstruction(MethodIdentifier.ofStatic(Types.CLASS_RESPONSE, "status", Types.RESPONSE_BUILDER, Types.PRIMITIVE_INT), label));
+        methodResult.getInstructions().add(new InvokeInstruction(MethodIdentifier.ofNonStatic(Types.CLASS_RESPONSE_BUILDER, "build", Types.RESPONSE), label));
+        methodResult.getInstructions().add(new ReturnInstruction(label));
+        return methodResult;
+    }
+
+    private static MethodResult createMethod(final String returnType) {
+        final ClassResult classResult = new ClassResult();
+        classResult.setOriginalClass("com/sebastian_daschner/test/Resource");
+        final MethodResult methodResult = new MethodResult();
+        methodResult.setOriginalMethodSignature(MethodIdentifier.ofNonStatic("com/sebastian_daschner/test/Resource", "method", returnType));
+        methodResult.setParentResource(classResult);
+        return methodResult;
+    }
+
+}
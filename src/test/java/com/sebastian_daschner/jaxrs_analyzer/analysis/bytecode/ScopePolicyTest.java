@@ -0,0 +1,73 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScopePolicyTest {
+
+    private static final String RESOURCE = "com/company/rest/Resource";
+
+    @Test
+    public void testDefaultProjectPackage() {
+        final ScopePolicy policy = new ScopePolicy();
+
+        assertTrue(policy.isFollowed("com/company/Service", RESOURCE, 1));
+        assertTrue(policy.isFollowed("com/company/persistence/Store", RESOURCE, 10));
+        assertFalse(policy.isFollowed("com/companyx/Service", RESOURCE, 1));
+        assertFalse(policy.isFollowed("java/lang/String", RESOURCE, 1));
+        assertFalse(policy.isFollowed("Service", RESOURCE, 1));
+        assertTrue(policy.isFollowed("Service", "Resource", 1));
+    }
+
+    @Test
+    public void testIncludesExcludes() {
+        final ScopePolicy policy = new ScopePolicy(set("com.company.*", "org.lib"), set("com.company.generated.*"), emptySet(), emptyMap());
+
+        assertTrue(policy.isFollowed("com/company/Service", RESOURCE, 1));
+        assertTrue(policy.isFollowed("org/lib/Helper", RESOURCE, 1));
+        assertFalse(policy.isFollowed("org/lib/internal/Helper", RESOURCE, 1));
+        assertFalse(policy.isFollowed("com/company/generated/Mapper", RESOURCE, 1));
+        assertFalse(policy.isFollowed("com/company/generated/sub/Mapper", RESOURCE, 1));
+    }
+
+    @Test
+    public void testOpaque() {
+        final ScopePolicy policy = new ScopePolicy(emptySet(), emptySet(), set("com.company.persistence.*"), emptyMap());
+
+        assertTrue(policy.isFollowed("com/company/Service", RESOURCE, 1));
+        assertFalse(policy.isFollowed("com/company/persistence/Store", RESOURCE, 1));
+    }
+
+    @Test
+    public void testDepthLimits() {
+        final Map<String, Integer> depths = new HashMap<>();
+        depths.put("com.company.*", 3);
+        depths.put("com.company.lib.*", 1);
+        depths.put("com.company.lib.core", 2);
+        final ScopePolicy policy = new ScopePolicy(emptySet(), emptySet(), emptySet(), depths);
+
+        assertTrue(policy.isFollowed("com/company/Service", RESOURCE, 3));
+        assertFalse(policy.isFollowed("com/company/Service", RESOURCE, 4));
+        assertTrue(policy.isFollowed("com/company/lib/Util", RESOURCE, 1));
+        assertFalse(policy.isFollowed("com/company/lib/Util", RESOURCE, 2));
+        assertFalse(policy.isFollowed("com/company/lib/json/Util", RESOURCE, 2));
+        assertTrue(policy.isFollowed("com/company/lib/core/Util", RESOURCE, 2));
+        assertFalse(policy.isFollowed("com/company/lib/core/Util", RESOURCE, 3));
+    }
+
+    private static Set<String> set(final String... patterns) {
+        return Collections.unmodifiableSet(new HashSet<>(asList(patterns)));
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisOptions;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.JobRegistry;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.LoadInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.NewInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.ReturnInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.StoreInstruction;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
+import org.junit.Test;
+import org.objectweb.asm.Label;
+
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+public class SubResourceLocatorMethodContentAnalyzerBudgetTest {
+
+    @Test
+    public void testLocatorAfterExceededBudget() {
+        final JobRegistry jobRegistry = mock(JobRegistry.class);
+        final AnalysisOptions options = new AnalysisOptions();
+        options.configure(singletonMap(AnalysisOptions.MAX_SIMULATED_INSTRUCTIONS, "3"));
+        final SubResourceLocatorMethodContentAnalyzer analyzer = new SubResourceLocatorMethodContentAnalyzer(options, new ProjectCallGraph(options), jobRegistry);
+
+        // the budget is exceeded after the local variable has been stored
+        final Label validUntil = new Label();
+        final Label label = new Label();
+        final MethodResult exceedingLocator = createLocator("exceeding");
+        exceedingLocator.getInstructions().add(new NewInstruction("com/company/Leftover", label));
+        exceedingLocator.getInstructions().add(new StoreInstruction(1, Types.OBJECT, label));
+        exceedingLocator.getInstructions().add(new LoadInstruction(1, Types.OBJECT, label, validUntil));
+        exceedingLocator.getInstructions().add(new ReturnInstruction(label));
+
+        final Label otherLabel = new Label();
+        final MethodResult locator = createLocator("locator");
+        locator.getInstructions().add(new LoadInstruction(1, "Lcom/company/SubResource;", otherLabel, validUntil));
+        locator.getInstructions().add(new ReturnInstruction(otherLabel));
+
+        analyzer.analyze(exceedingLocator);
+        analyzer.analyze(locator);
+
+        assertTrue(exceedingLocator.isDegraded());
+        assertFalse(locator.isDegraded());
+        verify(jobRegistry).analyzeResourceClass(eq("com/company/SubResource"), any(ClassResult.class));
+        verify(jobRegistry, never()).analyzeResourceClass(eq("com/company/Leftover"), any(ClassResult.class));
+    }
+
+    private static MethodResult createLocator(final String name) {
+        final ClassResult classResult = new ClassResult();
+        classResult.setOriginalClass("com/company/Resource");
+        final MethodResult methodResult = new MethodResult();
+        methodResult.setOriginalMethodSignature(MethodIdentifier.ofNonStatic("com/company/Resource", name, Types.OBJECT));
+        methodResult.setParentResource(classResult);
+        methodResult.setSubResource(new ClassResult());
+        return methodResult;
+    }
+
+}
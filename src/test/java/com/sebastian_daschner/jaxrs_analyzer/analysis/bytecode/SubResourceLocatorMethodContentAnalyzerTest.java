@@ -1,5 +1,6 @@
 package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode;
 
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisOptions;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.JobRegistry;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
 import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ProjectMethodClassVisitor;
@@ -7,7 +8,6 @@ import com.sebastian_daschner.jaxrs_analyzer.model.JavaUtils;
 import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
-import org.junit.AfterClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -17,8 +17,6 @@ import org.objectweb.asm.Type;
 
 import javax.ws.rs.NotFoundException;
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.Set;
@@ -32,7 +30,6 @@ import static org.mockito.Mockito.*;
 @RunWith(Parameterized.class)
 public class SubResourceLocatorMethodContentAnalyzerTest {
 
-    private static JobRegistry originalJobRegistry;
     private final SubResourceLocatorMethodContentAnalyzer classUnderTest;
     private final String testClassSimpleName;
     private final String testClassName;
@@ -41,15 +38,14 @@ public class SubResourceLocatorMethodContentAnalyzerTest {
     private String signature;
 
 
-    public SubResourceLocatorMethodContentAnalyzerTest(final String testClassSimpleName, final String testClassName, final String signature, final Set<String> expectedClassNames)
-            throws ReflectiveOperationException {
+    public SubResourceLocatorMethodContentAnalyzerTest(final String testClassSimpleName, final String testClassName, final String signature, final Set<String> expectedClassNames) {
         this.testClassSimpleName = testClassSimpleName;
         this.testClassName = testClassName;
         this.signature = signature;
         this.expectedClassNames = expectedClassNames;
         jobRegistry = mock(JobRegistry.class);
-        this.classUnderTest = new SubResourceLocatorMethodContentAnalyzer();
-        injectJobRegistry(jobRegistry);
+        final AnalysisOptions options = new AnalysisOptions();
+        this.classUnderTest = new SubResourceLocatorMethodContentAnalyzer(options, new ProjectCallGraph(options), jobRegistry);
     }
 
     @Parameterized.Parameters(name = "{0}")
@@ -98,19 +94,4 @@ public class SubResourceLocatorMethodContentAnalyzerTest {
         verify(jobRegistry, times(expectedClassNames.size())).analyzeResourceClass(any(), any());
     }
 
-    @AfterClass
-    public static void tearDown() throws NoSuchFieldException, IllegalAccessException {
-        injectJobRegistry(originalJobRegistry);
-    }
-
-    private static void injectJobRegistry(final JobRegistry jobRegistry) throws NoSuchFieldException, IllegalAccessException {
-        final Field field = JobRegistry.class.getDeclaredField("INSTANCE");
-        field.setAccessible(true);
-        originalJobRegistry = JobRegistry.getInstance();
-        Field modifiersField = Field.class.getDeclaredField("modifiers");
-        modifiersField.setAccessible(true);
-        modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
-        field.set(null, jobRegistry);
-    }
-
 }
@@ -0,0 +1,57 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.instructions.*;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import org.objectweb.asm.Label;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the simulation of a typical resource method body.
+ * Run with {@code java -cp <test classpath> org.openjdk.jmh.Main MethodSimulatorBenchmark -prof gc} to compare the allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodSimulatorBenchmark {
+
+    private List<Instruction> instructions;
+
+    @Setup
+    public void setUp() {
+        instructions = new ArrayList<>();
+        final Label start = new Label();
+        final Label end = new Label();
+
+        for (int i = 0; i < 10; i++) {
+            instructions.add(new PushInstruction("entity" + i, Types.STRING, start));
+            instructions.add(new StoreInstruction(1, Types.OBJECT, start));
+            instructions.add(new LoadInstruction(1, Types.STRING, start, end));
+            instructions.add(new SizeChangingInstruction("POP", 0, 1, start));
+        }
+
+        instructions.add(new PushInstruction(200, Types.PRIMITIVE_INT, start));
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofStatic(Types.CLASS_RESPONSE, "status", Types.RESPONSE_BUILDER, Types.PRIMITIVE_INT), start));
+        instructions.add(new LoadInstruction(1, Types.STRING, start, end));
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofNonStatic(Types.CLASS_RESPONSE_BUILDER, "entity", Types.RESPONSE_BUILDER, Types.OBJECT), start));
+        instructions.add(new PushInstruction("X-Header", Types.STRING, start));
+        instructions.add(new PushInstruction("value", Types.STRING, start));
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofNonStatic(Types.CLASS_RESPONSE_BUILDER, "header", Types.RESPONSE_BUILDER, Types.STRING, Types.OBJECT), start));
+        instructions.add(new InvokeInstruction(MethodIdentifier.ofNonStatic(Types.CLASS_RESPONSE_BUILDER, "build", Types.RESPONSE), start));
+        instructions.add(new ReturnInstruction(end));
+    }
+
+    @Benchmark
+    public Element simulate() {
+        return new MethodSimulator().simulate(instructions);
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.classes;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import org.junit.Test;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AnnotatedSuperMethodTableTest {
+
+    private static final String PREFIX = "com/sebastian_daschner/jaxrs_analyzer/analysis/classes/AnnotatedSuperMethodTableTest$";
+
+    private final AnnotatedSuperMethodTable classUnderTest = new AnnotatedSuperMethodTable();
+
+    @Test
+    public void testInterfaceMethod() {
+        final MethodNode method = classUnderTest.findAnnotatedSuperMethod(PREFIX + "Implementation", "get", "()Ljava/lang/String;");
+
+        assertNotNull(method);
+        assertTrue(hasAnnotation(method, Types.GET));
+    }
+
+    @Test
+    public void testParameterizedMethodOfSuperClass() {
+        final MethodNode method = classUnderTest.findAnnotatedSuperMethod(PREFIX + "Implementation", "post",
+                "(Ljava/util/List<Ljava/lang/String;>;)V");
+
+        assertNotNull(method);
+        assertTrue(hasAnnotation(method, Types.POST));
+    }
+
+    @Test
+    public void testSuperClassTakesPrecedence() {
+        final MethodNode method = classUnderTest.findAnnotatedSuperMethod(PREFIX + "Implementation", "path", "()Ljava/lang/String;");
+
+        assertNotNull(method);
+        assertTrue(hasAnnotation(method, Types.GET));
+        assertFalse(hasAnnotation(method, Types.PATH));
+    }
+
+    @Test
+    public void testNotAnnotated() {
+        assertNull(classUnderTest.findAnnotatedSuperMethod(PREFIX + "Implementation", "plain", "()Ljava/lang/String;"));
+        assertNull(classUnderTest.findAnnotatedSuperMethod(PREFIX + "Implementation", "get", "(I)Ljava/lang/String;"));
+        assertNull(classUnderTest.findAnnotatedSuperMethod(PREFIX + "Unknown", "get", "()Ljava/lang/String;"));
+    }
+
+    private static boolean hasAnnotation(final MethodNode method, final String annotation) {
+        return method.visibleAnnotations.stream().anyMatch(a -> annotation.equals(((AnnotationNode) a).desc));
+    }
+
+    interface Resource {
+
+        @GET
+        String get();
+
+        @Path("path")
+        String path();
+
+    }
+
+    static abstract class AbstractResource implements Resource {
+
+        @POST
+        public abstract void post(List<String> values);
+
+        @GET
+        public abstract String path();
+
+        public String plain() {
+            return null;
+        }
+
+    }
+
+    static class Implementation extends AbstractResource {
+
+        @Override
+        public String get() {
+            return null;
+        }
+
+        public String get(final int id) {
+            return null;
+        }
+
+        @Override
+        public void post(final List<String> values) {
+        }
+
+        @Override
+        public String path() {
+            return null;
+        }
+
+        @Override
+        public String plain() {
+            return null;
+        }
+
+    }
+
+}
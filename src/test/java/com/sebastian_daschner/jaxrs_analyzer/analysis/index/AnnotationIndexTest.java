@@ -0,0 +1,133 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.index;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.*;
+
+public class AnnotationIndexTest {
+
+    private static final String RESOURCE = "com/sebastian_daschner/jaxrs_analyzer/analysis/index/AnnotationIndexTest$TestResource";
+    private static final String OTHER = "com/sebastian_daschner/jaxrs_analyzer/analysis/index/AnnotationIndexTest$Other";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDirectory() throws IOException {
+        final java.nio.file.Path directory = folder.getRoot().toPath();
+        copyClass(RESOURCE, directory);
+        copyClass(OTHER, directory);
+
+        AnnotationIndexBuilder.buildAndStore(directory);
+        final AnnotationIndex index = AnnotationIndex.load(directory);
+
+        assertNotNull(index);
+        assertTrue(index.isUpToDate(directory));
+        assertIndexed(index);
+    }
+
+    @Test
+    public void testJar() throws IOException {
+        final java.nio.file.Path jar = folder.getRoot().toPath().resolve("project.jar");
+        try (final JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (final String className : Arrays.asList(RESOURCE, OTHER)) {
+                output.putNextEntry(new JarEntry(className + ".class"));
+                copyClass(className, output);
+                output.closeEntry();
+            }
+        }
+
+        AnnotationIndexBuilder.buildAndStore(jar);
+        final AnnotationIndex index = AnnotationIndex.load(jar);
+
+        assertNotNull(index);
+        assertTrue(index.isUpToDate(jar));
+        assertIndexed(index);
+    }
+
+    @Test
+    public void testOutdated() throws IOException {
+        final java.nio.file.Path directory = folder.getRoot().toPath();
+        copyClass(RESOURCE, directory);
+        AnnotationIndexBuilder.buildAndStore(directory);
+
+        copyClass(OTHER, directory);
+
+        assertFalse(AnnotationIndex.load(directory).isUpToDate(directory));
+    }
+
+    @Test
+    public void testNoIndex() throws IOException {
+        assertNull(AnnotationIndex.load(folder.getRoot().toPath()));
+    }
+
+    private static void assertIndexed(final AnnotationIndex index) {
+        assertEquals(new HashSet<>(Arrays.asList(RESOURCE, OTHER)), index.getClassNames());
+        assertEquals(Collections.singleton(RESOURCE), index.getAnnotatedClasses(Types.PATH));
+        assertEquals(Collections.singletonList(OTHER), index.getSuperTypes(RESOURCE));
+        assertEquals(Collections.singletonList("java/lang/Runnable"), index.getSuperTypes(OTHER));
+
+        assertEquals(Collections.singletonList(new AnnotationOccurrence(AnnotationOccurrence.ElementKind.METHOD, RESOURCE, "get", "(Ljava/lang/String;)Ljava/lang/String;", -1)),
+                index.getOccurrences(Types.GET));
+        assertEquals(Collections.singletonList(new AnnotationOccurrence(AnnotationOccurrence.ElementKind.PARAMETER, RESOURCE, "get", "(Ljava/lang/String;)Ljava/lang/String;", 0)),
+                index.getOccurrences(Types.PATH_PARAM));
+        assertEquals(Collections.singletonList(new AnnotationOccurrence(AnnotationOccurrence.ElementKind.FIELD, OTHER, "value", "Ljava/lang/Object;", -1)),
+                index.getOccurrences("Ljavax/inject/Inject;"));
+    }
+
+    private static void copyClass(final String className, final java.nio.file.Path directory) throws IOException {
+        final java.nio.file.Path file = directory.resolve(className + ".class");
+        Files.createDirectories(file.getParent());
+        try (final OutputStream output = Files.newOutputStream(file)) {
+            copyClass(className, output);
+        }
+    }
+
+    private static void copyClass(final String className, final OutputStream output) throws IOException {
+        try (final InputStream input = AnnotationIndexTest.class.getClassLoader().getResourceAsStream(className + ".class")) {
+            final byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) >= 0)
+                output.write(buffer, 0, read);
+        }
+    }
+
+    @Path("test")
+    static class TestResource extends Other {
+
+        @GET
+        public String get(@PathParam("id") final String id) {
+            return id;
+        }
+
+    }
+
+    static class Other implements Runnable {
+
+        @Inject
+        Object value;
+
+        @Override
+        public void run() {
+        }
+
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.HttpMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class JavaDocAnalyzerTest {
+
+    private static final Path SOURCE_PATH = Paths.get("src/test/java");
+    private static final String PACKAGE = "com/sebastian_daschner/jaxrs_analyzer/analysis/javadoc/";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final JavaDocAnalyzer classUnderTest = new JavaDocAnalyzer();
+
+    @Test
+    public void testCombineResults() {
+        final MethodIdentifier rootMethod = MethodIdentifier.ofNonStatic("com/company/RootResource", "get", Types.STRING);
+        final MethodIdentifier locatorMethod = MethodIdentifier.ofNonStatic("com/company/RootResource", "sub", "Lcom/company/SubResource;");
+        final MethodIdentifier subMethod = MethodIdentifier.ofNonStatic("com/company/SubResource", "post", Types.PRIMITIVE_VOID, "Ljava/util/List<Ljava/lang/String;>;");
+        final MethodIdentifier undocumentedMethod = MethodIdentifier.ofNonStatic("com/company/SubResource", "delete", Types.PRIMITIVE_VOID);
+
+        final MethodResult subMethodResult = methodResult(subMethod, HttpMethod.POST);
+        final MethodResult undocumentedMethodResult = methodResult(undocumentedMethod, HttpMethod.DELETE);
+        final ClassResult subResource = classResult("com/company/SubResource", subMethodResult, undocumentedMethodResult);
+
+        final MethodResult locatorMethodResult = methodResult(locatorMethod, null);
+        locatorMethodResult.setSubResource(subResource);
+        final MethodResult rootMethodResult = methodResult(rootMethod, HttpMethod.GET);
+        final ClassResult rootResource = classResult("com/company/RootResource", rootMethodResult, locatorMethodResult);
+
+        final MethodComment rootDoc = methodComment("root");
+        final MethodComment subDoc = methodComment("sub");
+        final Map<MethodIdentifier, MethodComment> methodComments = new HashMap<>();
+        methodComments.put(rootMethod, rootDoc);
+        // the documented signature is erased
+        methodComments.put(MethodIdentifier.ofNonStatic("com/company/SubResource", "post", Types.PRIMITIVE_VOID, "Ljava/util/List;"), subDoc);
+        methodComments.put(MethodIdentifier.ofNonStatic("com/company/OtherResource", "post", Types.PRIMITIVE_VOID, "Ljava/util/List;"), methodComment("other"));
+
+        classUnderTest.combineResults(Collections.singleton(rootResource), methodComments);
+
+        assertSame(rootDoc, rootMethodResult.getMethodDoc());
+        assertSame(subDoc, subMethodResult.getMethodDoc());
+        assertNull(locatorMethodResult.getMethodDoc());
+        assertNull(undocumentedMethodResult.getMethodDoc());
+    }
+
+    @Test
+    public void testExtraction() {
+        final String className = "com/sebastian_daschner/jaxrs_analyzer/analysis/javadoc/JavaDocAnalyzerTest$DocumentedResource";
+        final MethodResult documentedMethodResult = methodResult(MethodIdentifier.ofNonStatic(className, "get", Types.STRING, Types.PRIMITIVE_INT), HttpMethod.GET);
+        final ClassResult classResult = classResult(className, documentedMethodResult);
+
+        try (final JavaDocExtraction extraction = classUnderTest.startExtraction(Collections.singleton(SOURCE_PATH), Collections.emptySet())) {
+            extraction.add(classResult);
+            extraction.combineResults(Collections.singleton(classResult));
+        }
+
+        final MethodComment methodDoc = documentedMethodResult.getMethodDoc();
+        assertNotNull(methodDoc);
+        assertEquals("Returns the documented value.", methodDoc.getComment());
+        assertEquals("The ID", methodDoc.getParamTags().get(0).getComment());
+        assertEquals("The resource.", methodDoc.getContainingClassComment().getComment());
+    }
+
+    @Test
+    public void testExtractionIndex() throws IOException {
+        final Path sourceFile = SOURCE_PATH.resolve(PACKAGE + "JavaDocAnalyzerTest.java");
+        final Path upToDateIndex = writeIndex("up-to-date", Files.size(sourceFile), Files.getLastModifiedTime(sourceFile).toMillis());
+        final Path outdatedIndex = writeIndex("outdated", Files.size(sourceFile) + 1, Files.getLastModifiedTime(sourceFile).toMillis());
+
+        assertEquals("Indexed.", extractComment(upToDateIndex, Collections.singleton(SOURCE_PATH)));
+        // the index is used if the source files are not available
+        assertEquals("Indexed.", extractComment(outdatedIndex, Collections.emptySet()));
+        assertEquals("Returns the documented value.", extractComment(outdatedIndex, Collections.singleton(SOURCE_PATH)));
+        // source files which are not indexed are parsed
+        assertEquals("Returns the documented value.", extractComment(folder.newFolder("without-index").toPath(), Collections.singleton(SOURCE_PATH)));
+    }
+
+    private Path writeIndex(final String name, final long size, final long lastModified) throws IOException {
+        final SourceFileComments comments = new SourceFileComments();
+        comments.addMethodComment(MethodIdentifier.ofNonStatic(PACKAGE + "JavaDocAnalyzerTest$DocumentedResource", "get", Types.STRING, Types.PRIMITIVE_INT),
+                methodComment("Indexed."));
+
+        final Path classPath = folder.newFolder(name).toPath();
+        final Path file = classPath.resolve(JavaDocIndex.LOCATION);
+        Files.createDirectories(file.getParent());
+        try (final OutputStream output = Files.newOutputStream(file)) {
+            new JavaDocIndex(Collections.singletonMap(PACKAGE + "JavaDocAnalyzerTest.java", new JavaDocIndex.Entry(size, lastModified, comments))).write(output);
+        }
+        return classPath;
+    }
+
+    private String extractComment(final Path classPath, final Set<Path> sourcePaths) {
+        final String className = PACKAGE + "JavaDocAnalyzerTest$DocumentedResource";
+        final MethodResult methodResult = methodResult(MethodIdentifier.ofNonStatic(className, "get", Types.STRING, Types.PRIMITIVE_INT), HttpMethod.GET);
+        final ClassResult classResult = classResult(className, methodResult);
+
+        try (final JavaDocExtraction extraction = classUnderTest.startExtraction(Collections.singleton(classPath), sourcePaths, Collections.emptySet())) {
+            extraction.add(classResult);
+            extraction.combineResults(Collections.singleton(classResult));
+        }
+        return methodResult.getMethodDoc() == null ? null : methodResult.getMethodDoc().getComment();
+    }
+
+    private static MethodComment methodComment(final String comment) {
+        return new MethodComment(comment, Collections.emptyList(), null, false);
+    }
+
+    private static MethodResult methodResult(final MethodIdentifier identifier, final HttpMethod httpMethod) {
+        final MethodResult methodResult = new MethodResult();
+        methodResult.setOriginalMethodSignature(identifier);
+        methodResult.setHttpMethod(httpMethod);
+        methodResult.setPath(identifier.getMethodName());
+        return methodResult;
+    }
+
+    private static ClassResult classResult(final String className, final MethodResult... methodResults) {
+        final ClassResult classResult = new ClassResult();
+        classResult.setOriginalClass(className);
+        for (final MethodResult methodResult : methodResults)
+            classResult.add(methodResult);
+        return classResult;
+    }
+
+    /**
+     * The resource.
+     */
+    static class DocumentedResource {
+
+        /**
+         * Returns the documented value.
+         *
+         * @param id The ID
+         */
+        String get(final int id) {
+            return "value";
+        }
+
+    }
+
+}
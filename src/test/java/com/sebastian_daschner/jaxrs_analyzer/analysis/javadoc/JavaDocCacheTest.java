@@ -0,0 +1,101 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.ClassComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MemberParameterTag;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class JavaDocCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteRead() throws IOException {
+        final Path directory = folder.getRoot().toPath().resolve("cache");
+        final JavaDocCache cache = new JavaDocCache(directory);
+        final String hash = JavaDocCache.hash("class Resource {}".getBytes(StandardCharsets.UTF_8));
+
+        final Map<String, String> annotations = new HashMap<>();
+        annotations.put("javax.ws.rs.QueryParam", "q");
+        annotations.put("javax.ws.rs.DefaultValue", null);
+        final ClassComment classComment = new ClassComment("The resource.", Collections.singletonList(new MemberParameterTag("The query.", annotations)), false);
+        final MethodIdentifier identifier = MethodIdentifier.ofNonStatic("com/example/Resource", "get", Types.STRING, Types.STRING, "[I");
+        final MethodComment methodComment = new MethodComment("Returns ümläuts.", Arrays.asList(new MemberParameterTag("The name", Collections.emptyMap()),
+                new MemberParameterTag(null, Collections.singletonMap("javax.ws.rs.PathParam", "id"))), classComment, true);
+
+        final SourceFileComments comments = new SourceFileComments();
+        comments.addClassComment("com/example/Resource", classComment);
+        comments.addMethodComment(identifier, methodComment);
+
+        assertNull(cache.read(hash, c -> true));
+        cache.write(hash, comments, Collections.singletonMap("com/example/Resource", true));
+
+        final SourceFileComments cached = new JavaDocCache(directory).read(hash, c -> true);
+        assertNotNull(cached);
+        assertEquals(comments.getClassComments(), cached.getClassComments());
+        assertEquals(comments.getMethodComments(), cached.getMethodComments());
+        assertSame(cached.getClassComments().get("com/example/Resource"), cached.getMethodComments().get(identifier).getContainingClassComment());
+
+        try (final Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void testMalformedEntry() throws IOException {
+        final Path directory = folder.newFolder().toPath();
+        final String hash = JavaDocCache.hash(new byte[0]);
+        Files.write(directory.resolve(hash + ".jdc"), new byte[]{1, 2, 3});
+
+        final JavaDocCache cache = new JavaDocCache(directory);
+        assertNull(cache.read(hash, c -> true));
+
+        cache.write(hash, new SourceFileComments(), Collections.emptyMap());
+        final SourceFileComments cached = cache.read(hash, c -> true);
+        assertNotNull(cached);
+        assertTrue(cached.getClassComments().isEmpty());
+        assertTrue(cached.getMethodComments().isEmpty());
+    }
+
+    @Test
+    public void testChangedClasses() throws IOException {
+        final JavaDocCache cache = new JavaDocCache(folder.newFolder().toPath());
+        final String hash = JavaDocCache.hash("class Resource { User get() {} }".getBytes(StandardCharsets.UTF_8));
+        final Map<String, Boolean> resolvedClasses = new HashMap<>();
+        resolvedClasses.put("com/example/User", true);
+        resolvedClasses.put("java/lang/User", false);
+
+        cache.write(hash, new SourceFileComments(), resolvedClasses);
+
+        assertNotNull(cache.read(hash, "com/example/User"::equals));
+        // the type would be resolved to another class
+        assertNull(cache.read(hash, c -> false));
+        assertNull(cache.read(hash, c -> true));
+    }
+
+    @Test
+    public void testHash() {
+        final String hash = JavaDocCache.hash("class A {}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(64, hash.length());
+        assertEquals(hash, JavaDocCache.hash("class A {}".getBytes(StandardCharsets.UTF_8)));
+        assertNotEquals(hash, JavaDocCache.hash("class B {}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
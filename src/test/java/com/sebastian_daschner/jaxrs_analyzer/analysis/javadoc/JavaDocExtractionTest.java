@@ -0,0 +1,186 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.AnalysisOptions;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.HttpMethod;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.Type;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class JavaDocExtractionTest {
+
+    private static final Path TEST_PROJECT = Paths.get("src/test/jaxrs-test");
+    private static final Path TEST_SOURCES = Paths.get("src/test/java");
+    private static final String DOCUMENTED_CLASS = "com/sebastian_daschner/jaxrs_analyzer/analysis/results/TypeUtils";
+    private static final MethodIdentifier DOCUMENTED_METHOD = MethodIdentifier.ofStatic(DOCUMENTED_CLASS, "equals", "Z",
+            "Lcom/sebastian_daschner/jaxrs_analyzer/model/rest/TypeRepresentation;", "Lcom/sebastian_daschner/jaxrs_analyzer/model/rest/TypeRepresentation;");
+
+    private static final Path A_1 = Paths.get("src/com/company/a/A1.java");
+    private static final Path A_2 = Paths.get("src/com/company/a/A2.java");
+    private static final Path A_3 = Paths.get("src/com/company/a/A3.java");
+    private static final Path B_1 = Paths.get("src/com/company/b/B1.java");
+    private static final Path B_2 = Paths.get("src/com/company/b/B2.java");
+    private static final Path C_1 = Paths.get("src/com/company/c/C1.java");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testPartitionPackages() {
+        final Set<Path> sourceFiles = new LinkedHashSet<>(Arrays.asList(B_1, A_1, C_1, A_2, B_2, A_3));
+
+        final List<List<Path>> batches = JavaDocExtraction.partitionPackages(sourceFiles, 2);
+
+        assertEquals(Arrays.asList(Arrays.asList(A_1, A_2, A_3), Arrays.asList(B_1, B_2, C_1)), batches);
+    }
+
+    @Test
+    public void testPartitionPackagesSingleBatch() {
+        final Set<Path> sourceFiles = new LinkedHashSet<>(Arrays.asList(B_1, A_1, A_2));
+
+        assertEquals(Collections.singletonList(Arrays.asList(A_1, A_2, B_1)), JavaDocExtraction.partitionPackages(sourceFiles, 1));
+    }
+
+    @Test
+    public void testPartitionPackagesFewerPackages() {
+        final Set<Path> sourceFiles = new LinkedHashSet<>(Arrays.asList(A_1, A_2));
+
+        assertEquals(Collections.singletonList(Arrays.asList(A_1, A_2)), JavaDocExtraction.partitionPackages(sourceFiles, 4));
+    }
+
+    @Test
+    public void testParserWorkers() throws IOException {
+        final Map<MethodIdentifier, MethodComment> comments = extractComments(false, 1);
+
+        assertEquals(comments, extractComments(false, 4));
+        assertTrue(comments.get(DOCUMENTED_METHOD).getComment().startsWith("Checks if the first representation fully equals to the second"));
+        assertTrue(comments.keySet().stream().anyMatch(m -> m.getContainingClass().startsWith("com/sebastian_daschner/jaxrs_test/")));
+    }
+
+    @Test
+    public void testDocletWorkers() throws IOException {
+        // the batches of the doclet contain the packages of both source paths
+        final Map<MethodIdentifier, MethodComment> comments = extractComments(true, 1);
+
+        assertEquals(comments, extractComments(true, 4));
+        assertTrue(comments.get(DOCUMENTED_METHOD).getComment().startsWith("Checks if the first representation fully equals to the second"));
+    }
+
+    /**
+     * Documents the methods of the test project and of a test class in another package, returns the comments of the method results.
+     */
+    private Map<MethodIdentifier, MethodComment> extractComments(final boolean doclet, final int workers) throws IOException {
+        final Path classes = compileTestProject();
+        final List<URL> urls = new ArrayList<>(Collections.singletonList(classes.toUri().toURL()));
+        final Path toolsJar = Paths.get(System.getProperty("java.home")).resolveSibling("lib/tools.jar");
+        if (Files.isRegularFile(toolsJar))
+            urls.add(toolsJar.toUri().toURL());
+
+        final Map<String, String> config = new HashMap<>();
+        config.put(AnalysisOptions.JAVADOC_DOCLET, String.valueOf(doclet));
+        config.put(AnalysisOptions.JAVADOC_WORKERS, String.valueOf(workers));
+        final AnalysisOptions options = new AnalysisOptions();
+        options.configure(config);
+
+        final Set<Path> classPaths = Stream.of(System.getProperty("java.class.path").split(File.pathSeparator)).map(Paths::get).collect(Collectors.toSet());
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextClassLoader = thread.getContextClassLoader();
+        try (final URLClassLoader classLoader = new URLClassLoader(urls.toArray(new URL[0]), getClass().getClassLoader())) {
+            thread.setContextClassLoader(classLoader);
+            if (doclet)
+                Assume.assumeTrue("javadoc is not available", isAvailable("com.sun.tools.javadoc.Main"));
+
+            final Set<ClassResult> classResults = new LinkedHashSet<>();
+            try (final Stream<Path> sourceFiles = Files.list(TEST_PROJECT.resolve("com/sebastian_daschner/jaxrs_test"))) {
+                sourceFiles.map(f -> "com/sebastian_daschner/jaxrs_test/" + f.getFileName().toString().replace(".java", ""))
+                        .filter(c -> !c.contains(".")).sorted().map(c -> classResult(classLoader, c)).forEach(classResults::add);
+            }
+            classResults.add(classResult(classLoader, DOCUMENTED_CLASS));
+
+            try (final JavaDocExtraction extraction = new JavaDocAnalyzer(options).startExtraction(new LinkedHashSet<>(Arrays.asList(TEST_PROJECT, TEST_SOURCES)), classPaths)) {
+                classResults.forEach(extraction::add);
+                extraction.combineResults(classResults);
+            }
+
+            final Map<MethodIdentifier, MethodComment> comments = new HashMap<>();
+            classResults.stream().flatMap(c -> c.getMethods().stream()).filter(m -> m.getMethodDoc() != null)
+                    .forEach(m -> comments.put(m.getOriginalMethodSignature(), m.getMethodDoc()));
+            assertFalse(comments.isEmpty());
+            return comments;
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    private Path compileTestProject() throws IOException {
+        final Path classes = folder.newFolder().toPath();
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+             final Stream<Path> sourceFiles = Files.list(TEST_PROJECT.resolve("com/sebastian_daschner/jaxrs_test"))) {
+            final List<File> files = sourceFiles.filter(f -> f.toString().endsWith(".java")).map(Path::toFile).collect(Collectors.toList());
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, Arrays.asList("-g", "-proc:none", "-d", classes.toString()),
+                    null, fileManager.getJavaFileObjectsFromFiles(files));
+            assertTrue("Could not compile test project", task.call());
+        }
+        return classes;
+    }
+
+    private static boolean isAvailable(final String className) {
+        try {
+            Thread.currentThread().getContextClassLoader().loadClass(className);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static ClassResult classResult(final ClassLoader classLoader, final String className) {
+        final ClassResult classResult = new ClassResult();
+        classResult.setOriginalClass(className);
+        try {
+            for (final Method method : classLoader.loadClass(className.replace('/', '.')).getDeclaredMethods()) {
+                if (method.isSynthetic())
+                    continue;
+                final MethodResult methodResult = new MethodResult();
+                methodResult.setOriginalMethodSignature(MethodIdentifier.of(className, method.getName(), Type.getMethodDescriptor(method), Modifier.isStatic(method.getModifiers())));
+                methodResult.setHttpMethod(HttpMethod.GET);
+                methodResult.setPath(method.getName());
+                classResult.add(methodResult);
+            }
+        } catch (ClassNotFoundException e) {
+            throw new AssertionError(e);
+        }
+        return classResult;
+    }
+
+}
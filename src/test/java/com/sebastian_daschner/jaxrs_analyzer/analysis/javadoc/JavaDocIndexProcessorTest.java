@@ -0,0 +1,167 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.ClassComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JavaDocIndexProcessorTest {
+
+    private static final String RESOURCE = "package com.example;\n" +
+            "import javax.ws.rs.*;\n" +
+            "import java.util.List;\n" +
+            "/** The users. */\n" +
+            "@Path(\"users\")\n" +
+            "public class Users {\n" +
+            "    /**\n" +
+            "     * Returns the users.\n" +
+            "     * @param name The name\n" +
+            "     */\n" +
+            "    @GET\n" +
+            "    public List<User> getUsers(@QueryParam(\"name\") String name, int[] ids) { return null; }\n" +
+            "    /** @deprecated Use the query */\n" +
+            "    @Deprecated @GET @Path(\"{id}\")\n" +
+            "    public User getUser(@PathParam(\"id\") long id) { return null; }\n" +
+            "}\n";
+
+    private static final String USER = "package com.example;\n" +
+            "/** A user. */\n" +
+            "public class User {\n" +
+            "    /** The name. */\n" +
+            "    private String name;\n" +
+            "    /** Returns the name. */\n" +
+            "    public String getName() { return name; }\n" +
+            "}\n";
+
+    private static final String OTHER = "package com.example;\n" +
+            "/** Not referenced. */\n" +
+            "public class Other {\n" +
+            "}\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path sources;
+
+    @Test
+    public void test() throws IOException {
+        final Path output = compile();
+
+        final JavaDocIndex index = JavaDocIndex.load(output);
+        assertNotNull(index);
+        assertEquals(Arrays.asList("com/example/Users.java", "com/example/User.java"), new ArrayList<>(index.getEntries().keySet()));
+
+        final SourceFileComments comments = index.getEntries().get("com/example/Users.java").getComments();
+        final ClassComment resourceComment = comments.getClassComments().get("com/example/Users");
+        assertEquals("The users.", resourceComment.getComment());
+
+        final MethodComment getUsers = comments.getMethodComments().get(MethodIdentifier.ofNonStatic("com/example/Users", "getUsers", Types.LIST, Types.STRING, "[I"));
+        assertNotNull(getUsers);
+        assertEquals("Returns the users.", getUsers.getComment());
+        assertFalse(getUsers.isDeprecated());
+        assertSame(resourceComment, getUsers.getContainingClassComment());
+        assertEquals("The name", getUsers.getParamTags().get(0).getComment());
+        assertEquals(Collections.singletonMap("javax.ws.rs.QueryParam", "name"), getUsers.getParamTags().get(0).getAnnotations());
+        assertNull(getUsers.getParamTags().get(1).getComment());
+
+        final MethodComment getUser = comments.getMethodComments().get(MethodIdentifier.ofNonStatic("com/example/Users", "getUser", "Lcom/example/User;", Types.PRIMITIVE_LONG));
+        assertNotNull(getUser);
+        assertTrue(getUser.isDeprecated());
+        assertEquals(Collections.singletonMap("javax.ws.rs.PathParam", "id"), getUser.getParamTags().get(0).getAnnotations());
+
+        final SourceFileComments userComments = index.getEntries().get("com/example/User.java").getComments();
+        final ClassComment userComment = userComments.getClassComments().get("com/example/User");
+        assertEquals("A user.", userComment.getComment());
+        assertEquals("The name.", userComment.getFieldComments().get(0).getComment());
+        assertEquals("Returns the name.", userComments.getMethodComments().get(MethodIdentifier.ofNonStatic("com/example/User", "getName", Types.STRING)).getComment());
+    }
+
+    @Test
+    public void testStamps() throws IOException {
+        final Path output = compile();
+        final JavaDocIndex index = JavaDocIndex.load(output);
+
+        final Path sourceFile = sources.resolve("com/example/Users.java");
+        assertTrue(index.getEntries().get("com/example/Users.java").isUpToDate(sourceFile));
+
+        Files.write(sourceFile, (RESOURCE + "// changed\n").getBytes(StandardCharsets.UTF_8));
+        assertFalse(index.getEntries().get("com/example/Users.java").isUpToDate(sourceFile));
+    }
+
+    @Test
+    public void testIncrementalCompilation() throws IOException {
+        final Path output = compile();
+        compile(output, true, sources, sources.resolve("com/example/Other.java"));
+
+        final JavaDocIndex index = JavaDocIndex.load(output);
+        assertNotNull(index);
+        assertEquals(Arrays.asList("com/example/Users.java", "com/example/User.java"), new ArrayList<>(index.getEntries().keySet()));
+        assertEquals("The users.", index.getEntries().get("com/example/Users.java").getComments().getClassComments().get("com/example/Users").getComment());
+    }
+
+    @Test
+    public void testDisabled() throws IOException {
+        writeSources();
+        final Path output = folder.newFolder("disabled-classes").toPath();
+        compile(output, false, sources, sources.resolve("com/example/Users.java"), sources.resolve("com/example/User.java"));
+
+        assertNull(JavaDocIndex.load(output));
+    }
+
+    @Test
+    public void testNoResources() throws IOException {
+        writeSources();
+        final Path output = folder.newFolder("other-classes").toPath();
+        compile(output, true, sources, sources.resolve("com/example/Other.java"));
+
+        assertNull(JavaDocIndex.load(output));
+    }
+
+    private void writeSources() throws IOException {
+        sources = folder.newFolder("sources").toPath();
+        Files.createDirectories(sources.resolve("com/example"));
+        Files.write(sources.resolve("com/example/Users.java"), RESOURCE.getBytes(StandardCharsets.UTF_8));
+        Files.write(sources.resolve("com/example/User.java"), USER.getBytes(StandardCharsets.UTF_8));
+        Files.write(sources.resolve("com/example/Other.java"), OTHER.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Path compile() throws IOException {
+        writeSources();
+        final Path output = folder.newFolder("classes").toPath();
+        compile(output, true, sources, sources.resolve("com/example/Users.java"), sources.resolve("com/example/User.java"), sources.resolve("com/example/Other.java"));
+        return output;
+    }
+
+    private static void compile(final Path output, final boolean indexEnabled, final Path sourcePath, final Path... sourceFiles) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (final StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            final Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjects(Arrays.stream(sourceFiles).map(Path::toFile).toArray(File[]::new));
+            final List<String> options = new ArrayList<>(Arrays.asList("-d", output.toString(), "-sourcepath", sourcePath.toString(), "-cp", output + File.pathSeparator + System.getProperty("java.class.path")));
+            if (indexEnabled)
+                options.add("-A" + JavaDocIndexProcessor.INDEX_OPTION + "=true");
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, compilationUnits);
+            task.setProcessors(Collections.singleton(new JavaDocIndexProcessor()));
+            assertTrue("Could not compile the sources", task.call());
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.ClassComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MemberParameterTag;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class JavaDocParserTest {
+
+    private static final Set<String> CLASSES = new HashSet<>(Arrays.asList("java/lang/String", "java/util/List",
+            "javax/ws/rs/GET", "javax/ws/rs/Path", "javax/ws/rs/PathParam", "javax/ws/rs/QueryParam", "com/example/Model"));
+
+    private Map<String, ClassComment> classComments;
+    private Map<MethodIdentifier, MethodComment> methodComments;
+
+    @Before
+    public void setUp() {
+        classComments = new HashMap<>();
+        methodComments = new HashMap<>();
+    }
+
+    @Test
+    public void testMethodComments() {
+        parse("package com.example;\n" +
+                "import javax.ws.rs.*;\n" +
+                "import java.util.List;\n" +
+                "/**\n" +
+                " * The resource.\n" +
+                " */\n" +
+                "@Path(\"test\")\n" +
+                "public class Resource {\n" +
+                "    /**\n" +
+                "     * Returns the models.\n" +
+                "     *\n" +
+                "     * @param name The name\n" +
+                "     * @param ids  The IDs\n" +
+                "     * @return The models\n" +
+                "     */\n" +
+                "    @GET\n" +
+                "    public List<Model> getModels(@PathParam(\"name\") final String name, @QueryParam(value = \"id\") int[] ids) {\n" +
+                "        return null; // } \"{\"\n" +
+                "    }\n" +
+                "    /** @deprecated Use something else */\n" +
+                "    public static <T extends Model> T find(T template, String... names) {\n" +
+                "        return template;\n" +
+                "    }\n" +
+                "}\n");
+
+        final ClassComment classComment = new ClassComment("The resource.", Collections.emptyList(), false);
+        assertEquals(classComment, classComments.get("com/example/Resource"));
+
+        final MethodIdentifier getModels = MethodIdentifier.ofNonStatic("com/example/Resource", "getModels", Types.LIST,
+                Types.STRING, "[I");
+        final MethodComment getModelsComment = methodComments.get(getModels);
+        assertNotNull(getModelsComment);
+        assertEquals("Returns the models.", getModelsComment.getComment());
+        assertFalse(getModelsComment.isDeprecated());
+        assertSame(classComments.get("com/example/Resource"), getModelsComment.getContainingClassComment());
+        assertEquals(Arrays.asList(new MemberParameterTag("The name", Collections.singletonMap("javax.ws.rs.PathParam", "name")),
+                new MemberParameterTag("The IDs", Collections.singletonMap("javax.ws.rs.QueryParam", "id"))), getModelsComment.getParamTags());
+
+        final MethodIdentifier find = MethodIdentifier.ofStatic("com/example/Resource", "find", "Lcom/example/Model;",
+                "Lcom/example/Model;", "[Ljava/lang/String;");
+        final MethodComment findComment = methodComments.get(find);
+        assertNotNull(findComment);
+        assertTrue(findComment.isDeprecated());
+        assertEquals("", findComment.getComment());
+        assertEquals(Arrays.asList(new MemberParameterTag(null, Collections.emptyMap()), new MemberParameterTag(null, Collections.emptyMap())),
+                findComment.getParamTags());
+
+        assertEquals(2, methodComments.size());
+    }
+
+    @Test
+    public void testNestedClassesAndFields() {
+        parse("package com.example;\n" +
+                "import javax.ws.rs.QueryParam;\n" +
+                "public class Outer {\n" +
+                "    /** The inner class. */\n" +
+                "    public static class Inner {\n" +
+                "        /** The query. */\n" +
+                "        @QueryParam(\"q\")\n" +
+                "        private String query, other = \"a, b\";\n" +
+                "        /** Handles the inner class. */\n" +
+                "        public void handle(Inner inner) {\n" +
+                "        }\n" +
+                "    }\n" +
+                "    enum Color {\n" +
+                "        /** Red. */\n" +
+                "        RED,\n" +
+                "        GREEN;\n" +
+                "    }\n" +
+                "}\n");
+
+        final ClassComment inner = classComments.get("com/example/Outer$Inner");
+        assertNotNull(inner);
+        assertEquals("The inner class.", inner.getComment());
+        assertEquals(Arrays.asList(new MemberParameterTag("The query.", Collections.singletonMap("javax.ws.rs.QueryParam", "q")),
+                new MemberParameterTag("The query.", Collections.singletonMap("javax.ws.rs.QueryParam", "q"))), inner.getFieldComments());
+
+        final ClassComment color = classComments.get("com/example/Outer$Color");
+        assertNotNull(color);
+        assertEquals(Arrays.asList(new MemberParameterTag("Red.", Collections.emptyMap()), new MemberParameterTag("", Collections.emptyMap())),
+                color.getFieldComments());
+
+        final MethodIdentifier handle = MethodIdentifier.ofNonStatic("com/example/Outer$Inner", "handle", Types.PRIMITIVE_VOID,
+                "Lcom/example/Outer$Inner;");
+        assertEquals("Handles the inner class.", methodComments.get(handle).getComment());
+    }
+
+    private void parse(final String source) {
+        new JavaDocParser(CLASSES::contains).parse(source, classComments::put, methodComments::put);
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.javadoc;
+
+import com.sebastian_daschner.jaxrs_analyzer.builder.HttpResponseBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
+import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JavaDocSourceFilesTest {
+
+    private static final Path SOURCE_PATH = Paths.get("src/test/java");
+    private static final String PACKAGE = "com/sebastian_daschner/jaxrs_analyzer/analysis/javadoc/";
+
+    @Test
+    public void testResolveSourceFiles() throws IOException {
+        final MethodResult methodResult = new MethodResult();
+        methodResult.setRequestBodyType("L" + PACKAGE + "JavaDocSourceFilesTest$Model;");
+        methodResult.getResponses().add(HttpResponseBuilder.withStatues(200)
+                .andEntityTypes("Ljava/util/List<L" + PACKAGE + "JavaDocAnalyzerTest;>;").build());
+
+        final ClassResult classResult = new ClassResult();
+        classResult.setOriginalClass(PACKAGE + "JavaDocSourceFilesTest$Resource");
+        classResult.add(methodResult);
+
+        final Set<Path> sourceFiles = new JavaDocSourceFiles().resolve(Collections.singleton(classResult), Collections.singleton(SOURCE_PATH));
+
+        assertEquals(2, sourceFiles.size());
+        assertTrue(sourceFiles.contains(SOURCE_PATH.resolve(PACKAGE + "JavaDocSourceFilesTest.java")));
+        assertTrue(sourceFiles.contains(SOURCE_PATH.resolve(PACKAGE + "JavaDocAnalyzerTest.java")));
+    }
+
+    @Test
+    public void testSourceFileAttribute() throws IOException {
+        final ClassResult classResult = new ClassResult();
+        // the top-level class is declared in the source file of another class
+        classResult.setOriginalClass(PACKAGE + "SecondaryResource");
+
+        final Set<Path> sourceFiles = new JavaDocSourceFiles().resolve(Collections.singleton(classResult), Collections.singleton(SOURCE_PATH));
+
+        assertEquals(Collections.singleton(SOURCE_PATH.resolve(PACKAGE + "JavaDocSourceFilesTest.java")), sourceFiles);
+    }
+
+    @Test
+    public void testMissingSources() throws IOException {
+        final ClassResult classResult = new ClassResult();
+        classResult.setOriginalClass(PACKAGE + "JavaDocSourceFilesTest$Resource");
+
+        assertTrue(new JavaDocSourceFiles().resolve(Collections.singleton(classResult), Collections.singleton(Paths.get("src/main/java"))).isEmpty());
+    }
+
+    static class Resource extends SecondaryResource {
+    }
+
+    static class Model {
+    }
+
+}
+
+class SecondaryResource {
+}
@@ -161,6 +161,17 @@ public class DynamicTypeAnalyzerTest {
         assertThat(concrete.getProperties().get("hello").getType(), is(Types.STRING));
     }
 
+    @Test
+    public void testExistingTypes() {
+        final TypeIdentifier objectIdentifier = cut.analyze(Json.createObjectBuilder().add("key", "value").build());
+        final TypeIdentifier arrayIdentifier = cut.analyze(Json.createArrayBuilder().add(Json.createObjectBuilder().add("key", "value")).build());
+
+        cut = new DynamicTypeAnalyzer(typeRepresentations);
+        assertThat(cut.analyze(Json.createObjectBuilder().add("key", "other").build()), is(objectIdentifier));
+        assertThat(cut.analyze(Json.createArrayBuilder().add(Json.createObjectBuilder().add("key", "other")).build()), is(arrayIdentifier));
+        assertThat(typeRepresentations.size(), is(2));
+    }
+
     private <T extends TypeRepresentation> T getRepresentation(final String firstName) {
         return (T) typeRepresentations.entrySet().stream().filter(e -> e.getKey().getName().equals(firstName)).findAny().get().getValue();
     }
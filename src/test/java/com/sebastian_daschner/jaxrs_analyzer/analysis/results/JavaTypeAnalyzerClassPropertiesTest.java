@@ -0,0 +1,74 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.results;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeRepresentation;
+import org.junit.Test;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlType;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class JavaTypeAnalyzerClassPropertiesTest {
+
+    private static final String FIRST_MODEL = "Lcom/sebastian_daschner/jaxrs_analyzer/analysis/results/JavaTypeAnalyzerClassPropertiesTest$FirstModel;";
+    private static final String SECOND_MODEL = "Lcom/sebastian_daschner/jaxrs_analyzer/analysis/results/JavaTypeAnalyzerClassPropertiesTest$SecondModel;";
+    private static final TypeIdentifier SHARED_IDENTIFIER = TypeIdentifier.ofType("Lcom/sebastian_daschner/jaxrs_analyzer/analysis/results/JavaTypeAnalyzerClassPropertiesTest$Shared;");
+
+    @Test
+    public void testSharedPropertyTypes() {
+        final Map<TypeIdentifier, TypeRepresentation> representations = new HashMap<>();
+        final JavaTypeAnalyzer analyzer = new JavaTypeAnalyzer(representations);
+        final TypeIdentifier first = analyzer.analyze(FIRST_MODEL);
+        final TypeIdentifier second = analyzer.analyze(SECOND_MODEL);
+
+        // the properties of the shared types are resolved once, but have to match the ones of separate analyses
+        final Map<TypeIdentifier, TypeRepresentation> expectedRepresentations = new HashMap<>();
+        assertEquals(first, new JavaTypeAnalyzer(expectedRepresentations).analyze(FIRST_MODEL));
+        final Map<TypeIdentifier, TypeRepresentation> secondRepresentations = new HashMap<>();
+        assertEquals(second, new JavaTypeAnalyzer(secondRepresentations).analyze(SECOND_MODEL));
+        expectedRepresentations.putAll(secondRepresentations);
+
+        assertEquals(expectedRepresentations, representations);
+        assertTrue(representations.containsKey(SHARED_IDENTIFIER));
+        assertEquals(4, ((TypeRepresentation.ConcreteTypeRepresentation) representations.get(first)).getProperties().size());
+        assertEquals(3, ((TypeRepresentation.ConcreteTypeRepresentation) representations.get(second)).getProperties().size());
+
+        expectedRepresentations.values().forEach(ex -> {
+            final TypeRepresentation ac = representations.get(ex.getIdentifier());
+            assertTrue("No type representation match \nexpected: " + ex + "\nactual:   " + ac, TypeUtils.equals(ex, ac));
+            assertTrue("No metadata representation match \nexpected: " + ex + "\nactual:   " + ac, TypeUtils.metadataEquals(ex, ac));
+        });
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Shared {
+        @XmlAttribute(name = "shared-name")
+        private String name;
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class SuperModel {
+        @XmlElement(name = "super-shared", namespace = "http://foo.bar/ns-1")
+        private Shared superShared;
+        private int id;
+    }
+
+    @XmlType(name = "first-model")
+    public static class FirstModel extends SuperModel {
+        @XmlElement(name = "first-shared")
+        private Shared firstShared;
+        private String first;
+    }
+
+    public static class SecondModel extends SuperModel {
+        @XmlAttribute
+        private Shared secondShared;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.results;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeRepresentation;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.XMLMetadata;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class JavaTypeAnalyzerPlatformTypesTest {
+
+    @Test
+    public void testCollectionOfPlatformType() {
+        final Map<TypeIdentifier, TypeRepresentation> representations = new HashMap<>();
+        final TypeIdentifier identifier = new JavaTypeAnalyzer(representations).analyze("Ljava/util/List<Ljava/lang/String;>;");
+
+        assertEquals(TypeUtils.STRING_LIST_IDENTIFIER, identifier);
+        final TypeRepresentation expected = TypeRepresentation.ofCollection(identifier,
+                TypeRepresentation.ofConcrete(TypeUtils.STRING_IDENTIFIER, XMLMetadata.extract(String.class), Collections.emptyMap()));
+        final TypeRepresentation actual = representations.get(identifier);
+
+        assertTrue("expected: " + expected + "\nactual:   " + actual, TypeUtils.equals(expected, actual));
+        final TypeRepresentation actualString = ((TypeRepresentation.CollectionTypeRepresentation) actual).getRepresentation();
+        assertTrue(actualString instanceof TypeRepresentation.ConcreteTypeRepresentation);
+        assertEquals(XMLMetadata.extract(String.class), ((TypeRepresentation.ConcreteTypeRepresentation) actualString).getTypeXmlMetadata());
+        assertTrue(((TypeRepresentation.ConcreteTypeRepresentation) actualString).getProperties().isEmpty());
+    }
+
+    @Test
+    public void testCollectionOfPlatformEnum() {
+        final Map<TypeIdentifier, TypeRepresentation> representations = new HashMap<>();
+        final TypeIdentifier identifier = new JavaTypeAnalyzer(representations).analyze("Ljava/util/Set<Ljava/util/concurrent/TimeUnit;>;");
+
+        assertTrue(representations.get(identifier) instanceof TypeRepresentation.CollectionTypeRepresentation);
+        final TypeRepresentation actual = ((TypeRepresentation.CollectionTypeRepresentation) representations.get(identifier)).getRepresentation();
+        assertTrue(actual instanceof TypeRepresentation.EnumTypeRepresentation);
+        assertEquals(Stream.of(TimeUnit.values()).map(Enum::name).collect(Collectors.toSet()), ((TypeRepresentation.EnumTypeRepresentation) actual).getEnumValues());
+    }
+
+    @Test
+    public void testUnannotatedClassMetadata() {
+        assertEquals(XMLMetadata.extract(String.class), XMLMetadata.ofUnannotatedClass("java.lang.String"));
+        assertEquals(XMLMetadata.extract(Map.Entry.class), XMLMetadata.ofUnannotatedClass("java.util.Map$Entry"));
+    }
+
+}
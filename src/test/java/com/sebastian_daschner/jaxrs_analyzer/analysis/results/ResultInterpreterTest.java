@@ -18,12 +18,10 @@ package com.sebastian_daschner.jaxrs_analyzer.analysis.results;
 
 import com.sebastian_daschner.jaxrs_analyzer.builder.*;
 import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.javadoc.MethodComment;
 import com.sebastian_daschner.jaxrs_analyzer.model.rest.*;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.ClassResult;
 import com.sebastian_daschner.jaxrs_analyzer.model.results.MethodResult;
-import com.sun.javadoc.MethodDoc;
-import com.sun.javadoc.ParamTag;
-import com.sun.javadoc.Parameter;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -37,8 +35,6 @@ import java.util.Set;
 
 import static com.sebastian_daschner.jaxrs_analyzer.analysis.results.TypeUtils.STRING_IDENTIFIER;
 import static org.junit.Assert.assertEquals;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
 public class ResultInterpreterTest {
 
@@ -97,6 +93,34 @@ public class ResultInterpreterTest {
         assertEquals(expectedResult, actualResult);
     }
 
+    @Test
+    public void testDegradedSubResourceLocator() {
+        final Resources expectedResult = new Resources();
+        expectedResult.setBasePath("path");
+        final ResourceMethod resourceGetMethod = ResourceMethodBuilder.withMethod(HttpMethod.GET)
+                .andResponse(200, ResponseBuilder.withResponseBody(STRING_IDENTIFIER).build())
+                .andDegraded(true).build();
+        expectedResult.addMethod("test", resourceGetMethod);
+        final ResourceMethod resourcePostMethod = ResourceMethodBuilder.withMethod(HttpMethod.POST)
+                .andResponse(204, ResponseBuilder.newBuilder().build()).andDegraded(true).build();
+        expectedResult.addMethod("test/sub", resourcePostMethod);
+
+        final ClassResult appPathResult = ClassResultBuilder.withApplicationPath("/path").build();
+        final MethodResult method = MethodResultBuilder.withResponses(HttpResponseBuilder.withStatues(200).andEntityTypes(Types.STRING).build())
+                .andMethod(HttpMethod.GET).andDegraded(true).build();
+        // the methods of the sub-resource are found via the degraded locator
+        final MethodResult subResourceLocator = MethodResultBuilder.newBuilder().andPath("/sub").andDegraded(true).build();
+        final MethodResult subResourceMethod = MethodResultBuilder.withResponses(HttpResponseBuilder.withStatues(204).build()).andMethod(HttpMethod.POST).build();
+        subResourceLocator.setSubResource(ClassResultBuilder.withResourcePath(null).andMethods(subResourceMethod).build());
+        final ClassResult resClassResult = ClassResultBuilder.withResourcePath("/test").andMethods(method, subResourceLocator).build();
+
+        final Set<ClassResult> results = new HashSet<>(Arrays.asList(appPathResult, resClassResult));
+
+        final Resources actualResult = classUnderTest.interpret(results);
+
+        assertEquals(expectedResult, actualResult);
+    }
+
     @Test
     public void testRootResource() {
         final Resources expectedResult = new Resources();
@@ -228,6 +252,28 @@ public class ResultInterpreterTest {
         assertEquals(expectedResult, actualResult);
     }
 
+    @Test
+    public void testWidenedStatusCodes() {
+        final Resources expectedResult = new Resources();
+        expectedResult.setBasePath("path");
+        final ResourceMethod resourceGetMethod = ResourceMethodBuilder.withMethod(HttpMethod.GET)
+                .andResponse(201, ResponseBuilder.withResponseBody(STRING_IDENTIFIER).build()).build();
+        expectedResult.addMethod("test", resourceGetMethod);
+
+        final ClassResult appPathResult = ClassResultBuilder.withApplicationPath("path").build();
+        // any status is possible, thus the successful default doesn't apply
+        final MethodResult getMethod = MethodResultBuilder.withResponses(HttpResponseBuilder.withStatues(201).andEntityTypes(Types.STRING).andWidenedStatuses().build(),
+                HttpResponseBuilder.newBuilder().andEntityTypes(Types.STRING).andWidenedStatuses().build())
+                .andMethod(HttpMethod.GET).build();
+        final ClassResult resClassResult = ClassResultBuilder.withResourcePath("test").andMethods(getMethod).build();
+
+        final Set<ClassResult> results = new HashSet<>(Arrays.asList(appPathResult, resClassResult));
+
+        final Resources actualResult = classUnderTest.interpret(results);
+
+        assertEquals(expectedResult, actualResult);
+    }
+
     @Test
     public void testNormalize() {
         final Resources expectedResult = new Resources();
@@ -288,11 +334,7 @@ public class ResultInterpreterTest {
     @Test
     @Ignore
     public void testDescriptions() {
-        final MethodDoc methodDocMock = mock(MethodDoc.class);
-
-        when(methodDocMock.commentText()).thenReturn("Method description.");
-        when(methodDocMock.paramTags()).thenReturn(new ParamTag[0]);
-        when(methodDocMock.parameters()).thenReturn(new Parameter[0]);
+        final MethodComment methodDoc = new MethodComment("Method description.", Collections.emptyList(), null, false);
 
         final Resources expectedResult = new Resources();
         expectedResult.setBasePath("path");
@@ -304,7 +346,7 @@ public class ResultInterpreterTest {
 
         final ClassResult appPathResult = ClassResultBuilder.withApplicationPath("path/").build();
         final MethodResult method = MethodResultBuilder.withResponses(HttpResponseBuilder.withStatues(200).andEntityTypes(Types.STRING).build())
-                .andMethodDoc(methodDocMock)
+                .andMethodDoc(methodDoc)
                 .andQueryParam("query", "Ljava/lang/String;", null)
                 .andMethod(HttpMethod.GET).build();
         final ClassResult resClassResult = ClassResultBuilder.withResourcePath("test").andMethods(method).build();
@@ -0,0 +1,110 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.sources;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ContextClassReader;
+import com.sebastian_daschner.jaxrs_analyzer.analysis.classes.ProjectClassLoader;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.*;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+public class ClassSourceTest {
+
+    private static final String MODEL = "com/company/Model";
+    private static final String SERVICE = "com/company/service/Service";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSources() throws IOException {
+        final Map<String, byte[]> classes = new HashMap<>();
+        classes.put(MODEL, generateClass(MODEL));
+        classes.put(SERVICE, generateClass(SERVICE));
+
+        final Path directory = folder.newFolder("classes").toPath();
+        final Path jar = folder.getRoot().toPath().resolve("classes.jar");
+        try (final JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (final Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                final Path file = directory.resolve(entry.getKey() + ".class");
+                Files.createDirectories(file.getParent());
+                try (final OutputStream fileOutput = Files.newOutputStream(file)) {
+                    fileOutput.write(entry.getValue());
+                }
+
+                output.putNextEntry(new JarEntry(entry.getKey() + ".class"));
+                output.write(entry.getValue());
+                output.closeEntry();
+            }
+        }
+
+        final ClassSource inMemory = new InMemoryClassSource(classes);
+        final ClassSource directorySource = ClassSource.of(directory);
+        final ClassSource jarSource = ClassSource.of(jar);
+
+        assertTrue(directorySource instanceof DirectoryClassSource);
+        assertTrue(jarSource instanceof JarClassSource);
+
+        for (final ClassSource source : new ClassSource[]{inMemory, directorySource, jarSource}) {
+            assertEquals(new HashSet<>(classes.keySet()), source.getClassNames());
+            assertTrue(source.contains(MODEL));
+            assertFalse(source.contains("com/company/Unknown"));
+            assertArrayEquals(classes.get(SERVICE), source.getBytes(SERVICE));
+            assertNull(source.getBytes("com/company/Unknown"));
+        }
+
+        assertEquals(inMemory.getContentHash(), directorySource.getContentHash());
+        assertNotEquals(inMemory.getContentHash(), new InMemoryClassSource(Collections.singletonMap(MODEL, classes.get(MODEL))).getContentHash());
+        assertNull(inMemory.getLocation());
+        assertEquals(jar, jarSource.getLocation());
+    }
+
+    @Test
+    public void testInMemoryClassLoading() throws IOException, ClassNotFoundException {
+        final String className = "com/company/memory/InMemoryModel";
+        try (final ProjectClassLoader classLoader = new ProjectClassLoader()) {
+            classLoader.addClassSource(new InMemoryClassSource(Collections.singletonMap(className, generateClass(className))));
+
+            assertEquals(className, classLoader.run(() -> readClassName(className.replace('/', '.'))));
+            assertEquals(className.replace('/', '.'), classLoader.loadClass(className.replace('/', '.')).getName());
+        }
+        // the class is only known while the class loader is the context class loader
+        assertNull(ContextClassReader.getClassLoader().getResource(className + ".class"));
+    }
+
+    private static String readClassName(final String className) {
+        try {
+            return new ContextClassReader(className).getClassName();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownLocation() {
+        ClassSource.of(folder.getRoot().toPath().resolve("unknown"));
+    }
+
+    private static byte[] generateClass(final String className) {
+        final ClassWriter writer = new ClassWriter(0);
+        writer.visit(V1_8, ACC_PUBLIC, className, null, "java/lang/Object", null);
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.summaries;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.*;
+
+public class DependencySummariesTest {
+
+    private static final String CLASS_NAME = "com/company/Model";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testLoad() throws IOException {
+        final Path directory = folder.newFolder("summaries").toPath();
+        final Path jar = writeJar("model.jar", CLASS_NAME + ".class", new byte[]{1});
+        final Path dependency = writeJar("dependency.jar", "com/company/Helper.class", new byte[]{2});
+        writeSummary(directory, jar, dependency);
+
+        assertTrue(isSummarized(directory, jar, dependency));
+        assertTrue(Files.isRegularFile(directory.resolve(JarHashes.FILE_NAME)));
+    }
+
+    @Test
+    public void testChangedDependency() throws IOException {
+        final Path directory = folder.newFolder("summaries").toPath();
+        final Path jar = writeJar("model.jar", CLASS_NAME + ".class", new byte[]{1});
+        final Path dependency = writeJar("dependency.jar", "com/company/Helper.class", new byte[]{2});
+        writeSummary(directory, jar, dependency);
+
+        writeJar("dependency.jar", "com/company/Helper.class", new byte[]{2, 3});
+
+        assertFalse(isSummarized(directory, jar, dependency));
+    }
+
+    @Test
+    public void testJarsAreNotHashedWithoutSummaries() throws IOException {
+        final Path directory = folder.newFolder("summaries").toPath();
+        final Path jar = writeJar("model.jar", CLASS_NAME + ".class", new byte[]{1});
+
+        assertFalse(isSummarized(directory, jar));
+        assertFalse(Files.exists(directory.resolve(JarHashes.FILE_NAME)));
+    }
+
+    @Test
+    public void testUnchangedJarsAreNotHashedAgain() throws IOException {
+        final Path directory = folder.newFolder("summaries").toPath();
+        final Path jar = Files.write(folder.getRoot().toPath().resolve("model.jar"), new byte[]{1, 2, 3});
+        final FileTime lastModified = Files.getLastModifiedTime(jar);
+
+        final JarHashes hashes = JarHashes.load(directory);
+        final String hash = hashes.hash(jar);
+        hashes.write();
+
+        // same size and modification time
+        Files.write(jar, new byte[]{1, 2, 4});
+        Files.setLastModifiedTime(jar, lastModified);
+        assertEquals(hash, JarHashes.load(directory).hash(jar));
+
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(lastModified.toMillis() + 1000));
+        assertNotEquals(hash, JarHashes.load(directory).hash(jar));
+    }
+
+    private static void writeSummary(final Path directory, final Path jar, final Path dependency) throws IOException {
+        new DependencySummary(DependencySummary.hash(jar), 64, Collections.singleton(DependencySummary.hash(dependency)),
+                Collections.singleton(CLASS_NAME), Collections.emptyMap(), Collections.emptyMap()).write(directory);
+    }
+
+    private static boolean isSummarized(final Path directory, final Path... classPaths) throws IOException {
+        final DependencySummaries summaries = new DependencySummaries();
+        summaries.load(directory, Arrays.asList(classPaths), 64);
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextClassLoader = thread.getContextClassLoader();
+        try (final URLClassLoader classLoader = new URLClassLoader(new URL[]{classPaths[0].toUri().toURL()}, null)) {
+            thread.setContextClassLoader(classLoader);
+            return summaries.isSummarized(CLASS_NAME);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    private Path writeJar(final String name, final String entry, final byte[] contents) throws IOException {
+        final Path jar = folder.getRoot().toPath().resolve(name);
+        try (final OutputStream output = Files.newOutputStream(jar);
+             final JarOutputStream jarOutput = new JarOutputStream(output)) {
+            jarOutput.putNextEntry(new JarEntry(entry));
+            jarOutput.write(contents);
+            jarOutput.closeEntry();
+        }
+        return jar;
+    }
+
+}
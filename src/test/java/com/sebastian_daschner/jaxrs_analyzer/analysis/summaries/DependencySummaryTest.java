@@ -0,0 +1,112 @@
+package com.sebastian_daschner.jaxrs_analyzer.analysis.summaries;
+
+import com.sebastian_daschner.jaxrs_analyzer.builder.HttpResponseBuilder;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.Element;
+import com.sebastian_daschner.jaxrs_analyzer.model.elements.JsonObject;
+import com.sebastian_daschner.jaxrs_analyzer.model.methods.MethodIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypeIdentifier;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.TypedMetadata;
+import com.sebastian_daschner.jaxrs_analyzer.model.rest.XMLMetadata;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class DependencySummaryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        final MethodIdentifier ok = MethodIdentifier.ofStatic("com/company/Responses", "ok", Types.RESPONSE);
+        final MethodIdentifier json = MethodIdentifier.ofNonStatic("com/company/Json", "error", Types.JSON_OBJECT);
+        final JsonObject jsonObject = new JsonObject();
+        jsonObject.getStructure().put("message", new Element(Types.STRING, "error"));
+        jsonObject.getStructure().put("code", new Element(Types.PRIMITIVE_INT, 500, 503));
+
+        final Map<MethodIdentifier, Element> methods = new LinkedHashMap<>();
+        methods.put(ok, new Element(Types.RESPONSE, HttpResponseBuilder.withStatues(200).andEntityTypes("Lcom/company/Model;").build()));
+        methods.put(json, new Element(Types.JSON_OBJECT, jsonObject));
+
+        final Map<String, TypedMetadata> properties = new LinkedHashMap<>();
+        properties.put("name", new TypedMetadata(TypeIdentifier.ofType(Types.STRING), new XMLMetadata(null, "name", true)));
+        properties.put("status", new TypedMetadata(TypeIdentifier.ofType("Lcom/company/Status;"), null));
+        final Map<String, ClassSummary> classes = new LinkedHashMap<>();
+        classes.put("Lcom/company/Model;", ClassSummary.ofConcrete(null, properties));
+        classes.put("Lcom/company/Status;", ClassSummary.ofEnum(Arrays.asList("ACTIVE", "INACTIVE")));
+
+        final Set<String> classNames = new HashSet<>(Arrays.asList("com/company/Responses", "com/company/Json", "com/company/Model", "com/company/Status"));
+        final DependencySummary summary = new DependencySummary("abc", 64, Collections.singleton("def"), classNames, methods, classes);
+
+        final Path directory = folder.getRoot().toPath();
+        assertEquals(directory.resolve("abc.json"), summary.write(directory));
+
+        final DependencySummary actual = DependencySummary.read(directory, "abc");
+        assertEquals(64, actual.getMaxPossibleValues());
+        assertEquals(Collections.singleton("def"), actual.getDependencyHashes());
+        assertEquals(classNames, actual.getClassNames());
+        assertEquals(methods, actual.getMethods());
+
+        final ClassSummary model = actual.getClasses().get("Lcom/company/Model;");
+        assertEquals(Arrays.asList("name", "status"), new ArrayList<>(model.getProperties().keySet()));
+        assertEquals(TypeIdentifier.ofType(Types.STRING), model.getProperties().get("name").getTypeIdentifier());
+        assertEquals(new XMLMetadata(null, "name", true), model.getProperties().get("name").getXmlMetadata());
+        assertNull(model.getProperties().get("status").getXmlMetadata());
+        assertEquals(Arrays.asList("ACTIVE", "INACTIVE"), actual.getClasses().get("Lcom/company/Status;").getEnumConstants());
+    }
+
+    @Test
+    public void testUnrepresentableMethodsAreOmitted() throws IOException {
+        final MethodIdentifier identifier = MethodIdentifier.ofStatic("com/company/Helper", "create", Types.OBJECT);
+        final Map<MethodIdentifier, Element> methods = Collections.singletonMap(identifier, new Element(Types.OBJECT, new Object()));
+        final DependencySummary summary = new DependencySummary("abc", 64, Collections.emptySet(), Collections.singleton("com/company/Helper"), methods, Collections.emptyMap());
+
+        final Path directory = folder.getRoot().toPath();
+        summary.write(directory);
+
+        assertTrue(DependencySummary.read(directory, "abc").getMethods().isEmpty());
+    }
+
+    @Test
+    public void testReadMissingOrOtherVersion() throws IOException {
+        final Path directory = folder.getRoot().toPath();
+        assertNull(DependencySummary.read(directory, "abc"));
+
+        Files.write(directory.resolve("abc.json"), "{\"version\":0}".getBytes(StandardCharsets.UTF_8));
+        assertNull(DependencySummary.read(directory, "abc"));
+    }
+
+    @Test
+    public void testExists() throws IOException {
+        final Path directory = folder.getRoot().toPath();
+        assertFalse(DependencySummary.exists(directory.resolve("missing")));
+
+        Files.write(directory.resolve(JarHashes.FILE_NAME), "{}".getBytes(StandardCharsets.UTF_8));
+        assertFalse(DependencySummary.exists(directory));
+
+        new DependencySummary("abc", 64, Collections.emptySet(), Collections.emptySet(), Collections.emptyMap(), Collections.emptyMap()).write(directory);
+        assertTrue(DependencySummary.exists(directory));
+    }
+
+    @Test
+    public void testHash() throws IOException {
+        final Path first = folder.newFile("first.jar").toPath();
+        final Path second = folder.newFile("second.jar").toPath();
+        Files.write(first, new byte[]{1, 2, 3});
+        Files.write(second, new byte[]{1, 2, 4});
+
+        assertEquals(64, DependencySummary.hash(first).length());
+        assertEquals(DependencySummary.hash(first), DependencySummary.hash(first));
+        assertNotEquals(DependencySummary.hash(first), DependencySummary.hash(second));
+    }
+
+}
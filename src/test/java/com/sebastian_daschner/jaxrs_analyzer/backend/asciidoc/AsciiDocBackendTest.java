@@ -268,6 +268,25 @@ public class AsciiDocBackendTest {
                     "==== `200 OK`\n" +
                     "*Header*: `Location` + \n" +
                 "*Response Body*: (`java.lang.String`) + \n\n");
+        // degraded method test
+        add(data, ResourcesBuilder.withBase("rest")
+            .andResource("res20", ResourceMethodBuilder.withMethod(HttpMethod.GET).andDegraded(true)
+                .andResponse(200, ResponseBuilder.withResponseBody(TypeIdentifier.ofType(Types.STRING)).build()).build()).build(),
+            "= REST resources of project name\n" +
+                    "1.0\n" +
+                    "\n" +
+                    "== `GET rest/res20`\n" +
+                    "\n" +
+                    "WARNING: analysis degraded to the method signature\n" +
+                    "\n" +
+                    "=== Request\n" +
+                    "_No body_ + \n" +
+                    "\n" +
+                    "=== Response\n" +
+                    "*Content-Type*: `\\*/*`\n" +
+                    "\n" +
+                    "==== `200 OK`\n" +
+                "*Response Body*: (`java.lang.String`) + \n\n");
        return data;
     }
 
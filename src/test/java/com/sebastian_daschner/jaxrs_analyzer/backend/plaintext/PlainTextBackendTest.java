@@ -243,6 +243,21 @@ public class PlainTextBackendTest {
                     "  Status Codes: 200\n" +
                     "   Header: Location\n" +
                     "   Response Body: java.lang.String\n\n\n");
+        add(data, ResourcesBuilder.withBase("rest")
+            .andResource("res20", ResourceMethodBuilder.withMethod(HttpMethod.GET).andDegraded(true)
+                .andResponse(200, ResponseBuilder.withResponseBody(TypeIdentifier.ofType(Types.STRING)).build()).build()).build(),
+            "REST resources of project name:\n" +
+                    "1.0\n" +
+                    "\n" +
+                    "GET rest/res20:\n" +
+                    " Analysis degraded to the method signature\n" +
+                    " Request:\n" +
+                    "  No body\n" +
+                    "\n" +
+                    " Response:\n" +
+                    "  Content-Type: */*\n" +
+                    "  Status Codes: 200\n" +
+                    "   Response Body: java.lang.String\n\n\n");
         return data;
     }
 
@@ -59,6 +59,11 @@ public class HttpResponseBuilder {
         return this;
     }
 
+    public HttpResponseBuilder andWidenedStatuses() {
+        httpResponse.setWidenedStatuses(true);
+        return this;
+    }
+
     public HttpResponse build() {
         return httpResponse;
     }
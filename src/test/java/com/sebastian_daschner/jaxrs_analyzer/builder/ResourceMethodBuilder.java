@@ -155,6 +155,11 @@ public class ResourceMethodBuilder {
         return this;
     }
 
+    public ResourceMethodBuilder andDegraded(final boolean degraded) {
+        method.setDegraded(degraded);
+        return this;
+    }
+
     public ResourceMethod build() {
         return method;
     }
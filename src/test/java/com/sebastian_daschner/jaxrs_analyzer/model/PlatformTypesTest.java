@@ -0,0 +1,69 @@
+package com.sebastian_daschner.jaxrs_analyzer.model;
+
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class PlatformTypesTest {
+
+    @Test
+    public void testAssignability() {
+        assertTrue(PlatformTypes.isAssignableTo("java/util/ArrayList", "java/util/Collection"));
+        assertTrue(PlatformTypes.isAssignableTo("java/util/ArrayList", Types.CLASS_OBJECT));
+        assertTrue(PlatformTypes.isAssignableTo("javax/json/JsonObject", "javax/json/JsonValue"));
+        assertFalse(PlatformTypes.isAssignableTo("java/util/Collection", "java/util/ArrayList"));
+        assertFalse(PlatformTypes.isAssignableTo("java/util/ArrayList", "com/sebastian_daschner/jaxrs_test/Model"));
+        assertNull(PlatformTypes.isAssignableTo("com/sebastian_daschner/jaxrs_test/Model", "java/util/Collection"));
+    }
+
+    @Test
+    public void testMetadata() {
+        assertEquals(Arrays.asList("K", "V"), PlatformTypes.getTypeParameters("java/util/Map"));
+        assertEquals(Arrays.asList("T"), PlatformTypes.getTypeParameters("javax/ws/rs/core/GenericEntity"));
+        assertTrue(PlatformTypes.isEnum("javax/ws/rs/core/Response$Status"));
+        assertFalse(PlatformTypes.isEnum(Types.CLASS_RESPONSE));
+        assertNull(PlatformTypes.getTypeParameters("com/sebastian_daschner/jaxrs_test/Model"));
+    }
+
+    @Test
+    public void testParse() {
+        final Map<String, PlatformTypes.PlatformType> types = new HashMap<>();
+        final Map<String, String> fingerprints = new HashMap<>();
+        PlatformTypes.parse("#java/\t1.8", types, new HashMap<>(), fingerprints);
+        PlatformTypes.parse("java/util/List\ti\tE\tjava/lang/Iterable,java/util/Collection", types, new HashMap<>(), fingerprints);
+
+        assertEquals(1, types.size());
+        assertTrue(types.containsKey("java/util/List"));
+        assertEquals("1.8", fingerprints.get("java/"));
+    }
+
+    @Test
+    public void testXmlAnnotated() {
+        assertFalse(PlatformTypes.isXmlAnnotated("java/lang/String"));
+        assertNull(PlatformTypes.isXmlAnnotated("com/sebastian_daschner/jaxrs_test/Model"));
+    }
+
+    @Test
+    public void testDifferentJavaEEVersion() throws Exception {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextClassLoader = thread.getContextClassLoader();
+        // the Java EE APIs are not available, the types have to be loaded in the analysis
+        try (final URLClassLoader classLoader = new URLClassLoader(new URL[0], null)) {
+            thread.setContextClassLoader(classLoader);
+            assertNull(PlatformTypes.isEnum("javax/ws/rs/core/Response$Status"));
+            assertNull(PlatformTypes.isAssignableTo("javax/json/JsonObject", "javax/json/JsonValue"));
+            assertFalse(PlatformTypes.isPlatformType(Types.CLASS_RESPONSE));
+            assertTrue(PlatformTypes.isPlatformType("java/util/List"));
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+        assertTrue(PlatformTypes.isEnum("javax/ws/rs/core/Response$Status"));
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.sebastian_daschner.jaxrs_analyzer.model.elements;
+
+import com.sebastian_daschner.jaxrs_analyzer.analysis.bytecode.simulation.AnalysisBudget;
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+public class ElementTest {
+
+    @Test
+    public void testCopyOnWrite() {
+        final Element original = new Element(Types.STRING, "a", "b", "c", "d", "e");
+        final Element copy = new Element(original);
+
+        assertEquals(original, copy);
+
+        copy.getPossibleValues().add("f");
+        copy.getTypes().add(Types.OBJECT);
+
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c", "d", "e")), original.getPossibleValues());
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c", "d", "e", "f")), copy.getPossibleValues());
+        assertEquals(new HashSet<>(Arrays.asList(Types.STRING)), original.getTypes());
+        assertEquals(new HashSet<>(Arrays.asList(Types.STRING, Types.OBJECT)), copy.getTypes());
+
+        original.getPossibleValues().remove("a");
+        assertTrue(copy.getPossibleValues().contains("a"));
+    }
+
+    @Test
+    public void testCopiesOfCopies() {
+        final Element original = new Element(Types.STRING, "a", "b");
+        final Element copy = new Element(original);
+        final Element copyOfCopy = new Element(copy);
+
+        original.getPossibleValues().add("c");
+        original.getPossibleValues().remove("a");
+        original.getPossibleValues().add("d");
+        copy.getPossibleValues().add("e");
+        copyOfCopy.getPossibleValues().remove("b");
+
+        assertEquals(new HashSet<>(Arrays.asList("b", "c", "d")), original.getPossibleValues());
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "e")), copy.getPossibleValues());
+        assertEquals(new HashSet<>(Arrays.asList("a")), copyOfCopy.getPossibleValues());
+    }
+
+    @Test
+    public void testMerge() {
+        final Element first = new Element(Types.STRING);
+        final Element second = new Element(Types.OBJECT, "a", null);
+
+        assertSame(first, first.merge(second));
+        assertEquals(new HashSet<>(Arrays.asList("a", null)), first.getPossibleValues());
+        assertEquals(new HashSet<>(Arrays.asList(Types.STRING, Types.OBJECT)), first.getTypes());
+
+        first.getPossibleValues().add("b");
+        assertEquals(new HashSet<>(Arrays.asList("a", null)), second.getPossibleValues());
+    }
+
+    @Test
+    public void testNullValue() {
+        final Element element = new Element(Types.STRING, (Object[]) null);
+
+        assertEquals(1, element.getPossibleValues().size());
+        assertTrue(element.getPossibleValues().contains(null));
+    }
+
+    @Test
+    public void testWidening() {
+        final Widening widening = new Widening(3);
+        final Widening previousWidening = Widening.activate(widening);
+        try {
+            final Element element = new Element(Types.INTEGER, 200, 201, 202);
+            assertFalse(element.isWidened());
+
+            element.merge(new Element(Types.INTEGER, 202));
+            assertFalse(element.isWidened());
+            assertEquals(0, widening.getWideningEvents());
+
+            element.merge(new Element(Types.INTEGER, 203));
+            assertTrue(element.isWidened());
+            assertTrue(element.getPossibleValues().isEmpty());
+            assertEquals(1, widening.getWideningEvents());
+
+            element.getPossibleValues().add(204);
+            assertTrue(element.getPossibleValues().isEmpty());
+
+            final Element merged = new Element(Types.INTEGER, 200).merge(element);
+            assertTrue(merged.isWidened());
+            assertTrue(new Element(element).isWidened());
+            assertEquals(1, widening.getWideningEvents());
+        } finally {
+            Widening.restore(previousWidening);
+        }
+    }
+
+    @Test
+    public void testWidenedEquality() {
+        final Widening previousWidening = Widening.activate(new Widening(1));
+        try {
+            final Element widened = new Element(Types.INTEGER, 200, 201);
+            assertTrue(widened.isWidened());
+
+            // a widened element represents any value, not no value
+            assertNotEquals(new Element(Types.INTEGER), widened);
+            assertNotEquals(widened, new Element(Types.INTEGER));
+            assertEquals(new Element(Types.INTEGER, 202, 203), widened);
+            assertEquals(new Element(Types.INTEGER, 202, 203).hashCode(), widened.hashCode());
+
+            // the widened possible values are an ordinary, empty set
+            assertEquals(new HashSet<>(), widened.getPossibleValues());
+            assertEquals(widened.getPossibleValues(), new HashSet<>());
+            assertEquals(new HashSet<>().hashCode(), widened.getPossibleValues().hashCode());
+        } finally {
+            Widening.restore(previousWidening);
+        }
+    }
+
+    @Test
+    public void testWideningOfBudget() {
+        final AnalysisBudget budget = new AnalysisBudget(100, 10, 1000, new Widening(1));
+        budget.activate();
+        try {
+            assertTrue(new Element(Types.INTEGER, 200, 201).isWidened());
+        } finally {
+            budget.deactivate();
+        }
+        assertFalse(new Element(Types.INTEGER, 200, 201).isWidened());
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.sebastian_daschner.jaxrs_analyzer.model.elements;
+
+import com.sebastian_daschner.jaxrs_analyzer.model.Types;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TypeSetTest {
+
+    @Test
+    public void testAddContains() {
+        final TypeSet types = new TypeSet();
+
+        assertTrue(types.add(Types.STRING));
+        assertFalse(types.add(new String(Types.STRING)));
+        assertTrue(types.add(Types.INTEGER));
+
+        assertEquals(2, types.size());
+        assertTrue(types.contains(Types.STRING));
+        assertFalse(types.contains(Types.BOOLEAN));
+        assertFalse(types.contains("Lcom/example/NeverInterned$" + System.nanoTime() + ";"));
+    }
+
+    @Test
+    public void testRemove() {
+        final TypeSet types = new TypeSet(Arrays.asList(Types.STRING, Types.INTEGER, Types.BOOLEAN));
+
+        assertTrue(types.remove(Types.INTEGER));
+        assertFalse(types.remove(Types.INTEGER));
+
+        final Iterator<String> iterator = types.iterator();
+        assertEquals(Types.STRING, iterator.next());
+        iterator.remove();
+        assertEquals(Types.BOOLEAN, iterator.next());
+        assertFalse(iterator.hasNext());
+
+        assertEquals(1, types.size());
+    }
+
+    @Test
+    public void testCopies() {
+        final TypeSet original = new TypeSet(Arrays.asList(Types.STRING, Types.INTEGER));
+        final TypeSet copy = new TypeSet(original);
+        final TypeSet copyOfCopy = new TypeSet(copy);
+
+        // the original appends in place, behind the types of the copies
+        original.add(Types.BOOLEAN);
+        original.remove(Types.STRING);
+        original.add(Types.LONG);
+        copy.add(Types.OBJECT);
+        copyOfCopy.remove(Types.INTEGER);
+
+        assertEquals(new HashSet<>(Arrays.asList(Types.INTEGER, Types.BOOLEAN, Types.LONG)), original);
+        assertEquals(new HashSet<>(Arrays.asList(Types.STRING, Types.INTEGER, Types.OBJECT)), copy);
+        assertEquals(new HashSet<>(Arrays.asList(Types.STRING)), copyOfCopy);
+    }
+
+    @Test
+    public void testEqualsOtherSets() {
+        final Set<String> expected = new HashSet<>(Arrays.asList(Types.STRING, Types.INTEGER));
+        final TypeSet types = new TypeSet(Arrays.asList(Types.INTEGER, Types.STRING));
+        final TypeSet other = new TypeSet(expected);
+
+        assertEquals(expected, types);
+        assertEquals(types, expected);
+        assertEquals(types, other);
+        assertEquals(expected.hashCode(), types.hashCode());
+
+        final TypeSet merged = new TypeSet();
+        merged.addAll(types);
+        merged.addAll(other);
+        assertEquals(expected, merged);
+    }
+
+}